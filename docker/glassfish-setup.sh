@@ -9,6 +9,8 @@
 #   DB_NAME      - Database name (default: librarydb)
 #   DB_USER      - Database user (default: library_user)
 #   DB_PASSWORD  - Database password (default: library_password)
+#   REST_THREADS - Threads running REST resources: virtual or platform (default: virtual)
+#   REST_MAX_IN_FLIGHT - REST calls running or queued before 503 (default: 1024)
 # =============================================================================
 
 ASADMIN="${GLASSFISH_HOME}/bin/asadmin"
@@ -18,6 +20,8 @@ DB_PORT="${DB_PORT:-5432}"
 DB_NAME="${DB_NAME:-librarydb}"
 DB_USER="${DB_USER:-library_user}"
 DB_PASSWORD="${DB_PASSWORD:-library_password}"
+REST_THREADS="${REST_THREADS:-virtual}"
+REST_MAX_IN_FLIGHT="${REST_MAX_IN_FLIGHT:-1024}"
 
 echo ">>> Creating JDBC Connection Pool: LibraryPool"
 ${ASADMIN} create-jdbc-connection-pool \
@@ -38,4 +42,8 @@ ${ASADMIN} create-jdbc-resource \
 echo ">>> Pinging connection pool..."
 ${ASADMIN} ping-connection-pool LibraryPool || echo "WARNING: Pool ping failed (DB may not be running yet — this is expected during image build)"
 
+echo ">>> Running REST resources on ${REST_THREADS} threads"
+${ASADMIN} create-jvm-options "-Dlibrary.rest.threads=${REST_THREADS}"
+${ASADMIN} create-jvm-options "-Dlibrary.rest.max-in-flight=${REST_MAX_IN_FLIGHT}"
+
 echo ">>> DataSource configuration complete"
@@ -8,6 +8,9 @@
 -- SCHEMA CREATION
 -- =============================================================================
 
+-- Trigram matching for partial-word book search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- -----------------------------------------------------------------------------
 -- Catalog Bounded Context
 -- -----------------------------------------------------------------------------
@@ -16,6 +19,7 @@ CREATE TABLE categories (
                             category_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
                             name            VARCHAR(100)    NOT NULL UNIQUE,
                             description     VARCHAR(500),
+                            book_count      INTEGER         NOT NULL DEFAULT 0 CHECK (book_count >= 0),
                             version         BIGINT          NOT NULL DEFAULT 0,
                             created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
                             updated_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
@@ -32,6 +36,11 @@ CREATE TABLE books (
                        availablecopies INTEGER         NOT NULL DEFAULT 1,
                        status          VARCHAR(20)     NOT NULL DEFAULT 'AVAILABLE',
                        category_id     BIGINT          NOT NULL REFERENCES categories(category_id),
+                       search_vector   TSVECTOR GENERATED ALWAYS AS (
+                                           setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+                                           setweight(to_tsvector('english', coalesce(author, '')), 'B') ||
+                                           setweight(to_tsvector('english', coalesce(publisher, '')), 'C')
+                                       ) STORED,
                        version         BIGINT          NOT NULL DEFAULT 0,
                        created_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
                        updated_at      TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
@@ -91,6 +100,20 @@ CREATE INDEX idx_loans_due_date   ON loans(due_date);
 CREATE INDEX idx_members_status   ON members(status);
 CREATE INDEX idx_members_email    ON members(email);
 
+-- Keyset pagination: (sort key, id) matches the ORDER BY of the paged finders
+CREATE INDEX idx_books_title_id       ON books(title, book_id);
+CREATE INDEX idx_members_last_name_id ON members(last_name, member_id);
+CREATE INDEX idx_loans_loan_date_id   ON loans(loan_date DESC, loan_id DESC);
+
+-- Book search: ranked full-text over title/author/publisher, trigram fallback for partial words
+CREATE INDEX idx_books_search       ON books USING GIN (search_vector);
+CREATE INDEX idx_books_title_trgm   ON books USING GIN (title gin_trgm_ops);
+CREATE INDEX idx_books_author_trgm  ON books USING GIN (author gin_trgm_ops);
+
+-- Case-insensitive substring filters: LOWER(column) LIKE '%term%' from the autocomplete and table filters
+CREATE INDEX idx_books_title_lower_trgm  ON books USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX idx_books_author_lower_trgm ON books USING GIN (lower(author) gin_trgm_ops);
+
 
 -- =============================================================================
 -- SEED DATA
@@ -165,6 +188,10 @@ INSERT INTO books (isbn, title, author, publisher, publicationdate, totalcopies,
                                                                                                                            ('978-0062316097', 'Sapiens',                                'Yuval Noah Harari',    'Harper Perennial', '2015-02-10', 2, 2, 'AVAILABLE', 2),
                                                                                                                            ('978-0596517748', 'The Art of Agile Development',           'James Shore',          'O''Reilly Media',  '2021-10-19', 3, 3, 'AVAILABLE', 3);
 
+-- book_count mirrors the number of books per category (maintained by the application)
+UPDATE categories c
+SET book_count = (SELECT COUNT(*) FROM books b WHERE b.category_id = c.category_id);
+
 -- -----------------------------------------------------------------------------
 -- Members (20 records)
 -- IDs will be 1..20
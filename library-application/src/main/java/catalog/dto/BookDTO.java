@@ -2,6 +2,7 @@ package catalog.dto;
 
 import catalog.model.Book;
 import catalog.model.BookStatus;
+import catalog.port.BookSummary;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import lombok.NoArgsConstructor;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,6 +23,12 @@ public class BookDTO implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Field names a client can select with {@code ?fields=}.
+     */
+    public static final List<String> FIELDS = List.of("id", "isbn", "title", "author", "publisher",
+            "publicationDate", "totalCopies", "availableCopies", "categoryId", "categoryName", "status", "available");
+
     private Long id;
 
     @NotBlank(message = "The ISBN is required")
@@ -75,6 +83,23 @@ public class BookDTO implements Serializable {
         return builder.build();
     }
 
+    public static BookDTO fromSummary(BookSummary summary) {
+        return BookDTO.builder()
+                .id(summary.id())
+                .isbn(summary.isbn())
+                .title(summary.title())
+                .author(summary.author())
+                .publisher(summary.publisher())
+                .publicationDate(summary.publicationDate())
+                .totalCopies(summary.totalCopies())
+                .availableCopies(summary.availableCopies())
+                .categoryId(summary.categoryId())
+                .categoryName(summary.categoryName())
+                .status(summary.status())
+                .available(summary.available())
+                .build();
+    }
+
     public Book toEntity() {
         Book book = new Book(isbn, title, author);
         book.setPublisher(publisher);
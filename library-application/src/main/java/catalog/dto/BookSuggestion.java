@@ -0,0 +1,19 @@
+package catalog.dto;
+
+import catalog.port.BookSummary;
+
+import java.io.Serializable;
+
+public record BookSuggestion(Long id,
+                             String isbn,
+                             String title,
+                             String author) implements Serializable {
+
+    public static BookSuggestion fromDto(BookDTO book) {
+        return new BookSuggestion(book.getId(), book.getIsbn(), book.getTitle(), book.getAuthor());
+    }
+
+    public static BookSuggestion fromSummary(BookSummary book) {
+        return new BookSuggestion(book.id(), book.isbn(), book.title(), book.author());
+    }
+}
@@ -36,7 +36,7 @@ public class CategoryDTO implements Serializable {
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
-                .bookCount(category.getBooks() != null ? category.getBooks().size() : 0)
+                .bookCount(category.getBookCount())
                 .build();
     }
 
@@ -1,24 +1,41 @@
 package catalog.usecase;
 
 import catalog.dto.BookDTO;
+import catalog.dto.BookSuggestion;
 import catalog.model.Book;
 import catalog.model.Category;
+import catalog.port.BookFetchPlan;
 import catalog.port.BookRepository;
 import catalog.port.CategoryRepository;
 import common.BaseService;
+import common.Cursor;
+import common.FieldSet;
+import common.Lookup;
+import common.Page;
+import common.PageRequest;
+import common.RowVersion;
 import common.exception.BusinessRuleException;
 import common.exception.DuplicateEntityException;
 import common.exception.EntityNotFoundException;
+import common.retry.RetryOnOptimisticLock;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class BookService extends BaseService<Book> {
 
+    static final int MAX_SUGGESTIONS = 50;
+
     private BookRepository bookRepository;
     private CategoryRepository categoryRepository;
 
@@ -32,47 +49,112 @@ public class BookService extends BaseService<Book> {
         //Required by proxy
     }
 
-    public List<BookDTO> findAll() {
-        return bookRepository.findAll()
-                .stream()
-                .map(BookDTO::fromEntity)
+    public Page<BookDTO> findPage(Cursor after, int limit) {
+        return bookRepository.findPage(after, limit, BookFetchPlan.WITH_CATEGORY)
+                .map(BookDTO::fromEntity);
+    }
+
+    public List<BookDTO> findPage(PageRequest request) {
+        return bookRepository.findSummaries(request).stream()
+                .map(BookDTO::fromSummary)
                 .toList();
     }
 
+    public long count(Map<String, String> filters) {
+        return bookRepository.countSummaries(filters);
+    }
+
+    @Transactional
+    public void exportAll(Consumer<BookDTO> sink) {
+        try (Stream<Book> rows = bookRepository.streamAll(BookFetchPlan.WITH_CATEGORY)) {
+            rows.map(BookDTO::fromEntity).forEach(sink);
+        }
+    }
+
     public Optional<BookDTO> findById(Long id) {
         return bookRepository.findById(id)
                 .map(BookDTO::fromEntity);
     }
 
+    /**
+     * Resolves many IDs with one query; see {@link Lookup#inRequestOrder(List, Map)}.
+     */
+    public List<Lookup<Long, BookDTO>> findAllById(List<Long> ids) {
+        Map<Long, BookDTO> matches = bookRepository
+                .findAllById(new LinkedHashSet<>(ids), BookFetchPlan.WITH_CATEGORY).stream()
+                .collect(Collectors.toMap(Book::getId, BookDTO::fromEntity));
+        return Lookup.inRequestOrder(ids, matches);
+    }
+
+    /**
+     * Sparse-fieldset reads: each row holds only the requested fields, in request order. Pages
+     * are ordered by ID, so their cursors do not carry over to {@link #findPage(Cursor, int)}.
+     */
+    public Page<Map<String, Object>> findPage(FieldSet fields, Cursor after, int limit) {
+        return bookRepository.findFields(fields, after, limit);
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, FieldSet fields) {
+        return bookRepository.findFieldsById(id, fields);
+    }
+
+    public Optional<RowVersion> findVersion(Long id) {
+        return bookRepository.findVersion(id);
+    }
+
+    public RowVersion collectionVersion() {
+        return bookRepository.tableVersion();
+    }
+
     public Optional<BookDTO> findByIsbn(String isbn) {
         return bookRepository.findByIsbn(isbn)
                 .map(BookDTO::fromEntity);
     }
 
-    public List<BookDTO> findByTitle(String title) {
-        return bookRepository.findByTitleContaining(title).stream()
-                .map(BookDTO::fromEntity)
-                .toList();
+    /**
+     * Resolves many ISBNs with one query; see {@link Lookup#inRequestOrder(List, Map)}.
+     */
+    public List<Lookup<String, BookDTO>> findAllByIsbn(List<String> isbns) {
+        Map<String, BookDTO> matches = bookRepository
+                .findAllByIsbn(new LinkedHashSet<>(isbns), BookFetchPlan.WITH_CATEGORY).stream()
+                .collect(Collectors.toMap(Book::getIsbn, BookDTO::fromEntity));
+        return Lookup.inRequestOrder(isbns, matches);
     }
 
-    public List<BookDTO> findByAuthor(String author) {
-        return bookRepository.findByAuthorContaining(author).stream()
-                .map(BookDTO::fromEntity)
-                .toList();
+    public Page<BookDTO> findByTitle(String title, Cursor after, int limit) {
+        return bookRepository.findByTitleContaining(title, after, limit, BookFetchPlan.WITH_CATEGORY)
+                .map(BookDTO::fromEntity);
+    }
+
+    public Page<BookDTO> findByAuthor(String author, Cursor after, int limit) {
+        return bookRepository.findByAuthorContaining(author, after, limit, BookFetchPlan.WITH_CATEGORY)
+                .map(BookDTO::fromEntity);
+    }
+
+    public Page<BookDTO> search(String query, Cursor after, int limit) {
+        return bookRepository.search(query.trim(), after, limit, BookFetchPlan.WITH_CATEGORY)
+                .map(BookDTO::fromEntity);
+    }
+
+    public Page<BookDTO> findAvailable(Cursor after, int limit) {
+        return bookRepository.findAvailableSummaries(after, limit)
+                .map(BookDTO::fromSummary);
     }
 
-    public List<BookDTO> findAvailable() {
-        return bookRepository.findAvailable().stream()
-                .map(BookDTO::fromEntity)
+    public List<BookSuggestion> suggestAvailable(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return bookRepository.findAvailableSummaries(query, Math.clamp(limit, 1, MAX_SUGGESTIONS)).stream()
+                .map(BookSuggestion::fromSummary)
                 .toList();
     }
 
-    public List<BookDTO> findByCategory(Long categoryId) {
+    public Page<BookDTO> findByCategory(Long categoryId, Cursor after, int limit) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new EntityNotFoundException("Category", "Id", categoryId));
-        return bookRepository.findByCategory(category).stream()
-                .map(BookDTO::fromEntity)
-                .toList();
+        return bookRepository.findByCategory(category, after, limit)
+                .map(BookDTO::fromEntity);
     }
 
     @Transactional
@@ -92,9 +174,13 @@ public class BookService extends BaseService<Book> {
         validateFieldsConstraint(book);
 
         bookRepository.save(book);
+        if (book.getCategory() != null) {
+            categoryRepository.adjustBookCount(book.getCategory().getId(), 1);
+        }
         return BookDTO.fromEntity(book);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public BookDTO update(BookDTO dto) {
         Book book = bookRepository.findById(dto.getId())
@@ -107,6 +193,7 @@ public class BookService extends BaseService<Book> {
 
         dto.updateEntity(book);
 
+        Category previousCategory = book.getCategory();
         if (dto.getCategoryId() != null) {
             Category category = categoryRepository.findById(dto.getCategoryId())
                     .orElseThrow(() -> new EntityNotFoundException("Category", "Id", dto.getCategoryId()));
@@ -115,9 +202,11 @@ public class BookService extends BaseService<Book> {
 
         validateFieldsConstraint(book);
         bookRepository.update(book);
+        moveBookCount(previousCategory, book.getCategory());
         return BookDTO.fromEntity(book);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public void delete(Long id) {
         Book book = bookRepository.findById(id)
@@ -128,8 +217,12 @@ public class BookService extends BaseService<Book> {
         }
 
         bookRepository.delete(book);
+        if (book.getCategory() != null) {
+            categoryRepository.adjustBookCount(book.getCategory().getId(), -1);
+        }
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public void updateCopies(Long id, int totalCopies) {
         Book book = bookRepository.findById(id)
@@ -145,4 +238,18 @@ public class BookService extends BaseService<Book> {
         book.setAvailableCopies(book.getAvailableCopies() + availableDiff);
         bookRepository.update(book);
     }
-}
\ No newline at end of file
+
+    private void moveBookCount(Category from, Category to) {
+        Long fromId = from != null ? from.getId() : null;
+        Long toId = to != null ? to.getId() : null;
+        if (Objects.equals(fromId, toId)) {
+            return;
+        }
+        if (fromId != null) {
+            categoryRepository.adjustBookCount(fromId, -1);
+        }
+        if (toId != null) {
+            categoryRepository.adjustBookCount(toId, 1);
+        }
+    }
+}
@@ -76,10 +76,15 @@ public class CategoryService extends BaseService<Category> {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Category", "Id", id));
 
-        if (category.getBooks() != null && !category.getBooks().isEmpty()) {
+        if (category.getBookCount() > 0) {
             throw new BusinessRuleException("Cannot delete category with associated books");
         }
 
         categoryRepository.delete(category);
     }
+
+    @Transactional
+    public int repairBookCounts() {
+        return categoryRepository.repairBookCounts();
+    }
 }
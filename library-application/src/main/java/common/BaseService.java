@@ -19,10 +19,8 @@ public abstract class BaseService <T extends BaseEntity> {
     protected void validateFieldsConstraint(T entity) {
         Set<ConstraintViolation<T>> violations = validator.validate(entity);
         if (!violations.isEmpty()) {
-            violations.forEach(constraintViolation -> {
-                String message = String.format("Validation error - %s: %s", constraintViolation.getPropertyPath(), constraintViolation.getMessage());
-                logger.log(Level.SEVERE, message);
-            });
+            violations.forEach(constraintViolation -> logger.log(Level.FINE, () -> String.format(
+                    "Validation error - %s: %s", constraintViolation.getPropertyPath(), constraintViolation.getMessage())));
             throw new ConstraintViolationException(violations);
         }
     }
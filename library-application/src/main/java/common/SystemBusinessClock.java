@@ -0,0 +1,33 @@
+package common;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Business clock backed by the system clock. The zone is resolved once at startup from the
+ * {@value #ZONE_PROPERTY} system property, falling back to the JVM default zone.
+ */
+@ApplicationScoped
+public class SystemBusinessClock implements BusinessClock {
+
+    static final String ZONE_PROPERTY = "library.business.zone";
+
+    private final BusinessClock clock;
+
+    public SystemBusinessClock() {
+        String zone = System.getProperty(ZONE_PROPERTY);
+        this.clock = BusinessClock.system(zone != null ? ZoneId.of(zone) : ZoneId.systemDefault());
+    }
+
+    @Override
+    public LocalDate today() {
+        return clock.today();
+    }
+
+    @Override
+    public ZoneId zone() {
+        return clock.zone();
+    }
+}
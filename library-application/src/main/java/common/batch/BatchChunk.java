@@ -0,0 +1,39 @@
+package common.batch;
+
+import common.retry.RetryOnOptimisticLock;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ApplicationScoped
+public class BatchChunk {
+
+    static final int MAX_ATTEMPTS = 2;
+
+    public BatchChunk() {
+        //Required by proxy
+    }
+
+    /**
+     * Runs the steps in order in a transaction of their own. The service methods join it, so
+     * the chunk commits once; the first failing step rolls the whole chunk back. A version
+     * conflict re-runs the chunk from the start, which is safe because nothing was committed.
+     * A chunk can hold a whole atomic batch, so it gets a single retry: a 500-step chunk then
+     * runs at most 1,000 service calls instead of the 1,500 the default policy allows.
+     */
+    @RetryOnOptimisticLock(maxAttempts = BatchChunk.MAX_ATTEMPTS)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<Object> run(List<BatchStep> steps) {
+        List<Object> values = new ArrayList<>(steps.size());
+        for (int offset = 0; offset < steps.size(); offset++) {
+            try {
+                values.add(steps.get(offset).action().get());
+            } catch (RuntimeException exception) {
+                throw new BatchStepException(offset, exception);
+            }
+        }
+        return values;
+    }
+}
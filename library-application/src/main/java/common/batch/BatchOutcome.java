@@ -0,0 +1,35 @@
+package common.batch;
+
+/**
+ * The result of one batch step. {@code failure} is set for the step that failed, and for
+ * every step of a chunk whose commit failed.
+ */
+public record BatchOutcome(int index, String operation, Status status, Object value, RuntimeException failure) {
+
+    public enum Status {
+        /** Ran and was committed. */
+        APPLIED,
+        /** Threw; its chunk was rolled back. */
+        FAILED,
+        /** Ran, but its chunk was rolled back. */
+        ROLLED_BACK,
+        /** Not run because an earlier step of its chunk failed. */
+        SKIPPED
+    }
+
+    static BatchOutcome applied(int index, BatchStep step, Object value) {
+        return new BatchOutcome(index, step.operation(), Status.APPLIED, value, null);
+    }
+
+    static BatchOutcome failed(int index, BatchStep step, RuntimeException failure) {
+        return new BatchOutcome(index, step.operation(), Status.FAILED, null, failure);
+    }
+
+    static BatchOutcome rolledBack(int index, BatchStep step, RuntimeException failure) {
+        return new BatchOutcome(index, step.operation(), Status.ROLLED_BACK, null, failure);
+    }
+
+    static BatchOutcome skipped(int index, BatchStep step) {
+        return new BatchOutcome(index, step.operation(), Status.SKIPPED, null, null);
+    }
+}
@@ -0,0 +1,66 @@
+package common.batch;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs an ordered list of service calls in chunks of {@code chunkSize} steps, one transaction
+ * and one commit per chunk. A chunk as large as the batch makes it all-or-nothing; smaller
+ * chunks commit independently, so a failure only undoes the steps of its own chunk.
+ */
+@ApplicationScoped
+public class BatchService {
+
+    private BatchChunk batchChunk;
+
+    @Inject
+    public BatchService(BatchChunk batchChunk) {
+        this.batchChunk = batchChunk;
+    }
+
+    public BatchService() {
+        //Required by proxy
+    }
+
+    public List<BatchOutcome> execute(List<BatchStep> steps, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        List<BatchOutcome> outcomes = new ArrayList<>(steps.size());
+        for (int start = 0; start < steps.size(); start += chunkSize) {
+            List<BatchStep> chunk = steps.subList(start, Math.min(start + chunkSize, steps.size()));
+            outcomes.addAll(executeChunk(start, chunk));
+        }
+        return outcomes;
+    }
+
+    private List<BatchOutcome> executeChunk(int start, List<BatchStep> chunk) {
+        List<BatchOutcome> outcomes = new ArrayList<>(chunk.size());
+        try {
+            List<Object> values = batchChunk.run(chunk);
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                outcomes.add(BatchOutcome.applied(start + offset, chunk.get(offset), values.get(offset)));
+            }
+        } catch (BatchStepException exception) {
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                BatchStep step = chunk.get(offset);
+                if (offset < exception.getOffset()) {
+                    outcomes.add(BatchOutcome.rolledBack(start + offset, step, null));
+                } else if (offset == exception.getOffset()) {
+                    outcomes.add(BatchOutcome.failed(start + offset, step, exception.getCause()));
+                } else {
+                    outcomes.add(BatchOutcome.skipped(start + offset, step));
+                }
+            }
+        } catch (RuntimeException exception) {
+            // Every step ran, but the commit failed
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                outcomes.add(BatchOutcome.rolledBack(start + offset, chunk.get(offset), exception));
+            }
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,16 @@
+package common.batch;
+
+import java.util.function.Supplier;
+
+/**
+ * One operation of a batch: a name for the result and the service call that performs it.
+ */
+public record BatchStep(String operation, Supplier<?> action) {
+
+    public static BatchStep of(String operation, Runnable action) {
+        return new BatchStep(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
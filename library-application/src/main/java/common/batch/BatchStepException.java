@@ -0,0 +1,30 @@
+package common.batch;
+
+import java.io.Serial;
+
+/**
+ * Thrown out of {@link BatchChunk#run(java.util.List)} to roll the chunk back, carrying the
+ * position of the failed step within the chunk. The original exception is the cause, so an
+ * optimistic lock conflict is still recognised by the retry interceptor.
+ */
+class BatchStepException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int offset;
+
+    BatchStepException(int offset, RuntimeException cause) {
+        super(cause.getMessage(), cause, false, false);
+        this.offset = offset;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+        return (RuntimeException) super.getCause();
+    }
+}
@@ -2,32 +2,36 @@ package common.exception;
 
 import java.io.Serial;
 
+/**
+ * A lookup that found nothing. Like {@link BusinessRuleException} it is an expected outcome
+ * mapped to a 404 or a desk message, so it skips the stack trace by default.
+ */
 public class EntityNotFoundException extends ApplicationException {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     public EntityNotFoundException(String entityName, Long id) {
-        super(entityName + " not found with id: " + id);
+        super(entityName + " not found with id: " + id, OUTCOME_STACK_TRACES);
     }
 
     public EntityNotFoundException(String entityName, String field, String value) {
-        super(entityName + " not found with " + field + ": " + value);
+        super(entityName + " not found with " + field + ": " + value, OUTCOME_STACK_TRACES);
     }
 
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, OUTCOME_STACK_TRACES);
     }
 
     public EntityNotFoundException(ExceptionMessage exceptionMessage) {
-        super(exceptionMessage);
+        super(exceptionMessage.getMessage(), OUTCOME_STACK_TRACES);
     }
 
     public EntityNotFoundException(ExceptionMessage exceptionMessage, Object... params) {
-        super(exceptionMessage, params);
+        super(exceptionMessage.getMessage(params), OUTCOME_STACK_TRACES);
     }
 
     public EntityNotFoundException(String entityName, String field, Object value) {
-        super(ExceptionMessage.ENTITY_NOT_FOUND, entityName, field, value);
+        super(ExceptionMessage.ENTITY_NOT_FOUND.getMessage(entityName, field, value), OUTCOME_STACK_TRACES);
     }
 }
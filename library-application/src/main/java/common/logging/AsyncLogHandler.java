@@ -0,0 +1,106 @@
+package common.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler that queues records for a single background thread, so message formatting and
+ * I/O in the target handlers never run on the request thread. The queue is bounded: when it
+ * is full the record is dropped and counted instead of blocking the caller.
+ *
+ * Message parameters are formatted on the worker thread, so callers must pass plain values
+ * (ids, counts, names), never entities whose {@code toString()} could touch lazy state.
+ *
+ * The worker comes from the given thread factory; in the container that is a managed thread
+ * factory, so the thread carries the application context and is stopped by {@link #close()}.
+ */
+public class AsyncLogHandler extends Handler {
+
+    static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private final BlockingQueue<LogRecord> queue;
+    private final Consumer<LogRecord> sink;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    public AsyncLogHandler(ThreadFactory threadFactory, Consumer<LogRecord> sink) {
+        this(DEFAULT_CAPACITY, threadFactory, sink);
+    }
+
+    public AsyncLogHandler(int capacity, ThreadFactory threadFactory, Consumer<LogRecord> sink) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.worker = threadFactory.newThread(this::drain);
+        if (worker == null) {
+            throw new IllegalStateException("Thread factory did not create the log worker");
+        }
+        worker.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        // The caller is inferred from the current stack, so it has to happen before the hand-off
+        record.getSourceMethodName();
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void flush() {
+        // Records are delivered in order by the worker; there is nothing buffered here to push
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LogRecord record;
+        while ((record = queue.poll()) != null) {
+            deliver(record);
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                LogRecord record = queue.poll(1, TimeUnit.SECONDS);
+                if (record != null) {
+                    deliver(record);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(LogRecord record) {
+        try {
+            sink.accept(record);
+        } catch (RuntimeException e) {
+            reportError("Could not deliver log record", e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package common.logging;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedThreadFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.BeforeDestroyed;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Routes the application's package loggers through an {@link AsyncLogHandler} for the
+ * lifetime of the deployment. Records are forwarded to the server's root handlers on the
+ * worker thread, so the log files and their levels stay under the server's configuration.
+ * The worker is a managed thread and is stopped when the application shuts down.
+ */
+@ApplicationScoped
+public class AsyncLogging {
+
+    static final List<String> APPLICATION_LOGGERS =
+            List.of("catalog", "common", "lending", "membership", "reporting", "web");
+
+    private static final Logger logger = Logger.getLogger(AsyncLogging.class.getName());
+
+    // JUL only keeps weak references to loggers, so the configured ones are pinned here
+    private final List<Logger> routed = new ArrayList<>();
+    private AsyncLogHandler handler;
+
+    @Resource(lookup = "java:comp/DefaultManagedThreadFactory")
+    ManagedThreadFactory threadFactory;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        handler = new AsyncLogHandler(threadFactory, AsyncLogging::publishToRoot);
+        for (String name : APPLICATION_LOGGERS) {
+            Logger packageLogger = Logger.getLogger(name);
+            packageLogger.addHandler(handler);
+            packageLogger.setUseParentHandlers(false);
+            routed.add(packageLogger);
+        }
+    }
+
+    void onShutdown(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        if (handler == null) {
+            return;
+        }
+        for (Logger packageLogger : routed) {
+            packageLogger.removeHandler(handler);
+            packageLogger.setUseParentHandlers(true);
+        }
+        routed.clear();
+        handler.close();
+        if (handler.getDroppedCount() > 0) {
+            logger.log(Level.WARNING, "Asynchronous logging dropped {0} records", handler.getDroppedCount());
+        }
+        handler = null;
+    }
+
+    private static void publishToRoot(LogRecord record) {
+        for (Handler target : Logger.getLogger("").getHandlers()) {
+            target.publish(record);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package common.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One-in-N sampling per category for messages that can repeat on every request. The first
+ * occurrence in a category is always logged, then every Nth, with the running count appended
+ * so the skipped ones stay visible. Categories are expected to come from a small fixed set
+ * (operation names, task descriptions), never from user input.
+ */
+public class LogSampler {
+
+    private final int every;
+    private final Map<String, AtomicLong> occurrences = new ConcurrentHashMap<>();
+
+    public LogSampler(int every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + every);
+        }
+        this.every = every;
+    }
+
+    public void log(Logger logger, Level level, String category, Supplier<String> message) {
+        log(logger, level, category, null, message);
+    }
+
+    public void log(Logger logger, Level level, String category, Throwable thrown, Supplier<String> message) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        long seen = occurrences.computeIfAbsent(category, key -> new AtomicLong()).incrementAndGet();
+        if ((seen - 1) % every != 0) {
+            return;
+        }
+        Supplier<String> sampled = seen == 1 ? message : () -> message.get() + " [" + seen + " occurrences]";
+        if (thrown != null) {
+            logger.log(level, thrown, sampled);
+        } else {
+            logger.log(level, sampled);
+        }
+    }
+
+    public long occurrences(String category) {
+        AtomicLong count = occurrences.get(category);
+        return count != null ? count.get() : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package common.retry;
+
+import jakarta.annotation.Priority;
+import jakarta.annotation.Resource;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ordered before the Jakarta Transactions interceptor (PLATFORM_BEFORE + 200) so that every
+ * {@code proceed()} begins and completes its own transaction.
+ */
+@RetryOnOptimisticLock
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class OptimisticLockRetryInterceptor {
+
+    private static final Logger logger = Logger.getLogger(OptimisticLockRetryInterceptor.class.getName());
+
+    private static final String ECLIPSELINK_OPTIMISTIC_LOCK =
+            "org.eclipse.persistence.exceptions.OptimisticLockException";
+    private static final long MAX_DELAY_MILLIS = 1000;
+
+    @Inject
+    private RetryStatistics statistics;
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    public OptimisticLockRetryInterceptor() {
+        //Required by CDI
+    }
+
+    OptimisticLockRetryInterceptor(RetryStatistics statistics, TransactionSynchronizationRegistry transactionRegistry) {
+        this.statistics = statistics;
+        this.transactionRegistry = transactionRegistry;
+    }
+
+    @AroundInvoke
+    public Object retry(InvocationContext context) throws Exception {
+        if (transactionRegistry.getTransactionStatus() != Status.STATUS_NO_TRANSACTION) {
+            return context.proceed();
+        }
+
+        RetryOnOptimisticLock policy = context.getInterceptorBinding(RetryOnOptimisticLock.class);
+        int maxAttempts = Math.max(1, policy.maxAttempts());
+        String operation = operationName(context.getMethod());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return context.proceed();
+            } catch (Exception e) {
+                if (!isOptimisticLockFailure(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    statistics.recordExhausted(operation);
+                    logger.log(Level.WARNING, "Optimistic lock retries exhausted for {0} after {1} attempts",
+                            new Object[]{operation, attempt});
+                    throw e;
+                }
+                statistics.recordRetry(operation);
+                backOff(policy.baseDelayMillis(), attempt, e);
+            }
+        }
+    }
+
+    static boolean isOptimisticLockFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException
+                    || ECLIPSELINK_OPTIMISTIC_LOCK.equals(cause.getClass().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void backOff(long baseDelayMillis, int attempt, Exception failure) throws Exception {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, baseDelayMillis << Math.min(attempt - 1, 16));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private static String operationName(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
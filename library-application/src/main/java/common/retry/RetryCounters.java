@@ -0,0 +1,4 @@
+package common.retry;
+
+public record RetryCounters(long retries, long exhausted) {
+}
@@ -0,0 +1,54 @@
+package common.retry;
+
+import jakarta.enterprise.util.AnnotationLiteral;
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs the annotated operation in a fresh transaction when it fails on a {@code @Version}
+ * conflict. Only takes effect when the call starts the transaction itself; inside an already
+ * running transaction the conflict is propagated to the caller unchanged.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RetryOnOptimisticLock {
+
+    @Nonbinding
+    int maxAttempts() default 3;
+
+    @Nonbinding
+    long baseDelayMillis() default 20;
+
+    final class Literal extends AnnotationLiteral<RetryOnOptimisticLock> implements RetryOnOptimisticLock {
+
+        private final int maxAttempts;
+        private final long baseDelayMillis;
+
+        private Literal(int maxAttempts, long baseDelayMillis) {
+            this.maxAttempts = maxAttempts;
+            this.baseDelayMillis = baseDelayMillis;
+        }
+
+        public static Literal of(int maxAttempts, long baseDelayMillis) {
+            return new Literal(maxAttempts, baseDelayMillis);
+        }
+
+        @Override
+        public int maxAttempts() {
+            return maxAttempts;
+        }
+
+        @Override
+        public long baseDelayMillis() {
+            return baseDelayMillis;
+        }
+    }
+}
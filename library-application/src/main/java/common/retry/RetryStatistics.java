@@ -0,0 +1,38 @@
+package common.retry;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@ApplicationScoped
+public class RetryStatistics {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void recordRetry(String operation) {
+        counter(operation).retries.increment();
+    }
+
+    public void recordExhausted(String operation) {
+        counter(operation).exhausted.increment();
+    }
+
+    public Map<String, RetryCounters> snapshot() {
+        Map<String, RetryCounters> snapshot = new TreeMap<>();
+        counters.forEach((operation, counter) -> snapshot.put(operation,
+                new RetryCounters(counter.retries.sum(), counter.exhausted.sum())));
+        return snapshot;
+    }
+
+    private Counter counter(String operation) {
+        return counters.computeIfAbsent(operation, key -> new Counter());
+    }
+
+    private static final class Counter {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
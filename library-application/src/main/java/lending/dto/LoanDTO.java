@@ -2,6 +2,7 @@ package lending.dto;
 
 import lending.model.Loan;
 import lending.model.LoanStatus;
+import lending.port.LoanSummary;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,6 +12,8 @@ import lombok.NoArgsConstructor;
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,6 +24,13 @@ public class LoanDTO implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Field names a client can select with {@code ?fields=}.
+     */
+    public static final List<String> FIELDS = List.of("id", "bookId", "bookTitle", "bookIsbn", "memberId",
+            "memberName", "membershipNumber", "loanDate", "dueDate", "returnDate", "status", "renewalCount", "notes",
+            "overdue", "daysOverdue", "daysUntilDue", "canRenew");
+
     private Long id;
 
     @NotNull(message = "The book is required")
@@ -57,7 +67,7 @@ public class LoanDTO implements Serializable {
 
     private boolean canRenew;
 
-    public static LoanDTO fromEntity(Loan loan) {
+    public static LoanDTO fromEntity(Loan loan, LocalDate today) {
         LoanDTOBuilder builder = LoanDTO.builder()
                 .id(loan.getId())
                 .loanDate(loan.getLoanDate())
@@ -66,10 +76,10 @@ public class LoanDTO implements Serializable {
                 .status(loan.getStatus())
                 .renewalCount(loan.getRenewalCount())
                 .notes(loan.getNotes())
-                .overdue(loan.isOverdue())
-                .daysOverdue(loan.getDaysOverdue())
-                .daysUntilDue(loan.getDaysUntilDue())
-                .canRenew(loan.canRenew());
+                .overdue(loan.isOverdue(today))
+                .daysOverdue(loan.getDaysOverdue(today))
+                .daysUntilDue(loan.getDaysUntilDue(today))
+                .canRenew(loan.canRenew(today));
 
         if (loan.getBook() != null) {
             builder.bookId(loan.getBook().getId())
@@ -86,6 +96,29 @@ public class LoanDTO implements Serializable {
         return builder.build();
     }
 
+    public static LoanDTO fromSummary(LoanSummary summary, LocalDate today) {
+        boolean returned = summary.returnDate() != null;
+        return LoanDTO.builder()
+                .id(summary.id())
+                .bookId(summary.bookId())
+                .bookTitle(summary.bookTitle())
+                .bookIsbn(summary.bookIsbn())
+                .memberId(summary.memberId())
+                .memberName(summary.memberName())
+                .membershipNumber(summary.membershipNumber())
+                .loanDate(summary.loanDate())
+                .dueDate(summary.dueDate())
+                .returnDate(summary.returnDate())
+                .status(summary.status())
+                .renewalCount(summary.renewalCount())
+                .notes(summary.notes())
+                .overdue(summary.overdue())
+                .daysOverdue(summary.overdue() ? ChronoUnit.DAYS.between(summary.dueDate(), today) : 0)
+                .daysUntilDue(returned ? 0 : ChronoUnit.DAYS.between(today, summary.dueDate()))
+                .canRenew(summary.canRenew())
+                .build();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
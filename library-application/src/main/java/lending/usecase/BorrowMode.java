@@ -0,0 +1,12 @@
+package lending.usecase;
+
+import java.util.Locale;
+
+public enum BorrowMode {
+    OPTIMISTIC,
+    ATOMIC;
+
+    public static BorrowMode fromString(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
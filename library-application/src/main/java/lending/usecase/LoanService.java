@@ -4,11 +4,19 @@ import catalog.model.Book;
 import catalog.port.BookRepository;
 import common.BaseEntity;
 import common.BaseService;
+import common.BusinessClock;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
+import common.RowVersion;
 import common.exception.BusinessRuleException;
 import common.exception.EntityNotFoundException;
+import common.retry.RetryOnOptimisticLock;
 import lending.dto.LoanDTO;
 import lending.model.Loan;
 import lending.model.LoanStatus;
+import lending.port.LoanFetchPlan;
 import lending.port.LoanRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -17,89 +25,154 @@ import membership.model.Member;
 import membership.port.MemberRepository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class LoanService extends BaseService<BaseEntity> {
 
+    static final int OVERDUE_CHUNK_SIZE = 1000;
+
     private LoanRepository loanRepository;
 
     private BookRepository bookRepository;
 
     private MemberRepository memberRepository;
 
+    private OverdueLoanBatch overdueLoanBatch;
+
+    private BusinessClock businessClock;
+
     @Inject
-    public LoanService(LoanRepository loanRepository, BookRepository bookRepository, MemberRepository memberRepository) {
+    public LoanService(LoanRepository loanRepository, BookRepository bookRepository, MemberRepository memberRepository,
+                       OverdueLoanBatch overdueLoanBatch, BusinessClock businessClock) {
         this.loanRepository = loanRepository;
         this.bookRepository = bookRepository;
         this.memberRepository = memberRepository;
+        this.overdueLoanBatch = overdueLoanBatch;
+        this.businessClock = businessClock;
     }
 
     public LoanService(){
         //Required by proxy
     }
 
-    public List<LoanDTO> findAll() {
-        return loanRepository.findAll().stream()
-                .map(LoanDTO::fromEntity)
+    public Page<LoanDTO> findPage(Cursor after, int limit) {
+        LocalDate today = businessClock.today();
+        return loanRepository.findPage(after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER)
+                .map(loan -> LoanDTO.fromEntity(loan, today));
+    }
+
+    public List<LoanDTO> findPage(PageRequest request) {
+        LocalDate today = businessClock.today();
+        return loanRepository.findSummaries(request, today).stream()
+                .map(summary -> LoanDTO.fromSummary(summary, today))
                 .toList();
     }
 
+    public long count(Map<String, String> filters) {
+        return loanRepository.countSummaries(filters);
+    }
+
+    @Transactional
+    public void exportAll(Consumer<LoanDTO> sink) {
+        LocalDate today = businessClock.today();
+        try (Stream<Loan> rows = loanRepository.streamAll(LoanFetchPlan.WITH_BOOK_AND_MEMBER)) {
+            rows.map(loan -> LoanDTO.fromEntity(loan, today)).forEach(sink);
+        }
+    }
+
     public Optional<LoanDTO> findById(Long id) {
         return loanRepository.findById(id)
-                .map(LoanDTO::fromEntity);
+                .map(loan -> LoanDTO.fromEntity(loan, businessClock.today()));
+    }
+
+    public Page<Map<String, Object>> findPage(FieldSet fields, Cursor after, int limit) {
+        return loanRepository.findFields(fields, after, limit, businessClock.today());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, FieldSet fields) {
+        return loanRepository.findFieldsById(id, fields, businessClock.today());
     }
 
-    public List<LoanDTO> findByMember(Long memberId) {
+    public Optional<RowVersion> findVersion(Long id) {
+        return loanRepository.findVersion(id)
+                .map(version -> version.onBusinessDay(businessClock.today(), businessClock.zone()));
+    }
+
+    public RowVersion collectionVersion() {
+        return loanRepository.tableVersion().onBusinessDay(businessClock.today(), businessClock.zone());
+    }
+
+    public Page<LoanDTO> findByMember(Long memberId, Cursor after, int limit) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("Member", "Id", memberId));
-        return loanRepository.findByMember(member).stream()
-                .map(LoanDTO::fromEntity)
-                .toList();
+        LocalDate today = businessClock.today();
+        return loanRepository.findByMember(member, after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER)
+                .map(loan -> LoanDTO.fromEntity(loan, today));
     }
 
     public List<LoanDTO> findActiveByMember(Long memberId) {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new EntityNotFoundException("Member", "Id", memberId));
-        return loanRepository.findActiveByMember(member).stream()
-                .map(LoanDTO::fromEntity)
+        LocalDate today = businessClock.today();
+        return loanRepository.findActiveByMember(member, LoanFetchPlan.WITH_BOOK_AND_MEMBER).stream()
+                .map(loan -> LoanDTO.fromEntity(loan, today))
                 .toList();
     }
 
-    public List<LoanDTO> findByBook(Long bookId) {
+    public Page<LoanDTO> findByBook(Long bookId, Cursor after, int limit) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("Book", "Id", bookId));
-        return loanRepository.findByBook(book).stream()
-                .map(LoanDTO::fromEntity)
-                .toList();
+        LocalDate today = businessClock.today();
+        return loanRepository.findByBook(book, after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER)
+                .map(loan -> LoanDTO.fromEntity(loan, today));
     }
 
-    public List<LoanDTO> findByStatus(LoanStatus status) {
-        return loanRepository.findByStatus(status).stream()
-                .map(LoanDTO::fromEntity)
-                .toList();
+    public Page<LoanDTO> findByStatus(LoanStatus status, Cursor after, int limit) {
+        LocalDate today = businessClock.today();
+        return loanRepository.findSummariesByStatus(status, after, limit, today)
+                .map(summary -> LoanDTO.fromSummary(summary, today));
     }
 
-    public List<LoanDTO> findOverdueLoans() {
-        return loanRepository.findOverdueLoans().stream()
-                .map(LoanDTO::fromEntity)
-                .toList();
+    public Page<LoanDTO> findOverdueLoans(Cursor after, int limit) {
+        LocalDate today = businessClock.today();
+        return loanRepository.findOverdueSummaries(today, after, limit)
+                .map(summary -> LoanDTO.fromSummary(summary, today));
     }
 
-    public List<LoanDTO> findLoansDueBefore(LocalDate date) {
-        return loanRepository.findByDueDateBefore(date).stream()
-                .map(LoanDTO::fromEntity)
-                .toList();
+    public Page<LoanDTO> findLoansDueBefore(LocalDate date, Cursor after, int limit) {
+        LocalDate today = businessClock.today();
+        return loanRepository.findByDueDateBefore(date, after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER)
+                .map(loan -> LoanDTO.fromEntity(loan, today));
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public LoanDTO borrowBook(Long bookId, Long memberId) {
         return borrowBook(bookId, memberId, null);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public LoanDTO borrowBook(Long bookId, Long memberId, String notes) {
+        return borrowBook(bookId, memberId, notes, BorrowMode.OPTIMISTIC);
+    }
+
+    @RetryOnOptimisticLock
+    @Transactional
+    public LoanDTO borrowBook(Long bookId, Long memberId, String notes, BorrowMode mode) {
+        return mode == BorrowMode.ATOMIC
+                ? borrowBookAtomically(bookId, memberId, notes)
+                : borrowBookOptimistically(bookId, memberId, notes);
+    }
+
+    private LoanDTO borrowBookOptimistically(Long bookId, Long memberId, String notes) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new EntityNotFoundException("Book", "Id", bookId));
 
@@ -110,7 +183,8 @@ public class LoanService extends BaseService<BaseEntity> {
             throw new BusinessRuleException("Book '" + book.getTitle() + "' is not available for borrowing");
         }
 
-        if (!member.canBorrow()) {
+        LocalDate today = businessClock.today();
+        if (!member.canBorrow(today)) {
             throw new BusinessRuleException("Member '" + member.getFullName() + "' cannot borrow books");
         }
 
@@ -120,9 +194,9 @@ public class LoanService extends BaseService<BaseEntity> {
         }
 
         book.borrowCopy();
-        member.incrementActiveLoans();
+        member.incrementActiveLoans(today);
 
-        Loan loan = new Loan(book, member);
+        Loan loan = new Loan(book, member, today);
         if (notes != null && !notes.isBlank()) {
             loan.setNotes(notes);
         }
@@ -130,9 +204,99 @@ public class LoanService extends BaseService<BaseEntity> {
         loanRepository.save(loan);
         bookRepository.update(book);
 
-        return LoanDTO.fromEntity(loan);
+        return LoanDTO.fromEntity(loan, today);
+    }
+
+    private LoanDTO borrowBookAtomically(Long bookId, Long memberId, String notes) {
+        if (!bookRepository.tryBorrowCopy(bookId)) {
+            Book book = bookRepository.findById(bookId)
+                    .orElseThrow(() -> new EntityNotFoundException("Book", "Id", bookId));
+            throw new BusinessRuleException("Book '" + book.getTitle() + "' is not available for borrowing");
+        }
+
+        LocalDate today = businessClock.today();
+        if (!memberRepository.tryIncrementActiveLoans(memberId, today)) {
+            Member member = memberRepository.findById(memberId)
+                    .orElseThrow(() -> new EntityNotFoundException("Member", "Id", memberId));
+            throw new BusinessRuleException("Member '" + member.getFullName() + "' cannot borrow books");
+        }
+
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new EntityNotFoundException("Book", "Id", bookId));
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member", "Id", memberId));
+
+        if (loanRepository.findActiveByBookAndMember(book, member).isPresent()) {
+            throw new BusinessRuleException("Member already has an active loan for this book");
+        }
+
+        Loan loan = new Loan(book, member, today);
+        if (notes != null && !notes.isBlank()) {
+            loan.setNotes(notes);
+        }
+
+        loanRepository.save(loan);
+
+        return LoanDTO.fromEntity(loan, today);
     }
 
+    @RetryOnOptimisticLock
+    @Transactional
+    public List<LoanDTO> checkout(Long memberId, List<Long> bookIds, String notes) {
+        if (bookIds == null || bookIds.isEmpty()) {
+            throw new BusinessRuleException("At least one book is required for checkout");
+        }
+        List<Long> requestedIds = List.copyOf(new LinkedHashSet<>(bookIds));
+
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new EntityNotFoundException("Member", "Id", memberId));
+
+        LocalDate today = businessClock.today();
+        if (!member.canBorrow(today)) {
+            throw new BusinessRuleException("Member '" + member.getFullName() + "' cannot borrow books");
+        }
+        int remaining = member.getMaxLoans() - member.getActiveLoans();
+        if (requestedIds.size() > remaining) {
+            throw new BusinessRuleException("Member '" + member.getFullName() + "' can borrow only "
+                    + remaining + " more book(s)");
+        }
+
+        List<Book> books = bookRepository.lockAllById(requestedIds);
+        if (books.size() < requestedIds.size()) {
+            List<Long> foundIds = books.stream().map(Book::getId).toList();
+            Long missingId = requestedIds.stream().filter(id -> !foundIds.contains(id)).findFirst().orElseThrow();
+            throw new EntityNotFoundException("Book", "Id", missingId);
+        }
+
+        for (Book book : books) {
+            if (!book.isAvailable()) {
+                throw new BusinessRuleException("Book '" + book.getTitle() + "' is not available for borrowing");
+            }
+        }
+
+        if (!loanRepository.findBookIdsOnActiveLoan(member, requestedIds).isEmpty()) {
+            throw new BusinessRuleException("Member already has an active loan for this book");
+        }
+
+        List<Loan> loans = new ArrayList<>(books.size());
+        for (Book book : books) {
+            book.borrowCopy();
+            member.incrementActiveLoans(today);
+            Loan loan = new Loan(book, member, today);
+            if (notes != null && !notes.isBlank()) {
+                loan.setNotes(notes);
+            }
+            loans.add(loan);
+        }
+
+        loanRepository.saveAll(loans);
+
+        return loans.stream()
+                .map(loan -> LoanDTO.fromEntity(loan, today))
+                .toList();
+    }
+
+    @RetryOnOptimisticLock
     @Transactional
     public LoanDTO returnBook(Long loanId) {
         Loan loan = loanRepository.findById(loanId)
@@ -142,31 +306,35 @@ public class LoanService extends BaseService<BaseEntity> {
             throw new BusinessRuleException("Book has already been returned");
         }
 
-        loan.returnBook();
+        LocalDate today = businessClock.today();
+        loan.returnBook(today);
         loan.getBook().returnCopy();
         loan.getMember().decrementActiveLoans();
 
         loanRepository.update(loan);
         bookRepository.update(loan.getBook());
 
-        return LoanDTO.fromEntity(loan);
+        return LoanDTO.fromEntity(loan, today);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public LoanDTO renewLoan(Long loanId) {
         Loan loan = loanRepository.findById(loanId)
                 .orElseThrow(() -> new EntityNotFoundException("Loan", "Id", loanId));
 
-        if (!loan.canRenew()) {
+        LocalDate today = businessClock.today();
+        if (!loan.canRenew(today)) {
             throw new BusinessRuleException("This loan cannot be renewed");
         }
 
-        loan.renew();
+        loan.renew(today);
         loanRepository.update(loan);
 
-        return LoanDTO.fromEntity(loan);
+        return LoanDTO.fromEntity(loan, today);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public LoanDTO markAsLost(Long loanId) {
         Loan loan = loanRepository.findById(loanId)
@@ -189,18 +357,21 @@ public class LoanService extends BaseService<BaseEntity> {
         bookRepository.update(book);
 
 
-        return LoanDTO.fromEntity(loan);
+        return LoanDTO.fromEntity(loan, businessClock.today());
     }
 
-    @Transactional
-    public void updateOverdueStatus() {
-        List<Loan> overdueLoans = loanRepository.findByStatus(LoanStatus.ACTIVE).stream()
-                .filter(Loan::isOverdue)
-                .toList();
-
-        for (Loan loan : overdueLoans) {
-            loan.setStatus(LoanStatus.OVERDUE);
-            loanRepository.update(loan);
-        }
+    /**
+     * Marks overdue loans chunk by chunk until a chunk finds nothing left. A short chunk is not
+     * the end: rows locked by another transaction are skipped and may be free on the next pass.
+     */
+    public int updateOverdueStatus() {
+        LocalDate today = businessClock.today();
+        int total = 0;
+        int updated;
+        do {
+            updated = overdueLoanBatch.markNextChunk(today, OVERDUE_CHUNK_SIZE);
+            total += updated;
+        } while (updated > 0);
+        return total;
     }
 }
@@ -0,0 +1,28 @@
+package lending.usecase;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lending.port.LoanRepository;
+
+import java.time.LocalDate;
+
+@ApplicationScoped
+public class OverdueLoanBatch {
+
+    private LoanRepository loanRepository;
+
+    @Inject
+    public OverdueLoanBatch(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+
+    public OverdueLoanBatch() {
+        //Required by proxy
+    }
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int markNextChunk(LocalDate today, int chunkSize) {
+        return loanRepository.markOverdue(today, chunkSize);
+    }
+}
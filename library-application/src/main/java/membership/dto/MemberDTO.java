@@ -7,10 +7,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import membership.model.Member;
 import membership.model.MemberStatus;
+import membership.port.MemberSummary;
 
 import java.io.Serial;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @Builder
@@ -21,6 +23,13 @@ public class MemberDTO implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Field names a client can select with {@code ?fields=}.
+     */
+    public static final List<String> FIELDS = List.of("id", "membershipNumber", "firstName", "lastName", "email",
+            "phone", "address", "registrationDate", "expirationDate", "status", "activeLoans", "maxLoans", "fullName",
+            "canBorrow", "membershipExpired");
+
     private Long id;
 
     @NotBlank(message = "The membership number is required")
@@ -61,7 +70,7 @@ public class MemberDTO implements Serializable {
 
     private boolean membershipExpired;
 
-    public static MemberDTO fromEntity(Member member) {
+    public static MemberDTO fromEntity(Member member, LocalDate today) {
         return MemberDTO.builder()
                 .id(member.getId())
                 .membershipNumber(member.getMembershipNumber())
@@ -76,13 +85,33 @@ public class MemberDTO implements Serializable {
                 .activeLoans(member.getActiveLoans())
                 .maxLoans(member.getMaxLoans())
                 .fullName(member.getFullName())
-                .canBorrow(member.canBorrow())
-                .membershipExpired(member.isMembershipExpired())
+                .canBorrow(member.canBorrow(today))
+                .membershipExpired(member.isMembershipExpired(today))
+                .build();
+    }
+
+    public static MemberDTO fromSummary(MemberSummary summary) {
+        return MemberDTO.builder()
+                .id(summary.id())
+                .membershipNumber(summary.membershipNumber())
+                .firstName(summary.firstName())
+                .lastName(summary.lastName())
+                .email(summary.email())
+                .phone(summary.phone())
+                .address(summary.address())
+                .registrationDate(summary.registrationDate())
+                .expirationDate(summary.expirationDate())
+                .status(summary.status())
+                .activeLoans(summary.activeLoans())
+                .maxLoans(summary.maxLoans())
+                .fullName(summary.fullName())
+                .canBorrow(summary.canBorrow())
+                .membershipExpired(summary.membershipExpired())
                 .build();
     }
 
-    public Member toEntity() {
-        Member member = new Member(membershipNumber, firstName, lastName, email);
+    public Member toEntity(LocalDate today) {
+        Member member = new Member(membershipNumber, firstName, lastName, email, today);
         member.setPhone(phone);
         member.setAddress(address);
         if (maxLoans > 0) {
@@ -0,0 +1,23 @@
+package membership.dto;
+
+import membership.model.MemberStatus;
+import membership.port.MemberSummary;
+
+import java.io.Serializable;
+
+public record MemberSuggestion(Long id,
+                               String fullName,
+                               String email,
+                               String membershipNumber,
+                               MemberStatus status) implements Serializable {
+
+    public static MemberSuggestion fromDto(MemberDTO member) {
+        return new MemberSuggestion(member.getId(), member.getFullName(), member.getEmail(),
+                member.getMembershipNumber(), member.getStatus());
+    }
+
+    public static MemberSuggestion fromSummary(MemberSummary member) {
+        return new MemberSuggestion(member.id(), member.fullName(), member.email(), member.membershipNumber(),
+                member.status());
+    }
+}
@@ -0,0 +1,22 @@
+package membership.usecase;
+
+import membership.dto.MemberSuggestion;
+
+/**
+ * Fired by {@link MemberService} when searchable member data changes; {@code member} is
+ * {@code null} when the member was deleted.
+ */
+public record MemberChanged(Long memberId, MemberSuggestion member) {
+
+    public static MemberChanged saved(MemberSuggestion member) {
+        return new MemberChanged(member.id(), member);
+    }
+
+    public static MemberChanged deleted(Long memberId) {
+        return new MemberChanged(memberId, null);
+    }
+
+    public boolean isDeleted() {
+        return member == null;
+    }
+}
@@ -0,0 +1,307 @@
+package membership.usecase;
+
+import common.BusinessClock;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import membership.dto.MemberSuggestion;
+import membership.model.MemberStatus;
+import membership.port.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory trigram index over member name, email and membership number for desk lookups.
+ * Built at startup and kept in step with {@link MemberChanged} events after each commit.
+ * Replaced entries are tombstoned and the postings are rebuilt once tombstones outnumber
+ * live entries, so memory stays proportional to the member count.
+ *
+ * A rebuild reads its snapshot without holding the index lock. Changes that arrive meanwhile
+ * are applied to the live index and also recorded, then replayed on top of the new snapshot,
+ * so an event landing between the read and the swap is not lost. Fields are indexed in full;
+ * their length is already bounded by the member columns.
+ */
+@ApplicationScoped
+public class MemberSearchIndex {
+
+    private static final Logger logger = Logger.getLogger(MemberSearchIndex.class.getName());
+
+    private static final char SEPARATOR = '\0';
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> slotByMemberId = new HashMap<>();
+    private final BitSet tombstones = new BitSet();
+    private final Lock rebuildLock = new ReentrantLock();
+    private List<MemberChange> pendingChanges;
+    private TrigramPostings postings = new TrigramPostings();
+    private volatile boolean ready;
+
+    private MemberRepository memberRepository;
+
+    private BusinessClock businessClock;
+
+    @Inject
+    public MemberSearchIndex(MemberRepository memberRepository, BusinessClock businessClock) {
+        this.memberRepository = memberRepository;
+        this.businessClock = businessClock;
+    }
+
+    public MemberSearchIndex() {
+        //Required by proxy
+    }
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Member search index could not be built; lookups fall back to the database", e);
+        }
+    }
+
+    void onMemberChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) MemberChanged change) {
+        if (change.isDeleted()) {
+            remove(change.memberId());
+        } else {
+            put(change.member());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            List<MemberSuggestion> members;
+            List<MemberChange> replay;
+            recordChanges(new ArrayList<>());
+            try {
+                members = memberRepository.findAllSummaries(businessClock.today()).stream()
+                        .map(MemberSuggestion::fromSummary)
+                        .toList();
+            } catch (RuntimeException e) {
+                recordChanges(null);
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                replay = pendingChanges;
+                pendingChanges = null;
+                reset();
+                members.forEach(this::append);
+                replay.forEach(this::apply);
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.log(Level.INFO, "Member search index built with {0} members, {1} changes replayed",
+                    new Object[]{members.size(), replay.size()});
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    public void put(MemberSuggestion member) {
+        change(new MemberChange(member.id(), member));
+    }
+
+    public void remove(Long memberId) {
+        change(new MemberChange(memberId, null));
+    }
+
+    private void change(MemberChange change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            apply(change);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(MemberChange change) {
+        tombstone(change.memberId());
+        if (change.member() != null) {
+            append(change.member());
+        }
+    }
+
+    private void recordChanges(List<MemberChange> changes) {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<MemberSuggestion> search(String query, int limit) {
+        return match(query, limit, false, member -> true);
+    }
+
+    public List<MemberSuggestion> search(String query, int limit, MemberStatus status) {
+        return match(query, limit, false, member -> member.status() == status);
+    }
+
+    public List<Long> findIdsByName(String name, int limit) {
+        return match(name, limit, true, member -> true).stream()
+                .map(MemberSuggestion::id)
+                .toList();
+    }
+
+    private List<MemberSuggestion> match(String query, int limit, boolean namesOnly,
+                                         Predicate<MemberSuggestion> filter) {
+        String needle = normalize(query);
+        if (needle.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<MemberSuggestion> matches = new ArrayList<>();
+            int[] candidates = candidates(needle);
+            int count = candidates != null ? candidates.length : documents.size();
+            for (int i = 0; i < count && matches.size() < limit; i++) {
+                int slot = candidates != null ? candidates[i] : i;
+                if (tombstones.get(slot)) {
+                    continue;
+                }
+                Document document = documents.get(slot);
+                int position = document.text().indexOf(needle);
+                if (position >= 0 && (!namesOnly || position + needle.length() <= document.nameLength())
+                        && filter.test(document.member())) {
+                    matches.add(document.member());
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects the postings of every trigram in the needle, smallest list first. Returns
+     * {@code null} when the needle is too short to have trigrams and every slot must be checked.
+     */
+    private int[] candidates(String needle) {
+        if (needle.length() < 3) {
+            return null;
+        }
+        int[] slots = new int[needle.length() - 2];
+        for (int i = 0; i < slots.length; i++) {
+            int slot = postings.find(TrigramPostings.pack(needle.charAt(i), needle.charAt(i + 1), needle.charAt(i + 2)));
+            if (slot == TrigramPostings.ABSENT) {
+                return new int[0];
+            }
+            // Insertion sort by posting size so the intersection starts from the rarest trigram
+            int j = i;
+            while (j > 0 && postings.size(slots[j - 1]) > postings.size(slot)) {
+                slots[j] = slots[j - 1];
+                j--;
+            }
+            slots[j] = slot;
+        }
+
+        int[] result = Arrays.copyOf(postings.documents(slots[0]), postings.size(slots[0]));
+        int size = result.length;
+        for (int i = 1; i < slots.length && size > 0; i++) {
+            size = intersect(result, size, postings.documents(slots[i]), postings.size(slots[i]));
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int intersect(int[] target, int targetSize, int[] other, int otherSize) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < targetSize && j < otherSize; i++) {
+            while (j < otherSize && other[j] < target[i]) {
+                j++;
+            }
+            if (j < otherSize && other[j] == target[i]) {
+                target[kept++] = target[i];
+            }
+        }
+        return kept;
+    }
+
+    private void append(MemberSuggestion member) {
+        String name = normalize(member.fullName());
+        String text = name + SEPARATOR + normalize(member.email()) + SEPARATOR + normalize(member.membershipNumber());
+        int slot = documents.size();
+        documents.add(new Document(member, text, name.length()));
+        slotByMemberId.put(member.id(), slot);
+        for (int i = 0; i + 2 < text.length(); i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            char third = text.charAt(i + 2);
+            if (first != SEPARATOR && second != SEPARATOR && third != SEPARATOR) {
+                postings.add(TrigramPostings.pack(first, second, third), slot);
+            }
+        }
+    }
+
+    private void tombstone(Long memberId) {
+        Integer slot = slotByMemberId.remove(memberId);
+        if (slot != null) {
+            tombstones.set(slot);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = tombstones.cardinality();
+        if (dead < MIN_COMPACTION_TOMBSTONES || dead < slotByMemberId.size()) {
+            return;
+        }
+        List<MemberSuggestion> live = new ArrayList<>(slotByMemberId.size());
+        for (int slot = 0; slot < documents.size(); slot++) {
+            if (!tombstones.get(slot)) {
+                live.add(documents.get(slot).member());
+            }
+        }
+        reset();
+        live.forEach(this::append);
+    }
+
+    private void reset() {
+        documents.clear();
+        slotByMemberId.clear();
+        tombstones.clear();
+        postings = new TrigramPostings();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(MemberSuggestion member, String text, int nameLength) {
+    }
+
+    /**
+     * A put, or a removal when {@code member} is null.
+     */
+    private record MemberChange(Long memberId, MemberSuggestion member) {
+    }
+}
@@ -1,67 +1,175 @@
 package membership.usecase;
 
 import common.BaseService;
+import common.BusinessClock;
+import common.Cursor;
+import common.FieldSet;
+import common.Lookup;
+import common.Page;
+import common.PageRequest;
+import common.RowVersion;
 import common.exception.BusinessRuleException;
 import common.exception.DuplicateEntityException;
 import common.exception.EntityNotFoundException;
+import common.retry.RetryOnOptimisticLock;
 import membership.dto.MemberDTO;
+import membership.dto.MemberSuggestion;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import membership.model.Member;
 import membership.model.MemberStatus;
 import membership.port.MemberRepository;
 
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class MemberService extends BaseService<Member> {
 
+    static final int MAX_SUGGESTIONS = 50;
+
     private MemberRepository memberRepository;
 
+    private MemberSearchIndex memberSearchIndex;
+
+    private Event<MemberChanged> memberChanged;
+
+    private BusinessClock businessClock;
+
     @Inject
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, MemberSearchIndex memberSearchIndex,
+                         Event<MemberChanged> memberChanged, BusinessClock businessClock) {
         this.memberRepository = memberRepository;
+        this.memberSearchIndex = memberSearchIndex;
+        this.memberChanged = memberChanged;
+        this.businessClock = businessClock;
     }
 
     public MemberService() {
         //Required by proxy
     }
 
-    public List<MemberDTO> findAll() {
-        return memberRepository.findAll().stream()
-                .map(MemberDTO::fromEntity)
+    public Page<MemberDTO> findPage(Cursor after, int limit) {
+        LocalDate today = businessClock.today();
+        return memberRepository.findPage(after, limit)
+                .map(member -> MemberDTO.fromEntity(member, today));
+    }
+
+    public List<MemberDTO> findPage(PageRequest request) {
+        return memberRepository.findSummaries(request, businessClock.today()).stream()
+                .map(MemberDTO::fromSummary)
                 .toList();
     }
 
+    public long count(Map<String, String> filters) {
+        return memberRepository.countSummaries(filters);
+    }
+
+    @Transactional
+    public void exportAll(Consumer<MemberDTO> sink) {
+        LocalDate today = businessClock.today();
+        try (Stream<Member> rows = memberRepository.streamAll()) {
+            rows.map(member -> MemberDTO.fromEntity(member, today)).forEach(sink);
+        }
+    }
+
     public Optional<MemberDTO> findById(Long id) {
         return memberRepository.findById(id)
-                .map(MemberDTO::fromEntity);
+                .map(member -> MemberDTO.fromEntity(member, businessClock.today()));
+    }
+
+    public Page<Map<String, Object>> findPage(FieldSet fields, Cursor after, int limit) {
+        return memberRepository.findFields(fields, after, limit, businessClock.today());
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, FieldSet fields) {
+        return memberRepository.findFieldsById(id, fields, businessClock.today());
+    }
+
+    public Optional<RowVersion> findVersion(Long id) {
+        return memberRepository.findVersion(id)
+                .map(version -> version.onBusinessDay(businessClock.today(), businessClock.zone()));
+    }
+
+    public RowVersion collectionVersion() {
+        return memberRepository.tableVersion().onBusinessDay(businessClock.today(), businessClock.zone());
     }
 
     public Optional<MemberDTO> findByMembershipNumber(String membershipNumber) {
         return memberRepository.findByMembershipNumber(membershipNumber)
-                .map(MemberDTO::fromEntity);
+                .map(member -> MemberDTO.fromEntity(member, businessClock.today()));
+    }
+
+    public List<Lookup<Long, MemberDTO>> findAllById(List<Long> ids) {
+        LocalDate today = businessClock.today();
+        Map<Long, MemberDTO> matches = memberRepository.findAllById(new LinkedHashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Member::getId, member -> MemberDTO.fromEntity(member, today)));
+        return Lookup.inRequestOrder(ids, matches);
+    }
+
+    public List<Lookup<String, MemberDTO>> findAllByMembershipNumber(List<String> membershipNumbers) {
+        LocalDate today = businessClock.today();
+        Map<String, MemberDTO> matches = memberRepository
+                .findAllByMembershipNumber(new LinkedHashSet<>(membershipNumbers)).stream()
+                .collect(Collectors.toMap(Member::getMembershipNumber, member -> MemberDTO.fromEntity(member, today)));
+        return Lookup.inRequestOrder(membershipNumbers, matches);
     }
 
     public Optional<MemberDTO> findByEmail(String email) {
         return memberRepository.findByEmail(email)
-                .map(MemberDTO::fromEntity);
+                .map(member -> MemberDTO.fromEntity(member, businessClock.today()));
     }
 
-    public List<MemberDTO> findByStatus(MemberStatus status) {
-        return memberRepository.findByStatus(status).stream()
-                .map(MemberDTO::fromEntity)
-                .toList();
+    public Page<MemberDTO> findByStatus(MemberStatus status, Cursor after, int limit) {
+        return memberRepository.findSummariesByStatus(status, after, limit, businessClock.today())
+                .map(MemberDTO::fromSummary);
     }
 
-    public List<MemberDTO> findByName(String name) {
-        return memberRepository.findByNameContaining(name).stream()
-                .map(MemberDTO::fromEntity)
+    /**
+     * Returns at most {@code limit} members whose name contains {@code name}, sorted by name.
+     * The limit is clamped to {@link Page#MAX_LIMIT} so one lookup never loads more rows, or
+     * binds more IDs, than a page would.
+     */
+    public List<MemberDTO> findByName(String name, int limit) {
+        int size = Page.clampLimit(limit);
+        LocalDate today = businessClock.today();
+        if (!memberSearchIndex.isReady()) {
+            return memberRepository.findByNameContaining(name, size).stream()
+                    .map(member -> MemberDTO.fromEntity(member, today))
+                    .toList();
+        }
+        return memberRepository.findAllById(memberSearchIndex.findIdsByName(name, size)).stream()
+                .map(member -> MemberDTO.fromEntity(member, today))
+                .sorted(Comparator.comparing(MemberDTO::getLastName).thenComparing(MemberDTO::getFirstName))
                 .toList();
     }
 
+    public List<MemberSuggestion> suggest(String query, int limit) {
+        return suggest(query, limit, null);
+    }
+
+    public List<MemberSuggestion> suggest(String query, int limit, MemberStatus status) {
+        int size = Math.clamp(limit, 1, MAX_SUGGESTIONS);
+        if (!memberSearchIndex.isReady()) {
+            LocalDate today = businessClock.today();
+            return memberRepository.findByNameContaining(query, Page.MAX_LIMIT).stream()
+                    .filter(member -> status == null || member.getStatus() == status)
+                    .limit(size)
+                    .map(member -> MemberSuggestion.fromDto(MemberDTO.fromEntity(member, today)))
+                    .toList();
+        }
+        return status != null ? memberSearchIndex.search(query, size, status) : memberSearchIndex.search(query, size);
+    }
+
     @Transactional
     public MemberDTO create(MemberDTO dto) {
         if (memberRepository.existsByEmail(dto.getEmail())) {
@@ -71,12 +179,13 @@ public class MemberService extends BaseService<Member> {
             throw new DuplicateEntityException("Member", "Membership Number", dto.getMembershipNumber());
         }
 
-        Member member = dto.toEntity();
+        Member member = dto.toEntity(businessClock.today());
         validateFieldsConstraint(member);
         memberRepository.save(member);
-        return MemberDTO.fromEntity(member);
+        return changed(member);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public MemberDTO update(MemberDTO dto) {
         Member member = memberRepository.findById(dto.getId())
@@ -89,9 +198,10 @@ public class MemberService extends BaseService<Member> {
 
         dto.updateEntity(member);
         validateFieldsConstraint(member);
-        return MemberDTO.fromEntity(member);
+        return changed(member);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public void delete(Long id) {
         Member member = memberRepository.findById(id)
@@ -102,40 +212,50 @@ public class MemberService extends BaseService<Member> {
         }
 
         memberRepository.delete(member);
+        memberChanged.fire(MemberChanged.deleted(id));
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public MemberDTO suspend(Long id) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Member", "Id", id));
 
         member.setStatus(MemberStatus.SUSPENDED);
-        return MemberDTO.fromEntity(member);
+        return changed(member);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public MemberDTO activate(Long id) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Member", "Id", id));
 
-        if (member.isMembershipExpired()) {
+        if (member.isMembershipExpired(businessClock.today())) {
             throw new BusinessRuleException("Cannot activate expired membership. Renew first.");
         }
 
         member.setStatus(MemberStatus.ACTIVE);
-        return MemberDTO.fromEntity(member);
+        return changed(member);
     }
 
+    @RetryOnOptimisticLock
     @Transactional
     public MemberDTO renewMembership(Long id, int years) {
         Member member = memberRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Member", "Id", id));
 
-        member.renewMembership(years);
-        return MemberDTO.fromEntity(member);
+        member.renewMembership(years, businessClock.today());
+        return changed(member);
     }
 
     public String generateMembershipNumber() {
         return "MEM-" + System.currentTimeMillis();
     }
-}
\ No newline at end of file
+
+    private MemberDTO changed(Member member) {
+        MemberDTO dto = MemberDTO.fromEntity(member, businessClock.today());
+        memberChanged.fire(MemberChanged.saved(MemberSuggestion.fromDto(dto)));
+        return dto;
+    }
+}
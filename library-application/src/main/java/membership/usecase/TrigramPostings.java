@@ -0,0 +1,99 @@
+package membership.usecase;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a packed trigram to an ascending posting list of document slots.
+ * Keys and postings are primitive arrays so the index costs a few bytes per occurrence instead
+ * of a boxed object per entry. Not thread-safe; {@link MemberSearchIndex} guards access.
+ */
+final class TrigramPostings {
+
+    static final int ABSENT = -1;
+
+    private static final long EMPTY_KEY = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int INITIAL_POSTING_CAPACITY = 4;
+
+    private long[] keys;
+    private int[][] postings;
+    private int[] sizes;
+    private int entries;
+
+    TrigramPostings() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    static long pack(char first, char second, char third) {
+        return ((long) first << 32) | ((long) second << 16) | third;
+    }
+
+    /**
+     * Appends a document to the trigram's postings. Documents must be added in ascending slot
+     * order; adding the same document twice in a row is ignored.
+     */
+    void add(long trigram, int document) {
+        if ((entries + 1) * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+        int slot = locate(trigram);
+        if (keys[slot] == EMPTY_KEY) {
+            keys[slot] = trigram;
+            postings[slot] = new int[INITIAL_POSTING_CAPACITY];
+            entries++;
+        }
+        int size = sizes[slot];
+        if (size > 0 && postings[slot][size - 1] == document) {
+            return;
+        }
+        if (size == postings[slot].length) {
+            postings[slot] = Arrays.copyOf(postings[slot], size * 2);
+        }
+        postings[slot][size] = document;
+        sizes[slot] = size + 1;
+    }
+
+    int find(long trigram) {
+        int slot = locate(trigram);
+        return keys[slot] == EMPTY_KEY ? ABSENT : slot;
+    }
+
+    int[] documents(int slot) {
+        return postings[slot];
+    }
+
+    int size(int slot) {
+        return sizes[slot];
+    }
+
+    private int locate(long trigram) {
+        int mask = keys.length - 1;
+        int slot = (int) ((trigram * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != trigram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[][] oldPostings = postings;
+        int[] oldSizes = sizes;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                int slot = locate(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                postings[slot] = oldPostings[i];
+                sizes[slot] = oldSizes[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        postings = new int[capacity][];
+        sizes = new int[capacity];
+    }
+}
@@ -0,0 +1,12 @@
+package reporting.dto;
+
+import lending.dto.LoanDTO;
+import reporting.port.LibraryCounts;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record DashboardStatistics(LibraryCounts counts,
+                                  List<LoanDTO> recentLoans,
+                                  List<LoanDTO> overdueLoans) implements Serializable {
+}
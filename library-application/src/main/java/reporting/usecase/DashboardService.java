@@ -0,0 +1,99 @@
+package reporting.usecase;
+
+import common.BusinessClock;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lending.dto.LoanDTO;
+import lending.port.LoanRepository;
+import reporting.dto.DashboardStatistics;
+import reporting.port.LibraryStatistics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Dashboard figures computed with one aggregate count plus two bounded loan queries. The
+ * result is shared for {@code library.dashboard.ttl-seconds} (system property, default 30)
+ * and only one caller recomputes it when it expires. While it does, the other callers get the
+ * expired snapshot; they only wait when there is no snapshot yet.
+ */
+@ApplicationScoped
+public class DashboardService {
+
+    static final int LOAN_LIST_SIZE = 5;
+    static final String TTL_PROPERTY = "library.dashboard.ttl-seconds";
+    private static final long DEFAULT_TTL_SECONDS = 30;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private LibraryStatistics libraryStatistics;
+    private LoanRepository loanRepository;
+    private BusinessClock businessClock;
+    private long ttlNanos;
+    private LongSupplier ticker;
+
+    public DashboardService() {
+        //Required by proxy
+    }
+
+    @Inject
+    public DashboardService(LibraryStatistics libraryStatistics, LoanRepository loanRepository,
+                            BusinessClock businessClock) {
+        this(libraryStatistics, loanRepository, businessClock,
+                Duration.ofSeconds(Long.getLong(TTL_PROPERTY, DEFAULT_TTL_SECONDS)), System::nanoTime);
+    }
+
+    DashboardService(LibraryStatistics libraryStatistics, LoanRepository loanRepository,
+                     BusinessClock businessClock, Duration ttl, LongSupplier ticker) {
+        this.libraryStatistics = libraryStatistics;
+        this.loanRepository = loanRepository;
+        this.businessClock = businessClock;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    public DashboardStatistics getStatistics() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh(ticker.getAsLong())) {
+            return current.statistics();
+        }
+        if (current == null) {
+            refreshLock.lock();
+        } else if (!refreshLock.tryLock()) {
+            return current.statistics();
+        }
+        try {
+            current = snapshot;
+            if (current == null || !current.isFresh(ticker.getAsLong())) {
+                DashboardStatistics statistics = load();
+                current = new Snapshot(statistics, ticker.getAsLong() + ttlNanos);
+                snapshot = current;
+            }
+            return current.statistics();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private DashboardStatistics load() {
+        LocalDate today = businessClock.today();
+        return new DashboardStatistics(
+                libraryStatistics.countAll(today),
+                loanRepository.findRecentSummaries(today, LOAN_LIST_SIZE).stream()
+                        .map(summary -> LoanDTO.fromSummary(summary, today))
+                        .toList(),
+                loanRepository.findOverdueSummaries(today, LOAN_LIST_SIZE).stream()
+                        .map(summary -> LoanDTO.fromSummary(summary, today))
+                        .toList());
+    }
+
+    private record Snapshot(DashboardStatistics statistics, long expiresAt) {
+
+        boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package catalog.usecase;
 
 import catalog.dto.BookDTO;
+import catalog.dto.BookSuggestion;
 import catalog.model.Book;
+import catalog.model.BookStatus;
 import catalog.model.Category;
+import catalog.port.BookFetchPlan;
 import catalog.port.BookRepository;
+import catalog.port.BookSummary;
 import catalog.port.CategoryRepository;
+import common.Lookup;
 import common.TestServiceHelper;
 import common.exception.BusinessRuleException;
 import common.exception.DuplicateEntityException;
@@ -19,7 +24,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +48,8 @@ import static org.mockito.Mockito.*;
  *   - update(): not-found check, ISBN collision across entities, category assignment
  *   - delete(): not-found check, active-loan guard
  *   - updateCopies(): not-found check, loaned-count floor, copy adjustment
+ *   - suggestAvailable(): blank-query short cut, limit clamp, summary mapping
+ *   - findAllByIsbn(): one query for the distinct keys, request order, not-found markers
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("BookService")
@@ -130,6 +139,7 @@ class BookServiceTest {
                     () -> assertNull(result.getCategoryId(), "No category should be assigned")
             );
             verify(bookRepository).save(any(Book.class));
+            verify(categoryRepository, never()).adjustBookCount(any(), anyInt());
         }
 
         @Test
@@ -157,6 +167,7 @@ class BookServiceTest {
                     () -> assertEquals("Technology", result.getCategoryName())
             );
             verify(bookRepository).save(any(Book.class));
+            verify(categoryRepository).adjustBookCount(1L, 1);
         }
     }
 
@@ -240,6 +251,47 @@ class BookServiceTest {
 
             assertThrows(EntityNotFoundException.class, () -> bookService.update(dto));
         }
+
+        @Test
+        @DisplayName("Should move one unit of book count from the old category to the new one")
+        void shouldMoveBookCountWhenCategoryChanges() {
+            Category oldCategory = new Category("Technology", "Tech books");
+            TestServiceHelper.setEntityId(oldCategory, 1L);
+            Category newCategory = new Category("Science", "Science books");
+            TestServiceHelper.setEntityId(newCategory, 2L);
+            existingBook.setCategory(oldCategory);
+
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
+            when(bookRepository.findByIsbn(any())).thenReturn(Optional.empty());
+            when(categoryRepository.findById(2L)).thenReturn(Optional.of(newCategory));
+
+            BookDTO dto = BookDTO.builder().id(1L).isbn("978-0-13-468599-1")
+                    .title("EJ").author("Bloch").totalCopies(1).categoryId(2L).build();
+
+            bookService.update(dto);
+
+            verify(categoryRepository).adjustBookCount(1L, -1);
+            verify(categoryRepository).adjustBookCount(2L, 1);
+        }
+
+        @Test
+        @DisplayName("Should leave book counts untouched when the category does not change")
+        void shouldNotAdjustBookCountWhenCategoryUnchanged() {
+            Category category = new Category("Technology", "Tech books");
+            TestServiceHelper.setEntityId(category, 1L);
+            existingBook.setCategory(category);
+
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
+            when(bookRepository.findByIsbn(any())).thenReturn(Optional.empty());
+            when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
+
+            BookDTO dto = BookDTO.builder().id(1L).isbn("978-0-13-468599-1")
+                    .title("EJ").author("Bloch").totalCopies(1).categoryId(1L).build();
+
+            bookService.update(dto);
+
+            verify(categoryRepository, never()).adjustBookCount(any(), anyInt());
+        }
     }
 
     // =========================================================================
@@ -284,6 +336,23 @@ class BookServiceTest {
             assertDoesNotThrow(() -> bookService.delete(1L));
             verify(bookRepository).delete(book);
         }
+
+        @Test
+        @DisplayName("Should decrement the category book count when a categorized book is deleted")
+        void shouldDecrementBookCountOnDelete() {
+            Category category = new Category("Technology", "Tech books");
+            TestServiceHelper.setEntityId(category, 1L);
+            Book book = new Book("978-0-13-468599-1", "Effective Java", "Joshua Bloch");
+            book.setTotalCopies(1);
+            book.setAvailableCopies(1);
+            book.setCategory(category);
+
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+            bookService.delete(1L);
+
+            verify(categoryRepository).adjustBookCount(1L, -1);
+        }
     }
 
     // =========================================================================
@@ -335,4 +404,85 @@ class BookServiceTest {
             verify(bookRepository).update(book);
         }
     }
+
+    // =========================================================================
+    // suggestAvailable()
+    // =========================================================================
+
+    @Nested
+    @DisplayName("suggestAvailable()")
+    class SuggestAvailableTests {
+
+        @Test
+        @DisplayName("Should not query the repository for a blank query")
+        void shouldSkipBlankQuery() {
+            assertTrue(bookService.suggestAvailable("  ", 10).isEmpty());
+            verifyNoInteractions(bookRepository);
+        }
+
+        @Test
+        @DisplayName("Should clamp the limit and map summaries to suggestions")
+        void shouldClampLimitAndMapSummaries() {
+            BookSummary summary = new BookSummary(1L, "978-0134685991", "Effective Java", "Joshua Bloch",
+                    null, null, 2, 1, 3L, "Programming", BookStatus.AVAILABLE, true);
+            when(bookRepository.findAvailableSummaries("effec", BookService.MAX_SUGGESTIONS))
+                    .thenReturn(List.of(summary));
+
+            List<BookSuggestion> result = bookService.suggestAvailable("effec", 10_000);
+
+            assertEquals(List.of(new BookSuggestion(1L, "978-0134685991", "Effective Java", "Joshua Bloch")), result);
+        }
+    }
+
+    // =========================================================================
+    // findAllByIsbn()
+    // =========================================================================
+
+    @Nested
+    @DisplayName("findAllByIsbn()")
+    class FindAllByIsbnTests {
+
+        @Test
+        @DisplayName("Should query the distinct ISBNs once and answer every key in request order")
+        void shouldAnswerInRequestOrder() {
+            Book dune = new Book("978-0441013593", "Dune", "Frank Herbert");
+            Book emma = new Book("978-0141439587", "Emma", "Jane Austen");
+            when(bookRepository.findAllByIsbn(Set.of("978-0141439587", "000-unknown", "978-0441013593"),
+                    BookFetchPlan.WITH_CATEGORY)).thenReturn(List.of(dune, emma));
+
+            List<Lookup<String, BookDTO>> result =
+                    bookService.findAllByIsbn(List.of("978-0141439587", "000-unknown", "978-0441013593", "978-0141439587"));
+
+            assertAll(
+                    () -> assertEquals(List.of("978-0141439587", "000-unknown", "978-0441013593", "978-0141439587"),
+                            result.stream().map(Lookup::key).toList()),
+                    () -> assertEquals(List.of(true, false, true, true), result.stream().map(Lookup::found).toList()),
+                    () -> assertEquals("Emma", result.get(0).value().getTitle()),
+                    () -> assertNull(result.get(1).value()),
+                    () -> assertEquals("Dune", result.get(2).value().getTitle())
+            );
+            verify(bookRepository, times(1)).findAllByIsbn(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllById()")
+    class FindAllByIdTests {
+
+        @Test
+        @DisplayName("Should query the distinct IDs with their category and answer every ID in request order")
+        void shouldAnswerInRequestOrder() {
+            Book dune = new Book("978-0441013593", "Dune", "Frank Herbert");
+            TestServiceHelper.setEntityId(dune, 1L);
+            when(bookRepository.findAllById(Set.of(1L, 99L), BookFetchPlan.WITH_CATEGORY)).thenReturn(List.of(dune));
+
+            List<Lookup<Long, BookDTO>> result = bookService.findAllById(List.of(99L, 1L, 99L));
+
+            assertAll(
+                    () -> assertEquals(List.of(99L, 1L, 99L), result.stream().map(Lookup::key).toList()),
+                    () -> assertEquals(List.of(false, true, false), result.stream().map(Lookup::found).toList()),
+                    () -> assertEquals("Dune", result.get(1).value().getTitle())
+            );
+        }
+    }
 }
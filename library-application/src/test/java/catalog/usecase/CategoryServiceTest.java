@@ -1,7 +1,6 @@
 package catalog.usecase;
 
 import catalog.dto.CategoryDTO;
-import catalog.model.Book;
 import catalog.model.Category;
 import catalog.port.CategoryRepository;
 import common.TestServiceHelper;
@@ -182,8 +181,8 @@ class CategoryServiceTest {
         @DisplayName("Should throw BusinessRuleException and never delete when category has associated books")
         void shouldThrowWhenCategoryHasBooks() {
             Category category = new Category("Technology", "Tech books");
-            // addBook() populates the books list and sets book.category = this
-            category.addBook(new Book("978-0-13-468599-1", "Effective Java", "Joshua Bloch"));
+            // The guard reads the maintained counter, never the lazy books collection
+            category.setBookCount(1);
 
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
 
@@ -195,7 +194,7 @@ class CategoryServiceTest {
         @Test
         @DisplayName("Should delete category when no books are associated")
         void shouldDeleteCategoryWhenNoBooksAssociated() {
-            // Category initialized with an empty books list by default
+            // Category starts with a book count of zero
             Category category = new Category("Technology", "Tech books");
 
             when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
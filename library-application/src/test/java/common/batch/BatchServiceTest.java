@@ -0,0 +1,134 @@
+package common.batch;
+
+import common.exception.BusinessRuleException;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.TransactionalException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static common.batch.BatchOutcome.Status.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchService.
+ *
+ * A plain BatchChunk runs the steps without a container, so the transaction boundary is
+ * observed through the outcomes: each call to BatchChunk.run() stands for one commit.
+ *
+ * Tested behaviour:
+ *   - steps are applied in order and their values returned
+ *   - a failing step marks earlier steps of its chunk rolled back and later steps skipped
+ *   - chunks commit independently of each other
+ *   - a failed commit rolls back every step of the chunk
+ *   - rejection of a non-positive chunk size
+ */
+@DisplayName("BatchService")
+class BatchServiceTest {
+
+    private final BatchService batchService = new BatchService(new BatchChunk());
+
+    private static BatchStep step(String name, List<String> log) {
+        return new BatchStep(name, () -> {
+            log.add(name);
+            return name.toUpperCase();
+        });
+    }
+
+    private static BatchStep failing(String name, RuntimeException failure) {
+        return new BatchStep(name, () -> {
+            throw failure;
+        });
+    }
+
+    private static List<BatchOutcome.Status> statuses(List<BatchOutcome> outcomes) {
+        return outcomes.stream().map(BatchOutcome::status).toList();
+    }
+
+    @Nested
+    @DisplayName("Single chunk")
+    class AtomicTests {
+
+        @Test
+        @DisplayName("Should apply every step in order")
+        void shouldApplyAllSteps() {
+            List<String> log = new ArrayList<>();
+
+            List<BatchOutcome> outcomes = batchService.execute(List.of(step("a", log), step("b", log)), 2);
+
+            assertAll(
+                    () -> assertEquals(List.of("a", "b"), log),
+                    () -> assertEquals(List.of(APPLIED, APPLIED), statuses(outcomes)),
+                    () -> assertEquals("B", outcomes.get(1).value()),
+                    () -> assertEquals(1, outcomes.get(1).index())
+            );
+        }
+
+        @Test
+        @DisplayName("Should roll back earlier steps and skip later ones when a step fails")
+        void shouldRollBackOnFailure() {
+            List<String> log = new ArrayList<>();
+            BusinessRuleException failure = new BusinessRuleException("Book is not available");
+
+            List<BatchOutcome> outcomes = batchService.execute(
+                    List.of(step("a", log), failing("b", failure), step("c", log)), 3);
+
+            assertAll(
+                    () -> assertEquals(List.of("a"), log),
+                    () -> assertEquals(List.of(ROLLED_BACK, FAILED, SKIPPED), statuses(outcomes)),
+                    () -> assertSame(failure, outcomes.get(1).failure()),
+                    () -> assertNull(outcomes.get(0).failure()),
+                    () -> assertEquals("c", outcomes.get(2).operation())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Several chunks")
+    class ChunkedTests {
+
+        @Test
+        @DisplayName("Should keep the chunks before and after a failure applied")
+        void shouldIsolateChunks() {
+            List<String> log = new ArrayList<>();
+
+            List<BatchOutcome> outcomes = batchService.execute(List.of(
+                    step("a", log), step("b", log),
+                    step("c", log), failing("d", new BusinessRuleException("Loan already returned")),
+                    step("e", log)), 2);
+
+            assertAll(
+                    () -> assertEquals(List.of("a", "b", "c", "e"), log),
+                    () -> assertEquals(List.of(APPLIED, APPLIED, ROLLED_BACK, FAILED, APPLIED), statuses(outcomes)),
+                    () -> assertEquals(List.of(0, 1, 2, 3, 4), outcomes.stream().map(BatchOutcome::index).toList())
+            );
+        }
+
+        @Test
+        @DisplayName("Should roll back every step of a chunk whose commit fails")
+        void shouldRollBackOnCommitFailure() {
+            BatchChunk batchChunk = mock(BatchChunk.class);
+            TransactionalException failure = new TransactionalException("Commit failed", new RollbackException());
+            when(batchChunk.run(anyList())).thenReturn(List.of("A")).thenThrow(failure);
+
+            List<BatchOutcome> outcomes = new BatchService(batchChunk)
+                    .execute(List.of(step("a", new ArrayList<>()), step("b", new ArrayList<>())), 1);
+
+            assertAll(
+                    () -> assertEquals(List.of(APPLIED, ROLLED_BACK), statuses(outcomes)),
+                    () -> assertSame(failure, outcomes.get(1).failure())
+            );
+        }
+
+        @Test
+        @DisplayName("Should reject a chunk size below one")
+        void shouldRejectNonPositiveChunkSize() {
+            assertThrows(IllegalArgumentException.class, () -> batchService.execute(List.of(), 0));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package common.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncLogHandler.
+ *
+ * The sink records what the worker thread delivers; a latch inside the sink holds the
+ * worker back where a test needs the queue to fill up.
+ *
+ * Tested behaviour:
+ *   - records reach the sink on the worker thread, in publish order
+ *   - records below the handler level are never queued
+ *   - a full queue drops and counts records instead of blocking
+ *   - close() delivers what is still queued and stops accepting records
+ *   - close() stops the worker thread taken from the factory
+ */
+@DisplayName("AsyncLogHandler")
+class AsyncLogHandlerTest {
+
+    // Stands in for the container's managed thread factory
+    private static final ThreadFactory WORKERS = Thread.ofPlatform().name("async-log-test").daemon().factory();
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    private AsyncLogHandler handler;
+
+    @AfterEach
+    void closeHandler() {
+        if (handler != null) {
+            handler.close();
+        }
+    }
+
+    private void record(LogRecord record) {
+        delivered.add(record.getMessage());
+        threads.add(Thread.currentThread().getName());
+    }
+
+    private static LogRecord info(String message) {
+        return new LogRecord(Level.INFO, message);
+    }
+
+    @Nested
+    @DisplayName("Delivery")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should deliver records in order on the worker thread")
+        void shouldDeliverInOrderOnWorker() throws InterruptedException {
+            CountDownLatch both = new CountDownLatch(2);
+            handler = new AsyncLogHandler(WORKERS, record -> {
+                record(record);
+                both.countDown();
+            });
+
+            handler.publish(info("first"));
+            handler.publish(info("second"));
+
+            assertTrue(both.await(5, TimeUnit.SECONDS));
+            assertAll(
+                    () -> assertEquals(List.of("first", "second"), delivered),
+                    () -> assertFalse(threads.contains(Thread.currentThread().getName()))
+            );
+        }
+
+        @Test
+        @DisplayName("Should not queue records below the handler level")
+        void shouldSkipRecordsBelowLevel() {
+            handler = new AsyncLogHandler(WORKERS, AsyncLogHandlerTest.this::record);
+            handler.setLevel(Level.WARNING);
+
+            handler.publish(info("ignored"));
+            handler.publish(new LogRecord(Level.SEVERE, "kept"));
+            handler.close();
+
+            assertEquals(List.of("kept"), delivered);
+        }
+    }
+
+    @Nested
+    @DisplayName("Back-pressure and shutdown")
+    class CapacityTests {
+
+        @Test
+        @DisplayName("Should drop and count records when the queue is full")
+        void shouldDropWhenFull() throws InterruptedException {
+            CountDownLatch taken = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            handler = new AsyncLogHandler(1, WORKERS, record -> {
+                taken.countDown();
+                awaitQuietly(release);
+                record(record);
+            });
+
+            handler.publish(info("in flight"));
+            assertTrue(taken.await(5, TimeUnit.SECONDS));
+            handler.publish(info("queued"));
+            handler.publish(info("dropped"));
+            release.countDown();
+            handler.close();
+
+            assertAll(
+                    () -> assertEquals(1, handler.getDroppedCount()),
+                    () -> assertEquals(List.of("in flight", "queued"), delivered)
+            );
+        }
+
+        @Test
+        @DisplayName("Should ignore records published after close")
+        void shouldIgnoreRecordsAfterClose() {
+            handler = new AsyncLogHandler(WORKERS, AsyncLogHandlerTest.this::record);
+            handler.close();
+
+            handler.publish(info("late"));
+
+            assertTrue(delivered.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should stop the worker thread taken from the factory on close")
+        void shouldStopWorkerOnClose() {
+            List<Thread> created = new CopyOnWriteArrayList<>();
+            handler = new AsyncLogHandler(task -> {
+                Thread thread = WORKERS.newThread(task);
+                created.add(thread);
+                return thread;
+            }, AsyncLogHandlerTest.this::record);
+
+            handler.close();
+
+            assertAll(
+                    () -> assertEquals(1, created.size()),
+                    () -> assertFalse(created.get(0).isAlive())
+            );
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
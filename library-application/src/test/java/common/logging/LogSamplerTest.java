@@ -0,0 +1,114 @@
+package common.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogSampler.
+ *
+ * A capturing handler is attached to a private logger that does not forward to the root
+ * handlers, so the tests see exactly the records the sampler lets through.
+ *
+ * Tested behaviour:
+ *   - the first occurrence and every Nth after it are logged, with the running count
+ *   - categories are counted independently
+ *   - messages are neither built nor counted when the level is disabled
+ *   - a non-positive interval is rejected
+ */
+@DisplayName("LogSampler")
+class LogSamplerTest {
+
+    private final List<LogRecord> records = new CopyOnWriteArrayList<>();
+    private final Logger logger = Logger.getLogger(LogSamplerTest.class.getName());
+
+    private final Handler capture = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    void attachHandler() {
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(capture);
+    }
+
+    @AfterEach
+    void detachHandler() {
+        logger.removeHandler(capture);
+        logger.setUseParentHandlers(true);
+        logger.setLevel(null);
+    }
+
+    @Test
+    @DisplayName("Should log the first and every Nth occurrence with the running count")
+    void shouldLogEveryNth() {
+        LogSampler sampler = new LogSampler(3);
+
+        for (int i = 0; i < 7; i++) {
+            sampler.log(logger, Level.WARNING, "return", () -> "Book not found");
+        }
+
+        assertAll(
+                () -> assertEquals(List.of("Book not found", "Book not found [4 occurrences]",
+                        "Book not found [7 occurrences]"), records.stream().map(LogRecord::getMessage).toList()),
+                () -> assertEquals(7, sampler.occurrences("return"))
+        );
+    }
+
+    @Test
+    @DisplayName("Should count each category separately")
+    void shouldCountCategoriesSeparately() {
+        LogSampler sampler = new LogSampler(10);
+
+        sampler.log(logger, Level.WARNING, "borrow", () -> "borrow");
+        sampler.log(logger, Level.WARNING, "return", () -> "return");
+        sampler.log(logger, Level.WARNING, "borrow", () -> "borrow again");
+
+        assertEquals(List.of("borrow", "return"), records.stream().map(LogRecord::getMessage).toList());
+    }
+
+    @Test
+    @DisplayName("Should neither build nor count messages when the level is disabled")
+    void shouldSkipDisabledLevel() {
+        LogSampler sampler = new LogSampler(1);
+        AtomicInteger built = new AtomicInteger();
+        logger.setLevel(Level.INFO);
+
+        sampler.log(logger, Level.FINE, "load", () -> "loaded " + built.incrementAndGet());
+
+        assertAll(
+                () -> assertEquals(0, built.get()),
+                () -> assertEquals(0, sampler.occurrences("load")),
+                () -> assertTrue(records.isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive interval")
+    void shouldRejectNonPositiveInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new LogSampler(0));
+    }
+}
@@ -0,0 +1,204 @@
+package common.retry;
+
+import common.batch.BatchChunk;
+import common.batch.BatchStep;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.transaction.RollbackException;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.TransactionalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OptimisticLockRetryInterceptor.
+ *
+ * The InvocationContext is mocked so each call to proceed() stands for one complete
+ * transactional attempt. Backoff is disabled with a zero base delay to keep the tests fast.
+ *
+ * Tested behaviour:
+ *   - conflicts are retried until success or until maxAttempts is reached
+ *   - conflicts wrapped by the transaction interceptor are still recognised
+ *   - other failures and calls inside a running transaction are never retried
+ *   - retries and exhaustions are counted per operation
+ *   - a batch chunk is re-run from its first step under its own, lower attempt limit
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimisticLockRetryInterceptor")
+class OptimisticLockRetryInterceptorTest {
+
+    private static final String OPERATION = "OptimisticLockRetryInterceptorTest.sampleOperation";
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    @Mock
+    private InvocationContext context;
+
+    private RetryStatistics statistics;
+
+    private OptimisticLockRetryInterceptor interceptor;
+
+    @SuppressWarnings("unused")
+    private void sampleOperation() {
+        // Target method used only for its name
+    }
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        statistics = new RetryStatistics();
+        interceptor = new OptimisticLockRetryInterceptor(statistics, transactionRegistry);
+
+        Method method = OptimisticLockRetryInterceptorTest.class.getDeclaredMethod("sampleOperation");
+        lenient().when(context.getMethod()).thenReturn(method);
+        lenient().when(context.getInterceptorBinding(RetryOnOptimisticLock.class))
+                .thenReturn(RetryOnOptimisticLock.Literal.of(3, 0));
+        lenient().when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+    }
+
+    @Nested
+    @DisplayName("retry()")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should re-run the operation after a conflict and return the successful result")
+        void shouldRetryAfterConflict() throws Exception {
+            when(context.proceed())
+                    .thenThrow(new OptimisticLockException("stale"))
+                    .thenReturn("done");
+
+            Object result = interceptor.retry(context);
+
+            assertAll(
+                    () -> assertEquals("done", result),
+                    () -> assertEquals(new RetryCounters(1, 0), statistics.snapshot().get(OPERATION))
+            );
+            verify(context, times(2)).proceed();
+        }
+
+        @Test
+        @DisplayName("Should recognise a conflict raised at commit and wrapped by the transaction interceptor")
+        void shouldRetryWrappedCommitConflict() throws Exception {
+            RollbackException rollback = new RollbackException("commit failed");
+            rollback.initCause(new OptimisticLockException("stale"));
+            when(context.proceed())
+                    .thenThrow(new TransactionalException("rolled back", rollback))
+                    .thenReturn("done");
+
+            assertEquals("done", interceptor.retry(context));
+            verify(context, times(2)).proceed();
+        }
+
+        @Test
+        @DisplayName("Should rethrow the last conflict and count an exhaustion after maxAttempts")
+        void shouldGiveUpAfterMaxAttempts() throws Exception {
+            OptimisticLockException conflict = new OptimisticLockException("stale");
+            when(context.proceed()).thenThrow(conflict);
+
+            OptimisticLockException thrown = assertThrows(OptimisticLockException.class,
+                    () -> interceptor.retry(context));
+
+            assertAll(
+                    () -> assertSame(conflict, thrown),
+                    () -> assertEquals(new RetryCounters(2, 1), statistics.snapshot().get(OPERATION))
+            );
+            verify(context, times(3)).proceed();
+        }
+
+        @Test
+        @DisplayName("Should propagate failures other than optimistic lock conflicts without retrying")
+        void shouldNotRetryOtherFailures() throws Exception {
+            when(context.proceed()).thenThrow(new IllegalStateException("boom"));
+
+            assertThrows(IllegalStateException.class, () -> interceptor.retry(context));
+
+            verify(context, times(1)).proceed();
+            assertTrue(statistics.snapshot().isEmpty(), "Non-conflict failures must not be counted");
+        }
+
+        @Test
+        @DisplayName("Should not retry when the call joins a transaction that is already running")
+        void shouldNotRetryInsideRunningTransaction() throws Exception {
+            when(transactionRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+            when(context.proceed()).thenThrow(new OptimisticLockException("stale"));
+
+            // The outer transaction is already marked for rollback; only its owner can retry
+            assertThrows(OptimisticLockException.class, () -> interceptor.retry(context));
+            verify(context, times(1)).proceed();
+        }
+    }
+
+    @Nested
+    @DisplayName("BatchChunk.run()")
+    class BatchChunkTests {
+
+        private final BatchChunk chunk = new BatchChunk();
+
+        private final AtomicInteger firstStepRuns = new AtomicInteger();
+
+        @BeforeEach
+        void bindChunk() throws NoSuchMethodException {
+            // Use the chunk's own policy, so the test fails if its attempt limit is loosened
+            Method run = BatchChunk.class.getMethod("run", List.class);
+            when(context.getMethod()).thenReturn(run);
+            when(context.getInterceptorBinding(RetryOnOptimisticLock.class))
+                    .thenReturn(run.getAnnotation(RetryOnOptimisticLock.class));
+        }
+
+        private List<BatchStep> steps(BatchStep second) {
+            return List.of(new BatchStep("first", firstStepRuns::incrementAndGet), second);
+        }
+
+        @Test
+        @DisplayName("Should re-run the whole chunk after a conflict in a later step")
+        void shouldRetryChunkFromStart() throws Exception {
+            AtomicInteger conflicts = new AtomicInteger(1);
+            List<BatchStep> steps = steps(new BatchStep("second", () -> {
+                if (conflicts.getAndDecrement() > 0) {
+                    throw new OptimisticLockException("stale");
+                }
+                return "saved";
+            }));
+            when(context.proceed()).thenAnswer(invocation -> chunk.run(steps));
+
+            Object values = interceptor.retry(context);
+
+            assertAll(
+                    () -> assertEquals(List.of(2, "saved"), values),
+                    () -> assertEquals(2, firstStepRuns.get(), "The retry must start from the first step"),
+                    () -> assertEquals(new RetryCounters(1, 0), statistics.snapshot().get("BatchChunk.run"))
+            );
+        }
+
+        @Test
+        @DisplayName("Should give up after a single retry and report the conflicting step")
+        void shouldStopAfterSingleRetry() throws Exception {
+            List<BatchStep> steps = steps(BatchStep.of("second", () -> {
+                throw new OptimisticLockException("stale");
+            }));
+            when(context.proceed()).thenAnswer(invocation -> chunk.run(steps));
+
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> interceptor.retry(context));
+
+            assertAll(
+                    () -> assertInstanceOf(OptimisticLockException.class, failure.getCause()),
+                    () -> assertEquals(2, firstStepRuns.get()),
+                    () -> assertEquals(new RetryCounters(1, 1), statistics.snapshot().get("BatchChunk.run"))
+            );
+            verify(context, times(2)).proceed();
+        }
+    }
+}
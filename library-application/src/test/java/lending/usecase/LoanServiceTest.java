@@ -3,6 +3,11 @@ package lending.usecase;
 import catalog.model.Book;
 import catalog.model.BookStatus;
 import catalog.port.BookRepository;
+import common.BusinessClock;
+import common.Cursor;
+import common.Page;
+import common.PageRequest;
+import common.SystemBusinessClock;
 import common.TestServiceHelper;
 import common.exception.BusinessRuleException;
 import common.exception.EntityNotFoundException;
@@ -10,7 +15,9 @@ import jakarta.validation.Validator;
 import lending.dto.LoanDTO;
 import lending.model.Loan;
 import lending.model.LoanStatus;
+import lending.port.LoanFetchPlan;
 import lending.port.LoanRepository;
+import lending.port.LoanSummary;
 import membership.model.Member;
 import membership.model.MemberStatus;
 import membership.port.MemberRepository;
@@ -21,10 +28,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +49,7 @@ import static org.mockito.Mockito.*;
  * book unavailable, member ineligible, duplicate active loan) is verified
  * independently to ensure exactly one repository call triggers the failure.
  *
- * Date-sensitive assertions rely on the fact that new Loan() sets
+ * Date-sensitive assertions rely on the fact that new Loan(book, member, today) sets
  * dueDate = today + 14, so freshly created loans are always within their
  * period and canRenew() returns true by default.
  *
@@ -49,7 +58,9 @@ import static org.mockito.Mockito.*;
  *   - returnBook(): not-found, already-returned guard, happy path
  *   - renewLoan(): not-found, renewal-limit guard, happy path
  *   - markAsLost(): not-found, already-returned guard, happy path
- *   - updateOverdueStatus(): batch transition for overdue active loans
+ *   - updateOverdueStatus(): chunked set-based transition for overdue active loans
+ *   - findPage(PageRequest): one table page read from summary projections
+ *   - list finders: summary mapping and a single business-clock reading per call
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("LoanService")
@@ -64,9 +75,15 @@ class LoanServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private OverdueLoanBatch overdueLoanBatch;
+
     @Mock
     private Validator validator;
 
+    @Spy
+    private BusinessClock businessClock = new SystemBusinessClock();
+
     @InjectMocks
     private LoanService loanService;
 
@@ -85,7 +102,7 @@ class LoanServiceTest {
         book.setStatus(BookStatus.AVAILABLE);
 
         // An active member with room to borrow (defaults: ACTIVE, 0 active loans, max 5, +1yr expiry)
-        member = new Member("MEM-001", "John", "Doe", "john@example.com");
+        member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
     }
 
     // =========================================================================
@@ -142,7 +159,7 @@ class LoanServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when member already has an active loan for this book")
         void shouldThrowWhenActiveLoanAlreadyExists() {
-            Loan existingLoan = new Loan(book, member);
+            Loan existingLoan = new Loan(book, member, LocalDate.now());
 
             when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
@@ -185,6 +202,164 @@ class LoanServiceTest {
         }
     }
 
+    // =========================================================================
+    // borrowBook() — ATOMIC mode
+    // =========================================================================
+
+    @Nested
+    @DisplayName("borrowBook() with BorrowMode.ATOMIC")
+    class AtomicBorrowBookTests {
+
+        @Test
+        @DisplayName("Should create the loan when both guarded updates affect a row")
+        void shouldBorrowWhenGuardedUpdatesSucceed() {
+            when(bookRepository.tryBorrowCopy(1L)).thenReturn(true);
+            when(memberRepository.tryIncrementActiveLoans(eq(1L), any(LocalDate.class))).thenReturn(true);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+            when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+            when(loanRepository.findActiveByBookAndMember(book, member)).thenReturn(Optional.empty());
+
+            LoanDTO result = loanService.borrowBook(1L, 1L, null, BorrowMode.ATOMIC);
+
+            assertNotNull(result);
+            verify(loanRepository).save(any(Loan.class));
+            // Counters were changed in the database; the loaded entities must not be merged back
+            verify(bookRepository, never()).update(any());
+            verify(memberRepository, never()).update(any());
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessRuleException without touching the member when no copy is left")
+        void shouldThrowWhenNoCopyCouldBeReserved() {
+            when(bookRepository.tryBorrowCopy(1L)).thenReturn(false);
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+
+            assertThrows(BusinessRuleException.class,
+                    () -> loanService.borrowBook(1L, 1L, null, BorrowMode.ATOMIC));
+            verify(memberRepository, never()).tryIncrementActiveLoans(any(), any());
+            verify(loanRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should throw EntityNotFoundException when the guarded update missed because the book does not exist")
+        void shouldThrowWhenBookDoesNotExist() {
+            when(bookRepository.tryBorrowCopy(1L)).thenReturn(false);
+            when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+            assertThrows(EntityNotFoundException.class,
+                    () -> loanService.borrowBook(1L, 1L, null, BorrowMode.ATOMIC));
+        }
+
+        @Test
+        @DisplayName("Should throw BusinessRuleException when the member has reached the loan limit")
+        void shouldThrowWhenMemberCannotBorrow() {
+            when(bookRepository.tryBorrowCopy(1L)).thenReturn(true);
+            when(memberRepository.tryIncrementActiveLoans(eq(1L), any(LocalDate.class))).thenReturn(false);
+            when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+
+            // The transaction rollback restores the copy taken by the first update
+            assertThrows(BusinessRuleException.class,
+                    () -> loanService.borrowBook(1L, 1L, null, BorrowMode.ATOMIC));
+            verify(loanRepository, never()).save(any());
+        }
+    }
+
+    // =========================================================================
+    // checkout()
+    // =========================================================================
+
+    @Nested
+    @DisplayName("checkout()")
+    class CheckoutTests {
+
+        private Book secondBook;
+
+        @BeforeEach
+        void setUp() {
+            TestServiceHelper.setEntityId(book, 1L);
+            secondBook = new Book("978-0-596-00920-5", "Head First Java", "Kathy Sierra");
+            secondBook.setTotalCopies(1);
+            secondBook.setAvailableCopies(1);
+            secondBook.setStatus(BookStatus.AVAILABLE);
+            TestServiceHelper.setEntityId(secondBook, 2L);
+        }
+
+        @Test
+        @DisplayName("Should create one loan per book and persist them with a single saveAll")
+        @SuppressWarnings("unchecked")
+        void shouldCheckoutAllBooks() {
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+            when(bookRepository.lockAllById(List.of(2L, 1L))).thenReturn(List.of(book, secondBook));
+            when(loanRepository.findBookIdsOnActiveLoan(member, List.of(2L, 1L))).thenReturn(List.of());
+
+            // Duplicate ids in the cart are collapsed before anything is read
+            List<LoanDTO> result = loanService.checkout(7L, List.of(2L, 1L, 2L), null);
+
+            assertAll("Checkout of two books",
+                    () -> assertEquals(2, result.size()),
+                    () -> assertEquals(2, book.getAvailableCopies()),
+                    () -> assertEquals(0, secondBook.getAvailableCopies()),
+                    () -> assertEquals(2, member.getActiveLoans(),
+                            "The member's loan count grows by the size of the cart")
+            );
+            verify(loanRepository).saveAll(argThat(loans -> loans.size() == 2));
+            verify(loanRepository, never()).save(any());
+            verify(memberRepository, times(1)).findById(7L);
+        }
+
+        @Test
+        @DisplayName("Should reject the whole cart when it exceeds the member's remaining loan allowance")
+        void shouldRejectCartAboveMaxLoans() {
+            member.setMaxLoans(1);
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+
+            assertThrows(BusinessRuleException.class, () -> loanService.checkout(7L, List.of(1L, 2L), null));
+            verify(bookRepository, never()).lockAllById(any());
+            verify(loanRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should throw EntityNotFoundException naming the first requested book that does not exist")
+        void shouldThrowWhenABookIsMissing() {
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+            when(bookRepository.lockAllById(List.of(1L, 99L))).thenReturn(List.of(book));
+
+            EntityNotFoundException thrown = assertThrows(EntityNotFoundException.class,
+                    () -> loanService.checkout(7L, List.of(1L, 99L), null));
+            assertTrue(thrown.getMessage().contains("99"));
+            verify(loanRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should reject the cart when any book has no copy left")
+        void shouldRejectCartWithUnavailableBook() {
+            secondBook.setAvailableCopies(0);
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+            when(bookRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(book, secondBook));
+
+            assertThrows(BusinessRuleException.class, () -> loanService.checkout(7L, List.of(1L, 2L), null));
+            assertEquals(3, book.getAvailableCopies(), "No copy may be taken when the cart is rejected");
+        }
+
+        @Test
+        @DisplayName("Should reject the cart when the member already holds one of the books")
+        void shouldRejectCartWithBookAlreadyOnLoan() {
+            when(memberRepository.findById(7L)).thenReturn(Optional.of(member));
+            when(bookRepository.lockAllById(List.of(1L, 2L))).thenReturn(List.of(book, secondBook));
+            when(loanRepository.findBookIdsOnActiveLoan(member, List.of(1L, 2L))).thenReturn(List.of(2L));
+
+            assertThrows(BusinessRuleException.class, () -> loanService.checkout(7L, List.of(1L, 2L), null));
+            verify(loanRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty cart without touching any repository")
+        void shouldRejectEmptyCart() {
+            assertThrows(BusinessRuleException.class, () -> loanService.checkout(7L, List.of(), null));
+            verifyNoInteractions(memberRepository, bookRepository, loanRepository);
+        }
+    }
+
     // =========================================================================
     // returnBook()
     // =========================================================================
@@ -204,7 +379,7 @@ class LoanServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when loan is already in RETURNED status")
         void shouldThrowWhenAlreadyReturned() {
-            Loan loan = new Loan(book, member);
+            Loan loan = new Loan(book, member, LocalDate.now());
             loan.setStatus(LoanStatus.RETURNED);
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
@@ -217,7 +392,7 @@ class LoanServiceTest {
         void shouldReturnBookSuccessfully() {
             book.setAvailableCopies(2); // 1 copy currently on loan
             member.setActiveLoans(1);
-            Loan loan = new Loan(book, member); // ACTIVE by default
+            Loan loan = new Loan(book, member, LocalDate.now()); // ACTIVE by default
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
 
@@ -255,7 +430,7 @@ class LoanServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when maximum renewals have been reached")
         void shouldThrowWhenMaxRenewalsReached() {
-            Loan loan = new Loan(book, member);
+            Loan loan = new Loan(book, member, LocalDate.now());
             loan.setRenewalCount(2); // MAX_RENEWALS = 2 → canRenew() returns false
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
@@ -267,7 +442,7 @@ class LoanServiceTest {
         @DisplayName("Should extend due date by 14 days and increment renewal count on success")
         void shouldRenewLoanSuccessfully() {
             // Freshly created loan: ACTIVE, not overdue, renewalCount = 0
-            Loan loan = new Loan(book, member);
+            Loan loan = new Loan(book, member, LocalDate.now());
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
 
@@ -302,7 +477,7 @@ class LoanServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when loan is already in RETURNED status")
         void shouldThrowWhenLoanAlreadyReturned() {
-            Loan loan = new Loan(book, member);
+            Loan loan = new Loan(book, member, LocalDate.now());
             loan.setStatus(LoanStatus.RETURNED);
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
@@ -315,7 +490,7 @@ class LoanServiceTest {
         void shouldMarkLoanAsLostSuccessfully() {
             book.setAvailableCopies(2); // 1 copy currently on loan
             member.setActiveLoans(1);
-            Loan loan = new Loan(book, member); // ACTIVE
+            Loan loan = new Loan(book, member, LocalDate.now()); // ACTIVE
 
             when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
 
@@ -343,40 +518,131 @@ class LoanServiceTest {
     class UpdateOverdueStatusTests {
 
         @Test
-        @DisplayName("Should transition overdue active loans to OVERDUE and leave current loans unchanged")
-        void shouldUpdateOnlyOverdueActiveLoans() {
-            Loan overdueLoan = new Loan(book, member);
-            overdueLoan.setDueDate(LocalDate.now().minusDays(3)); // 3 days past due → isOverdue() = true
+        @DisplayName("Should keep running chunks until one comes back empty and return the total")
+        void shouldRunChunksUntilOneComesBackEmpty() {
+            int chunk = LoanService.OVERDUE_CHUNK_SIZE;
+            when(overdueLoanBatch.markNextChunk(any(LocalDate.class), eq(chunk)))
+                    .thenReturn(chunk, chunk, 7, 0);
 
-            Loan currentLoan = new Loan(book, member);
-            // dueDate defaults to today + 14 → isOverdue() = false
+            int updated = loanService.updateOverdueStatus();
 
-            when(loanRepository.findByStatus(LoanStatus.ACTIVE))
-                    .thenReturn(List.of(overdueLoan, currentLoan));
+            assertEquals(2 * chunk + 7, updated, "The count must cover every chunk that ran");
+            // Each chunk commits in its own transaction; only an empty chunk means nothing is left
+            verify(overdueLoanBatch, times(4)).markNextChunk(any(LocalDate.class), eq(chunk));
+        }
 
-            loanService.updateOverdueStatus();
+        @Test
+        @DisplayName("Should go on after a short chunk, which may only mean rows were locked elsewhere")
+        void shouldContinueAfterShortChunk() {
+            // SKIP LOCKED leaves rows held by another transaction for the next pass
+            when(overdueLoanBatch.markNextChunk(any(LocalDate.class), anyInt())).thenReturn(3, 2, 0);
 
-            assertAll("Overdue status update",
-                    () -> assertEquals(LoanStatus.OVERDUE, overdueLoan.getStatus(),
-                            "Loans past their due date must transition to OVERDUE"),
-                    () -> assertEquals(LoanStatus.ACTIVE, currentLoan.getStatus(),
-                            "Loans still within their lending period must not be touched")
+            assertEquals(5, loanService.updateOverdueStatus());
+            verify(overdueLoanBatch, times(3)).markNextChunk(any(LocalDate.class), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should run a single chunk and report zero when no active loans are overdue")
+        void shouldReturnZeroWhenNoLoansAreOverdue() {
+            when(overdueLoanBatch.markNextChunk(any(LocalDate.class), anyInt())).thenReturn(0);
+
+            int updated = loanService.updateOverdueStatus();
+
+            assertEquals(0, updated);
+            verify(overdueLoanBatch, times(1)).markNextChunk(any(LocalDate.class), anyInt());
+            verify(loanRepository, never()).update(any());
+        }
+    }
+
+    // =========================================================================
+    // List finders
+    // =========================================================================
+
+    @Nested
+    @DisplayName("List finders")
+    class ListFinderTests {
+
+        @Test
+        @DisplayName("Should read status lists from summary projections without loading entities")
+        void shouldMapStatusListFromSummaries() {
+            LocalDate dueDate = LocalDate.now().plusDays(5);
+            LoanSummary summary = new LoanSummary(1L, 10L, "Effective Java", "978-0134685991",
+                    20L, "John Doe", "MEM-001", LocalDate.now().minusDays(9), dueDate, null,
+                    LoanStatus.ACTIVE, 0, null, false, true);
+            Cursor after = Cursor.of(LocalDate.now().toString(), 7L);
+            when(loanRepository.findSummariesByStatus(eq(LoanStatus.ACTIVE), eq(after), eq(20), any(LocalDate.class)))
+                    .thenReturn(new Page<>(List.of(summary), "next-token"));
+
+            Page<LoanDTO> page = loanService.findByStatus(LoanStatus.ACTIVE, after, 20);
+            List<LoanDTO> result = page.items();
+
+            assertAll(
+                    () -> assertEquals(1, result.size()),
+                    () -> assertEquals("Effective Java", result.get(0).getBookTitle()),
+                    () -> assertEquals("John Doe", result.get(0).getMemberName()),
+                    () -> assertEquals(5, result.get(0).getDaysUntilDue()),
+                    () -> assertTrue(result.get(0).isCanRenew()),
+                    () -> assertEquals("next-token", page.next())
             );
-            // Only the overdue loan should be written back to the repository
-            verify(loanRepository).update(overdueLoan);
-            verify(loanRepository, never()).update(currentLoan);
+            verify(loanRepository, never()).findByStatus(any(), any());
         }
 
         @Test
-        @DisplayName("Should perform no updates when no active loans are overdue")
-        void shouldDoNothingWhenNoLoansAreOverdue() {
-            Loan currentLoan = new Loan(book, member); // due in 14 days
+        @DisplayName("Should derive days overdue from the due date of an overdue summary")
+        void shouldComputeDaysOverdueFromSummary() {
+            LoanSummary summary = new LoanSummary(2L, 10L, "Effective Java", "978-0134685991",
+                    20L, "John Doe", "MEM-001", LocalDate.now().minusDays(20), LocalDate.now().minusDays(6),
+                    null, LoanStatus.ACTIVE, 0, null, true, false);
+            when(loanRepository.findOverdueSummaries(any(LocalDate.class), isNull(), eq(Page.DEFAULT_LIMIT)))
+                    .thenReturn(new Page<>(List.of(summary), null));
+
+            List<LoanDTO> result = loanService.findOverdueLoans(null, Page.DEFAULT_LIMIT).items();
+
+            assertAll(
+                    () -> assertTrue(result.get(0).isOverdue()),
+                    () -> assertEquals(6, result.get(0).getDaysOverdue()),
+                    () -> assertFalse(result.get(0).isCanRenew())
+            );
+        }
 
-            when(loanRepository.findByStatus(LoanStatus.ACTIVE)).thenReturn(List.of(currentLoan));
+        @Test
+        @DisplayName("Should pass the table request through and map only the returned page")
+        void shouldMapTablePageFromSummaries() {
+            PageRequest request = new PageRequest(20, 10, "dueDate", false, Map.of("status", "ACTIVE"));
+            LoanSummary summary = new LoanSummary(3L, 10L, "Effective Java", "978-0134685991",
+                    20L, "John Doe", "MEM-001", LocalDate.now().minusDays(4), LocalDate.now().plusDays(10),
+                    null, LoanStatus.ACTIVE, 0, null, false, true);
+            when(loanRepository.findSummaries(eq(request), any(LocalDate.class))).thenReturn(List.of(summary));
+
+            List<LoanDTO> result = loanService.findPage(request);
+
+            assertAll(
+                    () -> assertEquals(List.of(3L), result.stream().map(LoanDTO::getId).toList()),
+                    () -> assertEquals(10, result.get(0).getDaysUntilDue())
+            );
+            verify(loanRepository).findSummaries(eq(request), any(LocalDate.class));
+            verifyNoMoreInteractions(loanRepository);
+        }
 
-            loanService.updateOverdueStatus();
+        @Test
+        @DisplayName("Should evaluate entity loans against one reading of the business clock")
+        void shouldEvaluateEntitiesAgainstBusinessClock() {
+            LocalDate businessDate = LocalDate.now().plusDays(20);
+            doReturn(businessDate).when(businessClock).today();
+            Loan first = new Loan(book, member, LocalDate.now());
+            Loan second = new Loan(book, member, LocalDate.now());
+            when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+            when(loanRepository.findByBook(book, null, Page.DEFAULT_LIMIT, LoanFetchPlan.WITH_BOOK_AND_MEMBER))
+                    .thenReturn(new Page<>(List.of(first, second), null));
 
-            verify(loanRepository, never()).update(any());
+            List<LoanDTO> result = loanService.findByBook(1L, null, Page.DEFAULT_LIMIT).items();
+
+            // Both loans fell due 14 days after today, so they are 6 days overdue on the business date
+            assertAll(
+                    () -> assertTrue(result.stream().allMatch(LoanDTO::isOverdue)),
+                    () -> assertEquals(List.of(6L, 6L), result.stream().map(LoanDTO::getDaysOverdue).toList())
+            );
+            verify(businessClock, times(1)).today();
         }
     }
 }
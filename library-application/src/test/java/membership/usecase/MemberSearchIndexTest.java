@@ -0,0 +1,222 @@
+package membership.usecase;
+
+import common.BusinessClock;
+import common.Page;
+import common.SystemBusinessClock;
+import membership.dto.MemberSuggestion;
+import membership.model.MemberStatus;
+import membership.port.MemberRepository;
+import membership.port.MemberSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MemberSearchIndex.
+ *
+ * The index is exercised directly through put/remove/search; the repository is only
+ * consulted by rebuild(), which is what the startup observer calls.
+ *
+ * Tested behaviour:
+ *   - rebuild(): loads every member summary and flips the index to ready, keeping changes
+ *                that arrive while the summaries are read
+ *   - search(): case-insensitive substring match over name, email and membership number,
+ *               including queries shorter than a trigram, optionally restricted to one status
+ *   - findIdsByName(): matches inside the name only, never in email or membership number,
+ *                      including the tail of long names, stopping at the limit
+ *   - put(): replaces the previous entry for the same member
+ *   - remove(): drops the member from every lookup
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberSearchIndex")
+class MemberSearchIndexTest {
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Spy
+    private BusinessClock businessClock = new SystemBusinessClock();
+
+    @InjectMocks
+    private MemberSearchIndex index;
+
+    private static MemberSuggestion member(long id, String fullName, String email, String number) {
+        return member(id, fullName, email, number, MemberStatus.ACTIVE);
+    }
+
+    private static MemberSuggestion member(long id, String fullName, String email, String number,
+                                           MemberStatus status) {
+        return new MemberSuggestion(id, fullName, email, number, status);
+    }
+
+    @Nested
+    @DisplayName("rebuild()")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should index every member summary and become ready")
+        void shouldIndexSummariesAndBecomeReady() {
+            MemberSummary summary = new MemberSummary(1L, "MEM-001", "John", "Doe", "john@example.com",
+                    null, null, LocalDate.now(), LocalDate.now().plusYears(1), MemberStatus.ACTIVE,
+                    0, 5, true, false);
+            when(memberRepository.findAllSummaries(any())).thenReturn(List.of(summary));
+
+            assertFalse(index.isReady(), "Index must not serve lookups before the first build");
+            index.rebuild();
+
+            assertTrue(index.isReady());
+            assertEquals(List.of(1L), index.findIdsByName("doe", 10));
+        }
+
+        @Test
+        @DisplayName("Should keep changes committed while the summaries are being read")
+        void shouldReplayChangesDuringRebuild() {
+            MemberSummary stale = new MemberSummary(1L, "MEM-001", "John", "Doe", "john@example.com",
+                    null, null, LocalDate.now(), LocalDate.now().plusYears(1), MemberStatus.ACTIVE,
+                    0, 5, true, false);
+            when(memberRepository.findAllSummaries(any())).thenAnswer(invocation -> {
+                // Events observed after the snapshot query has started
+                index.remove(1L);
+                index.put(member(2L, "Jane Smith", "jane@example.com", "MEM-002"));
+                return List.of(stale);
+            });
+
+            index.rebuild();
+
+            assertAll(
+                    () -> assertTrue(index.findIdsByName("doe", 10).isEmpty(), "Removal must survive the rebuild"),
+                    () -> assertEquals(List.of(2L), index.findIdsByName("smith", 10), "Put must survive the rebuild")
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("search() / findIdsByName()")
+    class SearchTests {
+
+        @BeforeEach
+        void setUp() {
+            index.put(member(1L, "John Doe", "john@example.com", "MEM-001"));
+            index.put(member(2L, "Jane Smith", "jane.doe@example.com", "MEM-002"));
+            index.put(member(3L, "Johanna Brown", "jb@example.com", "MEM-003", MemberStatus.SUSPENDED));
+        }
+
+        @Test
+        @DisplayName("Should match case-insensitively across name, email and membership number")
+        void shouldMatchAcrossAllFields() {
+            assertAll("Typeahead matches",
+                    () -> assertEquals(List.of(1L, 3L), ids(index.search("JOH", 10))),
+                    () -> assertEquals(List.of(1L, 2L), ids(index.search("doe", 10))),
+                    () -> assertEquals(List.of(2L), ids(index.search("mem-002", 10)))
+            );
+        }
+
+        @Test
+        @DisplayName("Should fall back to scanning for queries shorter than a trigram")
+        void shouldMatchShortQueries() {
+            assertEquals(List.of(1L, 3L), ids(index.search("jo", 10)));
+        }
+
+        @Test
+        @DisplayName("Should skip members in another status before counting towards the limit")
+        void shouldFilterByStatus() {
+            assertAll(
+                    () -> assertEquals(List.of(1L), ids(index.search("joh", 1, MemberStatus.ACTIVE))),
+                    () -> assertEquals(List.of(3L), ids(index.search("joh", 10, MemberStatus.SUSPENDED)))
+            );
+        }
+
+        @Test
+        @DisplayName("Should stop at the requested limit")
+        void shouldHonourLimit() {
+            assertEquals(1, index.search("example", 1).size());
+        }
+
+        @Test
+        @DisplayName("Should ignore email and membership number when looking up by name")
+        void shouldMatchNamesOnly() {
+            // 'doe' also appears in Jane's email, which must not count as a name match
+            assertEquals(List.of(1L), index.findIdsByName("doe", 10));
+            assertEquals(List.of(), index.findIdsByName("mem", 10));
+        }
+
+        @Test
+        @DisplayName("Should stop a name lookup at the limit when more members match")
+        void shouldHonourNameLimit() {
+            for (long id = 10; id < 10 + Page.MAX_LIMIT + 1; id++) {
+                index.put(member(id, "Anna Doe " + id, "anna" + id + "@example.com", "MEM-" + id));
+            }
+
+            assertEquals(Page.MAX_LIMIT, index.findIdsByName("doe", Page.MAX_LIMIT).size());
+        }
+
+        @Test
+        @DisplayName("Should match the end of a name longer than one hundred characters")
+        void shouldMatchTailOfLongName() {
+            String longName = "A".repeat(100) + " " + "B".repeat(99) + "Zed";
+            index.put(member(4L, longName, "long@example.com", "MEM-004"));
+
+            assertEquals(List.of(4L), index.findIdsByName("bzed", 10));
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a query with an unknown trigram")
+        void shouldReturnEmptyForUnknownTrigram() {
+            assertTrue(index.search("xyz", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("put() / remove()")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should replace the previous entry when a member is re-indexed")
+        void shouldReplacePreviousEntry() {
+            index.put(member(1L, "John Doe", "john@example.com", "MEM-001"));
+            index.put(member(1L, "John Roe", "john@example.com", "MEM-001"));
+
+            assertTrue(index.findIdsByName("doe", 10).isEmpty(), "Old name must no longer match");
+            assertEquals(List.of(1L), index.findIdsByName("roe", 10));
+            assertEquals(1, index.search("john", 10).size(), "Member must be listed once");
+        }
+
+        @Test
+        @DisplayName("Should drop a removed member from every lookup")
+        void shouldDropRemovedMember() {
+            index.put(member(1L, "John Doe", "john@example.com", "MEM-001"));
+            index.remove(1L);
+
+            assertTrue(index.search("john", 10).isEmpty());
+            assertTrue(index.search("jo", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep results correct after many updates trigger compaction")
+        void shouldStayCorrectAcrossCompaction() {
+            for (int i = 0; i < 3000; i++) {
+                index.put(member(1L, "John Doe " + i, "john@example.com", "MEM-001"));
+            }
+
+            assertEquals(List.of(1L), ids(index.search("doe 2999", 10)));
+            assertTrue(index.search("doe 2998", 10).isEmpty());
+        }
+    }
+
+    private static List<Long> ids(List<MemberSuggestion> suggestions) {
+        return suggestions.stream().map(MemberSuggestion::id).toList();
+    }
+}
@@ -1,11 +1,17 @@
 package membership.usecase;
 
+import common.BusinessClock;
+import common.Page;
+import common.RowVersion;
+import common.SystemBusinessClock;
 import common.TestServiceHelper;
 import common.exception.BusinessRuleException;
 import common.exception.DuplicateEntityException;
 import common.exception.EntityNotFoundException;
+import jakarta.enterprise.event.Event;
 import jakarta.validation.Validator;
 import membership.dto.MemberDTO;
+import membership.dto.MemberSuggestion;
 import membership.model.Member;
 import membership.model.MemberStatus;
 import membership.port.MemberRepository;
@@ -16,13 +22,19 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +54,12 @@ import static org.mockito.Mockito.*;
  *   - suspend(): not-found, status transition
  *   - activate(): not-found, expired membership guard, status transition
  *   - renewMembership(): not-found, extend from current expiration, extend from today when expired
+ *   - findByName() / suggest(): served by MemberSearchIndex when ready, database fallback otherwise;
+ *                               name lookups never load more than Page.MAX_LIMIT members
+ *   - findVersion(): the business day is part of the version, since the DTO carries expiry flags
+ *
+ * Index maintenance is asserted through the MemberChanged events fired by create/update/delete;
+ * the index itself only applies them after the transaction commits.
  */
 @ExtendWith(MockitoExtension.class)
 @DisplayName("MemberService")
@@ -53,6 +71,15 @@ class MemberServiceTest {
     @Mock
     private Validator validator;
 
+    @Mock
+    private MemberSearchIndex memberSearchIndex;
+
+    @Mock
+    private Event<MemberChanged> memberChanged;
+
+    @Spy
+    private BusinessClock businessClock = new SystemBusinessClock();
+
     @InjectMocks
     private MemberService memberService;
 
@@ -125,6 +152,29 @@ class MemberServiceTest {
                     () -> assertEquals("John Doe", result.getFullName())
             );
             verify(memberRepository).save(any(Member.class));
+            verify(memberChanged).fire(argThat(change -> !change.isDeleted()
+                    && "MEM-001".equals(change.member().membershipNumber())));
+        }
+
+        @Test
+        @DisplayName("Should date the registration and expiration from the business clock")
+        void shouldDateMembershipFromBusinessClock() {
+            LocalDate today = LocalDate.of(2024, 2, 29);
+            doReturn(today).when(businessClock).today();
+            when(memberRepository.existsByEmail(any())).thenReturn(false);
+            when(memberRepository.existsByMembershipNumber(any())).thenReturn(false);
+
+            MemberDTO result = memberService.create(MemberDTO.builder()
+                    .membershipNumber("MEM-001")
+                    .firstName("John")
+                    .lastName("Doe")
+                    .email("john@example.com")
+                    .build());
+
+            assertAll(
+                    () -> assertEquals(today, result.getRegistrationDate()),
+                    () -> assertEquals(LocalDate.of(2025, 2, 28), result.getExpirationDate())
+            );
         }
     }
 
@@ -140,7 +190,7 @@ class MemberServiceTest {
 
         @BeforeEach
         void setUp() {
-            existingMember = new Member("MEM-001", "John", "Doe", "john@example.com");
+            existingMember = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             TestServiceHelper.setEntityId(existingMember, 1L);
         }
 
@@ -158,7 +208,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should throw DuplicateEntityException when email is already held by a different member")
         void shouldThrowWhenEmailTakenByDifferentMember() {
-            Member other = new Member("MEM-002", "Jane", "Smith", "john@example.com");
+            Member other = new Member("MEM-002", "Jane", "Smith", "john@example.com", LocalDate.now());
             TestServiceHelper.setEntityId(other, 2L); // different ID → conflict
 
             when(memberRepository.findById(1L)).thenReturn(Optional.of(existingMember));
@@ -193,6 +243,8 @@ class MemberServiceTest {
                     () -> assertEquals("john@example.com", result.getEmail())
             );
             // update() relies on JPA dirty-checking — no explicit memberRepository.update() call
+            verify(memberChanged).fire(argThat(change -> change.memberId().equals(1L)
+                    && "John Doe Updated".equals(change.member().fullName())));
         }
     }
 
@@ -215,25 +267,27 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException and never delete when member has active loans")
         void shouldThrowWhenMemberHasActiveLoans() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             member.setActiveLoans(2); // outstanding loans prevent deletion
 
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
 
             assertThrows(BusinessRuleException.class, () -> memberService.delete(1L));
             verify(memberRepository, never()).delete(any());
+            verifyNoInteractions(memberChanged);
         }
 
         @Test
         @DisplayName("Should delete member when no active loans exist")
         void shouldDeleteMemberWhenNoActiveLoans() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             // activeLoans defaults to 0
 
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
 
             assertDoesNotThrow(() -> memberService.delete(1L));
             verify(memberRepository).delete(member);
+            verify(memberChanged).fire(MemberChanged.deleted(1L));
         }
     }
 
@@ -256,7 +310,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should set member status to SUSPENDED")
         void shouldSuspendMember() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
 
             MemberDTO result = memberService.suspend(1L);
@@ -284,7 +338,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when membership is expired")
         void shouldThrowWhenMembershipExpired() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             member.setExpirationDate(LocalDate.now().minusDays(1)); // expired yesterday
 
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
@@ -296,7 +350,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should set member status to ACTIVE when membership is still valid")
         void shouldActivateMemberWhenMembershipValid() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             member.setStatus(MemberStatus.SUSPENDED);
             // expirationDate defaults to 1 year from now — still valid
 
@@ -327,7 +381,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should extend membership from the current expiration date when still active")
         void shouldExtendMembershipFromCurrentExpiration() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             // expirationDate defaults to 1 year from now
             LocalDate currentExpiration = member.getExpirationDate();
 
@@ -343,7 +397,7 @@ class MemberServiceTest {
         @Test
         @DisplayName("Should renew from today when membership is already expired")
         void shouldRenewFromTodayWhenExpired() {
-            Member member = new Member("MEM-001", "John", "Doe", "john@example.com");
+            Member member = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
             member.setExpirationDate(LocalDate.now().minusDays(10)); // expired 10 days ago
 
             when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
@@ -354,4 +408,116 @@ class MemberServiceTest {
             assertEquals(LocalDate.now().plusYears(1), result.getExpirationDate());
         }
     }
+
+    // =========================================================================
+    // findByName() / suggest()
+    // =========================================================================
+
+    @Nested
+    @DisplayName("findByName() / suggest()")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should load index matches by ID and sort them by last name, then first name")
+        void shouldResolveIndexMatchesSortedByName() {
+            Member smith = new Member("MEM-002", "Anna", "Smith", "anna@example.com", LocalDate.now());
+            Member doe = new Member("MEM-001", "Anna", "Doe", "anna.doe@example.com", LocalDate.now());
+            when(memberSearchIndex.isReady()).thenReturn(true);
+            when(memberSearchIndex.findIdsByName("anna", Page.DEFAULT_LIMIT)).thenReturn(List.of(2L, 1L));
+            when(memberRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(smith, doe));
+
+            List<MemberDTO> result = memberService.findByName("anna", Page.DEFAULT_LIMIT);
+
+            assertEquals(List.of("Doe", "Smith"), result.stream().map(MemberDTO::getLastName).toList());
+            verify(memberRepository, never()).findByNameContaining(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should load no more index matches than a page when the needle matches more members")
+        void shouldCapIndexMatches() {
+            List<Long> capped = LongStream.rangeClosed(1, Page.MAX_LIMIT).boxed().toList();
+            when(memberSearchIndex.isReady()).thenReturn(true);
+            when(memberSearchIndex.findIdsByName("anna", Page.MAX_LIMIT)).thenReturn(capped);
+            when(memberRepository.findAllById(capped)).thenReturn(List.of());
+
+            memberService.findByName("anna", Page.MAX_LIMIT + 1);
+
+            verify(memberSearchIndex).findIdsByName("anna", Page.MAX_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Should cap the LIKE query at a page while the index is not built")
+        void shouldCapFallbackMatches() {
+            when(memberSearchIndex.isReady()).thenReturn(false);
+            when(memberRepository.findByNameContaining("anna", Page.MAX_LIMIT)).thenReturn(List.of());
+
+            memberService.findByName("anna", Integer.MAX_VALUE);
+
+            verify(memberRepository).findByNameContaining("anna", Page.MAX_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the LIKE query while the index is not built")
+        void shouldFallBackToDatabaseWhenIndexNotReady() {
+            when(memberSearchIndex.isReady()).thenReturn(false);
+            when(memberRepository.findByNameContaining("doe", Page.DEFAULT_LIMIT))
+                    .thenReturn(List.of(new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now())));
+
+            List<MemberDTO> result = memberService.findByName("doe", 0);
+
+            assertEquals(1, result.size());
+            verify(memberSearchIndex, never()).findIdsByName(any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should clamp the suggestion limit before querying the index")
+        void shouldClampSuggestionLimit() {
+            when(memberSearchIndex.isReady()).thenReturn(true);
+            when(memberSearchIndex.search("jo", MemberService.MAX_SUGGESTIONS)).thenReturn(List.of());
+
+            memberService.suggest("jo", 10_000);
+
+            verify(memberSearchIndex).search("jo", MemberService.MAX_SUGGESTIONS);
+        }
+
+        @Test
+        @DisplayName("Should apply the status filter before the limit when falling back to the database")
+        void shouldFilterFallbackSuggestionsByStatus() {
+            Member suspended = new Member("MEM-001", "John", "Doe", "john@example.com", LocalDate.now());
+            suspended.setStatus(MemberStatus.SUSPENDED);
+            Member active = new Member("MEM-002", "Joan", "Doe", "joan@example.com", LocalDate.now());
+            when(memberSearchIndex.isReady()).thenReturn(false);
+            when(memberRepository.findByNameContaining("jo", Page.MAX_LIMIT)).thenReturn(List.of(suspended, active));
+
+            List<MemberSuggestion> result = memberService.suggest("jo", 1, MemberStatus.ACTIVE);
+
+            assertEquals(List.of("MEM-002"), result.stream().map(MemberSuggestion::membershipNumber).toList());
+        }
+    }
+
+    // =========================================================================
+    // findVersion()
+    // =========================================================================
+
+    @Nested
+    @DisplayName("findVersion()")
+    class FindVersionTests {
+
+        @Test
+        @DisplayName("Should fold the business day into the tag and the last-modified date")
+        void shouldFoldBusinessDay() {
+            LocalDate today = LocalDate.of(2026, 3, 2);
+            doReturn(today).when(businessClock).today();
+            doReturn(ZoneOffset.UTC).when(businessClock).zone();
+            when(memberRepository.findVersion(1L))
+                    .thenReturn(Optional.of(new RowVersion("3", Instant.parse("2026-03-01T09:15:00Z"))));
+
+            RowVersion version = memberService.findVersion(1L).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals("3-2026-03-02", version.tag()),
+                    () -> assertEquals(Instant.parse("2026-03-02T00:00:00Z"), version.lastModified())
+            );
+        }
+    }
 }
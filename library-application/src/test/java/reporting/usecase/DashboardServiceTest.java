@@ -0,0 +1,155 @@
+package reporting.usecase;
+
+import common.SystemBusinessClock;
+import lending.dto.LoanDTO;
+import lending.model.LoanStatus;
+import lending.port.LoanRepository;
+import lending.port.LoanSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reporting.dto.DashboardStatistics;
+import reporting.port.LibraryCounts;
+import reporting.port.LibraryStatistics;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardService.
+ *
+ * The service is built with a 30-second TTL and a manual ticker (nanoseconds), so expiry
+ * is driven by the test instead of the wall clock.
+ *
+ * Tested behaviour:
+ *   - getStatistics(): one aggregate count plus two loan lists capped at LOAN_LIST_SIZE
+ *   - caching: repeated calls within the TTL reuse the snapshot; the first call after it recomputes
+ *   - while one caller refreshes, the others get the expired snapshot without waiting
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DashboardService")
+class DashboardServiceTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final LibraryCounts COUNTS = new LibraryCounts(20, 15, 10, 8, 5, 2, 6);
+
+    @Mock
+    private LibraryStatistics libraryStatistics;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    private DashboardService dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(libraryStatistics, loanRepository, new SystemBusinessClock(), TTL, ticker::get);
+    }
+
+    private static LoanSummary aLoanSummary(long id) {
+        LocalDate today = LocalDate.now();
+        return new LoanSummary(id, 1L, "Effective Java", "978-0134685991", 1L, "Jane Doe", "MEM-001",
+                today.minusDays(3), today.plusDays(11), null, LoanStatus.ACTIVE, 0, null, false, true);
+    }
+
+    @Nested
+    @DisplayName("getStatistics()")
+    class GetStatisticsTests {
+
+        @Test
+        @DisplayName("Should combine the aggregate counts with the capped recent and overdue loan lists")
+        void shouldCombineCountsAndLoanLists() {
+            when(libraryStatistics.countAll(any())).thenReturn(COUNTS);
+            when(loanRepository.findRecentSummaries(any(), eq(DashboardService.LOAN_LIST_SIZE)))
+                    .thenReturn(List.of(aLoanSummary(2L), aLoanSummary(1L)));
+            when(loanRepository.findOverdueSummaries(any(), eq(DashboardService.LOAN_LIST_SIZE)))
+                    .thenReturn(List.of());
+
+            DashboardStatistics statistics = dashboardService.getStatistics();
+
+            assertAll("Dashboard statistics",
+                    () -> assertSame(COUNTS, statistics.counts()),
+                    () -> assertEquals(List.of(2L, 1L), statistics.recentLoans().stream().map(LoanDTO::getId).toList()),
+                    () -> assertTrue(statistics.overdueLoans().isEmpty())
+            );
+            // No full-table loads: only the bounded queries are used
+            verify(loanRepository).findRecentSummaries(any(), eq(DashboardService.LOAN_LIST_SIZE));
+            verify(loanRepository).findOverdueSummaries(any(), eq(DashboardService.LOAN_LIST_SIZE));
+            verifyNoMoreInteractions(loanRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+
+        @BeforeEach
+        void stubQueries() {
+            when(libraryStatistics.countAll(any())).thenReturn(COUNTS);
+            when(loanRepository.findRecentSummaries(any(), anyInt())).thenReturn(List.of());
+            when(loanRepository.findOverdueSummaries(any(), anyInt())).thenReturn(List.of());
+        }
+
+        @Test
+        @DisplayName("Should reuse the snapshot while it is younger than the TTL")
+        void shouldReuseSnapshotWithinTtl() {
+            DashboardStatistics first = dashboardService.getStatistics();
+            ticker.addAndGet(TTL.minusSeconds(1).toNanos());
+            DashboardStatistics second = dashboardService.getStatistics();
+
+            assertSame(first, second);
+            verify(libraryStatistics, times(1)).countAll(any());
+        }
+
+        @Test
+        @DisplayName("Should recompute once the TTL has elapsed")
+        void shouldRecomputeAfterTtl() {
+            dashboardService.getStatistics();
+            ticker.addAndGet(TTL.toNanos());
+            dashboardService.getStatistics();
+
+            verify(libraryStatistics, times(2)).countAll(any());
+        }
+
+        @Test
+        @DisplayName("Should serve the expired snapshot while another caller refreshes it")
+        void shouldServeExpiredSnapshotDuringRefresh() throws Exception {
+            DashboardStatistics first = dashboardService.getStatistics();
+            ticker.addAndGet(TTL.toNanos());
+            CountDownLatch refreshing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(libraryStatistics.countAll(any())).thenAnswer(invocation -> {
+                refreshing.countDown();
+                release.await();
+                return COUNTS;
+            });
+            Thread refresher = Thread.ofVirtual().start(dashboardService::getStatistics);
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+
+            DashboardStatistics during = dashboardService.getStatistics();
+            release.countDown();
+            refresher.join();
+
+            assertAll(
+                    () -> assertSame(first, during),
+                    () -> assertNotSame(first, dashboardService.getStatistics())
+            );
+            verify(libraryStatistics, times(2)).countAll(any());
+        }
+    }
+}
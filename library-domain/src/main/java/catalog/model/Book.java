@@ -13,12 +13,74 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "books")
+@Cacheable
+@NamedQuery(name = "Book.findAll", query = "SELECT e FROM Book e")
+@NamedQuery(name = "Book.findAllById", query = "SELECT e FROM Book e WHERE e.id IN :ids")
+@NamedQuery(name = "Book.streamAll", query = "SELECT e FROM Book e ORDER BY e.id")
+@NamedQuery(name = "Book.findVersion", query = "SELECT e.version, e.updatedAt, c.version, c.updatedAt " +
+        "FROM Book e JOIN e.category c WHERE e.id = :id")
+@NamedQuery(name = "Book.tableVersion", query = "SELECT COUNT(e), SUM(e.version), MAX(e.updatedAt), " +
+        "SUM(c.version), MAX(c.updatedAt) FROM Book e JOIN e.category c")
+@NamedQuery(name = Book.PAGE_BY_TITLE, query = "SELECT e FROM Book e ORDER BY e.title ASC, e.id ASC")
+@NamedQuery(name = Book.PAGE_BY_TITLE_AFTER, query = "SELECT e FROM Book e " +
+        "WHERE e.title > :key OR (e.title = :key AND e.id > :id) ORDER BY e.title ASC, e.id ASC")
+@NamedQuery(name = Book.FIND_BY_ISBN, query = "SELECT b FROM Book b WHERE b.isbn = :isbn")
+@NamedQuery(name = Book.FIND_ALL_BY_ISBN, query = "SELECT b FROM Book b WHERE b.isbn IN :isbns")
+@NamedQuery(name = Book.EXISTS_BY_ISBN, query = "SELECT COUNT(b) FROM Book b WHERE b.isbn = :isbn")
+@NamedQuery(name = Book.FIND_BY_CATEGORY,
+        query = "SELECT b FROM Book b WHERE b.category = :category ORDER BY b.title, b.id")
+@NamedQuery(name = Book.FIND_BY_CATEGORY_AFTER, query = "SELECT b FROM Book b WHERE b.category = :category " +
+        "AND (b.title > :key OR (b.title = :key AND b.id > :id)) ORDER BY b.title, b.id")
+@NamedQuery(name = Book.FIND_BY_TITLE_CONTAINING,
+        query = "SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(:title) ORDER BY b.title, b.id")
+@NamedQuery(name = Book.FIND_BY_TITLE_CONTAINING_AFTER, query = "SELECT b FROM Book b " +
+        "WHERE LOWER(b.title) LIKE LOWER(:title) AND (b.title > :key OR (b.title = :key AND b.id > :id)) " +
+        "ORDER BY b.title, b.id")
+@NamedQuery(name = Book.FIND_BY_AUTHOR_CONTAINING,
+        query = "SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(:author) ORDER BY b.author, b.id")
+@NamedQuery(name = Book.FIND_BY_AUTHOR_CONTAINING_AFTER, query = "SELECT b FROM Book b " +
+        "WHERE LOWER(b.author) LIKE LOWER(:author) AND (b.author > :key OR (b.author = :key AND b.id > :id)) " +
+        "ORDER BY b.author, b.id")
+@NamedQuery(name = Book.FIND_AVAILABLE,
+        query = "SELECT b FROM Book b WHERE b.availableCopies > 0 AND b.status = :status ORDER BY b.title")
+@NamedQuery(name = Book.FIND_AVAILABLE_SUMMARIES, query = Book.SUMMARY_SELECT +
+        "WHERE b.availableCopies > 0 AND b.status = :available ORDER BY b.title, b.id")
+@NamedQuery(name = Book.FIND_AVAILABLE_SUMMARIES_AFTER, query = Book.SUMMARY_SELECT +
+        "WHERE b.availableCopies > 0 AND b.status = :available " +
+        "AND (b.title > :key OR (b.title = :key AND b.id > :id)) ORDER BY b.title, b.id")
+@NamedQuery(name = Book.SUGGEST_AVAILABLE, query = Book.SUMMARY_SELECT +
+        "WHERE b.availableCopies > 0 AND b.status = :available " +
+        "AND (LOWER(b.title) LIKE :contains OR LOWER(b.author) LIKE :contains OR b.isbn LIKE :contains) " +
+        "ORDER BY CASE WHEN LOCATE(:needle, LOWER(b.title)) = 1 THEN 0 ELSE 1 END, b.title, b.id")
+@NamedQuery(name = Book.LOCK_ALL_BY_ID, query = "SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id")
 @Getter
 @Setter
 @AttributeOverride(name = "id", column = @Column(name = "book_id"))
 @NoArgsConstructor
 public class Book extends BaseEntity {
 
+    public static final String PAGE_BY_TITLE = "Book.pageByTitle";
+    public static final String PAGE_BY_TITLE_AFTER = "Book.pageByTitleAfter";
+    public static final String FIND_BY_ISBN = "Book.findByIsbn";
+    public static final String FIND_ALL_BY_ISBN = "Book.findAllByIsbn";
+    public static final String EXISTS_BY_ISBN = "Book.existsByIsbn";
+    public static final String FIND_BY_CATEGORY = "Book.findByCategory";
+    public static final String FIND_BY_CATEGORY_AFTER = "Book.findByCategoryAfter";
+    public static final String FIND_BY_TITLE_CONTAINING = "Book.findByTitleContaining";
+    public static final String FIND_BY_TITLE_CONTAINING_AFTER = "Book.findByTitleContainingAfter";
+    public static final String FIND_BY_AUTHOR_CONTAINING = "Book.findByAuthorContaining";
+    public static final String FIND_BY_AUTHOR_CONTAINING_AFTER = "Book.findByAuthorContainingAfter";
+    public static final String FIND_AVAILABLE = "Book.findAvailable";
+    public static final String FIND_AVAILABLE_SUMMARIES = "Book.findAvailableSummaries";
+    public static final String FIND_AVAILABLE_SUMMARIES_AFTER = "Book.findAvailableSummariesAfter";
+    public static final String SUGGEST_AVAILABLE = "Book.suggestAvailable";
+    public static final String LOCK_ALL_BY_ID = "Book.lockAllById";
+
+    static final String SUMMARY_SELECT = "SELECT b.id, b.isbn, b.title, b.author, b.publisher, " +
+            "b.publicationDate, b.totalCopies, b.availableCopies, c.id, c.name, b.status, " +
+            "CASE WHEN b.availableCopies > 0 AND b.status = :available THEN 1 ELSE 0 END " +
+            "FROM Book b LEFT JOIN b.category c ";
+
     @NotBlank(message = "{book.isbn.required}")
     @Size(message = "{book.isbn.size}", min = 10, max = 17)
     @Column(nullable = false, unique = true, length = 17)
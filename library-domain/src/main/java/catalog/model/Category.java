@@ -13,12 +13,27 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@NamedQuery(name = "Category.findAll", query = "SELECT e FROM Category e")
+@NamedQuery(name = "Category.findAllById", query = "SELECT e FROM Category e WHERE e.id IN :ids")
+@NamedQuery(name = "Category.streamAll", query = "SELECT e FROM Category e ORDER BY e.id")
+@NamedQuery(name = "Category.findVersion", query = "SELECT e.version, e.updatedAt FROM Category e WHERE e.id = :id")
+@NamedQuery(name = "Category.tableVersion",
+        query = "SELECT COUNT(e), SUM(e.version), MAX(e.updatedAt) FROM Category e")
+@NamedQuery(name = "Category.pageById", query = "SELECT e FROM Category e ORDER BY e.id")
+@NamedQuery(name = "Category.pageByIdAfter", query = "SELECT e FROM Category e WHERE e.id > :id ORDER BY e.id")
+@NamedQuery(name = Category.FIND_BY_NAME, query = "SELECT c FROM Category c WHERE LOWER(c.name) = LOWER(:name)")
+@NamedQuery(name = Category.EXISTS_BY_NAME,
+        query = "SELECT COUNT(c) FROM Category c WHERE LOWER(c.name) = LOWER(:name)")
 @Getter
 @Setter
 @NoArgsConstructor
 @AttributeOverride(name = "id", column = @Column(name = "category_id"))
 public class Category extends BaseEntity {
 
+    public static final String FIND_BY_NAME = "Category.findByName";
+    public static final String EXISTS_BY_NAME = "Category.existsByName";
+
     @NotBlank(message = "{category.name.required}")
     @Size(max = 100, message = "{category.name.size}")
     @Column(nullable = false, unique = true, length = 100)
@@ -28,6 +43,9 @@ public class Category extends BaseEntity {
     @Column(length = 500)
     private String description;
 
+    @Column(name = "book_count", nullable = false, updatable = false)
+    private int bookCount;
+
     @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private List<Book> books = new ArrayList<>();
 
@@ -0,0 +1,21 @@
+package catalog.port;
+
+import common.FetchPlan;
+
+import java.util.List;
+
+public enum BookFetchPlan implements FetchPlan {
+    BOOK_ONLY,
+    WITH_CATEGORY("category");
+
+    private final List<String> attributes;
+
+    BookFetchPlan(String... attributes) {
+        this.attributes = List.of(attributes);
+    }
+
+    @Override
+    public List<String> attributes() {
+        return attributes;
+    }
+}
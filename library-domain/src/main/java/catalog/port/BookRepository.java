@@ -3,21 +3,56 @@ package catalog.port;
 import catalog.model.Book;
 import catalog.model.Category;
 import common.BaseRepository;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends BaseRepository<Book> {
 
+    List<Book> findAll(BookFetchPlan plan);
+
+    Page<Book> findPage(Cursor after, int limit, BookFetchPlan plan);
+
+    Stream<Book> streamAll(BookFetchPlan plan);
+
+    List<Book> findAllById(Collection<Long> ids, BookFetchPlan plan);
+
     Optional<Book> findByIsbn(String isbn);
 
-    List<Book> findByCategory(Category category);
+    List<Book> findAllByIsbn(Collection<String> isbns, BookFetchPlan plan);
+
+    Page<Book> findByCategory(Category category, Cursor after, int limit);
+
+    Page<Book> findByTitleContaining(String title, Cursor after, int limit, BookFetchPlan plan);
+
+    Page<Book> findByAuthorContaining(String author, Cursor after, int limit, BookFetchPlan plan);
 
-    List<Book> findByTitleContaining(String title);
+    List<Book> findAvailable(BookFetchPlan plan);
 
-    List<Book> findByAuthorContaining(String author);
+    Page<Book> search(String query, Cursor after, int limit, BookFetchPlan plan);
 
-    List<Book> findAvailable();
+    Page<BookSummary> findAvailableSummaries(Cursor after, int limit);
+
+    List<BookSummary> findAvailableSummaries(String query, int limit);
+
+    List<BookSummary> findSummaries(PageRequest request);
+
+    long countSummaries(Map<String, String> filters);
+
+    Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields);
 
     boolean existsByIsbn(String isbn);
+
+    boolean tryBorrowCopy(Long bookId);
+
+    List<Book> lockAllById(Collection<Long> ids);
 }
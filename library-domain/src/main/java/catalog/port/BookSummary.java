@@ -0,0 +1,19 @@
+package catalog.port;
+
+import catalog.model.BookStatus;
+
+import java.time.LocalDate;
+
+public record BookSummary(Long id,
+                          String isbn,
+                          String title,
+                          String author,
+                          String publisher,
+                          LocalDate publicationDate,
+                          int totalCopies,
+                          int availableCopies,
+                          Long categoryId,
+                          String categoryName,
+                          BookStatus status,
+                          boolean available) {
+}
@@ -10,4 +10,8 @@ public interface CategoryRepository extends BaseRepository<Category> {
     Optional<Category> findByName(String name);
 
     boolean existsByName(String name);
+
+    void adjustBookCount(Long categoryId, int delta);
+
+    int repairBookCounts();
 }
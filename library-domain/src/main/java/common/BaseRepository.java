@@ -1,12 +1,20 @@
 package common;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BaseRepository<T extends BaseEntity> {
     Optional<T> findById(Long id);
     List<T> findAll();
+    List<T> findAllById(Collection<Long> ids);
+    Page<T> findPage(Cursor after, int limit);
+    Stream<T> streamAll();
+    Optional<RowVersion> findVersion(Long id);
+    RowVersion tableVersion();
     void save(T entity);
+    void saveAll(Collection<T> entities);
     void delete(T entity);
     T update(T entity);
 }
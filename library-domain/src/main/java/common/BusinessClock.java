@@ -0,0 +1,39 @@
+package common;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Source of the library's business date. Date-dependent domain rules take "today" as a
+ * parameter instead of calling {@code LocalDate.now()}; a use case reads the clock once and
+ * evaluates every entity of its request or batch against that same day.
+ */
+@FunctionalInterface
+public interface BusinessClock {
+
+    LocalDate today();
+
+    default ZoneId zone() {
+        return ZoneId.systemDefault();
+    }
+
+    static BusinessClock system(ZoneId zone) {
+        Clock clock = Clock.system(zone);
+        return new BusinessClock() {
+            @Override
+            public LocalDate today() {
+                return LocalDate.now(clock);
+            }
+
+            @Override
+            public ZoneId zone() {
+                return zone;
+            }
+        };
+    }
+
+    static BusinessClock fixed(LocalDate date) {
+        return () -> date;
+    }
+}
@@ -0,0 +1,46 @@
+package common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record Cursor(String key, Long id) {
+
+    private static final char SEPARATOR = ':';
+
+    public Cursor {
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor id is required");
+        }
+    }
+
+    public static Cursor of(Long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor of(Object key, Long id) {
+        return new Cursor(key != null ? key.toString() : null, id);
+    }
+
+    public String encode() {
+        String raw = id + String.valueOf(SEPARATOR) + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 1) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            Long id = Long.valueOf(raw.substring(0, separator));
+            String key = raw.substring(separator + 1);
+            return new Cursor(key.isEmpty() ? null : key, id);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, exception);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package common;
+
+import java.util.List;
+
+public interface FetchPlan {
+
+    FetchPlan NONE = List::of;
+
+    List<String> attributes();
+}
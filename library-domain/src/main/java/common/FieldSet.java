@@ -0,0 +1,54 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The fields a client asked for with {@code ?fields=}, in request order. The ID is always
+ * part of the set so every projected row stays addressable.
+ */
+public record FieldSet(List<String> names) {
+
+    public static final String ID = "id";
+
+    public FieldSet {
+        Set<String> distinct = new LinkedHashSet<>();
+        distinct.add(ID);
+        distinct.addAll(names);
+        names = List.copyOf(distinct);
+    }
+
+    /**
+     * Parses a comma-separated list, accepting only the names in {@code allowed}.
+     *
+     * @throws IllegalArgumentException if the list is empty or names an unknown field
+     */
+    public static FieldSet parse(String fields, Collection<String> allowed) {
+        List<String> names = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed);
+            }
+            names.add(trimmed);
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No fields requested");
+        }
+        return new FieldSet(names);
+    }
+
+    public static FieldSet of(String... names) {
+        return new FieldSet(List.of(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+}
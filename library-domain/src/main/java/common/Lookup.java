@@ -0,0 +1,31 @@
+package common;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One entry of a multi-get response: the key as the client sent it and the match, or
+ * {@code found = false} and no value when nothing matches the key.
+ */
+public record Lookup<K, T>(K key, boolean found, T value) {
+
+    public static <K, T> Lookup<K, T> of(K key, T value) {
+        return new Lookup<>(key, true, value);
+    }
+
+    public static <K, T> Lookup<K, T> missing(K key) {
+        return new Lookup<>(key, false, null);
+    }
+
+    /**
+     * One entry per requested key, in request order; a key sent twice is answered twice.
+     */
+    public static <K, T> List<Lookup<K, T>> inRequestOrder(List<K> keys, Map<K, T> matches) {
+        return keys.stream()
+                .map(key -> {
+                    T value = matches.get(key);
+                    return value != null ? of(key, value) : Lookup.<K, T>missing(key);
+                })
+                .toList();
+    }
+}
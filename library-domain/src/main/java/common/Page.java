@@ -0,0 +1,33 @@
+package common;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Page<T>(List<T> items, String next) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public static <T> Page<T> of(List<T> items, Cursor next) {
+        return new Page<>(items, next != null ? next.encode() : null);
+    }
+
+    public static int clampLimit(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+        return new Page<>(items.stream().<R>map(mapper).toList(), next);
+    }
+}
@@ -0,0 +1,22 @@
+package common;
+
+import java.util.Map;
+
+public record PageRequest(int offset, int limit, String sortField, boolean ascending, Map<String, String> filters) {
+
+    public PageRequest {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Page offset must not be negative: " + offset);
+        }
+        limit = Page.clampLimit(limit);
+        filters = filters != null ? Map.copyOf(filters) : Map.of();
+    }
+
+    public static PageRequest of(int offset, int limit) {
+        return new PageRequest(offset, limit, null, true, Map.of());
+    }
+
+    public boolean isSorted() {
+        return sortField != null;
+    }
+}
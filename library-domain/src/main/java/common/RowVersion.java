@@ -0,0 +1,31 @@
+package common;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validator for a row or a whole table, read without loading the entities. The tag changes
+ * whenever a row or an association it is rendered with is written; {@code lastModified} is
+ * the newest {@code updated_at} among them, truncated to the second precision of HTTP dates.
+ */
+public record RowVersion(String tag, Instant lastModified) {
+
+    public RowVersion {
+        if (tag == null || tag.isEmpty()) {
+            throw new IllegalArgumentException("Version tag is required");
+        }
+        lastModified = lastModified != null ? lastModified.truncatedTo(ChronoUnit.SECONDS) : Instant.EPOCH;
+    }
+
+    /**
+     * The version of a representation that also depends on the business date (due-date and
+     * expiry flags): the tag carries the day, and the representation counts as modified no
+     * earlier than the start of that day.
+     */
+    public RowVersion onBusinessDay(LocalDate today, ZoneId zone) {
+        Instant startOfDay = today.atStartOfDay(zone).toInstant();
+        return new RowVersion(tag + "-" + today, lastModified.isAfter(startOfDay) ? lastModified : startOfDay);
+    }
+}
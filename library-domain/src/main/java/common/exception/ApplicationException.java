@@ -7,10 +7,22 @@ public class ApplicationException extends RuntimeException {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Set to {@code true} to capture stack traces for expected business outcomes while
+     * diagnosing a problem; they are skipped otherwise.
+     */
+    public static final String STACK_TRACES_PROPERTY = "library.exceptions.stack-traces";
+
+    protected static final boolean OUTCOME_STACK_TRACES = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
     public ApplicationException(String message) {
         super(message);
     }
 
+    protected ApplicationException(String message, boolean writableStackTrace) {
+        super(message, null, true, writableStackTrace);
+    }
+
     public ApplicationException(String message, Throwable cause) {
         super(message, cause);
     }
@@ -2,20 +2,25 @@ package common.exception;
 
 import java.io.Serial;
 
+/**
+ * An expected business outcome such as "no copies available" or "loan limit reached". These
+ * are ordinary control flow on the desk path and are mapped straight to a response, so no
+ * stack trace is captured unless {@value ApplicationException#STACK_TRACES_PROPERTY} is set.
+ */
 public class BusinessRuleException extends ApplicationException {
 
     @Serial
     private static final long serialVersionUID = 1L;
 
     public BusinessRuleException(String message) {
-        super(message);
+        super(message, OUTCOME_STACK_TRACES);
     }
 
     public BusinessRuleException(ExceptionMessage exceptionMessage) {
-        super(exceptionMessage);
+        super(exceptionMessage.getMessage(), OUTCOME_STACK_TRACES);
     }
 
     public BusinessRuleException(ExceptionMessage exceptionMessage, Object... params) {
-        super(exceptionMessage, params);
+        super(exceptionMessage.getMessage(params), OUTCOME_STACK_TRACES);
     }
-}
\ No newline at end of file
+}
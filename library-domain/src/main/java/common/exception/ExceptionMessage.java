@@ -3,9 +3,11 @@ package common.exception;
 import lombok.Getter;
 
 import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Getter
 public enum ExceptionMessage {
 
     // Common
@@ -30,10 +32,15 @@ public enum ExceptionMessage {
     LOAN_BOOK_NOT_AVAILABLE("loan.book.not.available"),
     LOAN_MEMBER_NOT_ACTIVE("loan.member.not.active");
 
-    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("ExceptionMessages");
+    private static final String BUNDLE_NAME = "ExceptionMessages";
+    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle(BUNDLE_NAME);
 
+    @Getter
     private final String key;
 
+    // Parsing the pattern is most of the cost of a message, so it is compiled once per locale
+    private final Map<Locale, MessageFormat> formats = new ConcurrentHashMap<>();
+
     ExceptionMessage(String key) {
         this.key = key;
     }
@@ -43,6 +50,15 @@ public enum ExceptionMessage {
     }
 
     public String getMessage(Object... params) {
-        return MessageFormat.format(BUNDLE.getString(key), params);
+        return getMessage(Locale.getDefault(Locale.Category.FORMAT), params);
+    }
+
+    public String getMessage(Locale locale, Object... params) {
+        MessageFormat format = formats.computeIfAbsent(locale,
+                target -> new MessageFormat(ResourceBundle.getBundle(BUNDLE_NAME, target).getString(key), target));
+        // MessageFormat keeps formatting state, so a shared instance is used by one thread at a time
+        synchronized (format) {
+            return format.format(params);
+        }
     }
 }
\ No newline at end of file
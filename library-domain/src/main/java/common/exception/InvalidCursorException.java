@@ -0,0 +1,18 @@
+package common.exception;
+
+import java.io.Serial;
+
+/**
+ * A page cursor whose key cannot be read back, because it was tampered with or predates a
+ * change to the sort order. It is the client's input that is wrong, so it maps to a 400 and
+ * skips the stack trace by default.
+ */
+public class InvalidCursorException extends ApplicationException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String key) {
+        super("Invalid page cursor key: " + key, OUTCOME_STACK_TRACES);
+    }
+}
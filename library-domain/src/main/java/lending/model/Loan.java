@@ -16,6 +16,51 @@ import java.time.temporal.ChronoUnit;
 
 @Entity
 @Table(name = "loans")
+@NamedQuery(name = "Loan.findAll", query = "SELECT e FROM Loan e")
+@NamedQuery(name = "Loan.findAllById", query = "SELECT e FROM Loan e WHERE e.id IN :ids")
+@NamedQuery(name = "Loan.streamAll", query = "SELECT e FROM Loan e ORDER BY e.id")
+@NamedQuery(name = "Loan.findVersion", query = "SELECT e.version, e.updatedAt, b.version, b.updatedAt, " +
+        "m.version, m.updatedAt FROM Loan e JOIN e.book b JOIN e.member m WHERE e.id = :id")
+@NamedQuery(name = "Loan.tableVersion", query = "SELECT COUNT(e), SUM(e.version), MAX(e.updatedAt), " +
+        "SUM(b.version), MAX(b.updatedAt), SUM(m.version), MAX(m.updatedAt) FROM Loan e JOIN e.book b JOIN e.member m")
+@NamedQuery(name = Loan.PAGE_BY_LOAN_DATE, query = "SELECT e FROM Loan e ORDER BY e.loanDate DESC, e.id DESC")
+@NamedQuery(name = Loan.PAGE_BY_LOAN_DATE_AFTER, query = "SELECT e FROM Loan e " +
+        "WHERE e.loanDate < :key OR (e.loanDate = :key AND e.id < :id) ORDER BY e.loanDate DESC, e.id DESC")
+@NamedQuery(name = Loan.FIND_BY_MEMBER,
+        query = "SELECT l FROM Loan l WHERE l.member = :member ORDER BY l.loanDate DESC, l.id DESC")
+@NamedQuery(name = Loan.FIND_BY_MEMBER_AFTER, query = "SELECT l FROM Loan l WHERE l.member = :member " +
+        "AND (l.loanDate < :key OR (l.loanDate = :key AND l.id < :id)) ORDER BY l.loanDate DESC, l.id DESC")
+@NamedQuery(name = Loan.FIND_BY_BOOK,
+        query = "SELECT l FROM Loan l WHERE l.book = :book ORDER BY l.loanDate DESC, l.id DESC")
+@NamedQuery(name = Loan.FIND_BY_BOOK_AFTER, query = "SELECT l FROM Loan l WHERE l.book = :book " +
+        "AND (l.loanDate < :key OR (l.loanDate = :key AND l.id < :id)) ORDER BY l.loanDate DESC, l.id DESC")
+@NamedQuery(name = Loan.FIND_BY_STATUS, query = "SELECT l FROM Loan l WHERE l.status = :status ORDER BY l.dueDate")
+@NamedQuery(name = Loan.FIND_ACTIVE_BY_MEMBER,
+        query = "SELECT l FROM Loan l WHERE l.member = :member AND l.status IN :statuses ORDER BY l.dueDate")
+@NamedQuery(name = Loan.FIND_OVERDUE,
+        query = "SELECT l FROM Loan l WHERE l.status = :status AND l.dueDate < :today ORDER BY l.dueDate")
+@NamedQuery(name = Loan.FIND_BY_DUE_DATE_BEFORE, query = "SELECT l FROM Loan l " +
+        "WHERE l.dueDate < :dueDate AND l.status IN :statuses ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_BY_DUE_DATE_BEFORE_AFTER, query = "SELECT l FROM Loan l " +
+        "WHERE l.dueDate < :dueDate AND l.status IN :statuses " +
+        "AND (l.dueDate > :key OR (l.dueDate = :key AND l.id > :id)) ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_ACTIVE_BY_BOOK_AND_MEMBER,
+        query = "SELECT l FROM Loan l WHERE l.book = :book AND l.member = :member AND l.status IN :statuses")
+@NamedQuery(name = Loan.COUNT_ACTIVE_BY_MEMBER,
+        query = "SELECT COUNT(l) FROM Loan l WHERE l.member = :member AND l.status IN :statuses")
+@NamedQuery(name = Loan.FIND_BOOK_IDS_ON_ACTIVE_LOAN, query = "SELECT l.book.id FROM Loan l " +
+        "WHERE l.member = :member AND l.book.id IN :bookIds AND l.status IN :statuses")
+@NamedQuery(name = Loan.FIND_SUMMARIES_BY_STATUS,
+        query = Loan.SUMMARY_SELECT + "WHERE l.status = :status ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_SUMMARIES_BY_STATUS_AFTER, query = Loan.SUMMARY_SELECT + "WHERE l.status = :status " +
+        "AND (l.dueDate > :key OR (l.dueDate = :key AND l.id > :id)) ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_OVERDUE_SUMMARIES,
+        query = Loan.SUMMARY_SELECT + "WHERE l.status = :status AND l.dueDate < :today ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_OVERDUE_SUMMARIES_AFTER, query = Loan.SUMMARY_SELECT +
+        "WHERE l.status = :status AND l.dueDate < :today " +
+        "AND (l.dueDate > :key OR (l.dueDate = :key AND l.id > :id)) ORDER BY l.dueDate, l.id")
+@NamedQuery(name = Loan.FIND_RECENT_SUMMARIES,
+        query = Loan.SUMMARY_SELECT + "ORDER BY l.loanDate DESC, l.id DESC")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,7 +68,35 @@ import java.time.temporal.ChronoUnit;
 public class Loan extends BaseEntity {
 
     private static final int DEFAULT_LOAN_DAYS = 14;
-    private static final int MAX_RENEWALS = 2;
+    public static final int MAX_RENEWALS = 2;
+
+    public static final String PAGE_BY_LOAN_DATE = "Loan.pageByLoanDate";
+    public static final String PAGE_BY_LOAN_DATE_AFTER = "Loan.pageByLoanDateAfter";
+    public static final String FIND_BY_MEMBER = "Loan.findByMember";
+    public static final String FIND_BY_MEMBER_AFTER = "Loan.findByMemberAfter";
+    public static final String FIND_BY_BOOK = "Loan.findByBook";
+    public static final String FIND_BY_BOOK_AFTER = "Loan.findByBookAfter";
+    public static final String FIND_BY_STATUS = "Loan.findByStatus";
+    public static final String FIND_ACTIVE_BY_MEMBER = "Loan.findActiveByMember";
+    public static final String FIND_OVERDUE = "Loan.findOverdue";
+    public static final String FIND_BY_DUE_DATE_BEFORE = "Loan.findByDueDateBefore";
+    public static final String FIND_BY_DUE_DATE_BEFORE_AFTER = "Loan.findByDueDateBeforeAfter";
+    public static final String FIND_ACTIVE_BY_BOOK_AND_MEMBER = "Loan.findActiveByBookAndMember";
+    public static final String COUNT_ACTIVE_BY_MEMBER = "Loan.countActiveByMember";
+    public static final String FIND_BOOK_IDS_ON_ACTIVE_LOAN = "Loan.findBookIdsOnActiveLoan";
+    public static final String FIND_SUMMARIES_BY_STATUS = "Loan.findSummariesByStatus";
+    public static final String FIND_SUMMARIES_BY_STATUS_AFTER = "Loan.findSummariesByStatusAfter";
+    public static final String FIND_OVERDUE_SUMMARIES = "Loan.findOverdueSummaries";
+    public static final String FIND_OVERDUE_SUMMARIES_AFTER = "Loan.findOverdueSummariesAfter";
+    public static final String FIND_RECENT_SUMMARIES = "Loan.findRecentSummaries";
+
+    static final String SUMMARY_SELECT = "SELECT l.id, b.id, b.title, b.isbn, m.id, m.firstName, " +
+            "m.lastName, m.membershipNumber, l.loanDate, l.dueDate, l.returnDate, l.status, l.renewalCount, " +
+            "l.notes, " +
+            "CASE WHEN l.returnDate IS NULL AND l.dueDate < :today THEN 1 ELSE 0 END, " +
+            "CASE WHEN l.status = :active AND l.renewalCount < :maxRenewals " +
+            "AND (l.returnDate IS NOT NULL OR l.dueDate >= :today) THEN 1 ELSE 0 END " +
+            "FROM Loan l JOIN l.book b JOIN l.member m ";
 
     @NotNull(message = "{loan.book.required}")
     @ManyToOne(fetch = FetchType.LAZY)
@@ -56,63 +129,60 @@ public class Loan extends BaseEntity {
     @Column(length = 500)
     private String notes;
 
-    public Loan(Book book, Member member) {
-        this.book = book;
-        this.member = member;
-        this.loanDate = LocalDate.now();
-        this.dueDate = loanDate.plusDays(DEFAULT_LOAN_DAYS);
+    public Loan(Book book, Member member, LocalDate loanDate) {
+        this(book, member, loanDate, DEFAULT_LOAN_DAYS);
     }
 
-    public Loan(Book book, Member member, int loanDays) {
+    public Loan(Book book, Member member, LocalDate loanDate, int loanDays) {
         this.book = book;
         this.member = member;
-        this.loanDate = LocalDate.now();
+        this.loanDate = loanDate;
         this.dueDate = loanDate.plusDays(loanDays);
     }
 
-    public boolean isOverdue() {
-        return returnDate == null && LocalDate.now().isAfter(dueDate);
+    public boolean isOverdue(LocalDate today) {
+        return returnDate == null && today.isAfter(dueDate);
     }
 
-    public long getDaysOverdue() {
-        if (!isOverdue()) {
+    public long getDaysOverdue(LocalDate today) {
+        if (!isOverdue(today)) {
             return 0;
         }
-        return ChronoUnit.DAYS.between(dueDate, LocalDate.now());
+        return ChronoUnit.DAYS.between(dueDate, today);
     }
 
-    public long getDaysUntilDue() {
+    public long getDaysUntilDue(LocalDate today) {
         if (returnDate != null) {
             return 0;
         }
-        return ChronoUnit.DAYS.between(LocalDate.now(), dueDate);
+        return ChronoUnit.DAYS.between(today, dueDate);
     }
 
-    public boolean canRenew() {
+    public boolean canRenew(LocalDate today) {
         return status == LoanStatus.ACTIVE
                 && renewalCount < MAX_RENEWALS
-                && !isOverdue();
+                && !isOverdue(today);
     }
 
-    public void renew() {
-        renew(DEFAULT_LOAN_DAYS);
+    public void renew(LocalDate today) {
+        renew(DEFAULT_LOAN_DAYS, today);
     }
 
-    public void renew(int additionalDays) {
-        if (!canRenew()) {
+    public void renew(int additionalDays, LocalDate today) {
+        if (!canRenew(today)) {
             throw new BusinessRuleException(ExceptionMessage.LOAN_CANNOT_RENEW,
                     member.getFullName(), book.getTitle());
         }
-        this.dueDate = LocalDate.now().plusDays(additionalDays);
+        this.dueDate = today.plusDays(additionalDays);
         this.renewalCount++;
     }
 
-    public void returnBook() {
+    public void returnBook(LocalDate today) {
         if (status == LoanStatus.RETURNED) {
             throw new BusinessRuleException(ExceptionMessage.LOAN_ALREADY_RETURNED,
                     member.getFullName(), book.getTitle());
         }
-        this.returnDate = LocalDate.now();
+        this.returnDate = today;
         this.status = LoanStatus.RETURNED;
     }
 
@@ -141,10 +211,9 @@ public class Loan extends BaseEntity {
 
     @Override
     public String toString() {
+        // book and member are lazy; printing them would load both just to log a loan
         return "Loan{" +
-                "book=" + book +
-                ", member=" + member +
-                ", loanDate=" + loanDate +
+                "loanDate=" + loanDate +
                 ", dueDate=" + dueDate +
                 ", returnDate=" + returnDate +
                 ", status=" + status +
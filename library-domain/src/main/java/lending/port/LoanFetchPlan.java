@@ -0,0 +1,21 @@
+package lending.port;
+
+import common.FetchPlan;
+
+import java.util.List;
+
+public enum LoanFetchPlan implements FetchPlan {
+    LOAN_ONLY,
+    WITH_BOOK_AND_MEMBER("book", "member");
+
+    private final List<String> attributes;
+
+    LoanFetchPlan(String... attributes) {
+        this.attributes = List.of(attributes);
+    }
+
+    @Override
+    public List<String> attributes() {
+        return attributes;
+    }
+}
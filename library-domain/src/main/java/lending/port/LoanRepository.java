@@ -4,29 +4,62 @@ package lending.port;
 
 import catalog.model.Book;
 import common.BaseRepository;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 import lending.model.Loan;
 import lending.model.LoanStatus;
 import membership.model.Member;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LoanRepository extends BaseRepository<Loan> {
 
-    List<Loan> findByMember(Member member);
+    List<Loan> findAll(LoanFetchPlan plan);
 
-    List<Loan> findByBook(Book book);
+    Page<Loan> findPage(Cursor after, int limit, LoanFetchPlan plan);
 
-    List<Loan> findByStatus(LoanStatus status);
+    Stream<Loan> streamAll(LoanFetchPlan plan);
 
-    List<Loan> findActiveByMember(Member member);
+    Page<Loan> findByMember(Member member, Cursor after, int limit, LoanFetchPlan plan);
 
-    List<Loan> findOverdueLoans();
+    Page<Loan> findByBook(Book book, Cursor after, int limit, LoanFetchPlan plan);
 
-    List<Loan> findByDueDateBefore(LocalDate date);
+    List<Loan> findByStatus(LoanStatus status, LoanFetchPlan plan);
+
+    List<Loan> findActiveByMember(Member member, LoanFetchPlan plan);
+
+    List<Loan> findOverdueLoans(LocalDate today, LoanFetchPlan plan);
+
+    Page<Loan> findByDueDateBefore(LocalDate date, Cursor after, int limit, LoanFetchPlan plan);
+
+    Page<LoanSummary> findSummariesByStatus(LoanStatus status, Cursor after, int limit, LocalDate today);
+
+    Page<LoanSummary> findOverdueSummaries(LocalDate today, Cursor after, int limit);
+
+    List<LoanSummary> findOverdueSummaries(LocalDate today, int limit);
+
+    List<LoanSummary> findRecentSummaries(LocalDate today, int limit);
+
+    List<LoanSummary> findSummaries(PageRequest request, LocalDate today);
+
+    long countSummaries(Map<String, String> filters);
+
+    Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit, LocalDate today);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields, LocalDate today);
 
     Optional<Loan> findActiveByBookAndMember(Book book, Member member);
 
     long countActiveByMember(Member member);
+
+    List<Long> findBookIdsOnActiveLoan(Member member, Collection<Long> bookIds);
+
+    int markOverdue(LocalDate today, int limit);
 }
@@ -0,0 +1,22 @@
+package lending.port;
+
+import lending.model.LoanStatus;
+
+import java.time.LocalDate;
+
+public record LoanSummary(Long id,
+                          Long bookId,
+                          String bookTitle,
+                          String bookIsbn,
+                          Long memberId,
+                          String memberName,
+                          String membershipNumber,
+                          LocalDate loanDate,
+                          LocalDate dueDate,
+                          LocalDate returnDate,
+                          LoanStatus status,
+                          int renewalCount,
+                          String notes,
+                          boolean overdue,
+                          boolean canRenew) {
+}
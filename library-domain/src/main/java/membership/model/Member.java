@@ -13,12 +13,62 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "members")
+@NamedQuery(name = "Member.findAll", query = "SELECT e FROM Member e")
+@NamedQuery(name = "Member.findAllById", query = "SELECT e FROM Member e WHERE e.id IN :ids")
+@NamedQuery(name = "Member.streamAll", query = "SELECT e FROM Member e ORDER BY e.id")
+@NamedQuery(name = "Member.findVersion", query = "SELECT e.version, e.updatedAt FROM Member e WHERE e.id = :id")
+@NamedQuery(name = "Member.tableVersion",
+        query = "SELECT COUNT(e), SUM(e.version), MAX(e.updatedAt) FROM Member e")
+@NamedQuery(name = Member.PAGE_BY_LAST_NAME, query = "SELECT e FROM Member e ORDER BY e.lastName ASC, e.id ASC")
+@NamedQuery(name = Member.PAGE_BY_LAST_NAME_AFTER, query = "SELECT e FROM Member e " +
+        "WHERE e.lastName > :key OR (e.lastName = :key AND e.id > :id) ORDER BY e.lastName ASC, e.id ASC")
+@NamedQuery(name = Member.FIND_BY_MEMBERSHIP_NUMBER,
+        query = "SELECT m FROM Member m WHERE m.membershipNumber = :membershipNumber")
+@NamedQuery(name = Member.FIND_ALL_BY_MEMBERSHIP_NUMBER,
+        query = "SELECT m FROM Member m WHERE m.membershipNumber IN :membershipNumbers")
+@NamedQuery(name = Member.EXISTS_BY_MEMBERSHIP_NUMBER,
+        query = "SELECT COUNT(m) FROM Member m WHERE m.membershipNumber = :membershipNumber")
+@NamedQuery(name = Member.FIND_BY_EMAIL, query = "SELECT m FROM Member m WHERE LOWER(m.email) = LOWER(:email)")
+@NamedQuery(name = Member.EXISTS_BY_EMAIL,
+        query = "SELECT COUNT(m) FROM Member m WHERE LOWER(m.email) = LOWER(:email)")
+@NamedQuery(name = Member.FIND_BY_STATUS,
+        query = "SELECT m FROM Member m WHERE m.status = :status ORDER BY m.lastName, m.firstName")
+@NamedQuery(name = Member.FIND_BY_NAME_CONTAINING, query = "SELECT m FROM Member m " +
+        "WHERE LOWER(m.firstName) LIKE LOWER(:name) OR LOWER(m.lastName) LIKE LOWER(:name) " +
+        "ORDER BY m.lastName, m.firstName")
+@NamedQuery(name = Member.FIND_ALL_SUMMARIES, query = Member.SUMMARY_SELECT + "ORDER BY m.id")
+@NamedQuery(name = Member.FIND_SUMMARIES_BY_STATUS,
+        query = Member.SUMMARY_SELECT + "WHERE m.status = :status ORDER BY m.lastName, m.id")
+@NamedQuery(name = Member.FIND_SUMMARIES_BY_STATUS_AFTER, query = Member.SUMMARY_SELECT +
+        "WHERE m.status = :status AND (m.lastName > :key OR (m.lastName = :key AND m.id > :id)) " +
+        "ORDER BY m.lastName, m.id")
 @Getter
 @Setter
 @NoArgsConstructor
 @AttributeOverride(name = "id", column = @Column(name = "member_id"))
 public class Member extends BaseEntity {
 
+    public static final String PAGE_BY_LAST_NAME = "Member.pageByLastName";
+    public static final String PAGE_BY_LAST_NAME_AFTER = "Member.pageByLastNameAfter";
+    public static final String FIND_BY_MEMBERSHIP_NUMBER = "Member.findByMembershipNumber";
+    public static final String FIND_ALL_BY_MEMBERSHIP_NUMBER = "Member.findAllByMembershipNumber";
+    public static final String EXISTS_BY_MEMBERSHIP_NUMBER = "Member.existsByMembershipNumber";
+    public static final String FIND_BY_EMAIL = "Member.findByEmail";
+    public static final String EXISTS_BY_EMAIL = "Member.existsByEmail";
+    public static final String FIND_BY_STATUS = "Member.findByStatus";
+    public static final String FIND_BY_NAME_CONTAINING = "Member.findByNameContaining";
+    public static final String FIND_ALL_SUMMARIES = "Member.findAllSummaries";
+    public static final String FIND_SUMMARIES_BY_STATUS = "Member.findSummariesByStatus";
+    public static final String FIND_SUMMARIES_BY_STATUS_AFTER = "Member.findSummariesByStatusAfter";
+
+    static final String SUMMARY_SELECT = "SELECT m.id, m.membershipNumber, m.firstName, m.lastName, " +
+            "m.email, m.phone, m.address, m.registrationDate, m.expirationDate, m.status, m.activeLoans, " +
+            "m.maxLoans, " +
+            "CASE WHEN m.status = :active AND m.activeLoans < m.maxLoans " +
+            "AND (m.expirationDate IS NULL OR m.expirationDate >= :today) THEN 1 ELSE 0 END, " +
+            "CASE WHEN m.expirationDate IS NOT NULL AND m.expirationDate < :today THEN 1 ELSE 0 END " +
+            "FROM Member m ";
+
     @NotBlank(message = "{member.membership-number.required}")
     @Size(max = 20, message = "{member.membership-number.size}")
     @Column(name = "membership_number", nullable = false, unique = true, length = 20)
@@ -48,7 +98,7 @@ public class Member extends BaseEntity {
 
     @PastOrPresent(message = "{member.registration-date.past-or-present}")
     @Column(name = "registration_date", nullable = false)
-    private LocalDate registrationDate = LocalDate.now();
+    private LocalDate registrationDate;
 
     @Column(name = "expiration_date")
     private LocalDate expirationDate;
@@ -64,30 +114,31 @@ public class Member extends BaseEntity {
     @Column(name = "max_loans", nullable = false)
     private int maxLoans = 5;
 
-    public Member(String membershipNumber, String firstName, String lastName, String email) {
+    public Member(String membershipNumber, String firstName, String lastName, String email, LocalDate today) {
         this.membershipNumber = membershipNumber;
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
-        this.expirationDate = LocalDate.now().plusYears(1);
+        this.registrationDate = today;
+        this.expirationDate = today.plusYears(1);
     }
 
     public String getFullName() {
         return firstName + " " + lastName;
     }
 
-    public boolean canBorrow() {
+    public boolean canBorrow(LocalDate today) {
         return status == MemberStatus.ACTIVE
                 && activeLoans < maxLoans
-                && !isMembershipExpired();
+                && !isMembershipExpired(today);
     }
 
-    public boolean isMembershipExpired() {
-        return expirationDate != null && LocalDate.now().isAfter(expirationDate);
+    public boolean isMembershipExpired(LocalDate today) {
+        return expirationDate != null && today.isAfter(expirationDate);
     }
 
-    public void incrementActiveLoans() {
-        if (!canBorrow()) {
+    public void incrementActiveLoans(LocalDate today) {
+        if (!canBorrow(today)) {
             throw new BusinessRuleException(ExceptionMessage.MEMBER_CANNOT_BORROW, getFullName());
         }
         activeLoans++;
@@ -100,8 +151,8 @@ public class Member extends BaseEntity {
         activeLoans--;
     }
 
-    public void renewMembership(int years) {
-        LocalDate baseDate = isMembershipExpired() ? LocalDate.now() : expirationDate;
+    public void renewMembership(int years, LocalDate today) {
+        LocalDate baseDate = isMembershipExpired(today) ? today : expirationDate;
         this.expirationDate = baseDate.plusYears(years);
         if (this.status == MemberStatus.EXPIRED) {
             this.status = MemberStatus.ACTIVE;
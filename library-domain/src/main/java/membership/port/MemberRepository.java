@@ -1,23 +1,46 @@
 package membership.port;
 
 import common.BaseRepository;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 import membership.model.Member;
 import membership.model.MemberStatus;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface MemberRepository extends BaseRepository<Member> {
 
     Optional<Member> findByMembershipNumber(String membershipNumber);
 
+    List<Member> findAllByMembershipNumber(Collection<String> membershipNumbers);
+
     Optional<Member> findByEmail(String email);
 
     List<Member> findByStatus(MemberStatus status);
 
-    List<Member> findByNameContaining(String name);
+    List<Member> findByNameContaining(String name, int limit);
+
+    List<MemberSummary> findAllSummaries(LocalDate today);
+
+    Page<MemberSummary> findSummariesByStatus(MemberStatus status, Cursor after, int limit, LocalDate today);
+
+    List<MemberSummary> findSummaries(PageRequest request, LocalDate today);
+
+    long countSummaries(Map<String, String> filters);
+
+    Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit, LocalDate today);
+
+    Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields, LocalDate today);
 
     boolean existsByEmail(String email);
 
     boolean existsByMembershipNumber(String membershipNumber);
+
+    boolean tryIncrementActiveLoans(Long memberId, LocalDate today);
 }
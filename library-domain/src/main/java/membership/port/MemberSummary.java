@@ -0,0 +1,25 @@
+package membership.port;
+
+import membership.model.MemberStatus;
+
+import java.time.LocalDate;
+
+public record MemberSummary(Long id,
+                            String membershipNumber,
+                            String firstName,
+                            String lastName,
+                            String email,
+                            String phone,
+                            String address,
+                            LocalDate registrationDate,
+                            LocalDate expirationDate,
+                            MemberStatus status,
+                            int activeLoans,
+                            int maxLoans,
+                            boolean canBorrow,
+                            boolean membershipExpired) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,12 @@
+package reporting.port;
+
+import java.io.Serializable;
+
+public record LibraryCounts(long totalBooks,
+                            long availableBooks,
+                            long totalMembers,
+                            long activeMembers,
+                            long activeLoans,
+                            long overdueLoans,
+                            long totalCategories) implements Serializable {
+}
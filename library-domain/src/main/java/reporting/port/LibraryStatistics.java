@@ -0,0 +1,8 @@
+package reporting.port;
+
+import java.time.LocalDate;
+
+public interface LibraryStatistics {
+
+    LibraryCounts countAll(LocalDate today);
+}
@@ -0,0 +1,112 @@
+package common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the keyset pagination value types.
+ *
+ * The cursor is handed to REST clients as an opaque token and comes back on the
+ * next request, so the encode/decode round trip must be lossless for any sort
+ * key (including keys that contain the internal separator) and must reject
+ * tokens that were tampered with.
+ *
+ * Tested methods:
+ *   - Cursor.encode() / Cursor.decode(): round trip, blank and malformed tokens
+ *   - Page.clampLimit(): default and upper bound
+ *   - Page.map(): items are mapped, next cursor preserved
+ */
+@DisplayName("Cursor and Page")
+class CursorTest {
+
+    @Nested
+    @DisplayName("Cursor encode/decode")
+    class CursorRoundTripTests {
+
+        @Test
+        @DisplayName("Should restore key and id from an encoded token")
+        void shouldRoundTripKeyAndId() {
+            Cursor cursor = Cursor.of("Clean Code", 42L);
+
+            Cursor decoded = Cursor.decode(cursor.encode());
+
+            assertEquals(cursor, decoded);
+        }
+
+        @Test
+        @DisplayName("Should keep keys that contain the separator character intact")
+        void shouldRoundTripKeyWithSeparator() {
+            // Only the first ':' separates id from key, so titles like "Java: The Good Parts" survive
+            Cursor cursor = Cursor.of("Java: The Good Parts", 7L);
+
+            assertEquals(cursor, Cursor.decode(cursor.encode()));
+        }
+
+        @Test
+        @DisplayName("Should round trip an id-only cursor with a null key")
+        void shouldRoundTripIdOnlyCursor() {
+            Cursor decoded = Cursor.decode(Cursor.of(99L).encode());
+
+            assertAll(
+                    () -> assertNull(decoded.key()),
+                    () -> assertEquals(99L, decoded.id())
+            );
+        }
+
+        @Test
+        @DisplayName("Should return null for a missing or blank token (first page)")
+        void shouldReturnNullForBlankToken() {
+            assertAll(
+                    () -> assertNull(Cursor.decode(null)),
+                    () -> assertNull(Cursor.decode("  "))
+            );
+        }
+
+        @Test
+        @DisplayName("Should reject a token that is not a valid cursor")
+        void shouldRejectMalformedToken() {
+            assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not-a-cursor!"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Page")
+    class PageTests {
+
+        @Test
+        @DisplayName("Should fall back to the default limit for zero or negative values and cap large ones")
+        void shouldClampLimit() {
+            assertAll(
+                    () -> assertEquals(Page.DEFAULT_LIMIT, Page.clampLimit(0)),
+                    () -> assertEquals(Page.DEFAULT_LIMIT, Page.clampLimit(-5)),
+                    () -> assertEquals(10, Page.clampLimit(10)),
+                    () -> assertEquals(Page.MAX_LIMIT, Page.clampLimit(1_000_000))
+            );
+        }
+
+        @Test
+        @DisplayName("Should map items and keep the next cursor")
+        void shouldMapItemsAndKeepCursor() {
+            Page<Integer> page = Page.of(List.of(1, 2, 3), Cursor.of(3L));
+
+            Page<String> mapped = page.map(String::valueOf);
+
+            assertAll(
+                    () -> assertEquals(List.of("1", "2", "3"), mapped.items()),
+                    () -> assertEquals(page.next(), mapped.next()),
+                    () -> assertTrue(mapped.hasNext())
+            );
+        }
+
+        @Test
+        @DisplayName("Should report no next page when the cursor is absent")
+        void shouldReportLastPage() {
+            assertFalse(Page.of(List.of(), null).hasNext());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package common.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the business exception messages.
+ *
+ * "No copies available" and "member cannot borrow" are thrown on every rejected desk
+ * request, so the messages are formatted from a cached pattern and the exceptions skip
+ * the stack trace. The tests pin the formatted text so the caching stays invisible.
+ *
+ * Tested methods:
+ *   - ExceptionMessage.getMessage(Object...): formatting, repeated and concurrent use
+ *   - ExceptionMessage.getMessage(Locale, Object...): locale-specific number formatting
+ *   - BusinessRuleException: message text, no captured stack trace
+ */
+@DisplayName("Exception messages")
+class ExceptionMessageTest {
+
+    @Nested
+    @DisplayName("getMessage()")
+    class GetMessageTests {
+
+        @Test
+        @DisplayName("Should format the same text on every call")
+        void shouldFormatRepeatedly() {
+            String first = ExceptionMessage.BOOK_NO_COPIES_AVAILABLE.getMessage("Dune");
+            String second = ExceptionMessage.BOOK_NO_COPIES_AVAILABLE.getMessage("Emma");
+
+            assertAll(
+                    () -> assertEquals("No copies are available for the book: Dune", first),
+                    () -> assertEquals("No copies are available for the book: Emma", second)
+            );
+        }
+
+        @Test
+        @DisplayName("Should format numbers with the requested locale")
+        void shouldUseRequestedLocale() {
+            assertAll(
+                    () -> assertEquals("Book not found with Id: 1,234",
+                            ExceptionMessage.ENTITY_NOT_FOUND.getMessage(Locale.US, "Book", "Id", 1234L)),
+                    () -> assertEquals("Book not found with Id: 1.234",
+                            ExceptionMessage.ENTITY_NOT_FOUND.getMessage(Locale.GERMANY, "Book", "Id", 1234L))
+            );
+        }
+
+        @Test
+        @DisplayName("Should give each concurrent caller its own arguments")
+        void shouldFormatConcurrently() throws Exception {
+            List<Callable<String>> calls = IntStream.range(0, 200)
+                    .<Callable<String>>mapToObj(i -> () -> ExceptionMessage.MEMBER_CANNOT_BORROW.getMessage("Member " + i))
+                    .toList();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<String>> results = executor.invokeAll(calls);
+                for (int i = 0; i < results.size(); i++) {
+                    assertTrue(results.get(i).get().contains("Member " + i + " "),
+                            "Message " + i + " should carry its own argument: " + results.get(i).get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("BusinessRuleException")
+    class BusinessRuleExceptionTests {
+
+        @Test
+        @DisplayName("Should carry the formatted message without a stack trace")
+        void shouldSkipStackTrace() {
+            BusinessRuleException exception =
+                    new BusinessRuleException(ExceptionMessage.BOOK_NO_COPIES_AVAILABLE, "Dune");
+
+            assertAll(
+                    () -> assertEquals("No copies are available for the book: Dune", exception.getMessage()),
+                    () -> assertEquals(0, exception.getStackTrace().length)
+            );
+        }
+    }
+}
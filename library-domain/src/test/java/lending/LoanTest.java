@@ -25,10 +25,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * Its business rules coordinate state transitions (ACTIVE → RETURNED,
  * ACTIVE → OVERDUE, ACTIVE → LOST) and enforce constraints on renewals.
  *
- * Date-dependent methods (isOverdue, getDaysOverdue, canRenew) are tricky
- * to test because they depend on LocalDate.now(). We use reflection to
- * set loanDate and dueDate directly, giving us deterministic control
- * over the time dimension without requiring a Clock abstraction.
+ * Date-dependent methods (isOverdue, getDaysOverdue, canRenew) take the
+ * business date as a parameter; every test passes the same TODAY and uses
+ * reflection to set loanDate and dueDate relative to it.
  *
  * Tested methods:
  *   - Constructors: default loan days and custom loan days
@@ -43,6 +42,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @DisplayName("Loan Entity")
 class LoanTest {
 
+    private static final LocalDate TODAY = LocalDate.now();
+
     private Book book;
     private Member member;
     private Loan loan;
@@ -54,10 +55,10 @@ class LoanTest {
         book.setAvailableCopies(3);
         book.setStatus(BookStatus.AVAILABLE);
 
-        member = new Member("MEM-001", "Luis", "García", "luis@example.com");
+        member = new Member("MEM-001", "Luis", "García", "luis@example.com", TODAY);
 
         // Default loan: 14-day period starting today
-        loan = new Loan(book, member);
+        loan = new Loan(book, member, TODAY);
     }
 
     /**
@@ -87,22 +88,22 @@ class LoanTest {
     class ConstructorTests {
 
         @Test
-        @DisplayName("Default constructor should set loan date to today and due date 14 days ahead")
+        @DisplayName("Constructor should set the given loan date and a due date 14 days ahead")
         void defaultConstructorShouldSetDates() {
-            Loan newLoan = new Loan(book, member);
+            Loan newLoan = new Loan(book, member, TODAY);
 
             assertAll("Default loan dates",
-                    () -> assertEquals(LocalDate.now(), newLoan.getLoanDate()),
-                    () -> assertEquals(LocalDate.now().plusDays(14), newLoan.getDueDate())
+                    () -> assertEquals(TODAY, newLoan.getLoanDate()),
+                    () -> assertEquals(TODAY.plusDays(14), newLoan.getDueDate())
             );
         }
 
         @Test
-        @DisplayName("Custom days constructor should use specified loan period")
+        @DisplayName("Custom days constructor should count the loan period from the given date")
         void customDaysConstructorShouldUseSpecifiedPeriod() {
-            Loan customLoan = new Loan(book, member, 30);
+            Loan customLoan = new Loan(book, member, TODAY, 30);
 
-            assertEquals(LocalDate.now().plusDays(30), customLoan.getDueDate(),
+            assertEquals(TODAY.plusDays(30), customLoan.getDueDate(),
                     "Due date should be 30 days from today, not the default 14");
         }
 
@@ -139,46 +140,57 @@ class LoanTest {
         @DisplayName("Should return false when due date is in the future")
         void shouldNotBeOverdueWhenDueDateInFuture() {
             // Default loan: due in 14 days
-            assertFalse(loan.isOverdue());
+            assertFalse(loan.isOverdue(TODAY));
         }
 
         @Test
         @DisplayName("Should return false on the exact due date (not yet past)")
         void shouldNotBeOverdueOnDueDate() {
             // Set due date to today — isAfter(today) is false
-            setLoanDates(loan, LocalDate.now().minusDays(14), LocalDate.now());
+            setLoanDates(loan, TODAY.minusDays(14), TODAY);
 
-            assertFalse(loan.isOverdue(),
+            assertFalse(loan.isOverdue(TODAY),
                     "Loan is still valid on the due date itself — overdue starts the day after");
         }
 
         @Test
         @DisplayName("Should return true when due date is in the past")
         void shouldBeOverdueWhenDueDatePassed() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(6));
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(6));
 
-            assertTrue(loan.isOverdue());
+            assertTrue(loan.isOverdue(TODAY));
         }
 
         @Test
         @DisplayName("Should return true when one day past due")
         void shouldBeOverdueOneDayLate() {
-            setLoanDates(loan, LocalDate.now().minusDays(15), LocalDate.now().minusDays(1));
+            setLoanDates(loan, TODAY.minusDays(15), TODAY.minusDays(1));
 
-            assertTrue(loan.isOverdue(),
+            assertTrue(loan.isOverdue(TODAY),
                     "Even one day past due should count as overdue");
         }
 
         @Test
         @DisplayName("Should return false when book has been returned (even if past due)")
         void shouldNotBeOverdueWhenReturned() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(6));
-            loan.returnBook(); // sets returnDate to today
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(6));
+            loan.returnBook(TODAY); // sets returnDate to today
 
             // isOverdue checks returnDate == null first
-            assertFalse(loan.isOverdue(),
+            assertFalse(loan.isOverdue(TODAY),
                     "Returned books are never considered overdue, regardless of dates");
         }
+
+        @Test
+        @DisplayName("Should evaluate against the given business date, not the system date")
+        void shouldUseGivenBusinessDate() {
+            // Default loan: due 14 days after TODAY
+            assertAll("Business date",
+                    () -> assertFalse(loan.isOverdue(TODAY.plusDays(14))),
+                    () -> assertTrue(loan.isOverdue(TODAY.plusDays(15))),
+                    () -> assertEquals(1, loan.getDaysOverdue(TODAY.plusDays(15)))
+            );
+        }
     }
 
     // =========================================================================
@@ -192,24 +204,24 @@ class LoanTest {
         @Test
         @DisplayName("Should return 0 when loan is not overdue")
         void shouldReturnZeroWhenNotOverdue() {
-            assertEquals(0, loan.getDaysOverdue());
+            assertEquals(0, loan.getDaysOverdue(TODAY));
         }
 
         @Test
         @DisplayName("Should calculate correct number of overdue days")
         void shouldCalculateCorrectOverdueDays() {
             // Due 5 days ago → 5 days overdue
-            setLoanDates(loan, LocalDate.now().minusDays(19), LocalDate.now().minusDays(5));
+            setLoanDates(loan, TODAY.minusDays(19), TODAY.minusDays(5));
 
-            assertEquals(5, loan.getDaysOverdue());
+            assertEquals(5, loan.getDaysOverdue(TODAY));
         }
 
         @Test
         @DisplayName("Should return 1 when one day past due")
         void shouldReturnOneWhenOneDayLate() {
-            setLoanDates(loan, LocalDate.now().minusDays(15), LocalDate.now().minusDays(1));
+            setLoanDates(loan, TODAY.minusDays(15), TODAY.minusDays(1));
 
-            assertEquals(1, loan.getDaysOverdue());
+            assertEquals(1, loan.getDaysOverdue(TODAY));
         }
     }
 
@@ -225,25 +237,25 @@ class LoanTest {
         @DisplayName("Should return correct remaining days for active loan")
         void shouldReturnRemainingDays() {
             // Default loan: due in 14 days
-            assertEquals(14, loan.getDaysUntilDue());
+            assertEquals(14, loan.getDaysUntilDue(TODAY));
         }
 
         @Test
         @DisplayName("Should return 0 when book has been returned")
         void shouldReturnZeroWhenReturned() {
-            loan.returnBook();
+            loan.returnBook(TODAY);
 
-            assertEquals(0, loan.getDaysUntilDue(),
+            assertEquals(0, loan.getDaysUntilDue(TODAY),
                     "Returned loans should show 0 days until due");
         }
 
         @Test
         @DisplayName("Should return negative value when overdue")
         void shouldReturnNegativeWhenOverdue() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(5));
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(5));
 
             // ChronoUnit.DAYS.between(today, pastDate) gives negative
-            assertTrue(loan.getDaysUntilDue() < 0,
+            assertTrue(loan.getDaysUntilDue(TODAY) < 0,
                     "Overdue loans should have negative days until due");
         }
     }
@@ -259,34 +271,34 @@ class LoanTest {
         @Test
         @DisplayName("Should return true for active, non-overdue loan with renewals remaining")
         void shouldAllowRenewalWhenEligible() {
-            assertTrue(loan.canRenew());
+            assertTrue(loan.canRenew(TODAY));
         }
 
         @Test
         @DisplayName("Should return false when renewal count reaches MAX_RENEWALS (2)")
         void shouldDenyRenewalWhenMaxReached() {
-            loan.renew();  // renewal 1
-            loan.renew();  // renewal 2
+            loan.renew(TODAY);  // renewal 1
+            loan.renew(TODAY);  // renewal 2
 
-            assertFalse(loan.canRenew(),
+            assertFalse(loan.canRenew(TODAY),
                     "Maximum of 2 renewals should be enforced");
         }
 
         @Test
         @DisplayName("Should return false when loan is overdue")
         void shouldDenyRenewalWhenOverdue() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(5));
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(5));
 
-            assertFalse(loan.canRenew(),
+            assertFalse(loan.canRenew(TODAY),
                     "Overdue loans cannot be renewed — member must return first");
         }
 
         @Test
         @DisplayName("Should return false when loan status is RETURNED")
         void shouldDenyRenewalWhenReturned() {
-            loan.returnBook();
+            loan.returnBook(TODAY);
 
-            assertFalse(loan.canRenew(),
+            assertFalse(loan.canRenew(TODAY),
                     "Returned loans cannot be renewed");
         }
 
@@ -295,15 +307,15 @@ class LoanTest {
         void shouldDenyRenewalWhenLost() {
             loan.markAsLost();
 
-            assertFalse(loan.canRenew());
+            assertFalse(loan.canRenew(TODAY));
         }
 
         @Test
         @DisplayName("Should allow exactly one more renewal after first renewal")
         void shouldAllowOneMoreAfterFirstRenewal() {
-            loan.renew(); // renewal 1
+            loan.renew(TODAY); // renewal 1
 
-            assertTrue(loan.canRenew(),
+            assertTrue(loan.canRenew(TODAY),
                     "Should still have one renewal remaining after first use");
         }
     }
@@ -319,18 +331,18 @@ class LoanTest {
         @Test
         @DisplayName("Default renew should extend due date by 14 days from today")
         void defaultRenewShouldExtendByDefaultDays() {
-            loan.renew();
+            loan.renew(TODAY);
 
-            assertEquals(LocalDate.now().plusDays(14), loan.getDueDate(),
+            assertEquals(TODAY.plusDays(14), loan.getDueDate(),
                     "Renewal resets due date to 14 days from today (not from old due date)");
         }
 
         @Test
         @DisplayName("Custom renew should extend due date by specified days from today")
         void customRenewShouldExtendBySpecifiedDays() {
-            loan.renew(21);
+            loan.renew(21, TODAY);
 
-            assertEquals(LocalDate.now().plusDays(21), loan.getDueDate());
+            assertEquals(TODAY.plusDays(21), loan.getDueDate());
         }
 
         @Test
@@ -338,35 +350,35 @@ class LoanTest {
         void shouldIncrementRenewalCount() {
             assertEquals(0, loan.getRenewalCount());
 
-            loan.renew();
+            loan.renew(TODAY);
             assertEquals(1, loan.getRenewalCount());
 
-            loan.renew();
+            loan.renew(TODAY);
             assertEquals(2, loan.getRenewalCount());
         }
 
         @Test
         @DisplayName("Should throw BusinessRuleException when canRenew() is false")
         void shouldThrowWhenCannotRenew() {
-            loan.renew(); // 1st
-            loan.renew(); // 2nd — max reached
+            loan.renew(TODAY); // 1st
+            loan.renew(TODAY); // 2nd — max reached
 
-            assertThrows(BusinessRuleException.class, () -> loan.renew(),
+            assertThrows(BusinessRuleException.class, () -> loan.renew(TODAY),
                     "Third renewal attempt should be rejected");
         }
 
         @Test
         @DisplayName("Should throw when loan is overdue")
         void shouldThrowWhenOverdue() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(5));
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(5));
 
-            assertThrows(BusinessRuleException.class, () -> loan.renew());
+            assertThrows(BusinessRuleException.class, () -> loan.renew(TODAY));
         }
 
         @Test
         @DisplayName("Should not change loan status on renewal")
         void shouldNotChangeStatus() {
-            loan.renew();
+            loan.renew(TODAY);
 
             assertEquals(LoanStatus.ACTIVE, loan.getStatus(),
                     "Renewal should keep the loan in ACTIVE status");
@@ -384,15 +396,15 @@ class LoanTest {
         @Test
         @DisplayName("Should set return date to today")
         void shouldSetReturnDateToToday() {
-            loan.returnBook();
+            loan.returnBook(TODAY);
 
-            assertEquals(LocalDate.now(), loan.getReturnDate());
+            assertEquals(TODAY, loan.getReturnDate());
         }
 
         @Test
         @DisplayName("Should transition status to RETURNED")
         void shouldSetStatusToReturned() {
-            loan.returnBook();
+            loan.returnBook(TODAY);
 
             assertEquals(LoanStatus.RETURNED, loan.getStatus());
         }
@@ -400,19 +412,19 @@ class LoanTest {
         @Test
         @DisplayName("Should throw BusinessRuleException when already returned")
         void shouldThrowWhenAlreadyReturned() {
-            loan.returnBook(); // first return succeeds
+            loan.returnBook(TODAY); // first return succeeds
 
-            assertThrows(BusinessRuleException.class, () -> loan.returnBook(),
+            assertThrows(BusinessRuleException.class, () -> loan.returnBook(TODAY),
                     "Double return should be rejected — book is already back");
         }
 
         @Test
         @DisplayName("Should allow return of overdue loan")
         void shouldAllowReturnOfOverdueLoan() {
-            setLoanDates(loan, LocalDate.now().minusDays(20), LocalDate.now().minusDays(5));
+            setLoanDates(loan, TODAY.minusDays(20), TODAY.minusDays(5));
 
             // Should not throw — overdue loans can still be returned
-            assertDoesNotThrow(() -> loan.returnBook());
+            assertDoesNotThrow(() -> loan.returnBook(TODAY));
             assertEquals(LoanStatus.RETURNED, loan.getStatus());
         }
     }
@@ -454,8 +466,8 @@ class LoanTest {
         @Test
         @DisplayName("Two loans with same book, member, and dates should be equal when IDs match")
         void shouldBeEqualWithSameFieldsAndId() {
-            Loan loan1 = new Loan(book, member);
-            Loan loan2 = new Loan(book, member);
+            Loan loan1 = new Loan(book, member, TODAY);
+            Loan loan2 = new Loan(book, member, TODAY);
             TestEntityHelper.setId(loan1, 1L);
             TestEntityHelper.setId(loan2, 1L);
 
@@ -468,8 +480,8 @@ class LoanTest {
         @DisplayName("Two loans with different books should not be equal")
         void shouldNotBeEqualWithDifferentBooks() {
             Book otherBook = new Book("0987654321", "Clean Code", "Robert C. Martin");
-            Loan loan1 = new Loan(book, member);
-            Loan loan2 = new Loan(otherBook, member);
+            Loan loan1 = new Loan(book, member, TODAY);
+            Loan loan2 = new Loan(otherBook, member, TODAY);
             TestEntityHelper.setId(loan1, 1L);
             TestEntityHelper.setId(loan2, 1L);
 
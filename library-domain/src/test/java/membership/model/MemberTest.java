@@ -25,12 +25,14 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("Member Entity")
 class MemberTest {
 
+    private static final LocalDate TODAY = LocalDate.now();
+
     private Member member;
 
     @BeforeEach
     void setUp() {
         // Standard active member with capacity to borrow
-        member = new Member("MEM-001", "Luis", "García", "luis@example.com");
+        member = new Member("MEM-001", "Luis", "García", "luis@example.com", TODAY);
     }
 
     // =========================================================================
@@ -65,15 +67,26 @@ class MemberTest {
         @Test
         @DisplayName("Should set registration date to today")
         void shouldSetRegistrationDateToToday() {
-            assertEquals(LocalDate.now(), member.getRegistrationDate());
+            assertEquals(TODAY, member.getRegistrationDate());
         }
 
         @Test
         @DisplayName("Should set expiration date to one year from today")
         void shouldSetExpirationToOneYearFromNow() {
-            assertEquals(LocalDate.now().plusYears(1), member.getExpirationDate(),
+            assertEquals(TODAY.plusYears(1), member.getExpirationDate(),
                     "New members get a 1-year membership by default");
         }
+
+        @Test
+        @DisplayName("Should date the membership from the given day rather than the system date")
+        void shouldUseGivenDay() {
+            Member leapDay = new Member("MEM-002", "Ada", "Lovelace", "ada@example.com", LocalDate.of(2024, 2, 29));
+
+            assertAll(
+                    () -> assertEquals(LocalDate.of(2024, 2, 29), leapDay.getRegistrationDate()),
+                    () -> assertEquals(LocalDate.of(2025, 2, 28), leapDay.getExpirationDate())
+            );
+        }
     }
 
     // =========================================================================
@@ -98,24 +111,24 @@ class MemberTest {
         @DisplayName("Should return false when expiration date is in the future")
         void shouldNotBeExpiredWhenFuture() {
             // Default constructor sets expiration 1 year ahead
-            assertFalse(member.isMembershipExpired());
+            assertFalse(member.isMembershipExpired(TODAY));
         }
 
         @Test
         @DisplayName("Should return true when expiration date is in the past")
         void shouldBeExpiredWhenPast() {
-            member.setExpirationDate(LocalDate.now().minusDays(1));
+            member.setExpirationDate(TODAY.minusDays(1));
 
-            assertTrue(member.isMembershipExpired());
+            assertTrue(member.isMembershipExpired(TODAY));
         }
 
         @Test
         @DisplayName("Should return false when expiration date is today (not yet past)")
         void shouldNotBeExpiredOnExactDay() {
             // isAfter is strict: today is NOT after today
-            member.setExpirationDate(LocalDate.now());
+            member.setExpirationDate(TODAY);
 
-            assertFalse(member.isMembershipExpired(),
+            assertFalse(member.isMembershipExpired(TODAY),
                     "Membership valid until end of expiration day");
         }
 
@@ -124,7 +137,7 @@ class MemberTest {
         void shouldNotBeExpiredWhenNull() {
             member.setExpirationDate(null);
 
-            assertFalse(member.isMembershipExpired(),
+            assertFalse(member.isMembershipExpired(TODAY),
                     "Null expiration should be treated as non-expired (e.g., lifetime membership)");
         }
     }
@@ -141,7 +154,7 @@ class MemberTest {
         @DisplayName("Should return true for active member with capacity and valid membership")
         void shouldAllowBorrowForActiveMemberWithCapacity() {
             // member is ACTIVE, 0 active loans, 5 max, not expired
-            assertTrue(member.canBorrow());
+            assertTrue(member.canBorrow(TODAY));
         }
 
         @Test
@@ -149,7 +162,7 @@ class MemberTest {
         void shouldDenyBorrowWhenSuspended() {
             member.setStatus(MemberStatus.SUSPENDED);
 
-            assertFalse(member.canBorrow(),
+            assertFalse(member.canBorrow(TODAY),
                     "Suspended members must not borrow books");
         }
 
@@ -158,7 +171,7 @@ class MemberTest {
         void shouldDenyBorrowWhenExpiredStatus() {
             member.setStatus(MemberStatus.EXPIRED);
 
-            assertFalse(member.canBorrow());
+            assertFalse(member.canBorrow(TODAY));
         }
 
         @Test
@@ -166,7 +179,7 @@ class MemberTest {
         void shouldDenyBorrowWhenInactive() {
             member.setStatus(MemberStatus.INACTIVE);
 
-            assertFalse(member.canBorrow());
+            assertFalse(member.canBorrow(TODAY));
         }
 
         @Test
@@ -175,7 +188,7 @@ class MemberTest {
             member.setActiveLoans(5); // equals maxLoans
             // activeLoans < maxLoans fails → canBorrow returns false
 
-            assertFalse(member.canBorrow(),
+            assertFalse(member.canBorrow(TODAY),
                     "Member at loan limit should not be allowed to borrow more");
         }
 
@@ -184,15 +197,15 @@ class MemberTest {
         void shouldAllowBorrowWhenOneBelowMax() {
             member.setActiveLoans(4); // one below default maxLoans of 5
 
-            assertTrue(member.canBorrow());
+            assertTrue(member.canBorrow(TODAY));
         }
 
         @Test
         @DisplayName("Should return false when membership is expired (date-based)")
         void shouldDenyBorrowWhenMembershipExpired() {
-            member.setExpirationDate(LocalDate.now().minusDays(1));
+            member.setExpirationDate(TODAY.minusDays(1));
 
-            assertFalse(member.canBorrow(),
+            assertFalse(member.canBorrow(TODAY),
                     "Expired membership should block borrowing even if status is ACTIVE");
         }
 
@@ -203,18 +216,18 @@ class MemberTest {
             // canBorrow = ACTIVE status AND activeLoans < maxLoans AND !expired
 
             // Scenario: ACTIVE + capacity + expired → should fail
-            member.setExpirationDate(LocalDate.now().minusDays(1));
-            assertFalse(member.canBorrow(), "Failed on: expired membership");
+            member.setExpirationDate(TODAY.minusDays(1));
+            assertFalse(member.canBorrow(TODAY), "Failed on: expired membership");
 
             // Reset expiration, now exceed loan limit
-            member.setExpirationDate(LocalDate.now().plusYears(1));
+            member.setExpirationDate(TODAY.plusYears(1));
             member.setActiveLoans(5);
-            assertFalse(member.canBorrow(), "Failed on: loan limit reached");
+            assertFalse(member.canBorrow(TODAY), "Failed on: loan limit reached");
 
             // Reset loans, now suspend
             member.setActiveLoans(0);
             member.setStatus(MemberStatus.SUSPENDED);
-            assertFalse(member.canBorrow(), "Failed on: suspended status");
+            assertFalse(member.canBorrow(TODAY), "Failed on: suspended status");
         }
     }
 
@@ -231,7 +244,7 @@ class MemberTest {
         void shouldIncrementByOne() {
             int loansBefore = member.getActiveLoans(); // 0
 
-            member.incrementActiveLoans();
+            member.incrementActiveLoans(TODAY);
 
             assertEquals(loansBefore + 1, member.getActiveLoans());
         }
@@ -243,7 +256,7 @@ class MemberTest {
             member.setActiveLoans(5);
 
             assertThrows(BusinessRuleException.class,
-                    () -> member.incrementActiveLoans(),
+                    () -> member.incrementActiveLoans(TODAY),
                     "Incrementing beyond max loans should be rejected");
         }
 
@@ -253,7 +266,7 @@ class MemberTest {
             member.setStatus(MemberStatus.SUSPENDED);
 
             assertThrows(BusinessRuleException.class,
-                    () -> member.incrementActiveLoans(),
+                    () -> member.incrementActiveLoans(TODAY),
                     "canBorrow() check in increment should catch suspended status");
         }
     }
@@ -312,7 +325,7 @@ class MemberTest {
             // Member is not expired — expiration is 1 year ahead
             LocalDate currentExpiration = member.getExpirationDate(); // today + 1 year
 
-            member.renewMembership(1); // renew for 1 more year
+            member.renewMembership(1, TODAY); // renew for 1 more year
 
             assertEquals(currentExpiration.plusYears(1), member.getExpirationDate(),
                     "When not expired, renewal should stack on top of existing expiration");
@@ -321,11 +334,11 @@ class MemberTest {
         @Test
         @DisplayName("Should extend expiration from today when membership is already expired")
         void shouldExtendFromTodayWhenExpired() {
-            member.setExpirationDate(LocalDate.now().minusDays(30)); // expired 30 days ago
+            member.setExpirationDate(TODAY.minusDays(30)); // expired 30 days ago
 
-            member.renewMembership(1);
+            member.renewMembership(1, TODAY);
 
-            assertEquals(LocalDate.now().plusYears(1), member.getExpirationDate(),
+            assertEquals(TODAY.plusYears(1), member.getExpirationDate(),
                     "When expired, renewal should start fresh from today, not stack on old date");
         }
 
@@ -334,7 +347,7 @@ class MemberTest {
         void shouldSupportMultiYearRenewals() {
             LocalDate currentExpiration = member.getExpirationDate();
 
-            member.renewMembership(3);
+            member.renewMembership(3, TODAY);
 
             assertEquals(currentExpiration.plusYears(3), member.getExpirationDate());
         }
@@ -343,9 +356,9 @@ class MemberTest {
         @DisplayName("Should reactivate EXPIRED status to ACTIVE on renewal")
         void shouldReactivateExpiredStatus() {
             member.setStatus(MemberStatus.EXPIRED);
-            member.setExpirationDate(LocalDate.now().minusDays(1));
+            member.setExpirationDate(TODAY.minusDays(1));
 
-            member.renewMembership(1);
+            member.renewMembership(1, TODAY);
 
             assertEquals(MemberStatus.ACTIVE, member.getStatus(),
                     "Renewal should automatically reactivate an EXPIRED member");
@@ -356,7 +369,7 @@ class MemberTest {
         void shouldNotChangeStatusIfSuspended() {
             member.setStatus(MemberStatus.SUSPENDED);
 
-            member.renewMembership(1);
+            member.renewMembership(1, TODAY);
 
             assertEquals(MemberStatus.SUSPENDED, member.getStatus(),
                     "Renewal should only reactivate EXPIRED members — " +
@@ -375,8 +388,8 @@ class MemberTest {
         @Test
         @DisplayName("Two members with same key fields should be equal when IDs match")
         void shouldBeEqualWithSameIdAndFields() {
-            Member m1 = new Member("MEM-001", "Luis", "García", "luis@example.com");
-            Member m2 = new Member("MEM-001", "Luis", "García", "luis@example.com");
+            Member m1 = new Member("MEM-001", "Luis", "García", "luis@example.com", TODAY);
+            Member m2 = new Member("MEM-001", "Luis", "García", "luis@example.com", TODAY);
             TestEntityHelper.setId(m1, 1L);
             TestEntityHelper.setId(m2, 1L);
 
@@ -387,8 +400,8 @@ class MemberTest {
         @Test
         @DisplayName("Two members with different emails should not be equal")
         void shouldNotBeEqualWithDifferentEmail() {
-            Member m1 = new Member("MEM-001", "Luis", "García", "luis@example.com");
-            Member m2 = new Member("MEM-001", "Luis", "García", "other@example.com");
+            Member m1 = new Member("MEM-001", "Luis", "García", "luis@example.com", TODAY);
+            Member m2 = new Member("MEM-001", "Luis", "García", "other@example.com", TODAY);
             TestEntityHelper.setId(m1, 1L);
             TestEntityHelper.setId(m2, 1L);
 
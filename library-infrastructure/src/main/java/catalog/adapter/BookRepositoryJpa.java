@@ -3,12 +3,36 @@ package catalog.adapter;
 import catalog.model.Book;
 import catalog.model.BookStatus;
 import catalog.model.Category;
+import catalog.port.BookFetchPlan;
 import catalog.port.BookRepository;
+import catalog.port.BookSummary;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 import common.adapter.BaseRepositoryJpa;
+import common.adapter.FieldProjection;
+import common.adapter.KeysetOrder;
+import common.adapter.SummaryTable;
+import common.exception.InvalidCursorException;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class BookRepositoryJpa extends BaseRepositoryJpa<Book> implements BookRepository {
@@ -19,53 +43,276 @@ public class BookRepositoryJpa extends BaseRepositoryJpa<Book> implements BookRe
     private static final String AUTHOR = "author";
     private static final String STATUS = "status";
 
+    private static final String AVAILABLE = "available";
+    private static final String IDS = "ids";
+    private static final String ISBNS = "isbns";
+    private static final String CONTAINS = "contains";
+    private static final String NEEDLE = "needle";
+
+    /**
+     * Upper bound on the hits each branch of {@link #SEARCH_HITS} ranks. Every page re-runs the
+     * ranking before the keyset applies, so without a bound a broad query would score and sort
+     * its whole hit set on each page; with it each page costs at most a top-N sort of this size,
+     * and results past the first {@value} per branch are not reachable.
+     */
+    static final int MAX_SEARCH_HITS = 1000;
+
+    // Full-text hits score above 1 so they always rank ahead of trigram-only hits (similarity <= 1)
+    private static final String SEARCH_HITS = "SELECT book_id, MAX(score) AS score FROM (" +
+            "(SELECT b.book_id, CAST(1 + ts_rank_cd(b.search_vector, q) AS DOUBLE PRECISION) AS score " +
+            "FROM books b, websearch_to_tsquery('english', ?1) q WHERE b.search_vector @@ q " +
+            "ORDER BY score DESC, b.book_id LIMIT " + MAX_SEARCH_HITS + ") " +
+            "UNION ALL " +
+            "(SELECT b.book_id, CAST(GREATEST(word_similarity(?1, b.title), word_similarity(?1, b.author)) " +
+            "AS DOUBLE PRECISION) AS score " +
+            "FROM books b WHERE ?1 <% b.title OR ?1 <% b.author " +
+            "ORDER BY score DESC, b.book_id LIMIT " + MAX_SEARCH_HITS + ")" +
+            ") hits GROUP BY book_id";
+
+    private static final KeysetOrder<Book> BY_TITLE =
+            KeysetOrder.of(Book.PAGE_BY_TITLE, Book.PAGE_BY_TITLE_AFTER, Book::getTitle, key -> key);
+    private static final KeysetOrder<Book> BY_CATEGORY =
+            KeysetOrder.of(Book.FIND_BY_CATEGORY, Book.FIND_BY_CATEGORY_AFTER, Book::getTitle, key -> key);
+    private static final KeysetOrder<Book> BY_TITLE_CONTAINING = KeysetOrder.of(Book.FIND_BY_TITLE_CONTAINING,
+            Book.FIND_BY_TITLE_CONTAINING_AFTER, Book::getTitle, key -> key);
+    private static final KeysetOrder<Book> BY_AUTHOR_CONTAINING = KeysetOrder.of(Book.FIND_BY_AUTHOR_CONTAINING,
+            Book.FIND_BY_AUTHOR_CONTAINING_AFTER, Book::getAuthor, key -> key);
+    private static final KeysetOrder<Object[]> AVAILABLE_SUMMARIES = KeysetOrder.of(Book.FIND_AVAILABLE_SUMMARIES,
+            Book.FIND_AVAILABLE_SUMMARIES_AFTER, row -> row[2], row -> (Long) row[0], key -> key);
+
+    private static final SummaryTable<Book> SUMMARY_TABLE = (cb, b) -> {
+        Join<Book, Category> c = b.join(CATEGORY, JoinType.LEFT);
+        Path<Integer> availableCopies = b.get("availableCopies");
+        Expression<Integer> available = cb.<Integer>selectCase()
+                .when(cb.and(cb.gt(availableCopies, 0), cb.equal(b.get(STATUS), BookStatus.AVAILABLE)), 1)
+                .otherwise(0);
+        return new SummaryTable.View(
+                List.of(b.get("id"), b.get(ISBN), b.get(TITLE), b.get(AUTHOR), b.get("publisher"),
+                        b.get("publicationDate"), b.get("totalCopies"), availableCopies, c.get("id"), c.get("name"),
+                        b.get(STATUS), available),
+                Map.of(ISBN, b.get(ISBN),
+                        TITLE, b.get(TITLE),
+                        AUTHOR, b.get(AUTHOR),
+                        "categoryName", c.get("name"),
+                        STATUS, b.get(STATUS)));
+    };
+
+    private static final FieldProjection<Book> FIELDS = new FieldProjection<Book>()
+            .column("id", (cb, b) -> b.root().get("id"))
+            .column(ISBN, (cb, b) -> b.root().get(ISBN))
+            .column(TITLE, (cb, b) -> b.root().get(TITLE))
+            .column(AUTHOR, (cb, b) -> b.root().get(AUTHOR))
+            .column("publisher", (cb, b) -> b.root().get("publisher"))
+            .column("publicationDate", (cb, b) -> b.root().get("publicationDate"))
+            .column("totalCopies", (cb, b) -> b.root().get("totalCopies"))
+            .column("availableCopies", (cb, b) -> b.root().get("availableCopies"))
+            .column("categoryId", (cb, b) -> b.join(CATEGORY).get("id"))
+            .column("categoryName", (cb, b) -> b.join(CATEGORY).get("name"))
+            .column(STATUS, (cb, b) -> b.root().get(STATUS))
+            .flag(AVAILABLE, (cb, b) -> cb.and(cb.gt(b.root().<Integer>get("availableCopies"), 0),
+                    cb.equal(b.root().get(STATUS), BookStatus.AVAILABLE)));
+
+    @Override
+    public List<Book> findAll(BookFetchPlan plan) {
+        return super.findAll(plan);
+    }
+
+    @Override
+    public Page<Book> findPage(Cursor after, int limit) {
+        return findPage(BY_TITLE, after, limit);
+    }
+
+    @Override
+    public Page<Book> findPage(Cursor after, int limit, BookFetchPlan plan) {
+        return findPage(BY_TITLE, after, limit, plan);
+    }
+
+    @Override
+    public Stream<Book> streamAll(BookFetchPlan plan) {
+        return super.streamAll(plan);
+    }
+
+    @Override
+    public List<Book> findAllById(Collection<Long> ids, BookFetchPlan plan) {
+        return super.findAllById(ids, plan);
+    }
+
     @Override
     public Optional<Book> findByIsbn(String isbn) {
-        String sql = "SELECT b FROM Book b WHERE b.isbn = :isbn";
-        return getEntityManager().createQuery(sql, Book.class)
+        return namedQuery(Book.FIND_BY_ISBN)
                 .setParameter(ISBN, isbn)
                 .getResultStream()
                 .findFirst();
     }
 
     @Override
-    public List<Book> findByCategory(Category category) {
-        String sql = "SELECT b FROM Book b WHERE b.category = :category ORDER BY b.title";
-        return getEntityManager().createQuery(sql, Book.class)
-                .setParameter(CATEGORY, category)
+    public List<Book> findAllByIsbn(Collection<String> isbns, BookFetchPlan plan) {
+        if (isbns.isEmpty()) {
+            return List.of();
+        }
+        return withFetchPlan(namedQuery(Book.FIND_ALL_BY_ISBN), "b", plan)
+                .setParameter(ISBNS, isbns)
                 .getResultList();
     }
 
     @Override
-    public List<Book> findByTitleContaining(String title) {
-        String sql = "SELECT b FROM Book b WHERE LOWER(b.title) LIKE LOWER(:title) ORDER BY b.title";
-        return getEntityManager().createQuery(sql, Book.class)
-                .setParameter(TITLE, "%" + title + "%")
-                .getResultList();
+    public Page<Book> findByCategory(Category category, Cursor after, int limit) {
+        return findPage(BY_CATEGORY, after, limit, name -> namedQuery(name)
+                .setParameter(CATEGORY, category));
     }
 
     @Override
-    public List<Book> findByAuthorContaining(String author) {
-        String sql = "SELECT b FROM Book b WHERE LOWER(b.author) LIKE LOWER(:author) ORDER BY b.author, b.title";
-        return getEntityManager().createQuery(sql, Book.class)
-                .setParameter(AUTHOR, "%" + author + "%")
-                .getResultList();
+    public Page<Book> findByTitleContaining(String title, Cursor after, int limit, BookFetchPlan plan) {
+        return findPage(BY_TITLE_CONTAINING, after, limit, name -> withFetchPlan(namedQuery(name), "b", plan)
+                .setParameter(TITLE, "%" + title + "%"));
+    }
+
+    @Override
+    public Page<Book> findByAuthorContaining(String author, Cursor after, int limit, BookFetchPlan plan) {
+        return findPage(BY_AUTHOR_CONTAINING, after, limit, name -> withFetchPlan(namedQuery(name), "b", plan)
+                .setParameter(AUTHOR, "%" + author + "%"));
     }
 
     @Override
-    public List<Book> findAvailable() {
-        String sql = "SELECT b FROM Book b WHERE b.availableCopies > 0 AND b.status = :status ORDER BY b.title";
-        return getEntityManager().createQuery(sql, Book.class)
+    public List<Book> findAvailable(BookFetchPlan plan) {
+        return withFetchPlan(namedQuery(Book.FIND_AVAILABLE), "b", plan)
                 .setParameter(STATUS, BookStatus.AVAILABLE)
                 .getResultList();
     }
 
+    @Override
+    public Page<BookSummary> findAvailableSummaries(Cursor after, int limit) {
+        return findPage(AVAILABLE_SUMMARIES, after, limit, name -> namedQuery(name, Object[].class)
+                .setParameter(AVAILABLE, BookStatus.AVAILABLE))
+                .map(BookRepositoryJpa::toSummary);
+    }
+
+    @Override
+    public List<BookSummary> findAvailableSummaries(String query, int limit) {
+        String needle = query.strip().toLowerCase(Locale.ROOT);
+        return namedQuery(Book.SUGGEST_AVAILABLE, Object[].class)
+                .setParameter(AVAILABLE, BookStatus.AVAILABLE)
+                .setParameter(CONTAINS, "%" + needle + "%")
+                .setParameter(NEEDLE, needle)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(BookRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public List<BookSummary> findSummaries(PageRequest request) {
+        return tablePageQuery(SUMMARY_TABLE, request)
+                .getResultStream()
+                .map(BookRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public long countSummaries(Map<String, String> filters) {
+        return countTableRows(SUMMARY_TABLE, filters);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit) {
+        return findFields(FIELDS, fields, after, limit, Map.of());
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields) {
+        return findFieldsById(FIELDS, fields, id, Map.of());
+    }
+
+    @Override
+    public Page<Book> search(String query, Cursor after, int limit, BookFetchPlan plan) {
+        int pageSize = Page.clampLimit(limit);
+        String sql = "SELECT book_id, score FROM (" + SEARCH_HITS + ") ranked "
+                + (after != null ? "WHERE score < ?3 OR (score = ?3 AND book_id > ?4) " : "")
+                + "ORDER BY score DESC, book_id LIMIT ?2";
+        Query nativeQuery = getEntityManager().createNativeQuery(sql)
+                .setParameter(1, query)
+                .setParameter(2, pageSize + 1);
+        if (after != null) {
+            nativeQuery.setParameter(3, searchScore(after.key()))
+                    .setParameter(4, after.id());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> hits = nativeQuery.getResultList();
+
+        List<Object[]> pageHits = hits.subList(0, Math.min(hits.size(), pageSize));
+        List<Long> ids = pageHits.stream().map(hit -> ((Number) hit[0]).longValue()).toList();
+        Cursor next = null;
+        if (hits.size() > pageSize) {
+            Object[] last = pageHits.get(pageSize - 1);
+            next = Cursor.of(((Number) last[1]).doubleValue(), ((Number) last[0]).longValue());
+        }
+        return Page.of(findAllInOrder(ids, plan), next);
+    }
+
+    /**
+     * Reads the score key of a search cursor. Scores are finite, so NaN or an infinity is as
+     * much a tampered cursor as a key that is not a number.
+     *
+     * @throws InvalidCursorException if the key is missing or not a finite number
+     */
+    static double searchScore(String key) {
+        try {
+            double score = Double.parseDouble(key);
+            if (Double.isFinite(score)) {
+                return score;
+            }
+        } catch (NullPointerException | NumberFormatException exception) {
+            // fall through to the invalid-cursor report
+        }
+        throw new InvalidCursorException(key);
+    }
+
     @Override
     public boolean existsByIsbn(String isbn) {
-        String sql = "SELECT COUNT(b) FROM Book b WHERE b.isbn = :isbn";
-        Long count = getEntityManager().createQuery(sql, Long.class)
+        Long count = namedQuery(Book.EXISTS_BY_ISBN, Long.class)
                 .setParameter(ISBN, isbn)
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public boolean tryBorrowCopy(Long bookId) {
+        String sql = "UPDATE books SET availablecopies = availablecopies - 1, version = version + 1, " +
+                "updated_at = NOW() WHERE book_id = ?1 AND availablecopies > 0 AND status = 'AVAILABLE'";
+        int updated = getEntityManager().createNativeQuery(sql)
+                .setParameter(1, bookId)
+                .executeUpdate();
+        evictSharedCache(bookId);
+        return updated == 1;
+    }
+
+    @Override
+    public List<Book> lockAllById(Collection<Long> ids) {
+        return namedQuery(Book.LOCK_ALL_BY_ID)
+                .setParameter(IDS, ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    private List<Book> findAllInOrder(List<Long> ids, BookFetchPlan plan) {
+        Map<Long, Book> byId = findAllById(ids, plan).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static BookSummary toSummary(Object[] row) {
+        return new BookSummary(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (LocalDate) row[5],
+                ((Number) row[6]).intValue(),
+                ((Number) row[7]).intValue(),
+                (Long) row[8],
+                (String) row[9],
+                (BookStatus) row[10],
+                ((Number) row[11]).intValue() == 1);
+    }
 }
@@ -14,8 +14,7 @@ public class CategoryRepositoryJpa extends BaseRepositoryJpa<Category> implement
 
     @Override
     public Optional<Category> findByName(String name) {
-        String sql = "SELECT c FROM Category c WHERE LOWER(c.name) = LOWER(:name)";
-        return getEntityManager().createQuery(sql, Category.class)
+        return namedQuery(Category.FIND_BY_NAME)
                 .setParameter(NAME, name)
                 .getResultStream()
                 .findFirst();
@@ -23,10 +22,30 @@ public class CategoryRepositoryJpa extends BaseRepositoryJpa<Category> implement
 
     @Override
     public boolean existsByName(String name) {
-        String sql = "SELECT COUNT(c) FROM Category c WHERE LOWER(c.name) = LOWER(:name)";
-        Long count = getEntityManager().createQuery(sql, Long.class)
+        Long count = namedQuery(Category.EXISTS_BY_NAME, Long.class)
                 .setParameter(NAME, name)
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public void adjustBookCount(Long categoryId, int delta) {
+        String sql = "UPDATE categories SET book_count = book_count + ?1 WHERE category_id = ?2";
+        getEntityManager().createNativeQuery(sql)
+                .setParameter(1, delta)
+                .setParameter(2, categoryId)
+                .executeUpdate();
+        evictSharedCache(categoryId);
+    }
+
+    @Override
+    public int repairBookCounts() {
+        String sql = "UPDATE categories c SET book_count = counted.total " +
+                "FROM (SELECT c2.category_id, COUNT(b.book_id) AS total FROM categories c2 " +
+                "LEFT JOIN books b ON b.category_id = c2.category_id GROUP BY c2.category_id) counted " +
+                "WHERE c.category_id = counted.category_id AND c.book_count <> counted.total";
+        int repaired = getEntityManager().createNativeQuery(sql).executeUpdate();
+        evictSharedCache();
+        return repaired;
+    }
 }
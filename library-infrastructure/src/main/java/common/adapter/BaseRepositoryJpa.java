@@ -2,19 +2,87 @@ package common.adapter;
 
 import common.BaseEntity;
 import common.BaseRepository;
+import common.Cursor;
+import common.FieldSet;
+import common.FetchPlan;
+import common.Page;
+import common.PageRequest;
+import common.RowVersion;
+import jakarta.annotation.Resource;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Parameter;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 
 import java.lang.reflect.ParameterizedType;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Generic JPA adapter. Every query runs as a named query declared on the entity, so
+ * EclipseLink parses it once at deployment. The generic operations expect the entity to
+ * declare {@code <Entity>.findAll}, {@code findAllById}, {@code streamAll} and, unless
+ * {@link #findPage(Cursor, int)} is overridden, {@code pageById} and {@code pageByIdAfter},
+ * all using the alias {@code e}. The validators come from {@code findVersion}, which selects
+ * {@code version} and {@code updatedAt} of the row and of every to-one association rendered
+ * with it, and {@code tableVersion}, which selects the row count followed by
+ * {@code SUM(version)} and {@code MAX(updatedAt)} of the same entities.
+ */
 public abstract class BaseRepositoryJpa<T extends BaseEntity> implements BaseRepository<T> {
 
+    protected static final int STREAM_FETCH_SIZE = 500;
+    protected static final int STREAM_CHUNK_SIZE = 1000;
+
+    private static final String FETCH_SIZE_HINT = "eclipselink.jdbc.fetch-size";
+    private static final String CURSOR_HINT = "eclipselink.cursor";
+    private static final String JOIN_FETCH_HINT = "eclipselink.join-fetch";
+
     @PersistenceContext
     protected EntityManager em;
 
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
+    private static final String ALIAS = "e";
+
     private final Class<T> entityClass;
+    private final String findAllQuery;
+    private final String findAllByIdQuery;
+    private final String streamAllQuery;
+    private final String pageByIdQuery;
+    private final String pageByIdAfterQuery;
+    private final String findVersionQuery;
+    private final String tableVersionQuery;
 
     @SuppressWarnings("unchecked")
     protected BaseRepositoryJpa() {
@@ -30,6 +98,15 @@ public abstract class BaseRepositoryJpa<T extends BaseEntity> implements BaseRep
         }
 
         this.entityClass = (Class<T>) ((ParameterizedType) genericSuperclass).getActualTypeArguments()[0];
+
+        String entityName = entityClass.getSimpleName();
+        this.findAllQuery = entityName + ".findAll";
+        this.findAllByIdQuery = entityName + ".findAllById";
+        this.streamAllQuery = entityName + ".streamAll";
+        this.pageByIdQuery = entityName + ".pageById";
+        this.pageByIdAfterQuery = entityName + ".pageByIdAfter";
+        this.findVersionQuery = entityName + ".findVersion";
+        this.tableVersionQuery = entityName + ".tableVersion";
     }
 
     @Override
@@ -39,17 +116,341 @@ public abstract class BaseRepositoryJpa<T extends BaseEntity> implements BaseRep
 
     @Override
     public List<T> findAll() {
-        String sql = "SELECT e FROM " + entityClass.getSimpleName() + " e";
-        return getEntityManager().createQuery(sql, entityClass)
+        return findAll(FetchPlan.NONE);
+    }
+
+    @Override
+    public List<T> findAllById(Collection<Long> ids) {
+        return findAllById(ids, FetchPlan.NONE);
+    }
+
+    protected List<T> findAllById(Collection<Long> ids, FetchPlan plan) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return withFetchPlan(namedQuery(findAllByIdQuery), ALIAS, plan)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    protected List<T> findAll(FetchPlan plan) {
+        return withFetchPlan(namedQuery(findAllQuery), ALIAS, plan)
                 .getResultList();
     }
 
+    @Override
+    public Page<T> findPage(Cursor after, int limit) {
+        TypedQuery<T> query = namedQuery(after != null ? pageByIdAfterQuery : pageByIdQuery);
+        if (after != null) {
+            query.setParameter("id", after.id());
+        }
+        return toPage(query, limit, entity -> Cursor.of(entity.getId()));
+    }
+
+    protected Page<T> findPage(KeysetOrder<T> order, Cursor after, int limit) {
+        return findPage(order, after, limit, FetchPlan.NONE);
+    }
+
+    protected Page<T> findPage(KeysetOrder<T> order, Cursor after, int limit, FetchPlan plan) {
+        return findPage(order, after, limit, name -> withFetchPlan(namedQuery(name), ALIAS, plan));
+    }
+
+    /**
+     * One page of a keyset order whose queries filter on further parameters or select a
+     * projection. {@code query} creates the named query it is given and binds everything
+     * except {@code :key} and {@code :id}.
+     */
+    protected <R> Page<R> findPage(KeysetOrder<R> order, Cursor after, int limit,
+                                   Function<String, TypedQuery<R>> query) {
+        TypedQuery<R> page = query.apply(after != null ? order.nextPageQuery() : order.firstPageQuery());
+        if (after != null) {
+            page.setParameter("key", order.parseKey(after.key()))
+                    .setParameter("id", after.id());
+        }
+        return toPage(page, limit, order::cursorOf);
+    }
+
+    private static <R> Page<R> toPage(TypedQuery<R> query, int limit, Function<R, Cursor> cursorOf) {
+        int pageSize = Page.clampLimit(limit);
+        List<R> rows = query.setMaxResults(pageSize + 1).getResultList();
+        if (rows.size() <= pageSize) {
+            return Page.of(rows, null);
+        }
+        List<R> items = rows.subList(0, pageSize);
+        return Page.of(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+
+    /**
+     * Builds the query for one page of a summary table with offset paging. The sort column
+     * is followed by the ID in the same direction so rows never shift between pages.
+     * Parameters used in the table's selection are left for the caller to bind.
+     */
+    protected TypedQuery<Object[]> tablePageQuery(SummaryTable<T> table, PageRequest request) {
+        CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entityClass);
+        SummaryTable.View view = table.view(cb, root);
+        query.multiselect(view.selection())
+                .where(filters(cb, view.columns(), request.filters()))
+                .orderBy(order(cb, root, view.columns(), request));
+        return getEntityManager().createQuery(query)
+                .setFirstResult(request.offset())
+                .setMaxResults(request.limit());
+    }
+
+    protected long countTableRows(SummaryTable<T> table, Map<String, String> filters) {
+        CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        SummaryTable.View view = table.view(cb, root);
+        query.select(cb.count(root))
+                .where(filters(cb, view.columns(), filters));
+        return getEntityManager().createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Reads one page of the requested fields, ordered by ID. The ID is always the first field
+     * of a {@link FieldSet}, so it is also the first column and the cursor of the page. Each
+     * row comes back keyed by field name in request order.
+     */
+    protected Page<Map<String, Object>> findFields(FieldProjection<T> projection, FieldSet fields, Cursor after,
+                                                   int limit, Map<String, ?> parameters) {
+        List<FieldProjection.Field<T>> selected = fields.names().stream().map(projection::field).toList();
+        TypedQuery<Tuple> query = fieldsQuery(selected, parameters,
+                (cb, id) -> after != null ? cb.greaterThan(id, after.id()) : null);
+        return toPage(query, limit, row -> Cursor.of(row.get(0, Long.class)))
+                .map(row -> toFields(fields, selected, row.toArray(), parameters));
+    }
+
+    protected Optional<Map<String, Object>> findFieldsById(FieldProjection<T> projection, FieldSet fields, Long id,
+                                                           Map<String, ?> parameters) {
+        List<FieldProjection.Field<T>> selected = fields.names().stream().map(projection::field).toList();
+        return fieldsQuery(selected, parameters, (cb, rowId) -> cb.equal(rowId, id))
+                .getResultStream()
+                .findFirst()
+                .map(row -> toFields(fields, selected, row.toArray(), parameters));
+    }
+
+    /**
+     * Selects the columns of the given fields, ordered by ID and restricted by the condition on
+     * the ID, if any. A parameter is bound only when one of the selected fields declares it.
+     * Rows are read as tuples because a query over a single column returns the bare value
+     * instead of an array.
+     */
+    private TypedQuery<Tuple> fieldsQuery(List<FieldProjection.Field<T>> selected, Map<String, ?> parameters,
+                                          BiFunction<CriteriaBuilder, Path<Long>, Predicate> idCondition) {
+        CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+        FieldProjection.Source<T> source = new FieldProjection.Source<>(cb, root);
+        List<Selection<?>> selection = new ArrayList<>();
+        for (FieldProjection.Field<T> field : selected) {
+            field.columns().forEach(column -> selection.add(column.select(cb, source)));
+        }
+        Path<Long> id = root.get("id");
+        query.multiselect(selection).orderBy(cb.asc(id));
+        Predicate condition = idCondition.apply(cb, id);
+        if (condition != null) {
+            query.where(condition);
+        }
+        TypedQuery<Tuple> typedQuery = getEntityManager().createQuery(query);
+        Set<String> declared = typedQuery.getParameters().stream()
+                .map(Parameter::getName)
+                .collect(Collectors.toSet());
+        parameters.forEach((name, value) -> {
+            if (declared.contains(name)) {
+                typedQuery.setParameter(name, value);
+            }
+        });
+        return typedQuery;
+    }
+
+    private static <T> Map<String, Object> toFields(FieldSet fields, List<FieldProjection.Field<T>> selected,
+                                                    Object[] row, Map<String, ?> parameters) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        int offset = 0;
+        for (int i = 0; i < selected.size(); i++) {
+            FieldProjection.Field<T> field = selected.get(i);
+            int width = field.columns().size();
+            values.put(fields.names().get(i), field.value().apply(Arrays.copyOfRange(row, offset, offset + width), parameters));
+            offset += width;
+        }
+        return values;
+    }
+
+    private static Predicate[] filters(CriteriaBuilder cb, Map<String, Expression<?>> columns,
+                                       Map<String, String> filters) {
+        return filters.entrySet().stream()
+                .filter(filter -> !filter.getValue().isBlank())
+                .map(filter -> filter(cb, column(columns, filter.getKey()), filter.getValue().strip()))
+                .toArray(Predicate[]::new);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate filter(CriteriaBuilder cb, Expression<?> column, String value) {
+        Class<?> type = column.getJavaType();
+        if (type == String.class) {
+            return cb.like(cb.lower((Expression<String>) column), "%" + value.toLowerCase(Locale.ROOT) + "%");
+        }
+        if (type != null && type.isEnum()) {
+            return cb.equal(column, Enum.valueOf((Class<? extends Enum>) type, value));
+        }
+        throw new IllegalArgumentException("Column cannot be filtered: " + type);
+    }
+
+    private static List<Order> order(CriteriaBuilder cb, Root<?> root, Map<String, Expression<?>> columns,
+                                     PageRequest request) {
+        Expression<?> id = root.get("id");
+        if (!request.isSorted()) {
+            return List.of(cb.asc(id));
+        }
+        Expression<?> column = column(columns, request.sortField());
+        return request.ascending()
+                ? List.of(cb.asc(column), cb.asc(id))
+                : List.of(cb.desc(column), cb.desc(id));
+    }
+
+    private static Expression<?> column(Map<String, Expression<?>> columns, String field) {
+        Expression<?> column = columns.get(field);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column: " + field);
+        }
+        return column;
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return streamAll(FetchPlan.NONE);
+    }
+
+    protected Stream<T> streamAll(FetchPlan plan) {
+        return stream(withFetchPlan(namedQuery(streamAllQuery), ALIAS, plan));
+    }
+
+    @Override
+    public Optional<RowVersion> findVersion(Long id) {
+        return namedQuery(findVersionQuery, Object[].class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(BaseRepositoryJpa::toRowVersion);
+    }
+
+    @Override
+    public RowVersion tableVersion() {
+        return toRowVersion(namedQuery(tableVersionQuery, Object[].class).getSingleResult());
+    }
+
+    /**
+     * Every selected value goes into the tag (base 36 keeps it short); the newest timestamp
+     * becomes the last-modified date. Aggregates over an empty table come back as null.
+     */
+    private static RowVersion toRowVersion(Object[] row) {
+        Instant lastModified = null;
+        for (Object value : row) {
+            Instant instant = toInstant(value);
+            if (instant != null && (lastModified == null || instant.isAfter(lastModified))) {
+                lastModified = instant;
+            }
+        }
+        String tag = Arrays.stream(row)
+                .map(value -> {
+                    Instant instant = toInstant(value);
+                    long number = instant != null ? instant.toEpochMilli()
+                            : value instanceof Number n ? n.longValue() : 0L;
+                    return Long.toString(number, Character.MAX_RADIX);
+                })
+                .collect(Collectors.joining("."));
+        return new RowVersion(tag, lastModified);
+    }
+
+    private static Instant toInstant(Object value) {
+        return switch (value) {
+            case OffsetDateTime dateTime -> dateTime.toInstant();
+            case Instant instant -> instant;
+            case Date date -> date.toInstant();
+            case null, default -> null;
+        };
+    }
+
+    protected TypedQuery<T> namedQuery(String name) {
+        return namedQuery(name, entityClass);
+    }
+
+    protected <R> TypedQuery<R> namedQuery(String name, Class<R> resultClass) {
+        return getEntityManager().createNamedQuery(name, resultClass);
+    }
+
+    /**
+     * Applies the plan as EclipseLink join-fetch hints on the given query alias, so the
+     * listed to-one associations are read in the same SELECT instead of one query per row.
+     */
+    protected <R> TypedQuery<R> withFetchPlan(TypedQuery<R> query, String alias, FetchPlan plan) {
+        for (String attribute : plan.attributes()) {
+            query.setHint(JOIN_FETCH_HINT, alias + "." + attribute);
+        }
+        return query;
+    }
+
+    /**
+     * Streams the query through a JDBC cursor instead of materializing the result list,
+     * and detaches everything read so far every {@link #STREAM_CHUNK_SIZE} rows so the
+     * persistence context does not grow with the table. Must be consumed inside a transaction.
+     */
+    protected Stream<T> stream(TypedQuery<T> query) {
+        Stream<T> rows = query.setHint(FETCH_SIZE_HINT, STREAM_FETCH_SIZE)
+                .setHint(CURSOR_HINT, true)
+                .getResultStream();
+        return StreamSupport.stream(new ChunkClearingSpliterator(rows.spliterator()), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Native bulk statements bypass the persistence context and the shared cache, so the
+     * cached copies of this entity type are dropped after one has changed rows. The eviction
+     * is repeated once the transaction completes: until then other transactions still read
+     * the old row and could put it back into the cache.
+     */
+    protected void evictSharedCache() {
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+        cache.evict(entityClass);
+        afterCompletion(() -> cache.evict(entityClass));
+    }
+
+    protected void evictSharedCache(Long id) {
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+        cache.evict(entityClass, id);
+        afterCompletion(() -> cache.evict(entityClass, id));
+    }
+
+    private void afterCompletion(Runnable action) {
+        if (transactionRegistry == null || transactionRegistry.getTransactionKey() == null) {
+            return;
+        }
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
     @Override
     public void save(T entity) {
         em.persist(entity);
         em.flush();
     }
 
+    @Override
+    public void saveAll(Collection<T> entities) {
+        entities.forEach(em::persist);
+        em.flush();
+    }
+
     @Override
     public T update(T entity) {
         return em.merge(entity);
@@ -63,4 +464,24 @@ public abstract class BaseRepositoryJpa<T extends BaseEntity> implements BaseRep
     protected EntityManager getEntityManager() {
         return em;
     }
+
+    private final class ChunkClearingSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+        private final Spliterator<T> delegate;
+        private long consumed;
+
+        private ChunkClearingSpliterator(Spliterator<T> delegate) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            boolean advanced = delegate.tryAdvance(action);
+            if (advanced && ++consumed % STREAM_CHUNK_SIZE == 0) {
+                getEntityManager().clear();
+            }
+            return advanced;
+        }
+    }
 }
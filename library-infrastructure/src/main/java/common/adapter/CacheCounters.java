@@ -0,0 +1,4 @@
+package common.adapter;
+
+public record CacheCounters(long hits, long misses) {
+}
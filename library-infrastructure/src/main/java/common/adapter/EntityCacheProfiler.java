@@ -0,0 +1,31 @@
+package common.adapter;
+
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+
+/**
+ * Profiler that only listens for the cache hit and miss events EclipseLink raises when a
+ * read by primary key consults the shared cache. Every other profiling callback stays a no-op.
+ */
+public class EntityCacheProfiler extends SessionProfilerAdapter {
+
+    @Override
+    public int getProfileWeight() {
+        return SessionProfiler.NORMAL;
+    }
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        if (query == null || query.getReferenceClass() == null) {
+            return;
+        }
+        String entity = query.getReferenceClass().getSimpleName();
+        if (SessionProfiler.CacheHits.equals(operationName)) {
+            EntityCacheStatistics.recordHit(entity);
+        } else if (SessionProfiler.CacheMisses.equals(operationName)) {
+            EntityCacheStatistics.recordMiss(entity);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package common.adapter;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shared cache hits and misses per entity. The counters are static because they are fed by
+ * {@link EntityCacheProfiler}, which EclipseLink instantiates outside CDI.
+ */
+@ApplicationScoped
+public class EntityCacheStatistics {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    static void recordHit(String entity) {
+        counter(entity).hits.increment();
+    }
+
+    static void recordMiss(String entity) {
+        counter(entity).misses.increment();
+    }
+
+    static void reset() {
+        COUNTERS.clear();
+    }
+
+    public Map<String, CacheCounters> snapshot() {
+        Map<String, CacheCounters> snapshot = new TreeMap<>();
+        COUNTERS.forEach((entity, counter) -> snapshot.put(entity,
+                new CacheCounters(counter.hits.sum(), counter.misses.sum())));
+        return snapshot;
+    }
+
+    private static Counter counter(String entity) {
+        return COUNTERS.computeIfAbsent(entity, key -> new Counter());
+    }
+
+    private static final class Counter {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
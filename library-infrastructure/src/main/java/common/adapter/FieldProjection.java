@@ -0,0 +1,114 @@
+package common.adapter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Criteria definition of the fields a sparse-fieldset read can return, keyed by the public
+ * field name of the DTO. Only the requested fields are selected, and an association is joined
+ * only when one of them reads it, so unrequested columns are neither fetched nor computed.
+ * Fields derived in Java list the columns they need and get exactly those values back.
+ */
+public final class FieldProjection<T> {
+
+    @FunctionalInterface
+    public interface Column<T> {
+        Expression<?> select(CriteriaBuilder cb, Source<T> source);
+    }
+
+    @FunctionalInterface
+    public interface Condition<T> {
+        Predicate test(CriteriaBuilder cb, Source<T> source);
+    }
+
+    /**
+     * Computes a field from the values of its columns and the query parameters.
+     */
+    @FunctionalInterface
+    public interface Derivation {
+        Object apply(Object[] values, Map<String, ?> parameters);
+    }
+
+    /**
+     * The query root plus the inner joins and parameters created on first use, shared by all
+     * fields of one query so that two fields reading the same association or parameter share it.
+     */
+    public static final class Source<T> {
+
+        private final Root<T> root;
+        private final CriteriaBuilder cb;
+        private final Map<String, Join<?, ?>> joins = new HashMap<>();
+        private final Map<String, ParameterExpression<?>> parameters = new HashMap<>();
+
+        Source(CriteriaBuilder cb, Root<T> root) {
+            this.cb = cb;
+            this.root = root;
+        }
+
+        public Root<T> root() {
+            return root;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <J> From<T, J> join(String attribute) {
+            return (From<T, J>) joins.computeIfAbsent(attribute, root::join);
+        }
+
+        @SuppressWarnings("unchecked")
+        public <P> ParameterExpression<P> parameter(Class<P> type, String name) {
+            return (ParameterExpression<P>) parameters.computeIfAbsent(name, key -> cb.parameter(type, key));
+        }
+    }
+
+    record Field<T>(List<Column<T>> columns, Derivation value) {
+    }
+
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+    public FieldProjection<T> column(String name, Column<T> column) {
+        return field(name, (values, parameters) -> values[0], List.of(column));
+    }
+
+    /**
+     * A boolean field evaluated in the database as {@code CASE WHEN condition THEN 1 ELSE 0 END}.
+     */
+    public FieldProjection<T> flag(String name, Condition<T> condition) {
+        Column<T> column = (cb, source) -> cb.<Integer>selectCase()
+                .when(condition.test(cb, source), 1)
+                .otherwise(0);
+        return field(name, (values, parameters) -> ((Number) values[0]).intValue() == 1, List.of(column));
+    }
+
+    @SafeVarargs
+    public final FieldProjection<T> derived(String name, Derivation value, Column<T>... columns) {
+        return field(name, value, List.of(columns));
+    }
+
+    public Set<String> names() {
+        return fields.keySet();
+    }
+
+    Field<T> field(String name) {
+        Field<T> field = fields.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field: " + name);
+        }
+        return field;
+    }
+
+    private FieldProjection<T> field(String name, Derivation value, List<Column<T>> columns) {
+        fields.put(name, new Field<>(columns, value));
+        return this;
+    }
+}
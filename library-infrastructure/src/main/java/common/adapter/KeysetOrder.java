@@ -0,0 +1,58 @@
+package common.adapter;
+
+import common.BaseEntity;
+import common.Cursor;
+import common.exception.InvalidCursorException;
+
+import java.util.function.Function;
+
+/**
+ * Sort definition for keyset pagination on {@code (attribute, id)}. The ordering itself
+ * lives in two named queries on the entity: one for the first page and one taking the
+ * {@code :key} and {@code :id} of the last row seen. The key travels inside the opaque
+ * cursor as text, so each order knows how to read its key and ID from a row and how to
+ * parse the key back into the attribute's type. Rows are entities unless the queries
+ * select a projection, in which case the order also says where the ID is.
+ */
+public record KeysetOrder<T>(String firstPageQuery,
+                             String nextPageQuery,
+                             Function<T, ?> keyExtractor,
+                             Function<T, Long> idExtractor,
+                             Function<String, ?> keyParser) {
+
+    public static <T extends BaseEntity> KeysetOrder<T> of(String firstPageQuery,
+                                                           String nextPageQuery,
+                                                           Function<T, ?> keyExtractor,
+                                                           Function<String, ?> keyParser) {
+        return new KeysetOrder<>(firstPageQuery, nextPageQuery, keyExtractor, BaseEntity::getId, keyParser);
+    }
+
+    public static <T> KeysetOrder<T> of(String firstPageQuery,
+                                        String nextPageQuery,
+                                        Function<T, ?> keyExtractor,
+                                        Function<T, Long> idExtractor,
+                                        Function<String, ?> keyParser) {
+        return new KeysetOrder<>(firstPageQuery, nextPageQuery, keyExtractor, idExtractor, keyParser);
+    }
+
+    public Cursor cursorOf(T row) {
+        return Cursor.of(keyExtractor.apply(row), idExtractor.apply(row));
+    }
+
+    /**
+     * Reads the key of a client-supplied cursor. The keyed attributes are never null, so a
+     * missing key is as invalid as one that does not parse.
+     *
+     * @throws InvalidCursorException if the key is missing or cannot be parsed
+     */
+    public Object parseKey(String key) {
+        if (key == null) {
+            throw new InvalidCursorException(null);
+        }
+        try {
+            return keyParser.apply(key);
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException(key);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package common.adapter;
+
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionCustomizer;
+
+/**
+ * Applies the shared cache settings EclipseLink has no persistence unit property for: a
+ * time-to-live per entity, read in milliseconds from {@code library.cache.ttl.<Entity>}, and
+ * the profiler behind {@link EntityCacheStatistics}.
+ */
+public class LibrarySessionCustomizer implements SessionCustomizer {
+
+    static final String TTL_PROPERTY_PREFIX = "library.cache.ttl.";
+
+    @Override
+    public void customize(Session session) {
+        for (ClassDescriptor descriptor : session.getDescriptors().values()) {
+            Object ttl = session.getProperty(TTL_PROPERTY_PREFIX + descriptor.getJavaClass().getSimpleName());
+            if (ttl != null) {
+                descriptor.setCacheInvalidationPolicy(new TimeToLiveCacheInvalidationPolicy(Long.parseLong(ttl.toString())));
+            }
+        }
+        session.setProfiler(new EntityCacheProfiler());
+    }
+}
@@ -0,0 +1,28 @@
+package common.adapter;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Criteria definition of a summary table that is paged, sorted and filtered in the
+ * database. Sort and filter field names arrive from the UI, so only the names in
+ * {@link View#columns()} are accepted; anything else is rejected before a query is built.
+ * String columns filter by case-insensitive substring, enum columns by constant name.
+ */
+@FunctionalInterface
+public interface SummaryTable<T> {
+
+    /**
+     * Creates the joins the table needs on {@code root} and returns the selected row
+     * (in the order the adapter's row mapper expects) and the sortable and filterable columns.
+     */
+    View view(CriteriaBuilder cb, Root<T> root);
+
+    record View(List<Selection<?>> selection, Map<String, Expression<?>> columns) {
+    }
+}
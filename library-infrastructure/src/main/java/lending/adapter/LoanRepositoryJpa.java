@@ -1,16 +1,34 @@
 package lending.adapter;
 
 import catalog.model.Book;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 import common.adapter.BaseRepositoryJpa;
+import common.adapter.FieldProjection;
+import common.adapter.KeysetOrder;
+import common.adapter.SummaryTable;
 import lending.model.Loan;
 import lending.model.LoanStatus;
+import lending.port.LoanFetchPlan;
 import lending.port.LoanRepository;
+import lending.port.LoanSummary;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
 import membership.model.Member;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class LoanRepositoryJpa extends BaseRepositoryJpa<Loan> implements LoanRepository {
@@ -19,65 +37,206 @@ public class LoanRepositoryJpa extends BaseRepositoryJpa<Loan> implements LoanRe
     private static final String BOOK = "book";
     private static final String STATUS = "status";
     private static final String DUE_DATE = "dueDate";
+    private static final String RETURN_DATE = "returnDate";
     private static final String TODAY = "today";
     private static final String STATUSES = "statuses";
+    private static final String BOOK_IDS = "bookIds";
+
+    private static final String ACTIVE = "active";
+    private static final String MAX_RENEWALS = "maxRenewals";
+
+    private static final KeysetOrder<Loan> BY_LOAN_DATE_DESC =
+            KeysetOrder.of(Loan.PAGE_BY_LOAN_DATE, Loan.PAGE_BY_LOAN_DATE_AFTER, Loan::getLoanDate, LocalDate::parse);
+    private static final KeysetOrder<Loan> BY_MEMBER =
+            KeysetOrder.of(Loan.FIND_BY_MEMBER, Loan.FIND_BY_MEMBER_AFTER, Loan::getLoanDate, LocalDate::parse);
+    private static final KeysetOrder<Loan> BY_BOOK =
+            KeysetOrder.of(Loan.FIND_BY_BOOK, Loan.FIND_BY_BOOK_AFTER, Loan::getLoanDate, LocalDate::parse);
+    private static final KeysetOrder<Loan> BY_DUE_DATE_BEFORE = KeysetOrder.of(Loan.FIND_BY_DUE_DATE_BEFORE,
+            Loan.FIND_BY_DUE_DATE_BEFORE_AFTER, Loan::getDueDate, LocalDate::parse);
+    private static final KeysetOrder<Object[]> SUMMARIES_BY_STATUS = KeysetOrder.of(Loan.FIND_SUMMARIES_BY_STATUS,
+            Loan.FIND_SUMMARIES_BY_STATUS_AFTER, row -> row[9], row -> (Long) row[0], LocalDate::parse);
+    private static final KeysetOrder<Object[]> OVERDUE_SUMMARIES = KeysetOrder.of(Loan.FIND_OVERDUE_SUMMARIES,
+            Loan.FIND_OVERDUE_SUMMARIES_AFTER, row -> row[9], row -> (Long) row[0], LocalDate::parse);
+
+    private static final SummaryTable<Loan> SUMMARY_TABLE = (cb, l) -> {
+        Join<Loan, Book> b = l.join(BOOK);
+        Join<Loan, Member> m = l.join(MEMBER);
+        ParameterExpression<LocalDate> today = cb.parameter(LocalDate.class, TODAY);
+        Path<LocalDate> dueDate = l.get(DUE_DATE);
+        Path<LocalDate> returnDate = l.get("returnDate");
+        Expression<Integer> overdue = cb.<Integer>selectCase()
+                .when(cb.and(cb.isNull(returnDate), cb.lessThan(dueDate, today)), 1)
+                .otherwise(0);
+        Expression<Integer> canRenew = cb.<Integer>selectCase()
+                .when(cb.and(cb.equal(l.get(STATUS), LoanStatus.ACTIVE),
+                        cb.lessThan(l.get("renewalCount"), Loan.MAX_RENEWALS),
+                        cb.or(cb.isNotNull(returnDate), cb.greaterThanOrEqualTo(dueDate, today))), 1)
+                .otherwise(0);
+        return new SummaryTable.View(
+                List.of(l.get("id"), b.get("id"), b.get("title"), b.get("isbn"), m.get("id"), m.get("firstName"),
+                        m.get("lastName"), m.get("membershipNumber"), l.get("loanDate"), dueDate, returnDate,
+                        l.get(STATUS), l.get("renewalCount"), l.get("notes"), overdue, canRenew),
+                Map.of("bookTitle", b.get("title"),
+                        "memberName", cb.concat(cb.concat(m.get("firstName"), " "), m.get("lastName")),
+                        "loanDate", l.get("loanDate"),
+                        DUE_DATE, dueDate,
+                        "returnDate", returnDate,
+                        STATUS, l.get(STATUS)));
+    };
+
+    private static final FieldProjection<Loan> FIELDS = new FieldProjection<Loan>()
+            .column("id", (cb, l) -> l.root().get("id"))
+            .column("bookId", (cb, l) -> l.join(BOOK).get("id"))
+            .column("bookTitle", (cb, l) -> l.join(BOOK).get("title"))
+            .column("bookIsbn", (cb, l) -> l.join(BOOK).get("isbn"))
+            .column("memberId", (cb, l) -> l.join(MEMBER).get("id"))
+            .column("memberName", (cb, l) -> cb.concat(cb.concat(l.join(MEMBER).get("firstName"), " "),
+                    l.join(MEMBER).get("lastName")))
+            .column("membershipNumber", (cb, l) -> l.join(MEMBER).get("membershipNumber"))
+            .column("loanDate", (cb, l) -> l.root().get("loanDate"))
+            .column(DUE_DATE, (cb, l) -> l.root().get(DUE_DATE))
+            .column(RETURN_DATE, (cb, l) -> l.root().get(RETURN_DATE))
+            .column(STATUS, (cb, l) -> l.root().get(STATUS))
+            .column("renewalCount", (cb, l) -> l.root().get("renewalCount"))
+            .column("notes", (cb, l) -> l.root().get("notes"))
+            .flag("overdue", (cb, l) -> cb.and(cb.isNull(l.root().get(RETURN_DATE)),
+                    cb.lessThan(l.root().get(DUE_DATE), l.parameter(LocalDate.class, TODAY))))
+            .derived("daysOverdue", (values, parameters) -> daysOverdue((LocalDate) values[0], (LocalDate) values[1],
+                            (LocalDate) parameters.get(TODAY)),
+                    (cb, l) -> l.root().get(DUE_DATE), (cb, l) -> l.root().get(RETURN_DATE))
+            .derived("daysUntilDue", (values, parameters) -> values[1] != null ? 0L
+                            : ChronoUnit.DAYS.between((LocalDate) parameters.get(TODAY), (LocalDate) values[0]),
+                    (cb, l) -> l.root().get(DUE_DATE), (cb, l) -> l.root().get(RETURN_DATE))
+            .flag("canRenew", (cb, l) -> {
+                Path<LocalDate> dueDate = l.root().get(DUE_DATE);
+                return cb.and(cb.equal(l.root().get(STATUS), LoanStatus.ACTIVE),
+                        cb.lessThan(l.root().get("renewalCount"), Loan.MAX_RENEWALS),
+                        cb.or(cb.isNotNull(l.root().get(RETURN_DATE)),
+                                cb.greaterThanOrEqualTo(dueDate, l.parameter(LocalDate.class, TODAY))));
+            });
 
     @Override
-    public List<Loan> findByMember(Member member) {
-        String sql = "SELECT l FROM Loan l WHERE l.member = :member ORDER BY l.loanDate DESC";
-        return em.createQuery(sql, Loan.class)
-                .setParameter(MEMBER, member)
-                .getResultList();
+    public List<Loan> findAll(LoanFetchPlan plan) {
+        return super.findAll(plan);
     }
 
     @Override
-    public List<Loan> findByBook(Book book) {
-        String sql = "SELECT l FROM Loan l WHERE l.book = :book ORDER BY l.loanDate DESC";
-        return em.createQuery(sql, Loan.class)
-                .setParameter(BOOK, book)
-                .getResultList();
+    public Page<Loan> findPage(Cursor after, int limit) {
+        return findPage(BY_LOAN_DATE_DESC, after, limit);
+    }
+
+    @Override
+    public Page<Loan> findPage(Cursor after, int limit, LoanFetchPlan plan) {
+        return findPage(BY_LOAN_DATE_DESC, after, limit, plan);
+    }
+
+    @Override
+    public Stream<Loan> streamAll(LoanFetchPlan plan) {
+        return super.streamAll(plan);
+    }
+
+    @Override
+    public Page<Loan> findByMember(Member member, Cursor after, int limit, LoanFetchPlan plan) {
+        return findPage(BY_MEMBER, after, limit, name -> withFetchPlan(namedQuery(name), "l", plan)
+                .setParameter(MEMBER, member));
     }
 
     @Override
-    public List<Loan> findByStatus(LoanStatus status) {
-        String sql = "SELECT l FROM Loan l WHERE l.status = :status ORDER BY l.dueDate";
-        return em.createQuery(sql, Loan.class)
+    public Page<Loan> findByBook(Book book, Cursor after, int limit, LoanFetchPlan plan) {
+        return findPage(BY_BOOK, after, limit, name -> withFetchPlan(namedQuery(name), "l", plan)
+                .setParameter(BOOK, book));
+    }
+
+    @Override
+    public List<Loan> findByStatus(LoanStatus status, LoanFetchPlan plan) {
+        return withFetchPlan(namedQuery(Loan.FIND_BY_STATUS), "l", plan)
                 .setParameter(STATUS, status)
                 .getResultList();
     }
 
     @Override
-    public List<Loan> findActiveByMember(Member member) {
-        String sql = "SELECT l FROM Loan l WHERE l.member = :member AND l.status IN :statuses ORDER BY l.dueDate";
-        return em.createQuery(sql, Loan.class)
+    public List<Loan> findActiveByMember(Member member, LoanFetchPlan plan) {
+        return withFetchPlan(namedQuery(Loan.FIND_ACTIVE_BY_MEMBER), "l", plan)
                 .setParameter(MEMBER, member)
                 .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE))
                 .getResultList();
     }
 
     @Override
-    public List<Loan> findOverdueLoans() {
-        String sql = "SELECT l FROM Loan l WHERE l.status = :status AND l.dueDate < :today ORDER BY l.dueDate";
-        return em.createQuery(sql, Loan.class)
+    public List<Loan> findOverdueLoans(LocalDate today, LoanFetchPlan plan) {
+        return withFetchPlan(namedQuery(Loan.FIND_OVERDUE), "l", plan)
                 .setParameter(STATUS, LoanStatus.ACTIVE)
-                .setParameter(TODAY, LocalDate.now())
+                .setParameter(TODAY, today)
                 .getResultList();
     }
 
     @Override
-    public List<Loan> findByDueDateBefore(LocalDate date) {
-        String sql = "SELECT l FROM Loan l WHERE l.dueDate < :date AND l.status IN :statuses ORDER BY l.dueDate";
-        return em.createQuery(sql, Loan.class)
+    public Page<Loan> findByDueDateBefore(LocalDate date, Cursor after, int limit, LoanFetchPlan plan) {
+        return findPage(BY_DUE_DATE_BEFORE, after, limit, name -> withFetchPlan(namedQuery(name), "l", plan)
                 .setParameter(DUE_DATE, date)
-                .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE))
-                .getResultList();
+                .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE)));
+    }
+
+    @Override
+    public Page<LoanSummary> findSummariesByStatus(LoanStatus status, Cursor after, int limit, LocalDate today) {
+        return findPage(SUMMARIES_BY_STATUS, after, limit, name -> summaryQuery(name, today)
+                .setParameter(STATUS, status))
+                .map(LoanRepositoryJpa::toSummary);
+    }
+
+    @Override
+    public Page<LoanSummary> findOverdueSummaries(LocalDate today, Cursor after, int limit) {
+        return findPage(OVERDUE_SUMMARIES, after, limit, name -> summaryQuery(name, today)
+                .setParameter(STATUS, LoanStatus.ACTIVE))
+                .map(LoanRepositoryJpa::toSummary);
+    }
+
+    @Override
+    public List<LoanSummary> findOverdueSummaries(LocalDate today, int limit) {
+        return summaryQuery(Loan.FIND_OVERDUE_SUMMARIES, today)
+                .setParameter(STATUS, LoanStatus.ACTIVE)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(LoanRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public List<LoanSummary> findRecentSummaries(LocalDate today, int limit) {
+        return summaryQuery(Loan.FIND_RECENT_SUMMARIES, today)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(LoanRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public List<LoanSummary> findSummaries(PageRequest request, LocalDate today) {
+        return tablePageQuery(SUMMARY_TABLE, request)
+                .setParameter(TODAY, today)
+                .getResultStream()
+                .map(LoanRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public long countSummaries(Map<String, String> filters) {
+        return countTableRows(SUMMARY_TABLE, filters);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit, LocalDate today) {
+        return findFields(FIELDS, fields, after, limit, Map.of(TODAY, today));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields, LocalDate today) {
+        return findFieldsById(FIELDS, fields, id, Map.of(TODAY, today));
     }
 
     @Override
     public Optional<Loan> findActiveByBookAndMember(Book book, Member member) {
-        String sql = "SELECT l FROM Loan l WHERE l.book = :book AND l.member = :member AND l.status IN :statuses";
-        return em.createQuery(
-                        sql, Loan.class)
+        return namedQuery(Loan.FIND_ACTIVE_BY_BOOK_AND_MEMBER)
                 .setParameter(BOOK, book)
                 .setParameter(MEMBER, member)
                 .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE))
@@ -87,11 +246,63 @@ public class LoanRepositoryJpa extends BaseRepositoryJpa<Loan> implements LoanRe
 
     @Override
     public long countActiveByMember(Member member) {
-        String sql = "SELECT COUNT(l) FROM Loan l WHERE l.member = :member AND l.status IN :statuses";
-        return em.createQuery(
-                        sql, Long.class)
+        return namedQuery(Loan.COUNT_ACTIVE_BY_MEMBER, Long.class)
                 .setParameter(MEMBER, member)
                 .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE))
                 .getSingleResult();
     }
+
+    @Override
+    public List<Long> findBookIdsOnActiveLoan(Member member, Collection<Long> bookIds) {
+        return namedQuery(Loan.FIND_BOOK_IDS_ON_ACTIVE_LOAN, Long.class)
+                .setParameter(MEMBER, member)
+                .setParameter(BOOK_IDS, bookIds)
+                .setParameter(STATUSES, List.of(LoanStatus.ACTIVE, LoanStatus.OVERDUE))
+                .getResultList();
+    }
+
+    @Override
+    public int markOverdue(LocalDate today, int limit) {
+        String sql = "UPDATE loans SET status = 'OVERDUE', version = version + 1, updated_at = NOW() " +
+                "WHERE loan_id IN (SELECT loan_id FROM loans WHERE status = 'ACTIVE' AND due_date < ?1 " +
+                "ORDER BY loan_id LIMIT ?2 FOR UPDATE SKIP LOCKED)";
+        int updated = em.createNativeQuery(sql)
+                .setParameter(1, today)
+                .setParameter(2, limit)
+                .executeUpdate();
+        if (updated > 0) {
+            evictSharedCache();
+        }
+        return updated;
+    }
+
+    private TypedQuery<Object[]> summaryQuery(String name, LocalDate today) {
+        return namedQuery(name, Object[].class)
+                .setParameter(TODAY, today)
+                .setParameter(ACTIVE, LoanStatus.ACTIVE)
+                .setParameter(MAX_RENEWALS, Loan.MAX_RENEWALS);
+    }
+
+    private static long daysOverdue(LocalDate dueDate, LocalDate returnDate, LocalDate today) {
+        return returnDate == null && today.isAfter(dueDate) ? ChronoUnit.DAYS.between(dueDate, today) : 0L;
+    }
+
+    private static LoanSummary toSummary(Object[] row) {
+        return new LoanSummary(
+                (Long) row[0],
+                (Long) row[1],
+                (String) row[2],
+                (String) row[3],
+                (Long) row[4],
+                row[5] + " " + row[6],
+                (String) row[7],
+                (LocalDate) row[8],
+                (LocalDate) row[9],
+                (LocalDate) row[10],
+                (LoanStatus) row[11],
+                ((Number) row[12]).intValue(),
+                (String) row[13],
+                ((Number) row[14]).intValue() == 1,
+                ((Number) row[15]).intValue() == 1);
+    }
 }
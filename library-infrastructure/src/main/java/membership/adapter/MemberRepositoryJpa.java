@@ -1,36 +1,121 @@
 package membership.adapter;
 
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.PageRequest;
 import common.adapter.BaseRepositoryJpa;
+import common.adapter.FieldProjection;
+import common.adapter.KeysetOrder;
+import common.adapter.SummaryTable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.ParameterExpression;
+import jakarta.persistence.criteria.Path;
 import membership.model.Member;
 import membership.model.MemberStatus;
 import membership.port.MemberRepository;
+import membership.port.MemberSummary;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ApplicationScoped
 public class MemberRepositoryJpa extends BaseRepositoryJpa<Member> implements MemberRepository {
 
     private static final String MEMBERSHIP_NUMBER = "membershipNumber";
+    private static final String MEMBERSHIP_NUMBERS = "membershipNumbers";
     private static final String EMAIL = "email";
     private static final String STATUS = "status";
     private static final String NAME = "name";
 
+    private static final String ACTIVE = "active";
+    private static final String TODAY = "today";
+
+    private static final KeysetOrder<Member> BY_LAST_NAME =
+            KeysetOrder.of(Member.PAGE_BY_LAST_NAME, Member.PAGE_BY_LAST_NAME_AFTER, Member::getLastName, key -> key);
+    private static final KeysetOrder<Object[]> SUMMARIES_BY_STATUS = KeysetOrder.of(Member.FIND_SUMMARIES_BY_STATUS,
+            Member.FIND_SUMMARIES_BY_STATUS_AFTER, row -> row[3], row -> (Long) row[0], key -> key);
+
+    private static final SummaryTable<Member> SUMMARY_TABLE = (cb, m) -> {
+        ParameterExpression<LocalDate> today = cb.parameter(LocalDate.class, TODAY);
+        Path<LocalDate> expirationDate = m.get("expirationDate");
+        Expression<String> fullName = cb.concat(cb.concat(m.get("firstName"), " "), m.get("lastName"));
+        Expression<Integer> canBorrow = cb.<Integer>selectCase()
+                .when(cb.and(cb.equal(m.get(STATUS), MemberStatus.ACTIVE),
+                        cb.lessThan(m.get("activeLoans"), m.<Integer>get("maxLoans")),
+                        cb.or(cb.isNull(expirationDate), cb.greaterThanOrEqualTo(expirationDate, today))), 1)
+                .otherwise(0);
+        Expression<Integer> expired = cb.<Integer>selectCase()
+                .when(cb.and(cb.isNotNull(expirationDate), cb.lessThan(expirationDate, today)), 1)
+                .otherwise(0);
+        return new SummaryTable.View(
+                List.of(m.get("id"), m.get(MEMBERSHIP_NUMBER), m.get("firstName"), m.get("lastName"), m.get(EMAIL),
+                        m.get("phone"), m.get("address"), m.get("registrationDate"), expirationDate, m.get(STATUS),
+                        m.get("activeLoans"), m.get("maxLoans"), canBorrow, expired),
+                Map.of(MEMBERSHIP_NUMBER, m.get(MEMBERSHIP_NUMBER),
+                        "fullName", fullName,
+                        EMAIL, m.get(EMAIL),
+                        STATUS, m.get(STATUS)));
+    };
+
+    private static final FieldProjection<Member> FIELDS = new FieldProjection<Member>()
+            .column("id", (cb, m) -> m.root().get("id"))
+            .column(MEMBERSHIP_NUMBER, (cb, m) -> m.root().get(MEMBERSHIP_NUMBER))
+            .column("firstName", (cb, m) -> m.root().get("firstName"))
+            .column("lastName", (cb, m) -> m.root().get("lastName"))
+            .column(EMAIL, (cb, m) -> m.root().get(EMAIL))
+            .column("phone", (cb, m) -> m.root().get("phone"))
+            .column("address", (cb, m) -> m.root().get("address"))
+            .column("registrationDate", (cb, m) -> m.root().get("registrationDate"))
+            .column("expirationDate", (cb, m) -> m.root().get("expirationDate"))
+            .column(STATUS, (cb, m) -> m.root().get(STATUS))
+            .column("activeLoans", (cb, m) -> m.root().get("activeLoans"))
+            .column("maxLoans", (cb, m) -> m.root().get("maxLoans"))
+            .column("fullName", (cb, m) -> cb.concat(cb.concat(m.root().get("firstName"), " "),
+                    m.root().get("lastName")))
+            .flag("canBorrow", (cb, m) -> {
+                Path<LocalDate> expirationDate = m.root().get("expirationDate");
+                return cb.and(cb.equal(m.root().get(STATUS), MemberStatus.ACTIVE),
+                        cb.lessThan(m.root().get("activeLoans"), m.root().<Integer>get("maxLoans")),
+                        cb.or(cb.isNull(expirationDate),
+                                cb.greaterThanOrEqualTo(expirationDate, m.parameter(LocalDate.class, TODAY))));
+            })
+            .flag("membershipExpired", (cb, m) -> {
+                Path<LocalDate> expirationDate = m.root().get("expirationDate");
+                return cb.and(cb.isNotNull(expirationDate),
+                        cb.lessThan(expirationDate, m.parameter(LocalDate.class, TODAY)));
+            });
+
+    @Override
+    public Page<Member> findPage(Cursor after, int limit) {
+        return findPage(BY_LAST_NAME, after, limit);
+    }
+
     @Override
     public Optional<Member> findByMembershipNumber(String membershipNumber) {
-        String sql = "SELECT m FROM Member m WHERE m.membershipNumber = :membershipNumber";
-        return getEntityManager().createQuery(
-                        sql, Member.class)
+        return namedQuery(Member.FIND_BY_MEMBERSHIP_NUMBER)
                 .setParameter(MEMBERSHIP_NUMBER, membershipNumber)
                 .getResultStream()
                 .findFirst();
     }
 
+    @Override
+    public List<Member> findAllByMembershipNumber(Collection<String> membershipNumbers) {
+        if (membershipNumbers.isEmpty()) {
+            return List.of();
+        }
+        return namedQuery(Member.FIND_ALL_BY_MEMBERSHIP_NUMBER)
+                .setParameter(MEMBERSHIP_NUMBERS, membershipNumbers)
+                .getResultList();
+    }
+
     @Override
     public Optional<Member> findByEmail(String email) {
-        String sql = "SELECT m FROM Member m WHERE LOWER(m.email) = LOWER(:email)";
-        return getEntityManager().createQuery(sql, Member.class)
+        return namedQuery(Member.FIND_BY_EMAIL)
                 .setParameter(EMAIL, email)
                 .getResultStream()
                 .findFirst();
@@ -38,25 +123,66 @@ public class MemberRepositoryJpa extends BaseRepositoryJpa<Member> implements Me
 
     @Override
     public List<Member> findByStatus(MemberStatus status) {
-        String sql = "SELECT m FROM Member m WHERE m.status = :status ORDER BY m.lastName, m.firstName";
-        return getEntityManager().createQuery(sql, Member.class)
+        return namedQuery(Member.FIND_BY_STATUS)
                 .setParameter(STATUS, status)
                 .getResultList();
     }
 
     @Override
-    public List<Member> findByNameContaining(String name) {
-        String sql = "SELECT m FROM Member m WHERE LOWER(m.firstName) LIKE LOWER(:name) " +
-                "OR LOWER(m.lastName) LIKE LOWER(:name) ORDER BY m.lastName, m.firstName";
-        return getEntityManager().createQuery(sql, Member.class)
+    public List<Member> findByNameContaining(String name, int limit) {
+        return namedQuery(Member.FIND_BY_NAME_CONTAINING)
                 .setParameter(NAME, "%" + name + "%")
+                .setMaxResults(limit)
                 .getResultList();
     }
 
+    @Override
+    public List<MemberSummary> findAllSummaries(LocalDate today) {
+        return namedQuery(Member.FIND_ALL_SUMMARIES, Object[].class)
+                .setParameter(ACTIVE, MemberStatus.ACTIVE)
+                .setParameter(TODAY, today)
+                .getResultStream()
+                .map(MemberRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public Page<MemberSummary> findSummariesByStatus(MemberStatus status, Cursor after, int limit,
+                                                     LocalDate today) {
+        return findPage(SUMMARIES_BY_STATUS, after, limit, name -> namedQuery(name, Object[].class)
+                .setParameter(ACTIVE, MemberStatus.ACTIVE)
+                .setParameter(TODAY, today)
+                .setParameter(STATUS, status))
+                .map(MemberRepositoryJpa::toSummary);
+    }
+
+    @Override
+    public List<MemberSummary> findSummaries(PageRequest request, LocalDate today) {
+        return tablePageQuery(SUMMARY_TABLE, request)
+                .setParameter(TODAY, today)
+                .getResultStream()
+                .map(MemberRepositoryJpa::toSummary)
+                .toList();
+    }
+
+    @Override
+    public long countSummaries(Map<String, String> filters) {
+        return countTableRows(SUMMARY_TABLE, filters);
+    }
+
+    @Override
+    public Page<Map<String, Object>> findFields(FieldSet fields, Cursor after, int limit, LocalDate today) {
+        return findFields(FIELDS, fields, after, limit, Map.of(TODAY, today));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(Long id, FieldSet fields, LocalDate today) {
+        return findFieldsById(FIELDS, fields, id, Map.of(TODAY, today));
+    }
+
     @Override
     public boolean existsByEmail(String email) {
-        String sql = "SELECT COUNT(m) FROM Member m WHERE LOWER(m.email) = LOWER(:email)";
-        Long count = getEntityManager().createQuery(sql, Long.class)
+        Long count = namedQuery(Member.EXISTS_BY_EMAIL, Long.class)
                 .setParameter(EMAIL, email)
                 .getSingleResult();
         return count > 0;
@@ -64,10 +190,40 @@ public class MemberRepositoryJpa extends BaseRepositoryJpa<Member> implements Me
 
     @Override
     public boolean existsByMembershipNumber(String membershipNumber) {
-        String sql = "SELECT COUNT(m) FROM Member m WHERE m.membershipNumber = :membershipNumber";
-        Long count = getEntityManager().createQuery(sql, Long.class)
+        Long count = namedQuery(Member.EXISTS_BY_MEMBERSHIP_NUMBER, Long.class)
                 .setParameter(MEMBERSHIP_NUMBER, membershipNumber)
                 .getSingleResult();
         return count > 0;
     }
+
+    @Override
+    public boolean tryIncrementActiveLoans(Long memberId, LocalDate today) {
+        String sql = "UPDATE members SET active_loans = active_loans + 1, version = version + 1, " +
+                "updated_at = NOW() WHERE member_id = ?1 AND status = 'ACTIVE' AND active_loans < max_loans " +
+                "AND (expiration_date IS NULL OR expiration_date >= ?2)";
+        int updated = getEntityManager().createNativeQuery(sql)
+                .setParameter(1, memberId)
+                .setParameter(2, today)
+                .executeUpdate();
+        evictSharedCache(memberId);
+        return updated == 1;
+    }
+
+    private static MemberSummary toSummary(Object[] row) {
+        return new MemberSummary(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                (String) row[6],
+                (LocalDate) row[7],
+                (LocalDate) row[8],
+                (MemberStatus) row[9],
+                ((Number) row[10]).intValue(),
+                ((Number) row[11]).intValue(),
+                ((Number) row[12]).intValue() == 1,
+                ((Number) row[13]).intValue() == 1);
+    }
 }
@@ -0,0 +1,47 @@
+package reporting.adapter;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import reporting.port.LibraryCounts;
+import reporting.port.LibraryStatistics;
+
+import java.time.LocalDate;
+
+@ApplicationScoped
+public class LibraryStatisticsJpa implements LibraryStatistics {
+
+    // One round trip: each derived table scans its own table once and the FILTER clauses split the counts
+    private static final String COUNT_ALL = "SELECT b.total, b.available, m.total, m.active, l.active, l.overdue, c.total " +
+            "FROM (SELECT COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE availablecopies > 0 AND status = 'AVAILABLE') AS available FROM books) b, " +
+            "(SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE status = 'ACTIVE') AS active FROM members) m, " +
+            "(SELECT COUNT(*) AS active, COUNT(*) FILTER (WHERE due_date < ?1) AS overdue " +
+            "FROM loans WHERE status = 'ACTIVE') l, " +
+            "(SELECT COUNT(*) AS total FROM categories) c";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public LibraryStatisticsJpa() {
+    }
+
+    LibraryStatisticsJpa(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public LibraryCounts countAll(LocalDate today) {
+        Object[] row = (Object[]) em.createNativeQuery(COUNT_ALL)
+                .setParameter(1, today)
+                .getSingleResult();
+        return new LibraryCounts(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(),
+                ((Number) row[3]).longValue(),
+                ((Number) row[4]).longValue(),
+                ((Number) row[5]).longValue(),
+                ((Number) row[6]).longValue());
+    }
+}
@@ -0,0 +1,81 @@
+package bench;
+
+import catalog.model.Book;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of obtaining a ready-to-run query: building the JPQL string and handing it
+ * to {@code createQuery}, as the adapters used to, versus looking up the precompiled named
+ * query. Only query creation and parameter binding are measured; nothing is executed.
+ * EclipseLink keeps a bounded JPQL parse cache, so while a dynamic string stays in it the
+ * dynamic path pays a string build and cache lookup rather than a full parse.
+ *
+ * Run with (JMH forks, so the classpath must be passed to a real JVM):
+ * <pre>
+ * mvn -pl library-infrastructure -am install -DskipTests
+ * mvn -pl library-infrastructure exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath bench.NamedQueryBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedQueryBenchmark {
+
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private String entityName;
+
+    @Setup(Level.Trial)
+    public void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU");
+        em = emf.createEntityManager();
+        entityName = Book.class.getSimpleName();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        em.close();
+        emf.close();
+    }
+
+    @Benchmark
+    public TypedQuery<Book> dynamicQuery() {
+        String sql = "SELECT b FROM " + entityName + " b WHERE b.isbn = :isbn";
+        return em.createQuery(sql, Book.class)
+                .setParameter("isbn", "978-0134685991");
+    }
+
+    @Benchmark
+    public TypedQuery<Book> namedQuery() {
+        return em.createNamedQuery(Book.FIND_BY_ISBN, Book.class)
+                .setParameter("isbn", "978-0134685991");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NamedQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
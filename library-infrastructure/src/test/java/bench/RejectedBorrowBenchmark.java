@@ -0,0 +1,123 @@
+package bench;
+
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import common.exception.ApplicationException;
+import common.exception.BusinessRuleException;
+import common.exception.ExceptionMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the rejected-borrow path: {@code Book.borrowCopy()} on a book with no copies
+ * left, thrown from {@code depth} frames down to stand in for the container's call stack.
+ * {@code rejectedBorrow} runs as shipped (no stack trace, cached message pattern);
+ * {@code rejectedBorrowWithStackTraces} is the same call in a fork with
+ * {@value ApplicationException#STACK_TRACES_PROPERTY} set, and {@code legacyRejection}
+ * reproduces the previous code path (stack trace plus a pattern parsed on every call).
+ * The two message benchmarks isolate the formatting cost.
+ *
+ * Run with (JMH forks, so the classpath must be passed to a real JVM):
+ * <pre>
+ * mvn -pl library-infrastructure -am install -DskipTests
+ * mvn -pl library-infrastructure exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath bench.RejectedBorrowBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectedBorrowBenchmark {
+
+    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("ExceptionMessages");
+    private static final String NO_COPIES_KEY = ExceptionMessage.BOOK_NO_COPIES_AVAILABLE.getKey();
+
+    @Param({"20", "150"})
+    public int depth;
+
+    private Book book;
+
+    @Setup(Level.Trial)
+    public void createBook() {
+        book = new Book("978-0134685991", "Effective Java", "Joshua Bloch");
+        book.setTotalCopies(1);
+        book.setAvailableCopies(0);
+        book.setStatus(BookStatus.AVAILABLE);
+    }
+
+    @Benchmark
+    public String rejectedBorrow() {
+        return borrowAt(depth);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-D" + ApplicationException.STACK_TRACES_PROPERTY + "=true")
+    public String rejectedBorrowWithStackTraces() {
+        return borrowAt(depth);
+    }
+
+    @Benchmark
+    public String legacyRejection() {
+        return legacyAt(depth);
+    }
+
+    @Benchmark
+    public String cachedMessage() {
+        return ExceptionMessage.BOOK_NO_COPIES_AVAILABLE.getMessage(book.getTitle());
+    }
+
+    @Benchmark
+    public String messageParsedPerCall() {
+        return MessageFormat.format(BUNDLE.getString(NO_COPIES_KEY), book.getTitle());
+    }
+
+    private String borrowAt(int remaining) {
+        if (remaining > 0) {
+            return borrowAt(remaining - 1);
+        }
+        try {
+            book.borrowCopy();
+            return null;
+        } catch (BusinessRuleException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String legacyAt(int remaining) {
+        if (remaining > 0) {
+            return legacyAt(remaining - 1);
+        }
+        try {
+            if (!book.isAvailable()) {
+                throw new IllegalStateException(MessageFormat.format(BUNDLE.getString(NO_COPIES_KEY), book.getTitle()));
+            }
+            return null;
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RejectedBorrowBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,39 @@
+package catalog.adapter;
+
+import common.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the score key of a book search cursor.
+ *
+ * Tested behaviour:
+ *   - a score written by the previous page is read back unchanged
+ *   - a missing, non-numeric or non-finite score is reported as an invalid cursor
+ */
+@DisplayName("BookRepositoryJpa search cursor")
+class SearchCursorTest {
+
+    @Test
+    @DisplayName("Should read back the score of the previous page")
+    void shouldReadScore() {
+        assertEquals(1.0625, BookRepositoryJpa.searchScore(String.valueOf(1.0625)));
+    }
+
+    @ParameterizedTest(name = "\"{0}\"")
+    @ValueSource(strings = {"high", "", "NaN", "Infinity", "-Infinity"})
+    @DisplayName("Should report a score that is not a finite number as an invalid cursor")
+    void shouldRejectInvalidScore(String key) {
+        assertThrows(InvalidCursorException.class, () -> BookRepositoryJpa.searchScore(key));
+    }
+
+    @Test
+    @DisplayName("Should report a missing score as an invalid cursor")
+    void shouldRejectMissingScore() {
+        assertThrows(InvalidCursorException.class, () -> BookRepositoryJpa.searchScore(null));
+    }
+}
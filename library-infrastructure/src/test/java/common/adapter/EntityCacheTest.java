@@ -0,0 +1,152 @@
+package common.adapter;
+
+import catalog.model.Book;
+import catalog.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import membership.model.Member;
+import org.eclipse.persistence.descriptors.invalidation.CacheInvalidationPolicy;
+import org.eclipse.persistence.descriptors.invalidation.TimeToLiveCacheInvalidationPolicy;
+import org.eclipse.persistence.jpa.JpaHelper;
+import org.eclipse.persistence.sessions.server.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the shared entity cache configuration.
+ *
+ * Deploys the test persistence unit on a fresh in-memory H2 schema, so the settings from
+ * persistence.xml, LibrarySessionCustomizer and EntityCacheProfiler are exercised by a
+ * real EclipseLink session rather than mocked.
+ *
+ * Tested behaviour:
+ *   - only @Cacheable entities (Category, Book) enter the shared cache
+ *   - the time-to-live from library.cache.ttl.<Entity> is applied to the descriptors
+ *   - reads by ID are counted as hits or misses per entity
+ *   - evicting an entity forces the next read back to the database
+ */
+@DisplayName("Shared entity cache")
+class EntityCacheTest {
+
+    private static EntityManagerFactory emf;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:entity-cache;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void resetCache() {
+        emf.getCache().evictAll();
+        EntityCacheStatistics.reset();
+    }
+
+    private static void inTransaction(Consumer<EntityManager> work) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            work.accept(em);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static <T> T find(Class<T> type, Long id) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.find(type, id);
+        } finally {
+            em.close();
+        }
+    }
+
+    private static Long persist(Object entity) {
+        inTransaction(em -> em.persist(entity));
+        return (Long) emf.getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    @Nested
+    @DisplayName("Configuration")
+    class ConfigurationTests {
+
+        @Test
+        @DisplayName("Should cache Category and Book but not Member")
+        void shouldCacheSelectedEntitiesOnly() {
+            Long categoryId = persist(new Category("Poetry", null));
+            Long memberId = persist(new Member("MEM-900", "Ada", "Lovelace", "ada@example.com", LocalDate.now()));
+
+            find(Category.class, categoryId);
+            find(Member.class, memberId);
+
+            assertAll(
+                    () -> assertTrue(emf.getCache().contains(Category.class, categoryId)),
+                    () -> assertFalse(emf.getCache().contains(Member.class, memberId))
+            );
+        }
+
+        @Test
+        @DisplayName("Should apply the configured time-to-live to the cached descriptors")
+        void shouldApplyTimeToLive() {
+            Server session = JpaHelper.getServerSession(emf);
+            CacheInvalidationPolicy categoryPolicy = session.getDescriptor(Category.class).getCacheInvalidationPolicy();
+            CacheInvalidationPolicy bookPolicy = session.getDescriptor(Book.class).getCacheInvalidationPolicy();
+
+            assertAll(
+                    () -> assertEquals(3_600_000L,
+                            assertInstanceOf(TimeToLiveCacheInvalidationPolicy.class, categoryPolicy).getTimeToLive()),
+                    () -> assertEquals(300_000L,
+                            assertInstanceOf(TimeToLiveCacheInvalidationPolicy.class, bookPolicy).getTimeToLive())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Statistics")
+    class StatisticsTests {
+
+        @Test
+        @DisplayName("Should count a miss on the first read by ID and a hit on the next one")
+        void shouldCountMissThenHit() {
+            Long categoryId = persist(new Category("Drama", null));
+            emf.getCache().evictAll();
+            EntityCacheStatistics.reset();
+
+            find(Category.class, categoryId);
+            find(Category.class, categoryId);
+
+            assertEquals(new CacheCounters(1, 1), new EntityCacheStatistics().snapshot().get("Category"));
+        }
+
+        @Test
+        @DisplayName("Should read from the database again after the entity is evicted")
+        void shouldMissAfterEviction() {
+            Long categoryId = persist(new Category("Satire", null));
+            find(Category.class, categoryId);
+            EntityCacheStatistics.reset();
+
+            emf.getCache().evict(Category.class, categoryId);
+            find(Category.class, categoryId);
+
+            assertEquals(new CacheCounters(0, 1), new EntityCacheStatistics().snapshot().get("Category"));
+        }
+    }
+}
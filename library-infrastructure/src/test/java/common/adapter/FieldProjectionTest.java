@@ -0,0 +1,254 @@
+package common.adapter;
+
+import catalog.adapter.BookRepositoryJpa;
+import catalog.dto.BookDTO;
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import lending.adapter.LoanRepositoryJpa;
+import lending.dto.LoanDTO;
+import lending.model.Loan;
+import membership.adapter.MemberRepositoryJpa;
+import membership.dto.MemberDTO;
+import membership.model.Member;
+import membership.model.MemberStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sparse-fieldset reads behind {@code ?fields=}.
+ *
+ * The repositories run against an in-memory H2 schema generated from the entity mappings;
+ * the entity manager is set directly on the protected field that the container would inject.
+ *
+ * Fixture:
+ *   - 1 category "Fiction" with 2 books
+ *   - 2 members: 1 active, 1 suspended with an expired membership
+ *   - 2 loans: 1 due in 5 days, 1 three days past due
+ *
+ * Tested behaviour:
+ *   - rows hold only the requested fields, in request order, with the ID always first
+ *   - a request for the ID alone, which selects a single column
+ *   - pages in ID order, continued from the ID in the cursor
+ *   - joined and concatenated columns, database flags and Java-derived date fields
+ *   - lookups by ID, including unknown IDs
+ *   - every public DTO field has a projection
+ *   - rejection of fields outside the projection
+ */
+@DisplayName("Field projections")
+class FieldProjectionTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static EntityManagerFactory emf;
+    private static Long duneId;
+    private static Long emmaId;
+    private static Long adaId;
+    private static Long graceId;
+    private static Long dueSoonId;
+    private static Long overdueId;
+
+    private EntityManager em;
+    private BookRepositoryJpa bookRepository;
+    private MemberRepositoryJpa memberRepository;
+    private LoanRepositoryJpa loanRepository;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:field-projection;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Category fiction = new Category("Fiction", null);
+            em.persist(fiction);
+            Book dune = book("978-0000000001", "Dune", "Frank Herbert", fiction);
+            Book emma = book("978-0000000002", "Emma", "Jane Austen", fiction);
+            // Flushed one at a time so the generated IDs follow this order
+            for (Book book : List.of(dune, emma)) {
+                em.persist(book);
+                em.flush();
+            }
+
+            Member ada = new Member("MEM-001", "Ada", "Lovelace", "ada@example.com", TODAY);
+            Member grace = new Member("MEM-002", "Grace", "Hopper", "grace@example.com", TODAY);
+            grace.setStatus(MemberStatus.SUSPENDED);
+            grace.setExpirationDate(TODAY.minusDays(1));
+            em.persist(ada);
+            em.persist(grace);
+
+            Loan dueSoon = new Loan(dune, ada, TODAY);
+            dueSoon.setDueDate(TODAY.plusDays(5));
+            Loan overdue = new Loan(emma, ada, TODAY);
+            overdue.setDueDate(TODAY.minusDays(3));
+            em.persist(dueSoon);
+            em.persist(overdue);
+            em.getTransaction().commit();
+            duneId = dune.getId();
+            emmaId = emma.getId();
+            adaId = ada.getId();
+            graceId = grace.getId();
+            dueSoonId = dueSoon.getId();
+            overdueId = overdue.getId();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void createRepositories() {
+        em = emf.createEntityManager();
+        bookRepository = new BookRepositoryJpa();
+        bookRepository.em = em;
+        memberRepository = new MemberRepositoryJpa();
+        memberRepository.em = em;
+        loanRepository = new LoanRepositoryJpa();
+        loanRepository.em = em;
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        em.close();
+    }
+
+    private static Book book(String isbn, String title, String author, Category category) {
+        Book book = new Book(isbn, title, author);
+        book.setCategory(category);
+        book.setTotalCopies(2);
+        book.setAvailableCopies(1);
+        book.setStatus(BookStatus.AVAILABLE);
+        return book;
+    }
+
+    @Nested
+    @DisplayName("Selected fields")
+    class SelectionTests {
+
+        @Test
+        @DisplayName("Should return only the requested fields in request order, ID first")
+        void shouldReturnRequestedFieldsOnly() {
+            List<Map<String, Object>> rows = bookRepository.findFields(FieldSet.of("title", "categoryName"), null, 50)
+                    .items();
+
+            assertAll(
+                    () -> assertEquals(2, rows.size()),
+                    () -> assertEquals(List.of("id", "title", "categoryName"), List.copyOf(rows.get(0).keySet())),
+                    () -> assertEquals(Map.of("id", duneId, "title", "Dune", "categoryName", "Fiction"), rows.get(0))
+            );
+        }
+
+        @Test
+        @DisplayName("Should return the ID alone when it is the only field requested")
+        void shouldReturnIdOnly() {
+            List<Map<String, Object>> rows = bookRepository.findFields(FieldSet.of("id"), null, 50).items();
+
+            assertEquals(List.of(Map.of("id", duneId), Map.of("id", emmaId)), rows);
+        }
+
+        @Test
+        @DisplayName("Should page the rows in ID order and continue after the cursor")
+        void shouldPageInIdOrder() {
+            Page<Map<String, Object>> first = bookRepository.findFields(FieldSet.of("title"), null, 1);
+            Page<Map<String, Object>> second =
+                    bookRepository.findFields(FieldSet.of("title"), Cursor.decode(first.next()), 1);
+
+            assertAll(
+                    () -> assertEquals(List.of(Map.of("id", duneId, "title", "Dune")), first.items()),
+                    () -> assertEquals(Cursor.of(duneId), Cursor.decode(first.next())),
+                    () -> assertEquals(List.of(Map.of("id", emmaId, "title", "Emma")), second.items()),
+                    () -> assertFalse(second.hasNext())
+            );
+        }
+
+        @Test
+        @DisplayName("Should evaluate flags in the query against the business date")
+        void shouldEvaluateFlags() {
+            Map<String, Object> grace = memberRepository
+                    .findFieldsById(graceId, FieldSet.of("fullName", "canBorrow", "membershipExpired"), TODAY)
+                    .orElseThrow();
+            Map<String, Object> ada = memberRepository
+                    .findFieldsById(adaId, FieldSet.of("canBorrow"), TODAY)
+                    .orElseThrow();
+
+            assertAll(
+                    () -> assertEquals("Grace Hopper", grace.get("fullName")),
+                    () -> assertEquals(false, grace.get("canBorrow")),
+                    () -> assertEquals(true, grace.get("membershipExpired")),
+                    () -> assertEquals(true, ada.get("canBorrow"))
+            );
+        }
+
+        @Test
+        @DisplayName("Should derive the day counts from the selected dates")
+        void shouldDeriveDayCounts() {
+            FieldSet fields = FieldSet.of("bookTitle", "overdue", "daysOverdue", "daysUntilDue", "canRenew");
+
+            Map<String, Object> overdue = loanRepository.findFieldsById(overdueId, fields, TODAY).orElseThrow();
+            Map<String, Object> dueSoon = loanRepository.findFieldsById(dueSoonId, fields, TODAY).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals("Emma", overdue.get("bookTitle")),
+                    () -> assertEquals(true, overdue.get("overdue")),
+                    () -> assertEquals(3L, overdue.get("daysOverdue")),
+                    () -> assertEquals(-3L, overdue.get("daysUntilDue")),
+                    () -> assertEquals(false, overdue.get("canRenew")),
+                    () -> assertEquals(0L, dueSoon.get("daysOverdue")),
+                    () -> assertEquals(5L, dueSoon.get("daysUntilDue")),
+                    () -> assertEquals(true, dueSoon.get("canRenew"))
+            );
+        }
+
+        @Test
+        @DisplayName("Should return nothing for an unknown ID")
+        void shouldReturnEmptyForUnknownId() {
+            assertTrue(bookRepository.findFieldsById(-1L, FieldSet.of("title")).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Field names")
+    class FieldNameTests {
+
+        @Test
+        @DisplayName("Should project every public DTO field")
+        void shouldProjectEveryDtoField() {
+            assertAll(
+                    () -> assertEquals(BookDTO.FIELDS,
+                            List.copyOf(bookRepository.findFields(new FieldSet(BookDTO.FIELDS), null, 1).items().get(0).keySet())),
+                    () -> assertEquals(MemberDTO.FIELDS, List.copyOf(memberRepository
+                            .findFields(new FieldSet(MemberDTO.FIELDS), null, 1, TODAY).items().get(0).keySet())),
+                    () -> assertEquals(LoanDTO.FIELDS, List.copyOf(loanRepository
+                            .findFields(new FieldSet(LoanDTO.FIELDS), null, 1, TODAY).items().get(0).keySet()))
+            );
+        }
+
+        @Test
+        @DisplayName("Should reject a field the projection does not define")
+        void shouldRejectUnknownField() {
+            assertThrows(IllegalArgumentException.class, () -> bookRepository.findFields(FieldSet.of("price"), null, 50));
+        }
+    }
+}
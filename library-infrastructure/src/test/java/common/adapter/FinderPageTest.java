@@ -0,0 +1,278 @@
+package common.adapter;
+
+import catalog.adapter.BookRepositoryJpa;
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import catalog.port.BookFetchPlan;
+import catalog.port.BookSummary;
+import common.BaseEntity;
+import common.Cursor;
+import common.Page;
+import common.exception.InvalidCursorException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import lending.adapter.LoanRepositoryJpa;
+import lending.model.Loan;
+import lending.model.LoanStatus;
+import lending.port.LoanFetchPlan;
+import lending.port.LoanSummary;
+import membership.adapter.MemberRepositoryJpa;
+import membership.model.Member;
+import membership.model.MemberStatus;
+import membership.port.MemberSummary;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the keyset-paged list finders behind the search, status and per-member endpoints.
+ *
+ * The repositories run against an in-memory H2 schema generated from the entity mappings;
+ * the entity manager is set directly on the protected field that the container would inject.
+ *
+ * Fixture:
+ *   - 1 category "Fiction" with 3 available copies titled "Dune" and 1 titled "Emma"
+ *   - 3 active members sharing the last name "Hopper"
+ *   - 3 active loans of the first member, all taken today and three days past due
+ *
+ * Tested behaviour:
+ *   - walking pages of 2 returns every row exactly once, even across rows sharing the sort key
+ *   - ascending finders break ties by ascending ID, loan-date finders by descending ID
+ *   - a cursor whose key does not parse is reported as an invalid cursor
+ */
+@DisplayName("Keyset-paged finders")
+class FinderPageTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final int PAGE_SIZE = 2;
+
+    private static EntityManagerFactory emf;
+    private static Category fiction;
+    private static List<Long> duneIds;
+    private static Long emmaId;
+    private static Long firstMemberId;
+    private static List<Long> memberIds;
+    private static List<Long> loanIds;
+
+    private EntityManager em;
+    private BookRepositoryJpa bookRepository;
+    private MemberRepositoryJpa memberRepository;
+    private LoanRepositoryJpa loanRepository;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:finder-page;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            fiction = new Category("Fiction", null);
+            em.persist(fiction);
+            List<Book> dunes = List.of(
+                    book("978-0000000001", "Dune"), book("978-0000000002", "Dune"), book("978-0000000003", "Dune"));
+            Book emma = book("978-0000000004", "Emma");
+            // Flushed one at a time so the generated IDs follow this order
+            for (Book book : List.of(dunes.get(0), dunes.get(1), dunes.get(2), emma)) {
+                em.persist(book);
+                em.flush();
+            }
+
+            List<Member> members = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                Member member = new Member("MEM-00" + i, "Grace " + i, "Hopper", "grace" + i + "@example.com", TODAY);
+                em.persist(member);
+                em.flush();
+                members.add(member);
+            }
+
+            List<Loan> loans = new ArrayList<>();
+            for (Book book : dunes) {
+                Loan loan = new Loan(book, members.get(0), TODAY);
+                loan.setDueDate(TODAY.minusDays(3));
+                em.persist(loan);
+                em.flush();
+                loans.add(loan);
+            }
+            em.getTransaction().commit();
+            duneIds = dunes.stream().map(BaseEntity::getId).toList();
+            emmaId = emma.getId();
+            firstMemberId = members.get(0).getId();
+            memberIds = members.stream().map(BaseEntity::getId).toList();
+            loanIds = loans.stream().map(BaseEntity::getId).toList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void createRepositories() {
+        em = emf.createEntityManager();
+        bookRepository = new BookRepositoryJpa();
+        bookRepository.em = em;
+        memberRepository = new MemberRepositoryJpa();
+        memberRepository.em = em;
+        loanRepository = new LoanRepositoryJpa();
+        loanRepository.em = em;
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        em.close();
+    }
+
+    private static Book book(String isbn, String title) {
+        Book book = new Book(isbn, title, "Frank Herbert");
+        book.setCategory(fiction);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        book.setStatus(BookStatus.AVAILABLE);
+        return book;
+    }
+
+    /**
+     * Follows the {@code next} cursors from the first page to the last and collects every row.
+     */
+    private static <T> List<T> walk(BiFunction<Cursor, Integer, Page<T>> finder) {
+        List<T> rows = new ArrayList<>();
+        Cursor after = null;
+        do {
+            Page<T> page = finder.apply(after, PAGE_SIZE);
+            assertTrue(page.items().size() <= PAGE_SIZE);
+            rows.addAll(page.items());
+            after = page.hasNext() ? Cursor.decode(page.next()) : null;
+        } while (after != null);
+        return rows;
+    }
+
+    private static List<Long> ids(List<? extends BaseEntity> entities) {
+        return entities.stream().map(BaseEntity::getId).toList();
+    }
+
+    private static List<Long> duneThenEmma() {
+        List<Long> ids = new ArrayList<>(duneIds);
+        ids.add(emmaId);
+        return ids;
+    }
+
+    @Nested
+    @DisplayName("Books")
+    class BookTests {
+
+        @Test
+        @DisplayName("Should page a title search across books sharing a title")
+        void shouldPageTitleSearch() {
+            List<Book> books = walk((after, limit) ->
+                    bookRepository.findByTitleContaining("un", after, limit, BookFetchPlan.WITH_CATEGORY));
+
+            assertEquals(duneIds, ids(books));
+        }
+
+        @Test
+        @DisplayName("Should page an author search in author then ID order")
+        void shouldPageAuthorSearch() {
+            List<Book> books = walk((after, limit) ->
+                    bookRepository.findByAuthorContaining("herbert", after, limit, BookFetchPlan.WITH_CATEGORY));
+
+            assertEquals(duneThenEmma(), ids(books));
+        }
+
+        @Test
+        @DisplayName("Should page the books of a category in title order")
+        void shouldPageCategory() {
+            List<Book> books = walk((after, limit) ->
+                    bookRepository.findByCategory(em.find(Category.class, fiction.getId()), after, limit));
+
+            assertEquals(duneThenEmma(), ids(books));
+        }
+
+        @Test
+        @DisplayName("Should page available summaries in title order")
+        void shouldPageAvailableSummaries() {
+            List<BookSummary> books = walk(bookRepository::findAvailableSummaries);
+
+            assertEquals(duneThenEmma(), books.stream().map(BookSummary::id).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Members")
+    class MemberTests {
+
+        @Test
+        @DisplayName("Should page status summaries across members sharing a last name")
+        void shouldPageStatusSummaries() {
+            List<MemberSummary> members = walk((after, limit) ->
+                    memberRepository.findSummariesByStatus(MemberStatus.ACTIVE, after, limit, TODAY));
+
+            assertEquals(memberIds, members.stream().map(MemberSummary::id).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Loans")
+    class LoanTests {
+
+        @Test
+        @DisplayName("Should page the loans of a member newest first with ties by descending ID")
+        void shouldPageByMember() {
+            Member member = em.find(Member.class, firstMemberId);
+
+            List<Loan> loans = walk((after, limit) ->
+                    loanRepository.findByMember(member, after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER));
+
+            assertEquals(loanIds.reversed(), ids(loans));
+        }
+
+        @Test
+        @DisplayName("Should page overdue and status summaries across loans sharing a due date")
+        void shouldPageSummariesByDueDate() {
+            List<LoanSummary> overdue = walk((after, limit) ->
+                    loanRepository.findOverdueSummaries(TODAY, after, limit));
+            List<LoanSummary> active = walk((after, limit) ->
+                    loanRepository.findSummariesByStatus(LoanStatus.ACTIVE, after, limit, TODAY));
+
+            assertAll(
+                    () -> assertEquals(loanIds, overdue.stream().map(LoanSummary::id).toList()),
+                    () -> assertEquals(loanIds, active.stream().map(LoanSummary::id).toList())
+            );
+        }
+
+        @Test
+        @DisplayName("Should page loans due before a date in due-date order")
+        void shouldPageDueBefore() {
+            List<Loan> loans = walk((after, limit) ->
+                    loanRepository.findByDueDateBefore(TODAY, after, limit, LoanFetchPlan.WITH_BOOK_AND_MEMBER));
+
+            assertEquals(loanIds, ids(loans));
+        }
+
+        @Test
+        @DisplayName("Should report a cursor whose date key does not parse as an invalid cursor")
+        void shouldRejectUnparsableKey() {
+            Cursor tampered = Cursor.of("yesterday", loanIds.get(0));
+
+            assertThrows(InvalidCursorException.class,
+                    () -> loanRepository.findOverdueSummaries(TODAY, tampered, PAGE_SIZE));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package common.adapter;
+
+import common.exception.InvalidCursorException;
+import lending.model.Loan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetOrder.
+ *
+ * Tested behaviour:
+ *   - a cursor key is parsed back into the attribute's type
+ *   - a tampered, stale or missing key is reported as an invalid cursor, never as a parse error
+ */
+@DisplayName("KeysetOrder")
+class KeysetOrderTest {
+
+    private final KeysetOrder<Loan> byLoanDate =
+            KeysetOrder.of("first", "next", Loan::getLoanDate, LocalDate::parse);
+
+    @Test
+    @DisplayName("Should parse the key into the attribute's type")
+    void shouldParseKey() {
+        assertEquals(LocalDate.of(2026, 3, 2), byLoanDate.parseKey("2026-03-02"));
+    }
+
+    @ParameterizedTest(name = "\"{0}\"")
+    @ValueSource(strings = {"2026-13-45", "yesterday", ""})
+    @DisplayName("Should report a key that does not parse as an invalid cursor")
+    void shouldRejectUnparsableKey(String key) {
+        assertThrows(InvalidCursorException.class, () -> byLoanDate.parseKey(key));
+    }
+
+    @Test
+    @DisplayName("Should report a missing key as an invalid cursor")
+    void shouldRejectMissingKey() {
+        assertThrows(InvalidCursorException.class, () -> byLoanDate.parseKey(null));
+    }
+}
@@ -0,0 +1,181 @@
+package common.adapter;
+
+import catalog.adapter.BookRepositoryJpa;
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import catalog.port.BookFetchPlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import membership.adapter.MemberRepositoryJpa;
+import membership.model.Member;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the single-query multi-gets behind {@code POST /books/isbn}, {@code /books/ids},
+ * {@code /members/membership} and {@code /members/ids}.
+ *
+ * The repositories run against an in-memory H2 schema generated from the entity mappings.
+ *
+ * Fixture:
+ *   - 1 category "Fiction" with 2 books
+ *   - 2 members
+ *
+ * Tested behaviour:
+ *   - a mix of known and unknown keys returns only the matches
+ *   - a key passed twice matches once
+ *   - the category is loaded with WITH_CATEGORY and readable once the entity manager is closed
+ *   - an empty key set answers without a query
+ */
+@DisplayName("Multi-get queries")
+class MultiGetQueryTest {
+
+    private static EntityManagerFactory emf;
+    private static Long duneId;
+    private static Long emmaId;
+    private static Long adaId;
+
+    private EntityManager em;
+    private BookRepositoryJpa bookRepository;
+    private MemberRepositoryJpa memberRepository;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:multi-get;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Category fiction = new Category("Fiction", null);
+            em.persist(fiction);
+            Book dune = book("978-0000000001", "Dune", fiction);
+            Book emma = book("978-0000000002", "Emma", fiction);
+            em.persist(dune);
+            em.persist(emma);
+            Member ada = new Member("MEM-001", "Ada", "Lovelace", "ada@example.com", LocalDate.now());
+            Member grace = new Member("MEM-002", "Grace", "Hopper", "grace@example.com", LocalDate.now());
+            em.persist(ada);
+            em.persist(grace);
+            em.getTransaction().commit();
+            duneId = dune.getId();
+            emmaId = emma.getId();
+            adaId = ada.getId();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void createRepositories() {
+        em = emf.createEntityManager();
+        bookRepository = new BookRepositoryJpa();
+        bookRepository.em = em;
+        memberRepository = new MemberRepositoryJpa();
+        memberRepository.em = em;
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        if (em.isOpen()) {
+            em.close();
+        }
+    }
+
+    private static Book book(String isbn, String title, Category category) {
+        Book book = new Book(isbn, title, "Author");
+        book.setCategory(category);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        book.setStatus(BookStatus.AVAILABLE);
+        return book;
+    }
+
+    private static List<String> titles(List<Book> books) {
+        return books.stream().map(Book::getTitle).sorted(Comparator.naturalOrder()).toList();
+    }
+
+    @Nested
+    @DisplayName("Books")
+    class BookTests {
+
+        @Test
+        @DisplayName("Should return only the books whose ISBN is known")
+        void shouldMatchKnownIsbns() {
+            List<Book> books = bookRepository.findAllByIsbn(
+                    List.of("978-0000000002", "000-unknown", "978-0000000001", "978-0000000002"), BookFetchPlan.BOOK_ONLY);
+
+            assertEquals(List.of("Dune", "Emma"), titles(books));
+        }
+
+        @Test
+        @DisplayName("Should return only the books whose ID is known")
+        void shouldMatchKnownIds() {
+            List<Book> books = bookRepository.findAllById(List.of(emmaId, -1L, emmaId), BookFetchPlan.BOOK_ONLY);
+
+            assertEquals(List.of("Emma"), titles(books));
+        }
+
+        @Test
+        @DisplayName("Should load the category with WITH_CATEGORY")
+        void shouldFetchCategory() {
+            List<Book> byIsbn = bookRepository.findAllByIsbn(Set.of("978-0000000001"), BookFetchPlan.WITH_CATEGORY);
+            List<Book> byId = bookRepository.findAllById(Set.of(duneId), BookFetchPlan.WITH_CATEGORY);
+            em.close();
+
+            assertAll(
+                    () -> assertTrue(emf.getPersistenceUnitUtil().isLoaded(byIsbn.get(0), "category")),
+                    () -> assertEquals("Fiction", byIsbn.get(0).getCategory().getName()),
+                    () -> assertEquals("Fiction", byId.get(0).getCategory().getName())
+            );
+        }
+
+        @Test
+        @DisplayName("Should answer an empty ISBN set without a query")
+        void shouldAnswerEmptyKeys() {
+            assertTrue(bookRepository.findAllByIsbn(Set.of(), BookFetchPlan.WITH_CATEGORY).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Members")
+    class MemberTests {
+
+        @Test
+        @DisplayName("Should return only the members whose membership number is known")
+        void shouldMatchKnownMembershipNumbers() {
+            List<Member> members = memberRepository.findAllByMembershipNumber(
+                    List.of("MEM-002", "MEM-999", "MEM-002"));
+
+            assertEquals(List.of("MEM-002"), members.stream().map(Member::getMembershipNumber).toList());
+        }
+
+        @Test
+        @DisplayName("Should return only the members whose ID is known")
+        void shouldMatchKnownIds() {
+            List<Member> members = memberRepository.findAllById(List.of(adaId, -1L));
+
+            assertEquals(List.of(adaId), members.stream().map(Member::getId).toList());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package common.adapter;
+
+import catalog.model.Book;
+import catalog.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Persistence;
+import lending.model.Loan;
+import membership.model.Member;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deployment test for the named queries declared on the entities.
+ *
+ * Boots the mappings with EclipseLink against an in-memory H2 database (see the
+ * {@code libraryTestPU} unit in src/test/resources). EclipseLink compiles every named
+ * JPQL query while the unit deploys, so a query that does not parse fails here instead
+ * of on the first request that runs it in GlassFish. No tables are created — the
+ * queries are only compiled, never executed.
+ *
+ * Tested behaviour:
+ *   - the persistence unit deploys with every named query
+ *   - each named query can be created by name
+ *   - each entity declares the generic queries BaseRepositoryJpa looks up by convention
+ */
+@DisplayName("Named queries")
+class NamedQueryDeploymentTest {
+
+    private static final List<Class<?>> ENTITIES = List.of(Book.class, Category.class, Member.class, Loan.class);
+
+    private static EntityManagerFactory emf;
+    private static EntityManager em;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU");
+        // EclipseLink deploys lazily; the first EntityManager triggers the login and query compilation
+        em = emf.createEntityManager();
+    }
+
+    @AfterAll
+    static void close() {
+        if (em != null) {
+            em.close();
+        }
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Declared queries")
+    class DeclaredQueryTests {
+
+        @TestFactory
+        @DisplayName("Should compile every named query declared on the entities")
+        Stream<DynamicTest> shouldCompileEveryNamedQuery() {
+            return ENTITIES.stream()
+                    .flatMap(entity -> Arrays.stream(entity.getAnnotationsByType(NamedQuery.class)))
+                    .map(query -> DynamicTest.dynamicTest(query.name(),
+                            () -> assertDoesNotThrow(() -> em.createNamedQuery(query.name()),
+                                    () -> "Named query " + query.name() + " failed to compile: " + query.query())));
+        }
+
+        @Test
+        @DisplayName("Should not declare the same query name twice")
+        void shouldHaveUniqueNames() {
+            List<String> names = ENTITIES.stream()
+                    .flatMap(entity -> Arrays.stream(entity.getAnnotationsByType(NamedQuery.class)))
+                    .map(NamedQuery::name)
+                    .toList();
+
+            assertEquals(names.size(), names.stream().distinct().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Generic queries")
+    class GenericQueryTests {
+
+        @TestFactory
+        @DisplayName("Should declare the queries BaseRepositoryJpa resolves from the entity name")
+        Stream<DynamicTest> shouldDeclareGenericQueries() {
+            return ENTITIES.stream()
+                    .flatMap(entity -> Stream.of("findAll", "findAllById", "streamAll", "findVersion", "tableVersion")
+                            .map(operation -> entity.getSimpleName() + "." + operation))
+                    .map(name -> DynamicTest.dynamicTest(name,
+                            () -> assertDoesNotThrow(() -> em.createNamedQuery(name))));
+        }
+
+        @Test
+        @DisplayName("Should declare the by-ID page queries for Category, which keeps the default order")
+        void shouldDeclareDefaultPageQueries() {
+            assertAll(
+                    () -> assertDoesNotThrow(() -> em.createNamedQuery("Category.pageById")),
+                    () -> assertDoesNotThrow(() -> em.createNamedQuery("Category.pageByIdAfter"))
+            );
+        }
+    }
+}
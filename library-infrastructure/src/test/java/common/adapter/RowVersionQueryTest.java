@@ -0,0 +1,209 @@
+package common.adapter;
+
+import catalog.adapter.BookRepositoryJpa;
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import common.RowVersion;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import lending.adapter.LoanRepositoryJpa;
+import lending.model.Loan;
+import membership.adapter.MemberRepositoryJpa;
+import membership.model.Member;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the version-only queries behind conditional GETs.
+ *
+ * The repositories run against an in-memory H2 schema generated from the entity mappings.
+ * Each test reads a version, writes through a separate transaction and reads again, so the
+ * tests only compare versions and do not depend on each other's writes.
+ *
+ * Fixture:
+ *   - 1 category "Fiction" with 1 book, 1 member and 1 loan of that book
+ *
+ * Tested behaviour:
+ *   - a row's tag changes with the row and with the to-one associations rendered with it
+ *   - the last-modified date is the newest updated_at, in whole seconds
+ *   - unknown IDs have no version
+ *   - the table tag changes on insert, update and delete, and ignores unrelated tables
+ */
+@DisplayName("Row versions")
+class RowVersionQueryTest {
+
+    private static EntityManagerFactory emf;
+    private static Long categoryId;
+    private static Long bookId;
+    private static Long memberId;
+    private static Long loanId;
+
+    private EntityManager em;
+    private BookRepositoryJpa bookRepository;
+    private MemberRepositoryJpa memberRepository;
+    private LoanRepositoryJpa loanRepository;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:row-version;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Category fiction = new Category("Fiction", null);
+            em.persist(fiction);
+            Book dune = new Book("978-0000000001", "Dune", "Frank Herbert");
+            dune.setCategory(fiction);
+            dune.setTotalCopies(1);
+            dune.setAvailableCopies(1);
+            dune.setStatus(BookStatus.AVAILABLE);
+            em.persist(dune);
+            Member ada = new Member("MEM-001", "Ada", "Lovelace", "ada@example.com", LocalDate.now());
+            em.persist(ada);
+            Loan loan = new Loan(dune, ada, LocalDate.now());
+            em.persist(loan);
+            em.getTransaction().commit();
+            categoryId = fiction.getId();
+            bookId = dune.getId();
+            memberId = ada.getId();
+            loanId = loan.getId();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void createRepositories() {
+        em = emf.createEntityManager();
+        bookRepository = new BookRepositoryJpa();
+        bookRepository.em = em;
+        memberRepository = new MemberRepositoryJpa();
+        memberRepository.em = em;
+        loanRepository = new LoanRepositoryJpa();
+        loanRepository.em = em;
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        em.close();
+    }
+
+    private static void inTransaction(Consumer<EntityManager> work) {
+        EntityManager writer = emf.createEntityManager();
+        try {
+            writer.getTransaction().begin();
+            work.accept(writer);
+            writer.getTransaction().commit();
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("findVersion")
+    class FindVersionTests {
+
+        @Test
+        @DisplayName("Should change the tag when the row is updated")
+        void shouldChangeWithRow() {
+            RowVersion before = bookRepository.findVersion(bookId).orElseThrow();
+
+            inTransaction(writer -> writer.find(Book.class, bookId).setPublisher("Chilton"));
+
+            assertNotEquals(before.tag(), bookRepository.findVersion(bookId).orElseThrow().tag());
+        }
+
+        @Test
+        @DisplayName("Should change the tag when an association rendered with the row is updated")
+        void shouldChangeWithAssociation() {
+            RowVersion book = bookRepository.findVersion(bookId).orElseThrow();
+            RowVersion loan = loanRepository.findVersion(loanId).orElseThrow();
+
+            inTransaction(writer -> writer.find(Category.class, categoryId).setDescription("Novels"));
+            inTransaction(writer -> writer.find(Member.class, memberId).setPhone("555-0100"));
+
+            assertAll(
+                    () -> assertNotEquals(book.tag(), bookRepository.findVersion(bookId).orElseThrow().tag()),
+                    () -> assertNotEquals(loan.tag(), loanRepository.findVersion(loanId).orElseThrow().tag())
+            );
+        }
+
+        @Test
+        @DisplayName("Should report the newest updated_at in whole seconds")
+        void shouldReportNewestUpdate() {
+            inTransaction(writer -> writer.find(Member.class, memberId).setPhone("555-0101"));
+            Member member = em.find(Member.class, memberId);
+            Loan loan = em.find(Loan.class, loanId);
+
+            RowVersion version = loanRepository.findVersion(loanId).orElseThrow();
+
+            assertAll(
+                    () -> assertEquals(member.getUpdatedAt().toInstant().truncatedTo(ChronoUnit.SECONDS),
+                            version.lastModified()),
+                    () -> assertFalse(version.lastModified().isBefore(
+                            loan.getUpdatedAt().toInstant().truncatedTo(ChronoUnit.SECONDS)))
+            );
+        }
+
+        @Test
+        @DisplayName("Should have no version for an unknown ID")
+        void shouldBeEmptyForUnknownId() {
+            assertTrue(bookRepository.findVersion(-1L).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("tableVersion")
+    class TableVersionTests {
+
+        @Test
+        @DisplayName("Should change the tag on insert, update and delete")
+        void shouldChangeWithTable() {
+            String initial = memberRepository.tableVersion().tag();
+            Member grace = new Member("MEM-002", "Grace", "Hopper", "grace@example.com", LocalDate.now());
+
+            inTransaction(writer -> writer.persist(grace));
+            String inserted = memberRepository.tableVersion().tag();
+            inTransaction(writer -> writer.find(Member.class, grace.getId()).setPhone("555-0102"));
+            String updated = memberRepository.tableVersion().tag();
+            inTransaction(writer -> writer.remove(writer.find(Member.class, grace.getId())));
+            String deleted = memberRepository.tableVersion().tag();
+
+            assertAll(
+                    () -> assertNotEquals(initial, inserted),
+                    () -> assertNotEquals(inserted, updated),
+                    () -> assertNotEquals(updated, deleted)
+            );
+        }
+
+        @Test
+        @DisplayName("Should keep the tag when an unrelated table is written")
+        void shouldIgnoreUnrelatedTables() {
+            String before = bookRepository.tableVersion().tag();
+
+            inTransaction(writer -> writer.find(Member.class, memberId).setPhone("555-0103"));
+
+            assertEquals(before, bookRepository.tableVersion().tag());
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package common.adapter;
+
+import catalog.adapter.BookRepositoryJpa;
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import catalog.port.BookSummary;
+import common.PageRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import lending.adapter.LoanRepositoryJpa;
+import lending.model.Loan;
+import lending.model.LoanStatus;
+import lending.port.LoanSummary;
+import membership.adapter.MemberRepositoryJpa;
+import membership.model.Member;
+import membership.model.MemberStatus;
+import membership.port.MemberSummary;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Criteria-built summary tables behind the lazy data tables.
+ *
+ * The repositories run against an in-memory H2 schema generated from the entity mappings;
+ * the entity manager is set directly on the protected field that the container would inject.
+ *
+ * Fixture:
+ *   - 4 books: 3 in "Fiction" (1 discontinued), 1 in "Nature"
+ *   - 3 members: 2 active, 1 suspended with an expired membership
+ *   - 3 loans: 1 active, 1 active past due, 1 returned
+ *
+ * Tested behaviour:
+ *   - offset paging, sorting in both directions and the ID tie-breaker
+ *   - case-insensitive substring filters on text columns, exact filters on enum columns
+ *   - counts that honour the same filters
+ *   - derived summary flags computed in the query
+ *   - rejection of columns outside the whitelist
+ *   - available-book suggestions ranked by title prefix
+ */
+@DisplayName("Summary tables")
+class SummaryTableTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static EntityManagerFactory emf;
+
+    private EntityManager em;
+    private BookRepositoryJpa bookRepository;
+    private MemberRepositoryJpa memberRepository;
+    private LoanRepositoryJpa loanRepository;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:summary-table;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Category fiction = new Category("Fiction", null);
+            Category nature = new Category("Nature", null);
+            em.persist(fiction);
+            em.persist(nature);
+
+            Book dune = book("978-0000000001", "Dune", "Frank Herbert", fiction, BookStatus.AVAILABLE);
+            Book emma = book("978-0000000002", "Emma", "Jane Austen", fiction, BookStatus.AVAILABLE);
+            Book ulysses = book("978-0000000003", "Ulysses", "James Joyce", fiction, BookStatus.DISCONTINUED);
+            Book atlas = book("978-0000000004", "Atlas of Birds", "Mike Unwin", nature, BookStatus.AVAILABLE);
+            // Flushed one at a time so the generated IDs follow this order
+            for (Book book : List.of(dune, emma, ulysses, atlas)) {
+                em.persist(book);
+                em.flush();
+            }
+
+            Member ada = new Member("MEM-001", "Ada", "Lovelace", "ada@example.com", TODAY);
+            Member alan = new Member("MEM-002", "Alan", "Turing", "alan@example.com", TODAY);
+            Member grace = new Member("MEM-003", "Grace", "Hopper", "grace@example.com", TODAY);
+            grace.setStatus(MemberStatus.SUSPENDED);
+            grace.setExpirationDate(TODAY.minusDays(1));
+            List.of(ada, alan, grace).forEach(em::persist);
+
+            em.persist(loan(dune, ada, TODAY.plusDays(7), LoanStatus.ACTIVE));
+            em.persist(loan(emma, alan, TODAY.minusDays(2), LoanStatus.ACTIVE));
+            Loan returned = loan(atlas, ada, TODAY.minusDays(9), LoanStatus.RETURNED);
+            returned.setReturnDate(TODAY.minusDays(10));
+            em.persist(returned);
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    @BeforeEach
+    void createRepositories() {
+        em = emf.createEntityManager();
+        bookRepository = new BookRepositoryJpa();
+        bookRepository.em = em;
+        memberRepository = new MemberRepositoryJpa();
+        memberRepository.em = em;
+        loanRepository = new LoanRepositoryJpa();
+        loanRepository.em = em;
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        em.close();
+    }
+
+    private static Book book(String isbn, String title, String author, Category category, BookStatus status) {
+        Book book = new Book(isbn, title, author);
+        book.setCategory(category);
+        book.setTotalCopies(1);
+        book.setAvailableCopies(1);
+        book.setStatus(status);
+        return book;
+    }
+
+    private static Loan loan(Book book, Member member, LocalDate dueDate, LoanStatus status) {
+        Loan loan = new Loan(book, member, TODAY);
+        loan.setDueDate(dueDate);
+        loan.setStatus(status);
+        return loan;
+    }
+
+    private static PageRequest sorted(int offset, int limit, String field, boolean ascending) {
+        return new PageRequest(offset, limit, field, ascending, Map.of());
+    }
+
+    private static PageRequest filtered(Map<String, String> filters) {
+        return new PageRequest(0, 10, null, true, filters);
+    }
+
+    @Nested
+    @DisplayName("Paging and sorting")
+    class PagingTests {
+
+        @Test
+        @DisplayName("Should return only the requested window of the sorted rows")
+        void shouldReturnRequestedWindow() {
+            List<BookSummary> page = bookRepository.findSummaries(sorted(1, 2, "title", false));
+
+            assertEquals(List.of("Emma", "Dune"), page.stream().map(BookSummary::title).toList());
+        }
+
+        @Test
+        @DisplayName("Should break ties on the sort column by ID in the same direction")
+        void shouldBreakTiesById() {
+            List<BookSummary> page = bookRepository.findSummaries(sorted(0, 10, "categoryName", false));
+
+            assertEquals(List.of("Atlas of Birds", "Ulysses", "Emma", "Dune"),
+                    page.stream().map(BookSummary::title).toList());
+        }
+
+        @Test
+        @DisplayName("Should order by ID when no sort column is given")
+        void shouldDefaultToIdOrder() {
+            List<BookSummary> page = bookRepository.findSummaries(PageRequest.of(0, 10));
+
+            assertEquals(List.of("Dune", "Emma", "Ulysses", "Atlas of Birds"),
+                    page.stream().map(BookSummary::title).toList());
+        }
+
+        @Test
+        @DisplayName("Should sort loans by the member's full name")
+        void shouldSortLoansByMemberName() {
+            List<LoanSummary> page = loanRepository.findSummaries(sorted(0, 10, "memberName", false), TODAY);
+
+            assertEquals(List.of("Alan Turing", "Ada Lovelace", "Ada Lovelace"),
+                    page.stream().map(LoanSummary::memberName).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filtering and counting")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Should match text columns by case-insensitive substring")
+        void shouldFilterTextByCaseInsensitiveSubstring() {
+            Map<String, String> filters = Map.of("author", "JA");
+
+            assertAll(
+                    () -> assertEquals(List.of("Emma", "Ulysses"), bookRepository.findSummaries(filtered(filters))
+                            .stream().map(BookSummary::title).toList()),
+                    () -> assertEquals(2, bookRepository.countSummaries(filters))
+            );
+        }
+
+        @Test
+        @DisplayName("Should match enum columns by constant name and combine filters")
+        void shouldCombineEnumAndTextFilters() {
+            Map<String, String> filters = Map.of("status", "ACTIVE", "bookTitle", "m");
+
+            assertAll(
+                    () -> assertEquals(List.of("Emma"), loanRepository.findSummaries(filtered(filters), TODAY)
+                            .stream().map(LoanSummary::bookTitle).toList()),
+                    () -> assertEquals(1, loanRepository.countSummaries(filters))
+            );
+        }
+
+        @Test
+        @DisplayName("Should filter members by their full name and ignore blank filters")
+        void shouldFilterMembersByFullName() {
+            Map<String, String> filters = Map.of("fullName", "ada lov", "email", " ");
+
+            assertAll(
+                    () -> assertEquals(List.of("MEM-001"), memberRepository.findSummaries(filtered(filters), TODAY)
+                            .stream().map(MemberSummary::membershipNumber).toList()),
+                    () -> assertEquals(1, memberRepository.countSummaries(filters))
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary rows")
+    class SummaryRowTests {
+
+        @Test
+        @DisplayName("Should compute the member flags in the query")
+        void shouldComputeMemberFlags() {
+            List<MemberSummary> members = memberRepository.findSummaries(sorted(0, 10, "membershipNumber", true), TODAY);
+
+            assertAll(
+                    () -> assertTrue(members.get(0).canBorrow()),
+                    () -> assertFalse(members.get(2).canBorrow()),
+                    () -> assertTrue(members.get(2).membershipExpired())
+            );
+        }
+
+        @Test
+        @DisplayName("Should compute the loan flags in the query")
+        void shouldComputeLoanFlags() {
+            List<LoanSummary> loans = loanRepository.findSummaries(sorted(0, 10, "dueDate", true), TODAY);
+
+            // Ordered by due date: returned (-9), past due (-2), current (+7)
+            assertAll(
+                    () -> assertFalse(loans.get(0).overdue()),
+                    () -> assertTrue(loans.get(1).overdue()),
+                    () -> assertFalse(loans.get(1).canRenew()),
+                    () -> assertTrue(loans.get(2).canRenew())
+            );
+        }
+
+        @Test
+        @DisplayName("Should flag available books and read the category name through the join")
+        void shouldMapBookSummary() {
+            BookSummary ulysses = bookRepository.findSummaries(filtered(Map.of("isbn", "0003"))).getFirst();
+
+            assertAll(
+                    () -> assertFalse(ulysses.available()),
+                    () -> assertEquals("Fiction", ulysses.categoryName())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Book suggestions")
+    class SuggestionTests {
+
+        @Test
+        @DisplayName("Should rank title prefix matches first and skip unavailable books")
+        void shouldRankTitlePrefixFirst() {
+            List<BookSummary> suggestions = bookRepository.findAvailableSummaries(" A", 10);
+
+            // "Ulysses" matches through "James Joyce" but is discontinued
+            assertEquals(List.of("Atlas of Birds", "Dune", "Emma"),
+                    suggestions.stream().map(BookSummary::title).toList());
+        }
+
+        @Test
+        @DisplayName("Should return at most the requested number of suggestions")
+        void shouldLimitSuggestions() {
+            assertEquals(1, bookRepository.findAvailableSummaries("a", 1).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Whitelist")
+    class WhitelistTests {
+
+        @Test
+        @DisplayName("Should reject sorting by a column that is not exposed")
+        void shouldRejectUnknownSortColumn() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> bookRepository.findSummaries(sorted(0, 10, "publisher", true)));
+        }
+
+        @Test
+        @DisplayName("Should reject filtering by a column that is not exposed")
+        void shouldRejectUnknownFilterColumn() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> memberRepository.countSummaries(Map.of("phone", "555")));
+        }
+
+        @Test
+        @DisplayName("Should reject an enum filter value that is not a constant")
+        void shouldRejectUnknownEnumValue() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> loanRepository.countSummaries(Map.of("status", "MISSING")));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package reporting.adapter;
+
+import catalog.model.Book;
+import catalog.model.BookStatus;
+import catalog.model.Category;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import lending.model.Loan;
+import lending.model.LoanStatus;
+import membership.model.Member;
+import membership.model.MemberStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reporting.port.LibraryCounts;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LibraryStatisticsJpa.
+ *
+ * Runs the aggregate native query against an in-memory H2 schema generated from the
+ * entity mappings. H2 supports the {@code COUNT(*) FILTER (WHERE ...)} syntax used for
+ * PostgreSQL, so the query text is checked as written.
+ *
+ * Fixture:
+ *   - 2 categories
+ *   - 3 books: 1 available, 1 with no copies left, 1 discontinued
+ *   - 3 members: 2 active, 1 suspended
+ *   - 4 loans: 2 active (1 past due), 1 already flagged OVERDUE, 1 returned
+ */
+@DisplayName("LibraryStatisticsJpa")
+class LibraryStatisticsJpaTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static EntityManagerFactory emf;
+
+    @BeforeAll
+    static void deploy() {
+        emf = Persistence.createEntityManagerFactory("libraryTestPU", Map.of(
+                "jakarta.persistence.jdbc.url", "jdbc:h2:mem:statistics;MODE=LEGACY;DB_CLOSE_DELAY=-1",
+                "jakarta.persistence.schema-generation.database.action", "create"));
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Category fiction = new Category("Fiction", null);
+            em.persist(fiction);
+            em.persist(new Category("History", null));
+
+            Book available = book("978-0000000001", fiction, 2, BookStatus.AVAILABLE);
+            Book lentOut = book("978-0000000002", fiction, 0, BookStatus.AVAILABLE);
+            Book discontinued = book("978-0000000003", fiction, 1, BookStatus.DISCONTINUED);
+            em.persist(available);
+            em.persist(lentOut);
+            em.persist(discontinued);
+
+            Member ada = new Member("MEM-001", "Ada", "Lovelace", "ada@example.com", TODAY);
+            Member alan = new Member("MEM-002", "Alan", "Turing", "alan@example.com", TODAY);
+            Member grace = new Member("MEM-003", "Grace", "Hopper", "grace@example.com", TODAY);
+            grace.setStatus(MemberStatus.SUSPENDED);
+            em.persist(ada);
+            em.persist(alan);
+            em.persist(grace);
+
+            em.persist(loan(available, ada, TODAY.plusDays(7), LoanStatus.ACTIVE));
+            em.persist(loan(lentOut, ada, TODAY.minusDays(1), LoanStatus.ACTIVE));
+            em.persist(loan(lentOut, alan, TODAY.minusDays(5), LoanStatus.OVERDUE));
+            em.persist(loan(available, alan, TODAY.minusDays(2), LoanStatus.RETURNED));
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    @AfterAll
+    static void close() {
+        emf.close();
+    }
+
+    private static Book book(String isbn, Category category, int availableCopies, BookStatus status) {
+        Book book = new Book(isbn, "Title " + isbn, "Author");
+        book.setCategory(category);
+        book.setTotalCopies(2);
+        book.setAvailableCopies(availableCopies);
+        book.setStatus(status);
+        return book;
+    }
+
+    private static Loan loan(Book book, Member member, LocalDate dueDate, LoanStatus status) {
+        Loan loan = new Loan(book, member, TODAY);
+        loan.setDueDate(dueDate);
+        loan.setStatus(status);
+        return loan;
+    }
+
+    @Test
+    @DisplayName("Should return every dashboard count from a single aggregate query")
+    void shouldCountEverythingInOneQuery() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            LibraryCounts counts = new LibraryStatisticsJpa(em).countAll(TODAY);
+
+            // overdueLoans counts ACTIVE loans past due, matching LoanService.findOverdueLoans()
+            assertEquals(new LibraryCounts(3, 1, 3, 2, 2, 1, 2), counts);
+        } finally {
+            em.close();
+        }
+    }
+}
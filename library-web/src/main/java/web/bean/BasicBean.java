@@ -3,6 +3,7 @@ package web.bean;
 import common.exception.BusinessRuleException;
 import common.exception.DuplicateEntityException;
 import common.exception.EntityNotFoundException;
+import common.logging.LogSampler;
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.context.FacesContext;
 import jakarta.validation.ConstraintViolationException;
@@ -13,6 +14,7 @@ import java.util.logging.Logger;
 
 public abstract class BasicBean {
 
+    private static final LogSampler FAILURES = new LogSampler(50);
 
     protected void executeOperation(Runnable operation, String taskDescription, Logger logger) {
         try {
@@ -23,10 +25,10 @@ public abstract class BasicBean {
             addErrorMessage(businessRuleException.getMessage());
         } catch (Exception exception) {
             if(exception instanceof EntityNotFoundException){
-                logError(logger, "Entity not found: " + taskDescription, exception);
+                logFailure(logger, "Entity not found: ", taskDescription, exception);
             }
             if(exception instanceof DuplicateEntityException){
-                logError(logger, "Duplicate entity: " + taskDescription, exception);
+                logFailure(logger, "Duplicate entity: ", taskDescription, exception);
             }
             addErrorMessage("An error occurred while executing operation: " + taskDescription);
         }
@@ -62,14 +64,18 @@ public abstract class BasicBean {
         org.primefaces.PrimeFaces.current().executeScript(script);
     }
 
-    protected void logEntities(Collection<?> entities, Logger logger){
-        String message = "Logging entities: " + entities.size() + " entities";
-        logger.info(message);
-        entities.forEach(entity -> logger.info(entity.toString()));
+    protected void logLoaded(String label, Collection<?> entities, Logger logger){
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Loaded {0} {1}", new Object[]{entities.size(), label});
+        }
     }
 
     protected void logError(Logger logger, String message, Exception exception){
         logger.log(Level.SEVERE, message, exception);
     }
 
+    private void logFailure(Logger logger, String prefix, String taskDescription, Exception exception){
+        FAILURES.log(logger, Level.WARNING, prefix + taskDescription, exception, () -> prefix + taskDescription);
+    }
+
 }
@@ -13,7 +13,6 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -37,26 +36,20 @@ public class BookBean extends BasicBean implements Serializable {
         //Required by proxy
     }
 
-    private List<BookDTO> books;
-    private List<BookDTO> filteredBooks;
+    private SummaryDataModel<BookDTO> books;
     private List<CategoryDTO> categories;
     private BookDTO currentBook;
 
     @PostConstruct
     public void init() {
-        loadBooks();
+        books = new SummaryDataModel<>(bookService::findPage, bookService::count, BookDTO::getId);
         loadCategories();
         initNewBook();
     }
 
-    public void loadBooks() {
-        books = new ArrayList<>(bookService.findAll());
-        logEntities(books, logger);
-    }
-
     public void loadCategories() {
         categories = categoryService.findAll();
-        logEntities(categories, logger);
+        logLoaded("categories", categories, logger);
     }
 
     public void initNewBook() {
@@ -71,7 +64,6 @@ public class BookBean extends BasicBean implements Serializable {
             bookService.create(currentBook);
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book created successfully");
             initNewBook();
-            loadBooks();
         };
         executeOperation(operation, "Saving book", logger);
     }
@@ -80,7 +72,6 @@ public class BookBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             bookService.update(currentBook);
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book updated successfully");
-            loadBooks();
         };
         executeOperation(operation, "Updating book", logger);
     }
@@ -89,7 +80,6 @@ public class BookBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             bookService.delete(book.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book deleted successfully");
-            loadBooks();
         };
         executeOperation(operation, "Deleting book", logger);
     }
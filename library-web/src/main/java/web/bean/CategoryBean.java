@@ -42,7 +42,7 @@ public class CategoryBean extends BasicBean implements Serializable {
 
     public void loadCategories() {
         categories = new ArrayList<>(categoryService.findAll());
-        logEntities(categories, logger);
+        logLoaded("categories", categories, logger);
     }
 
     public void initNewCategory() {
@@ -1,18 +1,14 @@
 package web.bean;
 
-import catalog.dto.BookDTO;
-import catalog.usecase.BookService;
-import catalog.usecase.CategoryService;
 import jakarta.annotation.PostConstruct;
 import jakarta.faces.view.ViewScoped;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import lending.dto.LoanDTO;
-import lending.model.LoanStatus;
-import lending.usecase.LoanService;
 import lombok.Getter;
-import membership.model.MemberStatus;
-import membership.usecase.MemberService;
+import reporting.dto.DashboardStatistics;
+import reporting.port.LibraryCounts;
+import reporting.usecase.DashboardService;
 
 import java.io.Serializable;
 import java.util.List;
@@ -22,17 +18,11 @@ import java.util.List;
 @Getter
 public class DashboardBean implements Serializable {
 
-    private BookService bookService;
-    private CategoryService categoryService;
-    private MemberService memberService;
-    private LoanService loanService;
+    private DashboardService dashboardService;
 
     @Inject
-    public DashboardBean(BookService bookService, CategoryService categoryService, MemberService memberService, LoanService loanService) {
-        this.bookService = bookService;
-        this.categoryService = categoryService;
-        this.memberService = memberService;
-        this.loanService = loanService;
+    public DashboardBean(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
     }
 
     public DashboardBean(){
@@ -55,24 +45,17 @@ public class DashboardBean implements Serializable {
     }
 
     private void loadStatistics() {
-        var books = bookService.findAll();
-        totalBooks = books.size();
-        availableBooks = books.stream().filter(BookDTO::isAvailable).count();
-
-        var members = memberService.findAll();
-        totalMembers = members.size();
-        activeMembers = memberService.findByStatus(MemberStatus.ACTIVE).size();
-
-        var loans = loanService.findByStatus(LoanStatus.ACTIVE);
-        activeLoans = loans.size();
-        
-        overdueLoansDetail = loanService.findOverdueLoans();
-        overdueLoans = overdueLoansDetail.size();
-
-        totalCategories = categoryService.findAll().size();
-
-        recentLoans = loanService.findAll().stream()
-                .limit(5)
-                .toList();
+        DashboardStatistics statistics = dashboardService.getStatistics();
+        LibraryCounts counts = statistics.counts();
+        totalBooks = counts.totalBooks();
+        availableBooks = counts.availableBooks();
+        totalMembers = counts.totalMembers();
+        activeMembers = counts.activeMembers();
+        activeLoans = counts.activeLoans();
+        overdueLoans = counts.overdueLoans();
+        totalCategories = counts.totalCategories();
+
+        recentLoans = statistics.recentLoans();
+        overdueLoansDetail = statistics.overdueLoans();
     }
 }
@@ -1,6 +1,6 @@
 package web.bean;
 
-import catalog.dto.BookDTO;
+import catalog.dto.BookSuggestion;
 import catalog.usecase.BookService;
 import jakarta.annotation.PostConstruct;
 import jakarta.faces.view.ViewScoped;
@@ -11,12 +11,11 @@ import lending.model.LoanStatus;
 import lending.usecase.LoanService;
 import lombok.Getter;
 import lombok.Setter;
-import membership.dto.MemberDTO;
+import membership.dto.MemberSuggestion;
 import membership.model.MemberStatus;
 import membership.usecase.MemberService;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -27,16 +26,16 @@ import java.util.logging.Logger;
 public class LoanBean extends BasicBean implements Serializable {
 
     private static final Logger logger = Logger.getLogger(LoanBean.class.getName());
+    private static final int SUGGESTION_LIMIT = 10;
     private LoanService loanService;
     private BookService bookService;
     private MemberService memberService;
 
-    private List<LoanDTO> loans;
-    private List<LoanDTO> filteredLoans;
-    private List<BookDTO> availableBooks;
-    private List<MemberDTO> activeMembers;
+    private SummaryDataModel<LoanDTO> loans;
 
     private LoanDTO currentLoan;
+    private BookSuggestion selectedBook;
+    private MemberSuggestion selectedMember;
     private LoanStatus statusFilter;
 
     @Inject
@@ -52,46 +51,33 @@ public class LoanBean extends BasicBean implements Serializable {
 
     @PostConstruct
     public void init() {
-        loadLoans();
-        loadAvailableBooks();
-        loadActiveMembers();
+        loans = new SummaryDataModel<>(loanService::findPage, loanService::count, LoanDTO::getId);
         initNewLoan();
     }
 
-    public void loadLoans() {
-        if (statusFilter != null) {
-            loans = new ArrayList<>(loanService.findByStatus(statusFilter));
-        } else {
-            loans = new ArrayList<>(loanService.findAll());
-        }
-        logEntities(loans, logger);
-    }
-
-    public void loadAvailableBooks() {
-        availableBooks = bookService.findAvailable();
-        logEntities(availableBooks, logger);
+    public void initNewLoan() {
+        currentLoan = new LoanDTO();
+        selectedBook = null;
+        selectedMember = null;
     }
 
-    public void loadActiveMembers() {
-        activeMembers = memberService.findByStatus(MemberStatus.ACTIVE);
+    public List<BookSuggestion> completeBook(String query) {
+        return bookService.suggestAvailable(query, SUGGESTION_LIMIT);
     }
 
-    public void initNewLoan() {
-        currentLoan = new LoanDTO();
-        loadAvailableBooks();
-        loadActiveMembers();
+    public List<MemberSuggestion> completeMember(String query) {
+        return memberService.suggest(query, SUGGESTION_LIMIT, MemberStatus.ACTIVE);
     }
 
     public void borrowBook() {
         Runnable operation = () -> {
-            if (currentLoan.getBookId() == null || currentLoan.getMemberId() == null) {
+            if (selectedBook == null || selectedMember == null) {
                 addWarnMessage("Please select both a book and a member");
                 return;
             }
-            loanService.borrowBook(currentLoan.getBookId(), currentLoan.getMemberId(), currentLoan.getNotes());
+            loanService.borrowBook(selectedBook.id(), selectedMember.id(), currentLoan.getNotes());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book borrowed successfully");
             initNewLoan();
-            loadLoans();
         };
         executeOperation(operation, "Borrowing book", logger);
     }
@@ -100,8 +86,6 @@ public class LoanBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             loanService.returnBook(loan.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book returned successfully");
-            loadLoans();
-            loadAvailableBooks();
         };
         executeOperation(operation, "Returning book", logger);
     }
@@ -110,7 +94,6 @@ public class LoanBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             loanService.renewLoan(loan.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Loan renewed successfully");
-            loadLoans();
         };
         executeOperation(operation, "Renewing loan", logger);
     }
@@ -119,18 +102,17 @@ public class LoanBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             loanService.markAsLost(loan.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Book marked as lost");
-            loadLoans();
         };
         executeOperation(operation, "Marking book as lost", logger);
     }
 
     public void filterByStatus() {
-        loadLoans();
+        loans.setFixedFilter("status", statusFilter);
     }
 
     public void clearFilter() {
         statusFilter = null;
-        loadLoans();
+        loans.setFixedFilter("status", null);
     }
 
     public LoanStatus[] getStatuses() {
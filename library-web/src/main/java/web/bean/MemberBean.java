@@ -11,8 +11,6 @@ import membership.model.MemberStatus;
 import membership.usecase.MemberService;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.logging.Logger;
 
 @Named
@@ -24,8 +22,7 @@ public class MemberBean extends BasicBean implements Serializable {
     private static final Logger logger = Logger.getLogger(MemberBean.class.getName());
     private MemberService memberService;
 
-    private List<MemberDTO> members;
-    private List<MemberDTO> filteredMembers;
+    private SummaryDataModel<MemberDTO> members;
     private MemberDTO currentMember;
 
 
@@ -40,14 +37,10 @@ public class MemberBean extends BasicBean implements Serializable {
 
     @PostConstruct
     public void init() {
-        loadMembers();
+        members = new SummaryDataModel<>(memberService::findPage, memberService::count, MemberDTO::getId);
         initNewMember();
     }
 
-    public void loadMembers() {
-        members = new ArrayList<>(memberService.findAll());
-    }
-
     public void initNewMember() {
         currentMember = MemberDTO.builder()
                 .membershipNumber(memberService.generateMembershipNumber())
@@ -60,7 +53,6 @@ public class MemberBean extends BasicBean implements Serializable {
             memberService.create(currentMember);
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Member created successfully");
             initNewMember();
-            loadMembers();
         };
         executeOperation(operation, "Saving member", logger);
     }
@@ -69,7 +61,6 @@ public class MemberBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             memberService.update(currentMember);
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Member updated successfully");
-            loadMembers();
         };
         executeOperation(operation, "Updating member", logger);
     }
@@ -78,7 +69,6 @@ public class MemberBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             memberService.delete(member.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Member deleted successfully");
-            loadMembers();
         };
         executeOperation(operation, "Deleting member", logger);
     }
@@ -87,7 +77,6 @@ public class MemberBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             memberService.suspend(member.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Member suspended");
-            loadMembers();
         };
         executeOperation(operation, "Suspending member", logger);
     }
@@ -96,7 +85,6 @@ public class MemberBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             memberService.activate(member.getId());
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Member activated");
-            loadMembers();
         };
         executeOperation(operation, "Activating member", logger);
     }
@@ -105,7 +93,6 @@ public class MemberBean extends BasicBean implements Serializable {
         Runnable operation = () -> {
             memberService.renewMembership(member.getId(), 1);
             addInfoMessage(SummaryValues.SUCCESS.getDescription(), "Membership renewed for 1 year");
-            loadMembers();
         };
         executeOperation(operation, "Renewing membership", logger);
     }
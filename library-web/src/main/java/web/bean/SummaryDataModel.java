@@ -0,0 +1,103 @@
+package web.bean;
+
+import common.PageRequest;
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.model.SortOrder;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Lazy table model that asks the service for the visible page and the row count only, so
+ * a view-scoped bean holds one page instead of the whole table. Column sort and filter
+ * fields are passed through by name and checked against the repository's whitelist.
+ * Fixed filters set by the bean (such as a toolbar status menu) apply on top of them.
+ */
+public class SummaryDataModel<T> extends LazyDataModel<T> {
+
+    @FunctionalInterface
+    public interface PageLoader<T> extends Serializable {
+        List<T> load(PageRequest request);
+    }
+
+    @FunctionalInterface
+    public interface RowCounter extends Serializable {
+        long count(Map<String, String> filters);
+    }
+
+    @FunctionalInterface
+    public interface RowKey<T> extends Serializable {
+        Long of(T row);
+    }
+
+    private final PageLoader<T> loader;
+    private final RowCounter counter;
+    private final RowKey<T> rowKey;
+    private final Map<String, String> fixedFilters = new HashMap<>();
+
+    public SummaryDataModel(PageLoader<T> loader, RowCounter counter, RowKey<T> rowKey) {
+        this.loader = loader;
+        this.counter = counter;
+        this.rowKey = rowKey;
+    }
+
+    public void setFixedFilter(String field, Object value) {
+        if (value == null) {
+            fixedFilters.remove(field);
+        } else {
+            fixedFilters.put(field, text(value));
+        }
+    }
+
+    @Override
+    public int count(Map<String, FilterMeta> filterBy) {
+        return (int) Math.min(counter.count(filters(filterBy)), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<T> load(int first, int pageSize, Map<String, SortMeta> sortBy, Map<String, FilterMeta> filterBy) {
+        SortMeta sort = sortBy.values().stream()
+                .filter(SortMeta::isActive)
+                .findFirst()
+                .orElse(null);
+        return loader.load(new PageRequest(first, pageSize,
+                sort != null ? sort.getField() : null,
+                sort == null || sort.getOrder() != SortOrder.DESCENDING,
+                filters(filterBy)));
+    }
+
+    @Override
+    public String getRowKey(T row) {
+        return String.valueOf(rowKey.of(row));
+    }
+
+    @Override
+    public T getRowData(String key) {
+        List<T> page = getWrappedData();
+        if (page == null) {
+            return null;
+        }
+        return page.stream()
+                .filter(row -> Objects.equals(getRowKey(row), key))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Map<String, String> filters(Map<String, FilterMeta> filterBy) {
+        Map<String, String> filters = new HashMap<>();
+        filterBy.values().stream()
+                .filter(FilterMeta::isActive)
+                .forEach(filter -> filters.put(filter.getField(), text(filter.getFilterValue())));
+        filters.putAll(fixedFilters);
+        return filters;
+    }
+
+    private static String text(Object value) {
+        return value instanceof Enum<?> constant ? constant.name() : value.toString();
+    }
+}
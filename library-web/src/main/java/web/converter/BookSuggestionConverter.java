@@ -0,0 +1,38 @@
+package web.converter;
+
+import catalog.dto.BookSuggestion;
+import catalog.usecase.BookService;
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.convert.Converter;
+import jakarta.faces.convert.ConverterException;
+import jakarta.faces.convert.FacesConverter;
+import jakarta.inject.Inject;
+
+/**
+ * Turns the book ID posted by an autocomplete back into its suggestion with a lookup by
+ * ID, so the view does not have to keep the list of candidates it offered.
+ */
+@FacesConverter(forClass = BookSuggestion.class, managed = true)
+public class BookSuggestionConverter implements Converter<BookSuggestion> {
+
+    @Inject
+    private BookService bookService;
+
+    @Override
+    public BookSuggestion getAsObject(FacesContext context, UIComponent component, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return bookService.findById(SuggestionIds.parse(value, "book"))
+                .map(BookSuggestion::fromDto)
+                .orElseThrow(() -> new ConverterException(
+                        new FacesMessage(FacesMessage.SEVERITY_ERROR, "Book not found", "The selected book no longer exists")));
+    }
+
+    @Override
+    public String getAsString(FacesContext context, UIComponent component, BookSuggestion value) {
+        return value != null ? String.valueOf(value.id()) : "";
+    }
+}
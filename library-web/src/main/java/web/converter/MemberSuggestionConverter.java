@@ -0,0 +1,34 @@
+package web.converter;
+
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.convert.Converter;
+import jakarta.faces.convert.ConverterException;
+import jakarta.faces.convert.FacesConverter;
+import jakarta.inject.Inject;
+import membership.dto.MemberSuggestion;
+import membership.usecase.MemberService;
+
+@FacesConverter(forClass = MemberSuggestion.class, managed = true)
+public class MemberSuggestionConverter implements Converter<MemberSuggestion> {
+
+    @Inject
+    private MemberService memberService;
+
+    @Override
+    public MemberSuggestion getAsObject(FacesContext context, UIComponent component, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return memberService.findById(SuggestionIds.parse(value, "member"))
+                .map(MemberSuggestion::fromDto)
+                .orElseThrow(() -> new ConverterException(
+                        new FacesMessage(FacesMessage.SEVERITY_ERROR, "Member not found", "The selected member no longer exists")));
+    }
+
+    @Override
+    public String getAsString(FacesContext context, UIComponent component, MemberSuggestion value) {
+        return value != null ? String.valueOf(value.id()) : "";
+    }
+}
@@ -0,0 +1,19 @@
+package web.converter;
+
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.convert.ConverterException;
+
+final class SuggestionIds {
+
+    private SuggestionIds() {
+    }
+
+    static Long parse(String value, String entity) {
+        try {
+            return Long.valueOf(value.strip());
+        } catch (NumberFormatException e) {
+            throw new ConverterException(
+                    new FacesMessage(FacesMessage.SEVERITY_ERROR, "Invalid selection", "Choose a " + entity + " from the list"), e);
+        }
+    }
+}
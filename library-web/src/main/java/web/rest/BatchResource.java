@@ -0,0 +1,176 @@
+package web.rest;
+
+import catalog.usecase.BookService;
+import common.batch.BatchOutcome;
+import common.batch.BatchService;
+import common.batch.BatchStep;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Providers;
+import lending.usecase.LoanService;
+import membership.usecase.MemberService;
+import web.rest.dto.ApiResponse;
+import web.rest.dto.BatchOperation;
+import web.rest.dto.BatchRequest;
+import web.rest.dto.BatchResult;
+import web.rest.exception.ErrorResponse;
+import web.rest.mapper.BookMapper;
+import web.rest.mapper.MemberMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs an ordered list of book, member and loan writes in one request. In {@code ATOMIC}
+ * mode (the default) all operations share one transaction; in {@code CHUNKED} mode every
+ * {@code chunkSize} operations commit on their own. The response lists one result per
+ * operation, in request order.
+ */
+@Path("/batch")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class BatchResource {
+
+    private static final Logger logger = Logger.getLogger(BatchResource.class.getName());
+
+    static final String UNMAPPED_FAILURE_MESSAGE = "The operation could not be completed";
+
+    private BatchService batchService;
+    private BookService bookService;
+    private BookMapper bookMapper;
+    private MemberService memberService;
+    private MemberMapper memberMapper;
+    private LoanService loanService;
+    private ResourceExecutor executor;
+
+    public BatchResource() {
+    }
+
+    @Inject
+    public BatchResource(BatchService batchService, BookService bookService, BookMapper bookMapper,
+                         MemberService memberService, MemberMapper memberMapper, LoanService loanService,
+                         ResourceExecutor executor) {
+        this.batchService = batchService;
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+        this.memberService = memberService;
+        this.memberMapper = memberMapper;
+        this.loanService = loanService;
+        this.executor = executor;
+    }
+
+    @POST
+    public CompletionStage<Response> execute(@NotNull @Valid BatchRequest request, @Context Providers providers) {
+        List<BatchOperation> operations = request.getOperations();
+        List<BatchStep> steps = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            steps.add(toStep(index, operations.get(index)));
+        }
+        int chunkSize = request.getMode() == BatchRequest.Mode.CHUNKED
+                ? (request.getChunkSize() != null ? request.getChunkSize() : BatchRequest.DEFAULT_CHUNK_SIZE)
+                : steps.size();
+        return executor.supply(() -> {
+            List<BatchResult> results = batchService.execute(steps, chunkSize).stream()
+                    .map(outcome -> toResult(outcome, providers))
+                    .toList();
+            return Response.ok(new ApiResponse<>(results)).build();
+        });
+    }
+
+    private BatchStep toStep(int index, BatchOperation operation) {
+        String name = operation.getOp().name();
+        return switch (operation.getOp()) {
+            case BOOK_CREATE -> {
+                var dto = bookMapper.toDto(required(index, operation, operation.getBook(), "book"));
+                yield new BatchStep(name, () -> bookService.create(dto));
+            }
+            case BOOK_UPDATE_COPIES -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                int total = required(index, operation, operation.getTotal(), "total");
+                yield BatchStep.of(name, () -> bookService.updateCopies(id, total));
+            }
+            case BOOK_DELETE -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield BatchStep.of(name, () -> bookService.delete(id));
+            }
+            case MEMBER_CREATE -> {
+                var dto = memberMapper.toDto(required(index, operation, operation.getMember(), "member"));
+                yield new BatchStep(name, () -> memberService.create(dto));
+            }
+            case MEMBER_SUSPEND -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield new BatchStep(name, () -> memberService.suspend(id));
+            }
+            case MEMBER_ACTIVATE -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield new BatchStep(name, () -> memberService.activate(id));
+            }
+            case MEMBER_RENEW -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                int years = operation.getYears() != null ? operation.getYears() : 1;
+                yield new BatchStep(name, () -> memberService.renewMembership(id, years));
+            }
+            case LOAN_BORROW -> {
+                Long bookId = required(index, operation, operation.getBookId(), "bookId");
+                Long memberId = required(index, operation, operation.getMemberId(), "memberId");
+                yield new BatchStep(name, () -> loanService.borrowBook(bookId, memberId, operation.getNotes()));
+            }
+            case LOAN_RETURN -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield new BatchStep(name, () -> loanService.returnBook(id));
+            }
+            case LOAN_RENEW -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield new BatchStep(name, () -> loanService.renewLoan(id));
+            }
+            case LOAN_MARK_LOST -> {
+                Long id = required(index, operation, operation.getId(), "id");
+                yield new BatchStep(name, () -> loanService.markAsLost(id));
+            }
+        };
+    }
+
+    private static <T> T required(int index, BatchOperation operation, T value, String field) {
+        if (value == null) {
+            throw new BadRequestException("Operation " + index + " (" + operation.getOp() + ") requires '" + field + "'");
+        }
+        return value;
+    }
+
+    private static BatchResult toResult(BatchOutcome outcome, Providers providers) {
+        ErrorResponse error = outcome.failure() != null ? toError(outcome.failure(), providers) : null;
+        return new BatchResult(outcome.index(), outcome.operation(), outcome.status(), outcome.value(), error);
+    }
+
+    /**
+     * Renders a failure with the exception mapper registered for its type, so a batch entry
+     * carries the same status and body as the single-operation endpoint. A failure without a
+     * mapper is logged and reported with a generic message, since its own message may carry
+     * transaction or SQL details.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> ErrorResponse toError(E failure, Providers providers) {
+        ExceptionMapper<E> mapper = providers != null
+                ? providers.getExceptionMapper((Class<E>) failure.getClass())
+                : null;
+        if (mapper != null && mapper.toResponse(failure).getEntity() instanceof ErrorResponse error) {
+            return error;
+        }
+        logger.log(Level.WARNING, "Batch operation failed without an exception mapper", failure);
+        return ErrorResponse.of(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                "Internal Server Error", UNMAPPED_FAILURE_MESSAGE);
+    }
+}
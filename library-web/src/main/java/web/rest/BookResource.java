@@ -1,18 +1,25 @@
 package web.rest;
 
 import catalog.dto.BookDTO;
+import catalog.dto.BookSuggestion;
 import catalog.usecase.BookService;
+import common.Cursor;
+import common.FieldSet;
+import common.Lookup;
+import common.Page;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
-import web.rest.dto.ApiResponse;
 import web.rest.dto.BookCreateRequest;
 import web.rest.dto.BookUpdateRequest;
+import web.rest.dto.IdLookupRequest;
+import web.rest.dto.LookupRequest;
 import web.rest.mapper.BookMapper;
 
 import java.net.URI;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 @Path("/books")
 @Produces(MediaType.APPLICATION_JSON)
@@ -21,90 +28,171 @@ public class BookResource {
 
     private BookService bookService;
     private BookMapper bookMapper;
+    private ResourceExecutor executor;
 
     public BookResource() {
     }
 
     @Inject
-    public BookResource(BookService bookService, BookMapper bookMapper) {
+    public BookResource(BookService bookService, BookMapper bookMapper, ResourceExecutor executor) {
         this.bookService = bookService;
         this.bookMapper = bookMapper;
+        this.executor = executor;
     }
 
+    /**
+     * One page of the catalog in title order, at most {@link Page#MAX_LIMIT} rows. With {@code fields} the rows
+     * hold only those fields and are ordered by ID; the cursor only continues the listing it
+     * came from. The whole table is only served by the streaming {@code /export} endpoint.
+     */
     @GET
-    public ApiResponse<List<BookDTO>> findAll() {
-        return new ApiResponse<>(bookService.findAll());
+    public CompletionStage<Response> findAll(@QueryParam(SparseFields.PARAM) String fields,
+                                             @QueryParam("next") String next,
+                                             @QueryParam("limit") @DefaultValue("50") int limit,
+                                             @Context Request request) {
+        Cursor after = Pagination.cursor(next);
+        int pageSize = Pagination.limit(limit);
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, BookDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.collection(request, bookService.collectionVersion(),
+                    () -> bookService.findPage(fieldSet, after, pageSize)));
+        }
+        return executor.supply(() -> ConditionalGet.collection(request, bookService.collectionVersion(),
+                () -> bookService.findPage(after, pageSize)));
+    }
+
+    /**
+     * Same as {@link #findAll} without {@code fields}, kept for clients of the earlier path.
+     */
+    @GET
+    @Path("/page")
+    public CompletionStage<Page<BookDTO>> findPage(@QueryParam("next") String next,
+                                                   @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.findPage(after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        return bookService.findById(id)
-                .map(Response::ok)
-                .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+    public CompletionStage<Response> findById(@PathParam("id") Long id, @QueryParam(SparseFields.PARAM) String fields,
+                                              @Context Request request) {
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, BookDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.single(request, bookService.findVersion(id),
+                    () -> bookService.findById(id, fieldSet)));
+        }
+        return executor.supply(() -> ConditionalGet.single(request, bookService.findVersion(id),
+                () -> bookService.findById(id)));
     }
 
     @GET
     @Path("/isbn/{isbn}")
-    public Response findByIsbn(@PathParam("isbn") String isbn) {
-        return bookService.findByIsbn(isbn)
+    public CompletionStage<Response> findByIsbn(@PathParam("isbn") String isbn) {
+        return executor.supply(() -> bookService.findByIsbn(isbn)
                 .map(Response::ok)
                 .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+                .build());
+    }
+
+    @POST
+    @Path("/ids")
+    public CompletionStage<List<Lookup<Long, BookDTO>>> findAllById(@Valid IdLookupRequest request) {
+        return executor.supply(() -> bookService.findAllById(request.getIds()));
+    }
+
+    @POST
+    @Path("/isbn")
+    public CompletionStage<List<Lookup<String, BookDTO>>> findAllByIsbn(@Valid LookupRequest request) {
+        return executor.supply(() -> bookService.findAllByIsbn(request.getKeys()));
     }
 
     @GET
     @Path("/search/title")
-    public List<BookDTO> findByTitle(@QueryParam("title") String title) {
-        return bookService.findByTitle(title);
+    public CompletionStage<Page<BookDTO>> findByTitle(@QueryParam("title") String title,
+                                                      @QueryParam("next") String next,
+                                                      @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.findByTitle(title, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/search/author")
-    public List<BookDTO> findByAuthor(@QueryParam("author") String author) {
-        return bookService.findByAuthor(author);
+    public CompletionStage<Page<BookDTO>> findByAuthor(@QueryParam("author") String author,
+                                                       @QueryParam("next") String next,
+                                                       @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.findByAuthor(author, after, Pagination.limit(limit)));
+    }
+
+    @GET
+    @Path("/search")
+    public CompletionStage<Page<BookDTO>> search(@QueryParam("q") String query,
+                                                 @QueryParam("next") String next,
+                                                 @QueryParam("limit") @DefaultValue("50") int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query parameter 'q' is required");
+        }
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.search(query, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/available")
-    public List<BookDTO> findAvailable() {
-        return bookService.findAvailable();
+    public CompletionStage<Page<BookDTO>> findAvailable(@QueryParam("next") String next,
+                                                        @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.findAvailable(after, Pagination.limit(limit)));
+    }
+
+    @GET
+    @Path("/available/typeahead")
+    public CompletionStage<List<BookSuggestion>> typeahead(@QueryParam("q") String query,
+                                                           @QueryParam("limit") @DefaultValue("10") int limit) {
+        return executor.supply(() -> bookService.suggestAvailable(query, limit));
     }
 
     @GET
     @Path("/category/{categoryId}")
-    public List<BookDTO> findByCategory(@PathParam("categoryId") Long categoryId) {
-        return bookService.findByCategory(categoryId);
+    public CompletionStage<Page<BookDTO>> findByCategory(@PathParam("categoryId") Long categoryId,
+                                                         @QueryParam("next") String next,
+                                                         @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> bookService.findByCategory(categoryId, after, Pagination.limit(limit)));
     }
 
     @POST
-    public Response create(@Valid BookCreateRequest request, @Context UriInfo uriInfo) {
+    public CompletionStage<Response> create(@Valid BookCreateRequest request, @Context UriInfo uriInfo) {
         BookDTO dto = bookMapper.toDto(request);
-        BookDTO created = bookService.create(dto);
-        URI uriBuilder = uriInfo.getAbsolutePathBuilder().path(created.getId().toString()).build();
-        return Response.created(uriBuilder).entity(created).build();
+        UriBuilder location = uriInfo.getAbsolutePathBuilder();
+        return executor.supply(() -> {
+            BookDTO created = bookService.create(dto);
+            URI uri = location.path(created.getId().toString()).build();
+            return Response.created(uri).entity(created).build();
+        });
     }
 
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") Long id, @Valid BookUpdateRequest request) {
+    public CompletionStage<Response> update(@PathParam("id") Long id, @Valid BookUpdateRequest request) {
         BookDTO dto = bookMapper.toDto(id, request);
-        BookDTO updated = bookService.update(dto);
-        return Response.ok(updated).build();
+        return executor.supply(() -> Response.ok(bookService.update(dto)).build());
     }
 
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") Long id) {
-        bookService.delete(id);
-        return Response.noContent().build();
+    public CompletionStage<Response> delete(@PathParam("id") Long id) {
+        return executor.supply(() -> {
+            bookService.delete(id);
+            return Response.noContent().build();
+        });
     }
 
     @PATCH
     @Path("/{id}/copies")
-    public Response updateCopies(@PathParam("id") Long id, @QueryParam("total") int totalCopies) {
-        bookService.updateCopies(id, totalCopies);
-        return Response.ok().build();
+    public CompletionStage<Response> updateCopies(@PathParam("id") Long id, @QueryParam("total") int totalCopies) {
+        return executor.supply(() -> {
+            bookService.updateCopies(id, totalCopies);
+            return Response.ok().build();
+        });
     }
 }
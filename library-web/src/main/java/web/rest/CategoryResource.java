@@ -7,6 +7,7 @@ import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import web.rest.dto.ApiResponse;
 import web.rest.dto.CategoryCreateRequest;
 import web.rest.dto.CategoryUpdateRequest;
 import web.rest.mapper.CategoryMapper;
@@ -68,6 +69,13 @@ public class CategoryResource {
         return Response.ok(updated).build();
     }
 
+    @POST
+    @Path("/repair-book-counts")
+    public Response repairBookCounts() {
+        int repaired = categoryService.repairBookCounts();
+        return Response.ok(new ApiResponse<>(repaired)).build();
+    }
+
     @DELETE
     @Path("/{id}")
     public Response delete(@PathParam("id") Long id) {
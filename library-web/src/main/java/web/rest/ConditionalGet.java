@@ -0,0 +1,65 @@
+package web.rest;
+
+import common.RowVersion;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET against a version read ahead of the representation. The preconditions are
+ * evaluated on the version alone, so a 304 never loads, maps or serializes the DTOs.
+ *
+ * The tags are weak: the same version is sent gzip-compressed or plain depending on the
+ * client, and a strong tag would have to differ between those encodings.
+ *
+ * The representation is loaded after the version; a write in between can pair a newer body
+ * with the older tag, which only costs the client one extra full response later.
+ */
+final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = new CacheControl();
+
+    static {
+        REVALIDATE.setNoCache(true);
+    }
+
+    private ConditionalGet() {
+    }
+
+    static Response single(Request request, Optional<RowVersion> version, Supplier<? extends Optional<?>> representation) {
+        return version
+                .map(found -> respond(request, found, () -> representation.get().orElse(null)))
+                .orElseGet(ConditionalGet::notFound);
+    }
+
+    static Response collection(Request request, RowVersion version, Supplier<?> representation) {
+        return respond(request, version, representation);
+    }
+
+    private static Response respond(Request request, RowVersion version, Supplier<?> representation) {
+        EntityTag tag = new EntityTag(version.tag(), true);
+        Date lastModified = Date.from(version.lastModified());
+        Response.ResponseBuilder precondition = request.evaluatePreconditions(lastModified, tag);
+        if (precondition != null) {
+            return validators(precondition, tag, lastModified).build();
+        }
+        Object entity = representation.get();
+        if (entity == null) {
+            return notFound();
+        }
+        return validators(Response.ok(entity), tag, lastModified).build();
+    }
+
+    private static Response.ResponseBuilder validators(Response.ResponseBuilder builder, EntityTag tag, Date lastModified) {
+        return builder.tag(tag).lastModified(lastModified).cacheControl(REVALIDATE);
+    }
+
+    private static Response notFound() {
+        return Response.status(Response.Status.NOT_FOUND).build();
+    }
+}
@@ -0,0 +1,54 @@
+package web.rest;
+
+import common.adapter.CacheCounters;
+import common.adapter.EntityCacheStatistics;
+import common.retry.RetryCounters;
+import common.retry.RetryStatistics;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import web.rest.compression.CompressionCounters;
+import web.rest.compression.CompressionStatistics;
+import web.rest.dto.ApiResponse;
+
+import java.util.Map;
+
+@Path("/diagnostics")
+@Produces(MediaType.APPLICATION_JSON)
+public class DiagnosticsResource {
+
+    private RetryStatistics retryStatistics;
+    private EntityCacheStatistics entityCacheStatistics;
+    private CompressionStatistics compressionStatistics;
+
+    public DiagnosticsResource() {
+    }
+
+    @Inject
+    public DiagnosticsResource(RetryStatistics retryStatistics, EntityCacheStatistics entityCacheStatistics,
+                               CompressionStatistics compressionStatistics) {
+        this.retryStatistics = retryStatistics;
+        this.entityCacheStatistics = entityCacheStatistics;
+        this.compressionStatistics = compressionStatistics;
+    }
+
+    @GET
+    @Path("/optimistic-lock-retries")
+    public ApiResponse<Map<String, RetryCounters>> optimisticLockRetries() {
+        return new ApiResponse<>(retryStatistics.snapshot());
+    }
+
+    @GET
+    @Path("/entity-cache")
+    public ApiResponse<Map<String, CacheCounters>> entityCache() {
+        return new ApiResponse<>(entityCacheStatistics.snapshot());
+    }
+
+    @GET
+    @Path("/compression")
+    public ApiResponse<Map<String, CompressionCounters>> compression() {
+        return new ApiResponse<>(compressionStatistics.snapshot());
+    }
+}
@@ -0,0 +1,77 @@
+package web.rest;
+
+import catalog.usecase.BookService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import lending.usecase.LoanService;
+import membership.usecase.MemberService;
+import web.rest.export.CsvColumn;
+import web.rest.export.ExportColumns;
+import web.rest.export.ExportFormat;
+import web.rest.export.RowWriter;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Path("/export")
+@Produces({"application/x-ndjson", "text/csv"})
+public class ExportResource {
+
+    private BookService bookService;
+    private MemberService memberService;
+    private LoanService loanService;
+
+    public ExportResource() {
+    }
+
+    @Inject
+    public ExportResource(BookService bookService, MemberService memberService, LoanService loanService) {
+        this.bookService = bookService;
+        this.memberService = memberService;
+        this.loanService = loanService;
+    }
+
+    @GET
+    @Path("/books")
+    public Response exportBooks(@QueryParam("format") @DefaultValue("ndjson") ExportFormat format) {
+        return export("books", format, ExportColumns.BOOKS, bookService::exportAll);
+    }
+
+    @GET
+    @Path("/members")
+    public Response exportMembers(@QueryParam("format") @DefaultValue("ndjson") ExportFormat format) {
+        return export("members", format, ExportColumns.MEMBERS, memberService::exportAll);
+    }
+
+    @GET
+    @Path("/loans")
+    public Response exportLoans(@QueryParam("format") @DefaultValue("ndjson") ExportFormat format) {
+        return export("loans", format, ExportColumns.LOANS, loanService::exportAll);
+    }
+
+    private <T> Response export(String name, ExportFormat format, List<CsvColumn<T>> columns,
+                                Consumer<Consumer<T>> exporter) {
+        StreamingOutput body = output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            RowWriter<T> rows = format.writer(writer, columns);
+            rows.writeHeader();
+            exporter.accept(rows::accept);
+            writer.flush();
+        };
+        return Response.ok(body, format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .build();
+    }
+}
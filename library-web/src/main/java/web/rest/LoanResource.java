@@ -1,15 +1,25 @@
 package web.rest;
 
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
 import lending.dto.LoanDTO;
 import lending.model.LoanStatus;
+import lending.usecase.BorrowMode;
 import lending.usecase.LoanService;
 import jakarta.inject.Inject;
+import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import web.rest.dto.ApiResponse;
+import web.rest.dto.CheckoutRequest;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 
 @Path("/loans")
 @Produces(MediaType.APPLICATION_JSON)
@@ -17,101 +27,154 @@ import java.util.List;
 public class LoanResource {
 
     private LoanService loanService;
+    private ResourceExecutor executor;
 
     public LoanResource() {
     }
 
     @Inject
-    public LoanResource(LoanService loanService) {
+    public LoanResource(LoanService loanService, ResourceExecutor executor) {
         this.loanService = loanService;
+        this.executor = executor;
     }
 
+    /**
+     * One page of the loans, newest first, at most {@link Page#MAX_LIMIT} rows. With {@code fields} the rows
+     * hold only those fields and are ordered by ID; the cursor only continues the listing it
+     * came from. The whole table is only served by the streaming {@code /export} endpoint.
+     */
     @GET
-    public List<LoanDTO> findAll() {
-        return loanService.findAll();
+    public CompletionStage<Response> findAll(@QueryParam(SparseFields.PARAM) String fields,
+                                             @QueryParam("next") String next,
+                                             @QueryParam("limit") @DefaultValue("50") int limit,
+                                             @Context Request request) {
+        Cursor after = Pagination.cursor(next);
+        int pageSize = Pagination.limit(limit);
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, LoanDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.collection(request, loanService.collectionVersion(),
+                    () -> loanService.findPage(fieldSet, after, pageSize)));
+        }
+        return executor.supply(() -> ConditionalGet.collection(request, loanService.collectionVersion(),
+                () -> loanService.findPage(after, pageSize)));
+    }
+
+    /**
+     * Same as {@link #findAll} without {@code fields}, kept for clients of the earlier path.
+     */
+    @GET
+    @Path("/page")
+    public CompletionStage<Page<LoanDTO>> findPage(@QueryParam("next") String next,
+                                                   @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> loanService.findPage(after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        return loanService.findById(id)
-                .map(Response::ok)
-                .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+    public CompletionStage<Response> findById(@PathParam("id") Long id, @QueryParam(SparseFields.PARAM) String fields,
+                                              @Context Request request) {
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, LoanDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.single(request, loanService.findVersion(id),
+                    () -> loanService.findById(id, fieldSet)));
+        }
+        return executor.supply(() -> ConditionalGet.single(request, loanService.findVersion(id),
+                () -> loanService.findById(id)));
     }
 
     @GET
     @Path("/member/{memberId}")
-    public List<LoanDTO> findByMember(@PathParam("memberId") Long memberId) {
-        return loanService.findByMember(memberId);
+    public CompletionStage<Page<LoanDTO>> findByMember(@PathParam("memberId") Long memberId,
+                                                       @QueryParam("next") String next,
+                                                       @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> loanService.findByMember(memberId, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/member/{memberId}/active")
-    public List<LoanDTO> findActiveByMember(@PathParam("memberId") Long memberId) {
-        return loanService.findActiveByMember(memberId);
+    public CompletionStage<List<LoanDTO>> findActiveByMember(@PathParam("memberId") Long memberId) {
+        return executor.supply(() -> loanService.findActiveByMember(memberId));
     }
 
     @GET
     @Path("/book/{bookId}")
-    public List<LoanDTO> findByBook(@PathParam("bookId") Long bookId) {
-        return loanService.findByBook(bookId);
+    public CompletionStage<Page<LoanDTO>> findByBook(@PathParam("bookId") Long bookId,
+                                                     @QueryParam("next") String next,
+                                                     @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> loanService.findByBook(bookId, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/status/{status}")
-    public List<LoanDTO> findByStatus(@PathParam("status") LoanStatus status) {
-        return loanService.findByStatus(status);
+    public CompletionStage<Page<LoanDTO>> findByStatus(@PathParam("status") LoanStatus status,
+                                                       @QueryParam("next") String next,
+                                                       @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> loanService.findByStatus(status, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/overdue")
-    public List<LoanDTO> findOverdueLoans() {
-        return loanService.findOverdueLoans();
+    public CompletionStage<Page<LoanDTO>> findOverdueLoans(@QueryParam("next") String next,
+                                                           @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> loanService.findOverdueLoans(after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/due-before")
-    public List<LoanDTO> findLoansDueBefore(@QueryParam("date") String dateStr) {
+    public CompletionStage<Page<LoanDTO>> findLoansDueBefore(@QueryParam("date") String dateStr,
+                                                             @QueryParam("next") String next,
+                                                             @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
         LocalDate date = LocalDate.parse(dateStr);
-        return loanService.findLoansDueBefore(date);
+        return executor.supply(() -> loanService.findLoansDueBefore(date, after, Pagination.limit(limit)));
     }
 
     @POST
     @Path("/borrow")
-    public Response borrowBook(
+    public CompletionStage<Response> borrowBook(
             @QueryParam("bookId") Long bookId,
             @QueryParam("memberId") Long memberId,
-            @QueryParam("notes") String notes) {
-        LoanDTO loan = loanService.borrowBook(bookId, memberId, notes);
-        return Response.status(Response.Status.CREATED).entity(loan).build();
+            @QueryParam("notes") String notes,
+            @QueryParam("mode") @DefaultValue("optimistic") BorrowMode mode) {
+        return executor.supply(() -> Response.status(Response.Status.CREATED)
+                .entity(loanService.borrowBook(bookId, memberId, notes, mode))
+                .build());
+    }
+
+    @POST
+    @Path("/checkout")
+    public CompletionStage<Response> checkout(@Valid CheckoutRequest request) {
+        return executor.supply(() -> Response.status(Response.Status.CREATED)
+                .entity(loanService.checkout(request.getMemberId(), request.getBookIds(), request.getNotes()))
+                .build());
     }
 
     @POST
     @Path("/{id}/return")
-    public Response returnBook(@PathParam("id") Long id) {
-        LoanDTO loan = loanService.returnBook(id);
-        return Response.ok(loan).build();
+    public CompletionStage<Response> returnBook(@PathParam("id") Long id) {
+        return executor.supply(() -> Response.ok(loanService.returnBook(id)).build());
     }
 
     @POST
     @Path("/{id}/renew")
-    public Response renewLoan(@PathParam("id") Long id) {
-        LoanDTO loan = loanService.renewLoan(id);
-        return Response.ok(loan).build();
+    public CompletionStage<Response> renewLoan(@PathParam("id") Long id) {
+        return executor.supply(() -> Response.ok(loanService.renewLoan(id)).build());
     }
 
     @POST
     @Path("/{id}/lost")
-    public Response markAsLost(@PathParam("id") Long id) {
-        LoanDTO loan = loanService.markAsLost(id);
-        return Response.ok(loan).build();
+    public CompletionStage<Response> markAsLost(@PathParam("id") Long id) {
+        return executor.supply(() -> Response.ok(loanService.markAsLost(id)).build());
     }
 
     @POST
     @Path("/update-overdue-status")
-    public Response updateOverdueStatus() {
-        loanService.updateOverdueStatus();
-        return Response.ok().build();
+    public CompletionStage<Response> updateOverdueStatus() {
+        return executor.supply(() -> Response.ok(new ApiResponse<>(loanService.updateOverdueStatus())).build());
     }
 }
@@ -1,18 +1,29 @@
 package web.rest;
 
+import common.Cursor;
+import common.FieldSet;
+import common.Lookup;
+import common.Page;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import membership.dto.MemberDTO;
+import membership.dto.MemberSuggestion;
 import membership.model.MemberStatus;
 import membership.usecase.MemberService;
+import web.rest.dto.IdLookupRequest;
+import web.rest.dto.LookupRequest;
 import web.rest.dto.MemberCreateRequest;
 import web.rest.dto.MemberUpdateRequest;
 import web.rest.mapper.MemberMapper;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 @Path("/members")
 @Produces(MediaType.APPLICATION_JSON)
@@ -21,107 +32,166 @@ public class MemberResource {
 
     private MemberService memberService;
     private MemberMapper memberMapper;
+    private ResourceExecutor executor;
 
     public MemberResource() {
     }
 
     @Inject
-    public MemberResource(MemberService memberService, MemberMapper memberMapper) {
+    public MemberResource(MemberService memberService, MemberMapper memberMapper, ResourceExecutor executor) {
         this.memberService = memberService;
         this.memberMapper = memberMapper;
+        this.executor = executor;
     }
 
+    /**
+     * One page of the members in last-name order, at most {@link Page#MAX_LIMIT} rows. With {@code fields} the rows
+     * hold only those fields and are ordered by ID; the cursor only continues the listing it
+     * came from. The whole table is only served by the streaming {@code /export} endpoint.
+     */
     @GET
-    public List<MemberDTO> findAll() {
-        return memberService.findAll();
+    public CompletionStage<Response> findAll(@QueryParam(SparseFields.PARAM) String fields,
+                                             @QueryParam("next") String next,
+                                             @QueryParam("limit") @DefaultValue("50") int limit,
+                                             @Context Request request) {
+        Cursor after = Pagination.cursor(next);
+        int pageSize = Pagination.limit(limit);
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, MemberDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.collection(request, memberService.collectionVersion(),
+                    () -> memberService.findPage(fieldSet, after, pageSize)));
+        }
+        return executor.supply(() -> ConditionalGet.collection(request, memberService.collectionVersion(),
+                () -> memberService.findPage(after, pageSize)));
+    }
+
+    /**
+     * Same as {@link #findAll} without {@code fields}, kept for clients of the earlier path.
+     */
+    @GET
+    @Path("/page")
+    public CompletionStage<Page<MemberDTO>> findPage(@QueryParam("next") String next,
+                                                     @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> memberService.findPage(after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/{id}")
-    public Response findById(@PathParam("id") Long id) {
-        return memberService.findById(id)
-                .map(Response::ok)
-                .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+    public CompletionStage<Response> findById(@PathParam("id") Long id, @QueryParam(SparseFields.PARAM) String fields,
+                                              @Context Request request) {
+        if (fields != null) {
+            FieldSet fieldSet = SparseFields.parse(fields, MemberDTO.FIELDS);
+            return executor.supply(() -> ConditionalGet.single(request, memberService.findVersion(id),
+                    () -> memberService.findById(id, fieldSet)));
+        }
+        return executor.supply(() -> ConditionalGet.single(request, memberService.findVersion(id),
+                () -> memberService.findById(id)));
     }
 
     @GET
     @Path("/membership/{membershipNumber}")
-    public Response findByMembershipNumber(@PathParam("membershipNumber") String membershipNumber) {
-        return memberService.findByMembershipNumber(membershipNumber)
+    public CompletionStage<Response> findByMembershipNumber(@PathParam("membershipNumber") String membershipNumber) {
+        return executor.supply(() -> memberService.findByMembershipNumber(membershipNumber)
                 .map(Response::ok)
                 .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+                .build());
+    }
+
+    @POST
+    @Path("/ids")
+    public CompletionStage<List<Lookup<Long, MemberDTO>>> findAllById(@Valid IdLookupRequest request) {
+        return executor.supply(() -> memberService.findAllById(request.getIds()));
+    }
+
+    @POST
+    @Path("/membership")
+    public CompletionStage<List<Lookup<String, MemberDTO>>> findAllByMembershipNumber(@Valid LookupRequest request) {
+        return executor.supply(() -> memberService.findAllByMembershipNumber(request.getKeys()));
     }
 
     @GET
     @Path("/email/{email}")
-    public Response findByEmail(@PathParam("email") String email) {
-        return memberService.findByEmail(email)
+    public CompletionStage<Response> findByEmail(@PathParam("email") String email) {
+        return executor.supply(() -> memberService.findByEmail(email)
                 .map(Response::ok)
                 .orElse(Response.status(Response.Status.NOT_FOUND))
-                .build();
+                .build());
     }
 
     @GET
     @Path("/status/{status}")
-    public List<MemberDTO> findByStatus(@PathParam("status") MemberStatus status) {
-        return memberService.findByStatus(status);
+    public CompletionStage<Page<MemberDTO>> findByStatus(@PathParam("status") MemberStatus status,
+                                                         @QueryParam("next") String next,
+                                                         @QueryParam("limit") @DefaultValue("50") int limit) {
+        Cursor after = Pagination.cursor(next);
+        return executor.supply(() -> memberService.findByStatus(status, after, Pagination.limit(limit)));
     }
 
     @GET
     @Path("/search/name")
-    public List<MemberDTO> findByName(@QueryParam("q") String name) {
-        return memberService.findByName(name);
+    public CompletionStage<List<MemberDTO>> findByName(@QueryParam("q") String name,
+                                                       @QueryParam("limit") @DefaultValue("50") int limit) {
+        return executor.supply(() -> memberService.findByName(name, limit));
+    }
+
+    @GET
+    @Path("/typeahead")
+    public CompletionStage<List<MemberSuggestion>> typeahead(@QueryParam("q") String query,
+                                                             @QueryParam("limit") @DefaultValue("10") int limit,
+                                                             @QueryParam("status") MemberStatus status) {
+        if (query == null || query.isBlank()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return executor.supply(() -> memberService.suggest(query, limit, status));
     }
 
     @POST
-    public Response create(@Valid MemberCreateRequest request) {
+    public CompletionStage<Response> create(@Valid MemberCreateRequest request) {
         MemberDTO dto = memberMapper.toDto(request);
-        MemberDTO created = memberService.create(dto);
-        return Response.status(Response.Status.CREATED).entity(created).build();
+        return executor.supply(() -> Response.status(Response.Status.CREATED)
+                .entity(memberService.create(dto))
+                .build());
     }
 
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") Long id, @Valid MemberUpdateRequest request) {
+    public CompletionStage<Response> update(@PathParam("id") Long id, @Valid MemberUpdateRequest request) {
         MemberDTO dto = memberMapper.toDto(id, request);
-        MemberDTO updated = memberService.update(dto);
-        return Response.ok(updated).build();
+        return executor.supply(() -> Response.ok(memberService.update(dto)).build());
     }
 
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") Long id) {
-        memberService.delete(id);
-        return Response.noContent().build();
+    public CompletionStage<Response> delete(@PathParam("id") Long id) {
+        return executor.supply(() -> {
+            memberService.delete(id);
+            return Response.noContent().build();
+        });
     }
 
     @POST
     @Path("/{id}/suspend")
-    public Response suspend(@PathParam("id") Long id) {
-        MemberDTO member = memberService.suspend(id);
-        return Response.ok(member).build();
+    public CompletionStage<Response> suspend(@PathParam("id") Long id) {
+        return executor.supply(() -> Response.ok(memberService.suspend(id)).build());
     }
 
     @POST
     @Path("/{id}/activate")
-    public Response activate(@PathParam("id") Long id) {
-        MemberDTO member = memberService.activate(id);
-        return Response.ok(member).build();
+    public CompletionStage<Response> activate(@PathParam("id") Long id) {
+        return executor.supply(() -> Response.ok(memberService.activate(id)).build());
     }
 
     @POST
     @Path("/{id}/renew")
-    public Response renewMembership(@PathParam("id") Long id, @QueryParam("years") @DefaultValue("1") int years) {
-        MemberDTO member = memberService.renewMembership(id, years);
-        return Response.ok(member).build();
+    public CompletionStage<Response> renewMembership(@PathParam("id") Long id,
+                                                     @QueryParam("years") @DefaultValue("1") int years) {
+        return executor.supply(() -> Response.ok(memberService.renewMembership(id, years)).build());
     }
 
     @GET
     @Path("/generate-membership-number")
-    public Response generateMembershipNumber() {
-        String membershipNumber = memberService.generateMembershipNumber();
-        return Response.ok(membershipNumber).build();
+    public CompletionStage<Response> generateMembershipNumber() {
+        return executor.supply(() -> Response.ok(memberService.generateMembershipNumber()).build());
     }
 }
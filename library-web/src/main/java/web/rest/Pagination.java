@@ -0,0 +1,23 @@
+package web.rest;
+
+import common.Cursor;
+import common.Page;
+import jakarta.ws.rs.BadRequestException;
+
+final class Pagination {
+
+    private Pagination() {
+    }
+
+    static Cursor cursor(String next) {
+        try {
+            return Cursor.decode(next);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid page cursor: " + next, exception);
+        }
+    }
+
+    static int limit(int limit) {
+        return Page.clampLimit(limit);
+    }
+}
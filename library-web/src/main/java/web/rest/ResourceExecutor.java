@@ -0,0 +1,129 @@
+package web.rest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorDefinition;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs the body of a REST resource method off the HTTP worker thread, so that a request
+ * waiting on JDBC holds a cheap executor thread instead of one of the container's request
+ * threads. Resources return the {@link CompletionStage} and the REST runtime resumes the
+ * response when it completes.
+ *
+ * Two managed executors are defined, and the {@value #THREADS_PROPERTY} system property picks
+ * one at deployment: {@code virtual} (the default) starts a virtual thread per call,
+ * {@code platform} runs at most {@value #PLATFORM_MAX_ASYNC} calls at once on pooled platform
+ * threads and queues the rest. Both propagate the application and security context.
+ *
+ * Neither executor refuses work, so admission is bounded here: the {@value #MAX_IN_FLIGHT_PROPERTY}
+ * system property (default {@value #DEFAULT_MAX_IN_FLIGHT}) caps the calls running or queued at
+ * once, and a call beyond the cap answers 503 without being submitted.
+ */
+@ManagedExecutorDefinition(name = ResourceExecutor.PLATFORM_EXECUTOR, maxAsync = ResourceExecutor.PLATFORM_MAX_ASYNC)
+@ManagedExecutorDefinition(name = ResourceExecutor.VIRTUAL_EXECUTOR, virtual = true)
+@ApplicationScoped
+public class ResourceExecutor {
+
+    static final String THREADS_PROPERTY = "library.rest.threads";
+    static final String PLATFORM_EXECUTOR = "java:app/concurrent/RestPlatformExecutor";
+    static final String VIRTUAL_EXECUTOR = "java:app/concurrent/RestVirtualExecutor";
+    static final int PLATFORM_MAX_ASYNC = 64;
+    static final String MAX_IN_FLIGHT_PROPERTY = "library.rest.max-in-flight";
+    static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+    private static final Logger logger = Logger.getLogger(ResourceExecutor.class.getName());
+
+    enum Threads {
+        PLATFORM, VIRTUAL;
+
+        static Threads parse(String value) {
+            if (value == null || value.isBlank()) {
+                return VIRTUAL;
+            }
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    static int parseMaxInFlight(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MAX_IN_FLIGHT;
+        }
+        int maxInFlight = Integer.parseInt(value.strip());
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(MAX_IN_FLIGHT_PROPERTY + " must be at least 1: " + value);
+        }
+        return maxInFlight;
+    }
+
+    @Resource(lookup = PLATFORM_EXECUTOR)
+    ManagedExecutorService platformExecutor;
+
+    @Resource(lookup = VIRTUAL_EXECUTOR)
+    ManagedExecutorService virtualExecutor;
+
+    private Executor executor;
+
+    private Semaphore admissions;
+
+    public ResourceExecutor() {
+    }
+
+    ResourceExecutor(Executor executor) {
+        this(executor, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    ResourceExecutor(Executor executor, int maxInFlight) {
+        this.executor = executor;
+        this.admissions = new Semaphore(maxInFlight);
+    }
+
+    @PostConstruct
+    void selectExecutor() {
+        Threads threads = Threads.parse(System.getProperty(THREADS_PROPERTY));
+        int maxInFlight = parseMaxInFlight(System.getProperty(MAX_IN_FLIGHT_PROPERTY));
+        executor = threads == Threads.VIRTUAL ? virtualExecutor : platformExecutor;
+        admissions = new Semaphore(maxInFlight);
+        logger.info(() -> "REST resources run on " + threads.name().toLowerCase(Locale.ROOT)
+                + " threads, at most " + maxInFlight + " in flight");
+    }
+
+    /**
+     * Runs {@code work} on the selected executor. The stage completes with the value or with the
+     * exception thrown, unwrapped, so the exception mappers see the original type. When the
+     * in-flight limit is reached, or the executor rejects the task, the call answers 503 at once
+     * instead of queueing.
+     */
+    public <T> CompletionStage<T> supply(Supplier<T> work) {
+        if (!admissions.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many concurrent requests", 1L);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(work.get());
+                } catch (RuntimeException | Error exception) {
+                    result.completeExceptionally(exception);
+                } finally {
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            admissions.release();
+            throw new ServiceUnavailableException("Too many concurrent requests", 1L, exception);
+        }
+        return result;
+    }
+}
@@ -2,10 +2,12 @@ package web.rest;
 
 import jakarta.ws.rs.ApplicationPath;
 import jakarta.ws.rs.core.Application;
+import web.rest.compression.CompressionInterceptor;
 import web.rest.exception.BusinessRuleExceptionMapper;
 import web.rest.exception.ConstraintViolationExceptionMapper;
 import web.rest.exception.DuplicateEntityExceptionMapper;
 import web.rest.exception.EntityNotFoundExceptionMapper;
+import web.rest.exception.InvalidCursorExceptionMapper;
 
 import java.util.Set;
 
@@ -18,8 +20,13 @@ public class RestApplicationV1 extends Application {
                 MemberResource.class,
                 CategoryResource.class,
                 LoanResource.class,
+                BatchResource.class,
+                ExportResource.class,
+                DiagnosticsResource.class,
+                CompressionInterceptor.class,
                 DuplicateEntityExceptionMapper.class,
                 EntityNotFoundExceptionMapper.class,
+                InvalidCursorExceptionMapper.class,
                 ConstraintViolationExceptionMapper.class,
                 BusinessRuleExceptionMapper.class);
     }
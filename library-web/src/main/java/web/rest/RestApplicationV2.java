@@ -2,6 +2,7 @@ package web.rest;
 
 import jakarta.ws.rs.ApplicationPath;
 import jakarta.ws.rs.core.Application;
+import web.rest.compression.CompressionInterceptor;
 
 import java.util.Set;
 
@@ -10,6 +11,6 @@ public class RestApplicationV2 extends Application {
 
     @Override
     public Set<Class<?>> getClasses() {
-        return Set.of(ApplicationState.class);
+        return Set.of(ApplicationState.class, CompressionInterceptor.class);
     }
 }
@@ -0,0 +1,26 @@
+package web.rest;
+
+import common.FieldSet;
+import jakarta.ws.rs.BadRequestException;
+
+import java.util.Collection;
+
+/**
+ * Reads the {@code fields} query parameter. Without it a resource returns its full DTO; with it
+ * the rows are read through the field projection and serialized as maps holding only those keys.
+ */
+final class SparseFields {
+
+    static final String PARAM = "fields";
+
+    private SparseFields() {
+    }
+
+    static FieldSet parse(String fields, Collection<String> allowed) {
+        try {
+            return FieldSet.parse(fields, allowed);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Invalid fields parameter: " + exception.getMessage(), exception);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package web.rest.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Entity stream that holds the first {@code threshold} bytes back. A body that fits is written
+ * through unchanged when the stream is finished; once the threshold is crossed, and before a
+ * single byte reaches the container, {@code onCompress} sets the response headers and the rest
+ * of the body is compressed with a pooled deflater.
+ *
+ * {@link #flush()} sync-flushes the deflater, so a streamed export reaches the client as it is
+ * written instead of at close; a body still under the threshold stays held back.
+ *
+ * Deflating is timed twice: wall time always, and CPU time only where the thread supports it.
+ * Virtual threads have no per-thread CPU time, so on them only the wall time is recorded.
+ */
+final class CompressingOutputStream extends OutputStream {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final OutputStream target;
+    private final ContentEncoding encoding;
+    private final DeflaterPool pool;
+    private final Runnable onCompress;
+    private final byte[] pending;
+    private final byte[] chunk = new byte[8192];
+
+    private int pendingLength;
+    private Deflater deflater;
+    private CRC32 crc;
+    private boolean compressed;
+    private boolean finished;
+    private boolean unflushed;
+
+    private long bytesIn;
+    private long bytesOut;
+    private long cpuNanos;
+    private long wallNanos;
+
+    CompressingOutputStream(OutputStream target, ContentEncoding encoding, DeflaterPool pool,
+                            int threshold, Runnable onCompress) {
+        this.target = target;
+        this.encoding = encoding;
+        this.pool = pool;
+        this.onCompress = onCompress;
+        this.pending = new byte[threshold];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished");
+        }
+        bytesIn += len;
+        if (deflater == null) {
+            if (pendingLength + len <= pending.length) {
+                System.arraycopy(b, off, pending, pendingLength, len);
+                pendingLength += len;
+                return;
+            }
+            start();
+            deflate(pending, 0, pendingLength);
+            pendingLength = 0;
+        }
+        deflate(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (deflater == null || finished) {
+            return;
+        }
+        if (unflushed) {
+            long cpuStart = cpuTime();
+            long wallStart = System.nanoTime();
+            int length;
+            do {
+                length = drain(Deflater.SYNC_FLUSH);
+            } while (length == chunk.length);
+            unflushed = false;
+            recordTime(cpuStart, wallStart);
+        }
+        target.flush();
+    }
+
+    /**
+     * Completes the body: writes a short body through as is, or ends the compressed stream
+     * and returns the deflater to the pool. The container still owns the target stream.
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (deflater == null) {
+            target.write(pending, 0, pendingLength);
+            bytesOut = pendingLength;
+            return;
+        }
+        try {
+            long cpuStart = cpuTime();
+            long wallStart = System.nanoTime();
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(Deflater.NO_FLUSH);
+            }
+            recordTime(cpuStart, wallStart);
+            if (encoding == ContentEncoding.GZIP) {
+                writeTrailer();
+            }
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Returns the deflater to the pool; called on every path, including a failed write.
+     */
+    void release() {
+        if (deflater != null) {
+            pool.release(deflater);
+            deflater = null;
+        }
+        finished = true;
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    long getBytesIn() {
+        return bytesIn;
+    }
+
+    long getBytesOut() {
+        return bytesOut;
+    }
+
+    long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    long getWallNanos() {
+        return wallNanos;
+    }
+
+    private void start() throws IOException {
+        onCompress.run();
+        compressed = true;
+        deflater = pool.borrow();
+        if (encoding == ContentEncoding.GZIP) {
+            crc = new CRC32();
+            writeOut(GZIP_HEADER, GZIP_HEADER.length);
+        }
+    }
+
+    private void deflate(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        long cpuStart = cpuTime();
+        long wallStart = System.nanoTime();
+        if (crc != null) {
+            crc.update(b, off, len);
+        }
+        deflater.setInput(b, off, len);
+        while (!deflater.needsInput()) {
+            drain(Deflater.NO_FLUSH);
+        }
+        unflushed = true;
+        recordTime(cpuStart, wallStart);
+    }
+
+    private int drain(int flush) throws IOException {
+        int length = deflater.deflate(chunk, 0, chunk.length, flush);
+        if (length > 0) {
+            writeOut(chunk, length);
+        }
+        return length;
+    }
+
+    private void recordTime(long cpuStart, long wallStart) {
+        wallNanos += System.nanoTime() - wallStart;
+        if (cpuStart >= 0) {
+            long cpuEnd = cpuTime();
+            if (cpuEnd >= 0) {
+                cpuNanos += cpuEnd - cpuStart;
+            }
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        byte[] trailer = new byte[8];
+        writeIntLE(trailer, 0, (int) crc.getValue());
+        writeIntLE(trailer, 4, (int) bytesIn);
+        writeOut(trailer, trailer.length);
+    }
+
+    private void writeOut(byte[] b, int length) throws IOException {
+        target.write(b, 0, length);
+        bytesOut += length;
+    }
+
+    private static void writeIntLE(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * CPU time of the current thread, or -1 when it cannot be measured: the JVM does not support
+     * it, it is disabled, or the thread is virtual.
+     */
+    private static long cpuTime() {
+        if (!CPU_TIME_SUPPORTED || Thread.currentThread().isVirtual()) {
+            return -1;
+        }
+        return THREADS.getCurrentThreadCpuTime();
+    }
+}
@@ -0,0 +1,11 @@
+package web.rest.compression;
+
+/**
+ * Compression totals for one endpoint. {@code ratio} is compressed over uncompressed size for
+ * the responses that were compressed. {@code wallMicros} is the elapsed time spent deflating them;
+ * {@code cpuMicros} is the CPU time, summed only over platform threads, because virtual threads
+ * cannot report it.
+ */
+public record CompressionCounters(long responses, long compressed, long bytesIn, long bytesOut,
+                                  double ratio, long cpuMicros, long wallMicros) {
+}
@@ -0,0 +1,122 @@
+package web.rest.compression;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses text responses for clients that send {@code Accept-Encoding: gzip} or
+ * {@code deflate}. Bodies up to {@value #DEFAULT_THRESHOLD} bytes go out as they are, since
+ * below roughly one packet the framing and CPU cost more than the bytes saved. Deflaters come
+ * from one pool per coding, and every compressible response is counted per resource method
+ * in {@link CompressionStatistics}.
+ */
+@Provider
+public class CompressionInterceptor implements WriterInterceptor {
+
+    static final int DEFAULT_THRESHOLD = 1024;
+    static final int POOL_CAPACITY = 2 * Runtime.getRuntime().availableProcessors();
+
+    @Context
+    HttpHeaders requestHeaders;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    private final CompressionStatistics statistics;
+    private final int threshold;
+    private final Map<ContentEncoding, DeflaterPool> pools = new EnumMap<>(ContentEncoding.class);
+
+    @Inject
+    public CompressionInterceptor(CompressionStatistics statistics) {
+        this(statistics, DEFAULT_THRESHOLD);
+    }
+
+    CompressionInterceptor(CompressionStatistics statistics, int threshold) {
+        this.statistics = statistics;
+        this.threshold = threshold;
+        for (ContentEncoding encoding : ContentEncoding.values()) {
+            pools.put(encoding, new DeflaterPool(Deflater.DEFAULT_COMPRESSION, encoding.isNowrap(), POOL_CAPACITY));
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        if (!isCompressible(context.getMediaType()) || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        Optional<ContentEncoding> negotiated =
+                ContentEncoding.negotiate(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (negotiated.isEmpty()) {
+            context.proceed();
+            return;
+        }
+
+        ContentEncoding encoding = negotiated.get();
+        OutputStream original = context.getOutputStream();
+        CompressingOutputStream body = new CompressingOutputStream(original, encoding, pools.get(encoding), threshold,
+                () -> {
+                    headers.putSingle(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                });
+        context.setOutputStream(body);
+        try {
+            context.proceed();
+            body.finish();
+        } finally {
+            body.release();
+            context.setOutputStream(original);
+        }
+
+        String endpoint = endpoint();
+        if (body.isCompressed()) {
+            statistics.recordCompressed(endpoint, body.getBytesIn(), body.getBytesOut(), body.getCpuNanos(),
+                    body.getWallNanos());
+        } else {
+            statistics.recordUncompressed(endpoint);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        pools.values().forEach(DeflaterPool::close);
+    }
+
+    DeflaterPool pool(ContentEncoding encoding) {
+        return pools.get(encoding);
+    }
+
+    private String endpoint() {
+        if (resourceInfo == null || resourceInfo.getResourceClass() == null || resourceInfo.getResourceMethod() == null) {
+            return "unmatched";
+        }
+        return resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+    }
+
+    private static boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        String subtype = mediaType.getSubtype();
+        return mediaType.getType().equals("text")
+                || subtype.equals("json") || subtype.endsWith("+json")
+                || subtype.equals("x-ndjson") || subtype.equals("xml") || subtype.endsWith("+xml");
+    }
+}
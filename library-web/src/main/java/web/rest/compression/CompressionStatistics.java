@@ -0,0 +1,56 @@
+package web.rest.compression;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@ApplicationScoped
+public class CompressionStatistics {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void recordUncompressed(String endpoint) {
+        counter(endpoint).responses.increment();
+    }
+
+    public void recordCompressed(String endpoint, long bytesIn, long bytesOut, long cpuNanos,
+                                 long wallNanos) {
+        Counter counter = counter(endpoint);
+        counter.responses.increment();
+        counter.compressed.increment();
+        counter.bytesIn.add(bytesIn);
+        counter.bytesOut.add(bytesOut);
+        counter.cpuNanos.add(cpuNanos);
+        counter.wallNanos.add(wallNanos);
+    }
+
+    public Map<String, CompressionCounters> snapshot() {
+        Map<String, CompressionCounters> snapshot = new TreeMap<>();
+        counters.forEach((endpoint, counter) -> {
+            long bytesIn = counter.bytesIn.sum();
+            long bytesOut = counter.bytesOut.sum();
+            snapshot.put(endpoint, new CompressionCounters(counter.responses.sum(), counter.compressed.sum(),
+                    bytesIn, bytesOut, bytesIn > 0 ? (double) bytesOut / bytesIn : 1.0,
+                    TimeUnit.NANOSECONDS.toMicros(counter.cpuNanos.sum()),
+                    TimeUnit.NANOSECONDS.toMicros(counter.wallNanos.sum())));
+        });
+        return snapshot;
+    }
+
+    private Counter counter(String endpoint) {
+        return counters.computeIfAbsent(endpoint, key -> new Counter());
+    }
+
+    private static final class Counter {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressed = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,84 @@
+package web.rest.compression;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Content codings the REST applications can produce. {@code gzip} is the raw deflate stream
+ * framed by a gzip header and trailer; {@code deflate} is the zlib-wrapped stream that
+ * RFC 9110 defines for that name.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip", true),
+    DEFLATE("deflate", false);
+
+    private final String token;
+    private final boolean nowrap;
+
+    ContentEncoding(String token, boolean nowrap) {
+        this.token = token;
+        this.nowrap = nowrap;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    boolean isNowrap() {
+        return nowrap;
+    }
+
+    /**
+     * Picks the coding with the highest quality value in an {@code Accept-Encoding} header.
+     * A wildcard stands for every coding not listed explicitly, {@code q=0} rules a coding
+     * out, and ties go to gzip.
+     */
+    public static Optional<ContentEncoding> negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Optional.empty();
+        }
+        double[] quality = new double[values().length];
+        boolean[] listed = new boolean[values().length];
+        double wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(parts);
+            if (coding.equals("*")) {
+                wildcard = q;
+                continue;
+            }
+            for (ContentEncoding encoding : values()) {
+                if (encoding.token.equals(coding) || (encoding == GZIP && coding.equals("x-gzip"))) {
+                    quality[encoding.ordinal()] = q;
+                    listed[encoding.ordinal()] = true;
+                }
+            }
+        }
+        ContentEncoding best = null;
+        double bestQuality = 0;
+        for (ContentEncoding encoding : values()) {
+            double q = listed[encoding.ordinal()] ? quality[encoding.ordinal()] : wildcard;
+            if (q > bestQuality) {
+                best = encoding;
+                bestQuality = q;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException exception) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
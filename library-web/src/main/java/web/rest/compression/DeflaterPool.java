@@ -0,0 +1,47 @@
+package web.rest.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Bounded pool of {@link Deflater}s for one compression level and wrapping mode. A deflater
+ * holds a few hundred kilobytes of native memory; reusing it saves allocating and zeroing that
+ * window on every response. Under a burst the pool hands out fresh instances and ends the
+ * ones it has no room to keep.
+ */
+final class DeflaterPool {
+
+    private final int level;
+    private final boolean nowrap;
+    private final BlockingQueue<Deflater> idle;
+
+    DeflaterPool(int level, boolean nowrap, int capacity) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    Deflater borrow() {
+        Deflater deflater = idle.poll();
+        return deflater != null ? deflater : new Deflater(level, nowrap);
+    }
+
+    void release(Deflater deflater) {
+        deflater.reset();
+        if (!idle.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+
+    void close() {
+        Deflater deflater;
+        while ((deflater = idle.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package web.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a {@link BatchRequest}. {@code op} selects the service call; the other fields
+ * are the arguments that call takes, the same ones its single-operation endpoint reads from
+ * the path, query or body.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+
+    public enum Type {
+        BOOK_CREATE,
+        BOOK_UPDATE_COPIES,
+        BOOK_DELETE,
+        MEMBER_CREATE,
+        MEMBER_SUSPEND,
+        MEMBER_ACTIVATE,
+        MEMBER_RENEW,
+        LOAN_BORROW,
+        LOAN_RETURN,
+        LOAN_RENEW,
+        LOAN_MARK_LOST
+    }
+
+    @NotNull(message = "The operation type is required")
+    private Type op;
+
+    private Long id;
+
+    private Long bookId;
+
+    private Long memberId;
+
+    private Integer total;
+
+    private Integer years;
+
+    @Size(max = 500, message = "The notes must be less than 500 characters")
+    private String notes;
+
+    @Valid
+    private BookCreateRequest book;
+
+    @Valid
+    private MemberCreateRequest member;
+}
@@ -0,0 +1,41 @@
+package web.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    public static final int MAX_OPERATIONS = 500;
+    public static final int DEFAULT_CHUNK_SIZE = 50;
+
+    public enum Mode {
+        /** One transaction for the whole batch. */
+        ATOMIC,
+        /** One transaction per {@code chunkSize} operations. */
+        CHUNKED
+    }
+
+    private Mode mode;
+
+    @Min(value = 1, message = "The chunk size must be at least 1")
+    @Max(value = MAX_OPERATIONS, message = "The chunk size cannot exceed 500")
+    private Integer chunkSize;
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = MAX_OPERATIONS, message = "A batch cannot contain more than 500 operations")
+    private List<@NotNull @Valid BatchOperation> operations;
+}
@@ -0,0 +1,11 @@
+package web.rest.dto;
+
+import common.batch.BatchOutcome;
+import web.rest.exception.ErrorResponse;
+
+/**
+ * Per-operation entry of a batch response. {@code error} is the body the single-operation
+ * endpoint would have answered with, so clients handle both the same way.
+ */
+public record BatchResult(int index, String op, BatchOutcome.Status status, Object value, ErrorResponse error) {
+}
@@ -0,0 +1,28 @@
+package web.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+
+    @NotNull(message = "The member is required")
+    private Long memberId;
+
+    @NotEmpty(message = "At least one book is required")
+    @Size(max = 50, message = "A checkout cannot contain more than 50 books")
+    private List<@NotNull Long> bookIds;
+
+    @Size(max = 500, message = "The notes must be less than 500 characters")
+    private String notes;
+}
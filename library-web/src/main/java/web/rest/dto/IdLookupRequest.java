@@ -0,0 +1,25 @@
+package web.rest.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a multi-get by ID: the IDs to resolve in one query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdLookupRequest {
+
+    @NotEmpty(message = "At least one ID is required")
+    @Size(max = LookupRequest.MAX_KEYS, message = "A lookup cannot contain more than 100 IDs")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,27 @@
+package web.rest.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of a multi-get: the ISBNs or membership numbers to resolve in one query.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupRequest {
+
+    public static final int MAX_KEYS = 100;
+
+    @NotEmpty(message = "At least one key is required")
+    @Size(max = MAX_KEYS, message = "A lookup cannot contain more than 100 keys")
+    private List<@NotBlank String> keys;
+}
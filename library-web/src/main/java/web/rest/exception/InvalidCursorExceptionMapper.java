@@ -0,0 +1,24 @@
+package web.rest.exception;
+
+import common.exception.InvalidCursorException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class InvalidCursorExceptionMapper implements ExceptionMapper<InvalidCursorException> {
+
+    @Override
+    public Response toResponse(InvalidCursorException exception) {
+        ErrorResponse error = ErrorResponse.of(
+                Response.Status.BAD_REQUEST.getStatusCode(),
+                "Bad Request",
+                exception.getMessage()
+        );
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(error)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
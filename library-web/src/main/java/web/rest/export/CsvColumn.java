@@ -0,0 +1,10 @@
+package web.rest.export;
+
+import java.util.function.Function;
+
+public record CsvColumn<T>(String header, Function<T, ?> value) {
+
+    public static <T> CsvColumn<T> of(String header, Function<T, ?> value) {
+        return new CsvColumn<>(header, value);
+    }
+}
@@ -0,0 +1,56 @@
+package web.rest.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+public class CsvRowWriter<T> implements RowWriter<T> {
+
+    private static final char SEPARATOR = ',';
+    private static final String LINE_END = "\r\n";
+
+    private final Writer out;
+    private final List<CsvColumn<T>> columns;
+
+    public CsvRowWriter(Writer out, List<CsvColumn<T>> columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            writeField(columns.get(i).header());
+        }
+        out.write(LINE_END);
+    }
+
+    @Override
+    public void writeRow(T row) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(SEPARATOR);
+            }
+            Object value = columns.get(i).value().apply(row);
+            if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        out.write(LINE_END);
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = value.indexOf(SEPARATOR) >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
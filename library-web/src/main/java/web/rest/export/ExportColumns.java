@@ -0,0 +1,55 @@
+package web.rest.export;
+
+import catalog.dto.BookDTO;
+import lending.dto.LoanDTO;
+import membership.dto.MemberDTO;
+
+import java.util.List;
+
+public final class ExportColumns {
+
+    public static final List<CsvColumn<BookDTO>> BOOKS = List.of(
+            CsvColumn.of("id", BookDTO::getId),
+            CsvColumn.of("isbn", BookDTO::getIsbn),
+            CsvColumn.of("title", BookDTO::getTitle),
+            CsvColumn.of("author", BookDTO::getAuthor),
+            CsvColumn.of("publisher", BookDTO::getPublisher),
+            CsvColumn.of("publicationDate", BookDTO::getPublicationDate),
+            CsvColumn.of("totalCopies", BookDTO::getTotalCopies),
+            CsvColumn.of("availableCopies", BookDTO::getAvailableCopies),
+            CsvColumn.of("categoryId", BookDTO::getCategoryId),
+            CsvColumn.of("categoryName", BookDTO::getCategoryName),
+            CsvColumn.of("status", BookDTO::getStatus));
+
+    public static final List<CsvColumn<MemberDTO>> MEMBERS = List.of(
+            CsvColumn.of("id", MemberDTO::getId),
+            CsvColumn.of("membershipNumber", MemberDTO::getMembershipNumber),
+            CsvColumn.of("firstName", MemberDTO::getFirstName),
+            CsvColumn.of("lastName", MemberDTO::getLastName),
+            CsvColumn.of("email", MemberDTO::getEmail),
+            CsvColumn.of("phone", MemberDTO::getPhone),
+            CsvColumn.of("address", MemberDTO::getAddress),
+            CsvColumn.of("registrationDate", MemberDTO::getRegistrationDate),
+            CsvColumn.of("expirationDate", MemberDTO::getExpirationDate),
+            CsvColumn.of("status", MemberDTO::getStatus),
+            CsvColumn.of("activeLoans", MemberDTO::getActiveLoans),
+            CsvColumn.of("maxLoans", MemberDTO::getMaxLoans));
+
+    public static final List<CsvColumn<LoanDTO>> LOANS = List.of(
+            CsvColumn.of("id", LoanDTO::getId),
+            CsvColumn.of("bookId", LoanDTO::getBookId),
+            CsvColumn.of("bookIsbn", LoanDTO::getBookIsbn),
+            CsvColumn.of("bookTitle", LoanDTO::getBookTitle),
+            CsvColumn.of("memberId", LoanDTO::getMemberId),
+            CsvColumn.of("membershipNumber", LoanDTO::getMembershipNumber),
+            CsvColumn.of("memberName", LoanDTO::getMemberName),
+            CsvColumn.of("loanDate", LoanDTO::getLoanDate),
+            CsvColumn.of("dueDate", LoanDTO::getDueDate),
+            CsvColumn.of("returnDate", LoanDTO::getReturnDate),
+            CsvColumn.of("status", LoanDTO::getStatus),
+            CsvColumn.of("renewalCount", LoanDTO::getRenewalCount),
+            CsvColumn.of("notes", LoanDTO::getNotes));
+
+    private ExportColumns() {
+    }
+}
@@ -0,0 +1,32 @@
+package web.rest.export;
+
+import lombok.Getter;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+@Getter
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public <T> RowWriter<T> writer(Writer out, List<CsvColumn<T>> columns) {
+        return switch (this) {
+            case NDJSON -> new NdjsonRowWriter<>(out);
+            case CSV -> new CsvRowWriter<>(out, columns);
+        };
+    }
+
+    public static ExportFormat fromString(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
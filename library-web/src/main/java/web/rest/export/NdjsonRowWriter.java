@@ -0,0 +1,29 @@
+package web.rest.export;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonRowWriter<T> implements RowWriter<T> {
+
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private final Writer out;
+
+    public NdjsonRowWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader() {
+        // NDJSON has no header line
+    }
+
+    @Override
+    public void writeRow(T row) throws IOException {
+        out.write(JSONB.toJson(row));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,19 @@
+package web.rest.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public interface RowWriter<T> {
+
+    void writeHeader() throws IOException;
+
+    void writeRow(T row) throws IOException;
+
+    default void accept(T row) {
+        try {
+            writeRow(row);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
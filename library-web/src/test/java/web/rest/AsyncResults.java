@@ -0,0 +1,26 @@
+package web.rest;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Test helper for resources that return a {@link CompletionStage}. With the inline executor
+ * used in the tests the stage is already complete; an exceptional stage rethrows its cause
+ * so that {@code assertThrows} sees the type the exception mappers would see.
+ */
+final class AsyncResults {
+
+    private AsyncResults() {
+    }
+
+    static <T> T await(CompletionStage<T> stage) {
+        try {
+            return stage.toCompletableFuture().join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
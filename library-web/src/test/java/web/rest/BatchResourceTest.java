@@ -0,0 +1,213 @@
+package web.rest;
+
+import catalog.usecase.BookService;
+import common.batch.BatchChunk;
+import common.batch.BatchOutcome;
+import common.batch.BatchService;
+import common.exception.BusinessRuleException;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Providers;
+import lending.dto.LoanDTO;
+import lending.usecase.LoanService;
+import membership.dto.MemberDTO;
+import membership.usecase.MemberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.dto.ApiResponse;
+import web.rest.dto.BatchOperation;
+import web.rest.dto.BatchRequest;
+import web.rest.dto.BatchResult;
+import web.rest.exception.BusinessRuleExceptionMapper;
+import web.rest.mapper.BookMapper;
+import web.rest.mapper.MemberMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static web.rest.AsyncResults.await;
+
+/**
+ * Unit tests for BatchResource.
+ *
+ * The batch runs through a real BatchService without a container, so each operation reaches
+ * the mocked application service it maps to. Exception mappers are looked up through a mocked
+ * Providers.
+ *
+ * Tested behaviour:
+ *   - operations delegate to the matching service methods, in request order
+ *   - the chunk size follows the mode
+ *   - an operation missing a required field is rejected before anything runs
+ *   - failures carry the error body of their exception mapper
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BatchResource")
+class BatchResourceTest {
+
+    @Spy
+    private BatchService batchService = new BatchService(new BatchChunk());
+
+    @Mock
+    private BookService bookService;
+
+    @Spy
+    private BookMapper bookMapper = new BookMapper();
+
+    @Mock
+    private MemberService memberService;
+
+    @Spy
+    private MemberMapper memberMapper = new MemberMapper();
+
+    @Mock
+    private LoanService loanService;
+
+    @Mock
+    private Providers providers;
+
+    @Spy
+    private ResourceExecutor executor = new ResourceExecutor(Runnable::run);
+
+    @InjectMocks
+    private BatchResource batchResource;
+
+    private static BatchRequest request(BatchRequest.Mode mode, Integer chunkSize, BatchOperation... operations) {
+        return BatchRequest.builder()
+                .mode(mode)
+                .chunkSize(chunkSize)
+                .operations(List.of(operations))
+                .build();
+    }
+
+    private static BatchOperation operation(BatchOperation.Type type, Long id) {
+        return BatchOperation.builder().op(type).id(id).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BatchResult> results(Response response) {
+        return ((ApiResponse<List<BatchResult>>) response.getEntity()).data();
+    }
+
+    @Nested
+    @DisplayName("POST /batch")
+    class ExecuteTests {
+
+        @Test
+        @DisplayName("Should run each operation on its service in request order")
+        void shouldDelegateInOrder() {
+            LoanDTO loan = LoanDTO.builder().id(3L).build();
+            MemberDTO member = MemberDTO.builder().id(7L).build();
+            when(loanService.borrowBook(1L, 7L, "Front desk")).thenReturn(loan);
+            when(memberService.renewMembership(7L, 1)).thenReturn(member);
+
+            Response response = await(batchResource.execute(request(null, null,
+                    BatchOperation.builder().op(BatchOperation.Type.LOAN_BORROW)
+                            .bookId(1L).memberId(7L).notes("Front desk").build(),
+                    operation(BatchOperation.Type.MEMBER_RENEW, 7L),
+                    BatchOperation.builder().op(BatchOperation.Type.BOOK_UPDATE_COPIES).id(1L).total(4).build()),
+                    providers));
+
+            List<BatchResult> results = results(response);
+            var inOrder = inOrder(loanService, memberService, bookService);
+            inOrder.verify(loanService).borrowBook(1L, 7L, "Front desk");
+            inOrder.verify(memberService).renewMembership(7L, 1);
+            inOrder.verify(bookService).updateCopies(1L, 4);
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertEquals(List.of("LOAN_BORROW", "MEMBER_RENEW", "BOOK_UPDATE_COPIES"),
+                            results.stream().map(BatchResult::op).toList()),
+                    () -> assertTrue(results.stream().allMatch(r -> r.status() == BatchOutcome.Status.APPLIED)),
+                    () -> assertSame(loan, results.get(0).value()),
+                    () -> assertNull(results.get(2).value())
+            );
+        }
+
+        @Test
+        @DisplayName("Should run the whole batch as one chunk by default")
+        void shouldRunAtomicallyByDefault() {
+            await(batchResource.execute(request(null, null,
+                    operation(BatchOperation.Type.LOAN_RETURN, 1L),
+                    operation(BatchOperation.Type.LOAN_RETURN, 2L)), providers));
+
+            verify(batchService).execute(anyList(), eq(2));
+        }
+
+        @Test
+        @DisplayName("Should use the requested or default chunk size in chunked mode")
+        void shouldUseChunkSizeWhenChunked() {
+            await(batchResource.execute(request(BatchRequest.Mode.CHUNKED, 1,
+                    operation(BatchOperation.Type.LOAN_RENEW, 1L)), providers));
+            await(batchResource.execute(request(BatchRequest.Mode.CHUNKED, null,
+                    operation(BatchOperation.Type.LOAN_RENEW, 1L)), providers));
+
+            verify(batchService).execute(anyList(), eq(1));
+            verify(batchService).execute(anyList(), eq(BatchRequest.DEFAULT_CHUNK_SIZE));
+        }
+
+        @Test
+        @DisplayName("Should reject an operation missing a required field before running any")
+        void shouldRejectMissingField() {
+            BatchRequest request = request(null, null,
+                    operation(BatchOperation.Type.LOAN_RETURN, 1L),
+                    operation(BatchOperation.Type.MEMBER_SUSPEND, null));
+
+            BadRequestException thrown =
+                    assertThrows(BadRequestException.class, () -> batchResource.execute(request, providers));
+
+            assertTrue(thrown.getMessage().contains("Operation 1 (MEMBER_SUSPEND)"));
+            verifyNoInteractions(loanService, memberService);
+            verify(batchService, never()).execute(anyList(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class FailureTests {
+
+        @Test
+        @DisplayName("Should report a failed operation with its exception mapper's body")
+        void shouldMapFailure() {
+            when(loanService.returnBook(2L)).thenThrow(new BusinessRuleException("Loan already returned"));
+            when(providers.getExceptionMapper(BusinessRuleException.class))
+                    .thenReturn(new BusinessRuleExceptionMapper());
+
+            List<BatchResult> results = results(await(batchResource.execute(request(null, null,
+                    operation(BatchOperation.Type.LOAN_RENEW, 1L),
+                    operation(BatchOperation.Type.LOAN_RETURN, 2L),
+                    operation(BatchOperation.Type.LOAN_MARK_LOST, 3L)), providers)));
+
+            assertAll(
+                    () -> assertEquals(List.of(BatchOutcome.Status.ROLLED_BACK, BatchOutcome.Status.FAILED,
+                            BatchOutcome.Status.SKIPPED), results.stream().map(BatchResult::status).toList()),
+                    () -> assertEquals(409, results.get(1).error().getStatus()),
+                    () -> assertEquals("Loan already returned", results.get(1).error().getMessage()),
+                    () -> assertNull(results.get(0).error())
+            );
+            verify(loanService, never()).markAsLost(3L);
+        }
+
+        @Test
+        @DisplayName("Should report 500 with a generic message for a failure without an exception mapper")
+        void shouldReportUnmappedFailure() {
+            when(loanService.markAsLost(1L))
+                    .thenThrow(new IllegalStateException("Transaction rolled back: ORA-00001 on LOANS_PK"));
+
+            List<BatchResult> results = results(await(batchResource.execute(request(null, null,
+                    operation(BatchOperation.Type.LOAN_MARK_LOST, 1L)), providers)));
+
+            assertAll(
+                    () -> assertEquals(500, results.get(0).error().getStatus()),
+                    () -> assertEquals(BatchResource.UNMAPPED_FAILURE_MESSAGE, results.get(0).error().getMessage())
+            );
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package web.rest;
 
 import catalog.dto.BookDTO;
+import catalog.dto.BookSuggestion;
 import catalog.usecase.BookService;
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.RowVersion;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
@@ -11,18 +19,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import web.rest.dto.ApiResponse;
 import web.rest.dto.BookCreateRequest;
 import web.rest.dto.BookUpdateRequest;
 import web.rest.mapper.BookMapper;
 
 import java.net.URI;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static web.rest.AsyncResults.await;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -48,9 +61,17 @@ class BookResourceTest {
     @Mock
     private UriBuilder uriBuilder;
 
+    @Mock
+    private Request request;
+
+    @Spy
+    private ResourceExecutor executor = new ResourceExecutor(Runnable::run);
+
     @InjectMocks
     private BookResource bookResource;
 
+    private static final RowVersion VERSION = new RowVersion("1.2", Instant.parse("2026-03-01T09:15:00Z"));
+
     // Shared fixture
     private static BookDTO aBook() {
         return BookDTO.builder()
@@ -66,15 +87,151 @@ class BookResourceTest {
     class FindAllTests {
 
         @Test
-        @DisplayName("Should delegate to service and wrap result in ApiResponse")
-        void shouldReturnApiResponseWithAllBooks() {
-            List<BookDTO> books = List.of(aBook());
-            when(bookService.findAll()).thenReturn(books);
+        @DisplayName("Should return the first page at the default limit when no cursor or limit is given")
+        void shouldReturnFirstPage() {
+            Page<BookDTO> page = Page.of(List.of(aBook()), Cursor.of("Clean Code", 1L));
+            when(bookService.collectionVersion()).thenReturn(VERSION);
+            when(bookService.findPage(null, Page.DEFAULT_LIMIT)).thenReturn(page);
+
+            Response response = await(bookResource.findAll(null, null, 0, request));
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertSame(page, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag())
+            );
+        }
+
+        @Test
+        @DisplayName("Should continue after the cursor and cap the limit")
+        void shouldContinueAfterCursorWithCappedLimit() {
+            Cursor cursor = Cursor.of("Clean Code", 1L);
+            Page<BookDTO> page = Page.of(List.of(), null);
+            when(bookService.collectionVersion()).thenReturn(VERSION);
+            when(bookService.findPage(cursor, Page.MAX_LIMIT)).thenReturn(page);
+
+            Response response = await(bookResource.findAll(null, cursor.encode(), 1_000_000, request));
+
+            assertSame(page, response.getEntity());
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor with 400 before touching the service")
+        void shouldRejectMalformedCursor() {
+            assertThrows(BadRequestException.class, () -> await(bookResource.findAll(null, "%%%", 50, request)));
+            verifyNoInteractions(bookService);
+        }
+
+        @Test
+        @DisplayName("Should return 304 Not Modified without loading the books when the tag matches")
+        void shouldReturn304WhenTagMatches() {
+            when(bookService.collectionVersion()).thenReturn(VERSION);
+            when(request.evaluatePreconditions(any(Date.class), eq(new EntityTag("1.2", true))))
+                    .thenReturn(Response.notModified());
+
+            Response response = await(bookResource.findAll(null, null, 50, request));
+
+            assertEquals(304, response.getStatus());
+            verify(bookService, never()).findPage(any(Cursor.class), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should read only the requested fields when ?fields= is given")
+        void shouldReturnSparseFields() {
+            Page<Map<String, Object>> rows = Page.of(List.of(Map.of("id", 1L, "title", "Clean Code")), Cursor.of(1L));
+            when(bookService.collectionVersion()).thenReturn(VERSION);
+            when(bookService.findPage(FieldSet.of("title"), null, 20)).thenReturn(rows);
 
-            ApiResponse<List<BookDTO>> response = bookResource.findAll();
+            Response response = await(bookResource.findAll("title", null, 20, request));
 
-            assertSame(books, response.data());
-            verify(bookService).findAll();
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertSame(rows, response.getEntity())
+            );
+            verify(bookService, never()).findPage(any(Cursor.class), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown field with 400 before touching the service")
+        void shouldRejectUnknownField() {
+            assertThrows(BadRequestException.class, () -> await(bookResource.findAll("title,price", null, 50, request)));
+            verifyNoInteractions(bookService);
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage")
+    class FindPageTests {
+
+        @Test
+        @DisplayName("Should start from the first page when no cursor is given")
+        void shouldRequestFirstPageWithoutCursor() {
+            Page<BookDTO> page = Page.of(List.of(aBook()), Cursor.of("k", 1L));
+            when(bookService.findPage(null, 20)).thenReturn(page);
+
+            Page<BookDTO> result = await(bookResource.findPage(null, 20));
+
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should decode the opaque cursor and cap the limit")
+        void shouldDecodeCursorAndCapLimit() {
+            Cursor cursor = Cursor.of("k", 5L);
+            when(bookService.findPage(cursor, Page.MAX_LIMIT)).thenReturn(Page.of(List.of(), null));
+
+            await(bookResource.findPage(cursor.encode(), 100_000));
+
+            verify(bookService).findPage(cursor, Page.MAX_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor with 400 Bad Request")
+        void shouldRejectMalformedCursor() {
+            assertThrows(BadRequestException.class, () -> await(bookResource.findPage("%%%", 20)));
+            verifyNoInteractions(bookService);
+        }
+    }
+
+    @Nested
+    @DisplayName("typeahead")
+    class TypeaheadTests {
+
+        @Test
+        @DisplayName("Should return the available-book suggestions from the service")
+        void shouldDelegateToService() {
+            List<BookSuggestion> suggestions = List.of(
+                    new BookSuggestion(1L, "978-0134685991", "Effective Java", "Joshua Bloch"));
+            when(bookService.suggestAvailable("effec", 10)).thenReturn(suggestions);
+
+            assertSame(suggestions, await(bookResource.typeahead("effec", 10)));
+        }
+    }
+
+    @Nested
+    @DisplayName("search")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should delegate the query with the decoded cursor and return the ranked page")
+        void shouldDelegateRankedSearch() {
+            Cursor cursor = Cursor.of(1.25, 3L);
+            Page<BookDTO> page = Page.of(List.of(aBook()), null);
+            when(bookService.search("effective java", cursor, 20)).thenReturn(page);
+
+            Page<BookDTO> result = await(bookResource.search("effective java", cursor.encode(), 20));
+
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should reject a missing or blank query with 400 Bad Request")
+        void shouldRejectBlankQuery() {
+            assertAll(
+                    () -> assertThrows(BadRequestException.class, () -> await(bookResource.search(null, null, 20))),
+                    () -> assertThrows(BadRequestException.class, () -> await(bookResource.search("  ", null, 20)))
+            );
+            verifyNoInteractions(bookService);
         }
     }
 
@@ -86,24 +243,45 @@ class BookResourceTest {
         @DisplayName("Should return 200 OK with book when found")
         void shouldReturn200WhenFound() {
             BookDTO book = aBook();
+            when(bookService.findVersion(1L)).thenReturn(Optional.of(VERSION));
             when(bookService.findById(1L)).thenReturn(Optional.of(book));
 
-            Response response = bookResource.findById(1L);
+            Response response = await(bookResource.findById(1L, null, request));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
-                    () -> assertSame(book, response.getEntity())
+                    () -> assertSame(book, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertEquals(Date.from(VERSION.lastModified()), response.getLastModified())
+            );
+        }
+
+        @Test
+        @DisplayName("Should return 304 Not Modified without loading the book when the tag matches")
+        void shouldReturn304WhenTagMatches() {
+            when(bookService.findVersion(1L)).thenReturn(Optional.of(VERSION));
+            when(request.evaluatePreconditions(any(Date.class), eq(new EntityTag("1.2", true))))
+                    .thenReturn(Response.notModified());
+
+            Response response = await(bookResource.findById(1L, null, request));
+
+            assertAll(
+                    () -> assertEquals(304, response.getStatus()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertNull(response.getEntity())
             );
+            verify(bookService, never()).findById(any());
         }
 
         @Test
         @DisplayName("Should return 404 Not Found when book does not exist")
         void shouldReturn404WhenNotFound() {
-            when(bookService.findById(99L)).thenReturn(Optional.empty());
+            when(bookService.findVersion(99L)).thenReturn(Optional.empty());
 
-            Response response = bookResource.findById(99L);
+            Response response = await(bookResource.findById(99L, null, request));
 
             assertEquals(404, response.getStatus());
+            verify(bookService, never()).findById(any());
         }
     }
 
@@ -117,7 +295,7 @@ class BookResourceTest {
             BookDTO book = aBook();
             when(bookService.findByIsbn("978-0-13-468599-1")).thenReturn(Optional.of(book));
 
-            Response response = bookResource.findByIsbn("978-0-13-468599-1");
+            Response response = await(bookResource.findByIsbn("978-0-13-468599-1"));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -130,7 +308,7 @@ class BookResourceTest {
         void shouldReturn404WhenNotFound() {
             when(bookService.findByIsbn("000-0-00-000000-0")).thenReturn(Optional.empty());
 
-            Response response = bookResource.findByIsbn("000-0-00-000000-0");
+            Response response = await(bookResource.findByIsbn("000-0-00-000000-0"));
 
             assertEquals(404, response.getStatus());
         }
@@ -154,7 +332,7 @@ class BookResourceTest {
             when(uriBuilder.path(anyString())).thenReturn(uriBuilder);
             when(uriBuilder.build()).thenReturn(URI.create("http://localhost/api/v1/books/1"));
 
-            Response response = bookResource.create(request, uriInfo);
+            Response response = await(bookResource.create(request, uriInfo));
 
             assertAll(
                     () -> assertEquals(201, response.getStatus()),
@@ -178,7 +356,7 @@ class BookResourceTest {
             when(bookMapper.toDto(1L, request)).thenReturn(mappedDto);
             when(bookService.update(mappedDto)).thenReturn(updatedDto);
 
-            Response response = bookResource.update(1L, request);
+            Response response = await(bookResource.update(1L, request));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -194,7 +372,7 @@ class BookResourceTest {
         @Test
         @DisplayName("Should return 204 No Content and delegate to service")
         void shouldReturn204() {
-            Response response = bookResource.delete(1L);
+            Response response = await(bookResource.delete(1L));
 
             assertEquals(204, response.getStatus());
             verify(bookService).delete(1L);
@@ -208,7 +386,7 @@ class BookResourceTest {
         @Test
         @DisplayName("Should return 200 OK and delegate to service")
         void shouldReturn200() {
-            Response response = bookResource.updateCopies(1L, 5);
+            Response response = await(bookResource.updateCopies(1L, 5));
 
             assertEquals(200, response.getStatus());
             verify(bookService).updateCopies(1L, 5);
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.dto.ApiResponse;
 import web.rest.dto.CategoryCreateRequest;
 import web.rest.dto.CategoryUpdateRequest;
 import web.rest.mapper.CategoryMapper;
@@ -169,6 +170,24 @@ class CategoryResourceTest {
         }
     }
 
+    @Nested
+    @DisplayName("repairBookCounts")
+    class RepairBookCountsTests {
+
+        @Test
+        @DisplayName("Should return 200 OK with the number of categories whose counter was corrected")
+        void shouldReturnRepairedCount() {
+            when(categoryService.repairBookCounts()).thenReturn(3);
+
+            Response response = categoryResource.repairBookCounts();
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertEquals(new ApiResponse<>(3), response.getEntity())
+            );
+        }
+    }
+
     @Nested
     @DisplayName("delete")
     class DeleteTests {
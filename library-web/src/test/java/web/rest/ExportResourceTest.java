@@ -0,0 +1,136 @@
+package web.rest;
+
+import catalog.dto.BookDTO;
+import catalog.model.BookStatus;
+import catalog.usecase.BookService;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import lending.usecase.LoanService;
+import membership.usecase.MemberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.export.ExportFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExportResource.
+ *
+ * The export endpoints return a StreamingOutput; the service is only invoked
+ * when the container writes the body. These tests drive the StreamingOutput
+ * directly against an in-memory stream, so they verify both the lazy call
+ * into the service and the CSV encoding of each row.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportResource")
+class ExportResourceTest {
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private MemberService memberService;
+
+    @Mock
+    private LoanService loanService;
+
+    @InjectMocks
+    private ExportResource exportResource;
+
+    @SuppressWarnings("unchecked")
+    private void givenBooks(BookDTO... books) {
+        doAnswer(invocation -> {
+            Consumer<BookDTO> sink = invocation.getArgument(0);
+            for (BookDTO book : books) {
+                sink.accept(book);
+            }
+            return null;
+        }).when(bookService).exportAll(any(Consumer.class));
+    }
+
+    private static String write(Response response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("exportBooks")
+    class ExportBooksTests {
+
+        @Test
+        @DisplayName("Should not touch the service until the body is written")
+        void shouldDeferServiceCallUntilWrite() {
+            Response response = exportResource.exportBooks(ExportFormat.CSV);
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertEquals("attachment; filename=\"books.csv\"",
+                            response.getHeaderString(HttpHeaders.CONTENT_DISPOSITION))
+            );
+            verifyNoInteractions(bookService);
+        }
+
+        @Test
+        @DisplayName("Should write a CSV header followed by one line per book")
+        void shouldWriteCsvRows() throws Exception {
+            givenBooks(BookDTO.builder()
+                    .id(1L)
+                    .isbn("978-0-13-468599-1")
+                    .title("Clean Code")
+                    .author("Robert C. Martin")
+                    .totalCopies(2)
+                    .availableCopies(1)
+                    .status(BookStatus.AVAILABLE)
+                    .build());
+
+            String csv = write(exportResource.exportBooks(ExportFormat.CSV));
+
+            String[] lines = csv.split("\r\n");
+            assertAll(
+                    () -> assertEquals(2, lines.length),
+                    () -> assertTrue(lines[0].startsWith("id,isbn,title,author")),
+                    () -> assertEquals("1,978-0-13-468599-1,Clean Code,Robert C. Martin,,,2,1,,,AVAILABLE", lines[1])
+            );
+        }
+
+        @Test
+        @DisplayName("Should quote values containing separators and escape embedded quotes")
+        void shouldQuoteSpecialCharacters() throws Exception {
+            givenBooks(BookDTO.builder()
+                    .id(2L)
+                    .title("Hello, \"World\"")
+                    .build());
+
+            String csv = write(exportResource.exportBooks(ExportFormat.CSV));
+
+            assertTrue(csv.contains("\"Hello, \"\"World\"\"\""), csv);
+        }
+    }
+
+    @Nested
+    @DisplayName("ExportFormat")
+    class ExportFormatTests {
+
+        @Test
+        @DisplayName("Should parse the format query parameter case-insensitively")
+        void shouldParseFormatIgnoringCase() {
+            assertAll(
+                    () -> assertEquals(ExportFormat.NDJSON, ExportFormat.fromString("ndjson")),
+                    () -> assertEquals(ExportFormat.CSV, ExportFormat.fromString(" CSV "))
+            );
+        }
+    }
+}
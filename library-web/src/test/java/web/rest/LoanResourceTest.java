@@ -1,8 +1,16 @@
 package web.rest;
 
+import common.Cursor;
+import common.FieldSet;
+import common.Page;
+import common.RowVersion;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lending.dto.LoanDTO;
 import lending.model.LoanStatus;
+import lending.usecase.BorrowMode;
 import lending.usecase.LoanService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,12 +18,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.dto.ApiResponse;
+import web.rest.dto.CheckoutRequest;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static web.rest.AsyncResults.await;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,9 +47,17 @@ class LoanResourceTest {
     @Mock
     private LoanService loanService;
 
+    @Mock
+    private Request request;
+
+    @Spy
+    private ResourceExecutor executor = new ResourceExecutor(Runnable::run);
+
     @InjectMocks
     private LoanResource loanResource;
 
+    private static final RowVersion VERSION = new RowVersion("1.2", Instant.parse("2026-03-01T09:15:00Z"));
+
     private static LoanDTO aLoan() {
         return LoanDTO.builder()
                 .id(1L)
@@ -48,15 +72,66 @@ class LoanResourceTest {
     class FindAllTests {
 
         @Test
-        @DisplayName("Should delegate to service and return all loans")
-        void shouldReturnAllLoans() {
-            List<LoanDTO> loans = List.of(aLoan());
-            when(loanService.findAll()).thenReturn(loans);
+        @DisplayName("Should return one page at the default limit instead of the whole table")
+        void shouldReturnFirstPage() {
+            Page<LoanDTO> page = Page.of(List.of(aLoan()), Cursor.of("2026-03-01", 1L));
+            when(loanService.collectionVersion()).thenReturn(VERSION);
+            when(loanService.findPage(null, Page.DEFAULT_LIMIT)).thenReturn(page);
+
+            Response response = await(loanResource.findAll(null, null, 0, request));
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertSame(page, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag())
+            );
+        }
+
+        @Test
+        @DisplayName("Should page the requested fields and cap the limit")
+        void shouldPageSparseFieldsWithCappedLimit() {
+            Cursor cursor = Cursor.of(1L);
+            Page<Map<String, Object>> rows = Page.of(List.of(Map.of("id", 2L)), null);
+            when(loanService.collectionVersion()).thenReturn(VERSION);
+            when(loanService.findPage(FieldSet.of("id"), cursor, Page.MAX_LIMIT)).thenReturn(rows);
+
+            Response response = await(loanResource.findAll("id", cursor.encode(), 1_000_000, request));
+
+            assertSame(rows, response.getEntity());
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage")
+    class FindPageTests {
+
+        @Test
+        @DisplayName("Should start from the first page when no cursor is given")
+        void shouldRequestFirstPageWithoutCursor() {
+            Page<LoanDTO> page = Page.of(List.of(aLoan()), Cursor.of("k", 1L));
+            when(loanService.findPage(null, 20)).thenReturn(page);
+
+            Page<LoanDTO> result = await(loanResource.findPage(null, 20));
+
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should decode the opaque cursor and cap the limit")
+        void shouldDecodeCursorAndCapLimit() {
+            Cursor cursor = Cursor.of("k", 5L);
+            when(loanService.findPage(cursor, Page.MAX_LIMIT)).thenReturn(Page.of(List.of(), null));
+
+            await(loanResource.findPage(cursor.encode(), 100_000));
 
-            List<LoanDTO> result = loanResource.findAll();
+            verify(loanService).findPage(cursor, Page.MAX_LIMIT);
+        }
 
-            assertSame(loans, result);
-            verify(loanService).findAll();
+        @Test
+        @DisplayName("Should reject a malformed cursor with 400 Bad Request")
+        void shouldRejectMalformedCursor() {
+            assertThrows(BadRequestException.class, () -> await(loanResource.findPage("%%%", 20)));
+            verifyNoInteractions(loanService);
         }
     }
 
@@ -68,24 +143,67 @@ class LoanResourceTest {
         @DisplayName("Should return 200 OK with loan when found")
         void shouldReturn200WhenFound() {
             LoanDTO loan = aLoan();
+            when(loanService.findVersion(1L)).thenReturn(Optional.of(VERSION));
             when(loanService.findById(1L)).thenReturn(Optional.of(loan));
 
-            Response response = loanResource.findById(1L);
+            Response response = await(loanResource.findById(1L, null, request));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
-                    () -> assertSame(loan, response.getEntity())
+                    () -> assertSame(loan, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertEquals(Date.from(VERSION.lastModified()), response.getLastModified())
             );
         }
 
+        @Test
+        @DisplayName("Should return 304 Not Modified without loading the loan when the tag matches")
+        void shouldReturn304WhenTagMatches() {
+            when(loanService.findVersion(1L)).thenReturn(Optional.of(VERSION));
+            when(request.evaluatePreconditions(any(Date.class), eq(new EntityTag("1.2", true))))
+                    .thenReturn(Response.notModified());
+
+            Response response = await(loanResource.findById(1L, null, request));
+
+            assertAll(
+                    () -> assertEquals(304, response.getStatus()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertNull(response.getEntity())
+            );
+            verify(loanService, never()).findById(any());
+        }
+
         @Test
         @DisplayName("Should return 404 Not Found when loan does not exist")
         void shouldReturn404WhenNotFound() {
-            when(loanService.findById(99L)).thenReturn(Optional.empty());
+            when(loanService.findVersion(99L)).thenReturn(Optional.empty());
 
-            Response response = loanResource.findById(99L);
+            Response response = await(loanResource.findById(99L, null, request));
 
             assertEquals(404, response.getStatus());
+            verify(loanService, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should return only the requested fields, the ID always included")
+        void shouldReturnSparseFields() {
+            Map<String, Object> row = Map.of("id", 1L, "dueDate", LocalDate.of(2026, 3, 15), "daysOverdue", 0L);
+            when(loanService.findVersion(1L)).thenReturn(Optional.of(VERSION));
+            when(loanService.findById(1L, FieldSet.of("dueDate", "daysOverdue"))).thenReturn(Optional.of(row));
+
+            Response response = await(loanResource.findById(1L, "dueDate, daysOverdue", request));
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertSame(row, response.getEntity())
+            );
+            verify(loanService, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an empty field list with 400")
+        void shouldRejectEmptyFields() {
+            assertThrows(BadRequestException.class, () -> await(loanResource.findById(1L, " , ", request)));
         }
     }
 
@@ -97,27 +215,63 @@ class LoanResourceTest {
         @DisplayName("Should return 201 Created with the new loan in the body")
         void shouldReturn201WithCreatedLoan() {
             LoanDTO loan = aLoan();
-            when(loanService.borrowBook(10L, 20L, null)).thenReturn(loan);
+            when(loanService.borrowBook(10L, 20L, null, BorrowMode.OPTIMISTIC)).thenReturn(loan);
 
-            Response response = loanResource.borrowBook(10L, 20L, null);
+            Response response = await(loanResource.borrowBook(10L, 20L, null, BorrowMode.OPTIMISTIC));
 
             assertAll(
                     () -> assertEquals(201, response.getStatus()),
                     () -> assertSame(loan, response.getEntity())
             );
-            verify(loanService).borrowBook(10L, 20L, null);
+            verify(loanService).borrowBook(10L, 20L, null, BorrowMode.OPTIMISTIC);
         }
 
         @Test
         @DisplayName("Should pass notes to service when provided")
         void shouldPassNotesToService() {
             LoanDTO loan = aLoan();
-            when(loanService.borrowBook(10L, 20L, "Handle with care")).thenReturn(loan);
+            when(loanService.borrowBook(10L, 20L, "Handle with care", BorrowMode.OPTIMISTIC)).thenReturn(loan);
 
-            Response response = loanResource.borrowBook(10L, 20L, "Handle with care");
+            Response response = await(loanResource.borrowBook(10L, 20L, "Handle with care", BorrowMode.OPTIMISTIC));
 
             assertEquals(201, response.getStatus());
-            verify(loanService).borrowBook(10L, 20L, "Handle with care");
+            verify(loanService).borrowBook(10L, 20L, "Handle with care", BorrowMode.OPTIMISTIC);
+        }
+
+        @Test
+        @DisplayName("Should pass the requested borrow mode to the service")
+        void shouldPassBorrowModeToService() {
+            LoanDTO loan = aLoan();
+            when(loanService.borrowBook(10L, 20L, null, BorrowMode.ATOMIC)).thenReturn(loan);
+
+            Response response = await(loanResource.borrowBook(10L, 20L, null, BorrowMode.ATOMIC));
+
+            assertEquals(201, response.getStatus());
+            verify(loanService).borrowBook(10L, 20L, null, BorrowMode.ATOMIC);
+        }
+    }
+
+    @Nested
+    @DisplayName("checkout")
+    class CheckoutTests {
+
+        @Test
+        @DisplayName("Should return 201 Created with one loan per checked-out book")
+        void shouldReturn201WithLoans() {
+            List<LoanDTO> loans = List.of(aLoan());
+            CheckoutRequest request = CheckoutRequest.builder()
+                    .memberId(20L)
+                    .bookIds(List.of(10L, 11L))
+                    .notes("Desk checkout")
+                    .build();
+            when(loanService.checkout(20L, List.of(10L, 11L), "Desk checkout")).thenReturn(loans);
+
+            Response response = await(loanResource.checkout(request));
+
+            assertAll(
+                    () -> assertEquals(201, response.getStatus()),
+                    () -> assertSame(loans, response.getEntity())
+            );
         }
     }
 
@@ -131,7 +285,7 @@ class LoanResourceTest {
             LoanDTO returned = LoanDTO.builder().id(1L).status(LoanStatus.RETURNED).build();
             when(loanService.returnBook(1L)).thenReturn(returned);
 
-            Response response = loanResource.returnBook(1L);
+            Response response = await(loanResource.returnBook(1L));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -151,7 +305,7 @@ class LoanResourceTest {
             LoanDTO renewed = LoanDTO.builder().id(1L).renewalCount(1).status(LoanStatus.ACTIVE).build();
             when(loanService.renewLoan(1L)).thenReturn(renewed);
 
-            Response response = loanResource.renewLoan(1L);
+            Response response = await(loanResource.renewLoan(1L));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -171,7 +325,7 @@ class LoanResourceTest {
             LoanDTO lost = LoanDTO.builder().id(1L).status(LoanStatus.LOST).build();
             when(loanService.markAsLost(1L)).thenReturn(lost);
 
-            Response response = loanResource.markAsLost(1L);
+            Response response = await(loanResource.markAsLost(1L));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -186,11 +340,16 @@ class LoanResourceTest {
     class UpdateOverdueStatusTests {
 
         @Test
-        @DisplayName("Should return 200 OK and delegate batch update to service")
-        void shouldReturn200AndDelegateToService() {
-            Response response = loanResource.updateOverdueStatus();
+        @DisplayName("Should return 200 OK with the number of loans transitioned to OVERDUE")
+        void shouldReturn200WithUpdatedCount() {
+            when(loanService.updateOverdueStatus()).thenReturn(4);
 
-            assertEquals(200, response.getStatus());
+            Response response = await(loanResource.updateOverdueStatus());
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertEquals(new ApiResponse<>(4), response.getEntity())
+            );
             verify(loanService).updateOverdueStatus();
         }
     }
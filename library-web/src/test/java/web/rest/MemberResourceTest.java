@@ -1,7 +1,16 @@
 package web.rest;
 
+import common.Cursor;
+import common.FieldSet;
+import common.Lookup;
+import common.Page;
+import common.RowVersion;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import membership.dto.MemberDTO;
+import membership.dto.MemberSuggestion;
 import membership.model.MemberStatus;
 import membership.usecase.MemberService;
 import org.junit.jupiter.api.DisplayName;
@@ -10,15 +19,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.dto.IdLookupRequest;
+import web.rest.dto.LookupRequest;
 import web.rest.dto.MemberCreateRequest;
 import web.rest.dto.MemberUpdateRequest;
 import web.rest.mapper.MemberMapper;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static web.rest.AsyncResults.await;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,9 +53,17 @@ class MemberResourceTest {
     @Mock
     private MemberMapper memberMapper;
 
+    @Mock
+    private Request request;
+
+    @Spy
+    private ResourceExecutor executor = new ResourceExecutor(Runnable::run);
+
     @InjectMocks
     private MemberResource memberResource;
 
+    private static final RowVersion VERSION = new RowVersion("1.2", Instant.parse("2026-03-01T09:15:00Z"));
+
     private static MemberDTO aMember() {
         return MemberDTO.builder()
                 .id(1L)
@@ -56,15 +80,66 @@ class MemberResourceTest {
     class FindAllTests {
 
         @Test
-        @DisplayName("Should delegate to service and return all members")
-        void shouldReturnAllMembers() {
-            List<MemberDTO> members = List.of(aMember());
-            when(memberService.findAll()).thenReturn(members);
+        @DisplayName("Should return one page at the default limit instead of the whole table")
+        void shouldReturnFirstPage() {
+            Page<MemberDTO> page = Page.of(List.of(aMember()), Cursor.of("Doe", 1L));
+            when(memberService.collectionVersion()).thenReturn(VERSION);
+            when(memberService.findPage(null, Page.DEFAULT_LIMIT)).thenReturn(page);
+
+            Response response = await(memberResource.findAll(null, null, 0, request));
+
+            assertAll(
+                    () -> assertEquals(200, response.getStatus()),
+                    () -> assertSame(page, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag())
+            );
+        }
+
+        @Test
+        @DisplayName("Should page the requested fields and cap the limit")
+        void shouldPageSparseFieldsWithCappedLimit() {
+            Cursor cursor = Cursor.of(1L);
+            Page<Map<String, Object>> rows = Page.of(List.of(Map.of("id", 2L)), null);
+            when(memberService.collectionVersion()).thenReturn(VERSION);
+            when(memberService.findPage(FieldSet.of("id"), cursor, Page.MAX_LIMIT)).thenReturn(rows);
 
-            List<MemberDTO> result = memberResource.findAll();
+            Response response = await(memberResource.findAll("id", cursor.encode(), 1_000_000, request));
 
-            assertSame(members, result);
-            verify(memberService).findAll();
+            assertSame(rows, response.getEntity());
+        }
+    }
+
+    @Nested
+    @DisplayName("findPage")
+    class FindPageTests {
+
+        @Test
+        @DisplayName("Should start from the first page when no cursor is given")
+        void shouldRequestFirstPageWithoutCursor() {
+            Page<MemberDTO> page = Page.of(List.of(aMember()), Cursor.of("k", 1L));
+            when(memberService.findPage(null, 20)).thenReturn(page);
+
+            Page<MemberDTO> result = await(memberResource.findPage(null, 20));
+
+            assertSame(page, result);
+        }
+
+        @Test
+        @DisplayName("Should decode the opaque cursor and cap the limit")
+        void shouldDecodeCursorAndCapLimit() {
+            Cursor cursor = Cursor.of("k", 5L);
+            when(memberService.findPage(cursor, Page.MAX_LIMIT)).thenReturn(Page.of(List.of(), null));
+
+            await(memberResource.findPage(cursor.encode(), 100_000));
+
+            verify(memberService).findPage(cursor, Page.MAX_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor with 400 Bad Request")
+        void shouldRejectMalformedCursor() {
+            assertThrows(BadRequestException.class, () -> await(memberResource.findPage("%%%", 20)));
+            verifyNoInteractions(memberService);
         }
     }
 
@@ -76,24 +151,45 @@ class MemberResourceTest {
         @DisplayName("Should return 200 OK with member when found")
         void shouldReturn200WhenFound() {
             MemberDTO member = aMember();
+            when(memberService.findVersion(1L)).thenReturn(Optional.of(VERSION));
             when(memberService.findById(1L)).thenReturn(Optional.of(member));
 
-            Response response = memberResource.findById(1L);
+            Response response = await(memberResource.findById(1L, null, request));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
-                    () -> assertSame(member, response.getEntity())
+                    () -> assertSame(member, response.getEntity()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertEquals(Date.from(VERSION.lastModified()), response.getLastModified())
+            );
+        }
+
+        @Test
+        @DisplayName("Should return 304 Not Modified without loading the member when the tag matches")
+        void shouldReturn304WhenTagMatches() {
+            when(memberService.findVersion(1L)).thenReturn(Optional.of(VERSION));
+            when(request.evaluatePreconditions(any(Date.class), eq(new EntityTag("1.2", true))))
+                    .thenReturn(Response.notModified());
+
+            Response response = await(memberResource.findById(1L, null, request));
+
+            assertAll(
+                    () -> assertEquals(304, response.getStatus()),
+                    () -> assertEquals(new EntityTag("1.2", true), response.getEntityTag()),
+                    () -> assertNull(response.getEntity())
             );
+            verify(memberService, never()).findById(any());
         }
 
         @Test
         @DisplayName("Should return 404 Not Found when member does not exist")
         void shouldReturn404WhenNotFound() {
-            when(memberService.findById(99L)).thenReturn(Optional.empty());
+            when(memberService.findVersion(99L)).thenReturn(Optional.empty());
 
-            Response response = memberResource.findById(99L);
+            Response response = await(memberResource.findById(99L, null, request));
 
             assertEquals(404, response.getStatus());
+            verify(memberService, never()).findById(any());
         }
     }
 
@@ -107,7 +203,7 @@ class MemberResourceTest {
             MemberDTO member = aMember();
             when(memberService.findByMembershipNumber("MEM-001")).thenReturn(Optional.of(member));
 
-            Response response = memberResource.findByMembershipNumber("MEM-001");
+            Response response = await(memberResource.findByMembershipNumber("MEM-001"));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -120,12 +216,48 @@ class MemberResourceTest {
         void shouldReturn404WhenNotFound() {
             when(memberService.findByMembershipNumber("MEM-999")).thenReturn(Optional.empty());
 
-            Response response = memberResource.findByMembershipNumber("MEM-999");
+            Response response = await(memberResource.findByMembershipNumber("MEM-999"));
 
             assertEquals(404, response.getStatus());
         }
     }
 
+    @Nested
+    @DisplayName("findAllById")
+    class FindAllByIdTests {
+
+        @Test
+        @DisplayName("Should resolve all IDs in one service call and keep the not-found markers")
+        void shouldResolveAllIdsAtOnce() {
+            List<Lookup<Long, MemberDTO>> lookups = List.of(Lookup.of(1L, aMember()), Lookup.missing(99L));
+            when(memberService.findAllById(List.of(1L, 99L))).thenReturn(lookups);
+
+            List<Lookup<Long, MemberDTO>> result = await(memberResource.findAllById(
+                    new IdLookupRequest(List.of(1L, 99L))));
+
+            assertSame(lookups, result);
+            verify(memberService, never()).findById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllByMembershipNumber")
+    class FindAllByMembershipNumberTests {
+
+        @Test
+        @DisplayName("Should resolve all keys in one service call and keep the not-found markers")
+        void shouldResolveAllKeysAtOnce() {
+            List<Lookup<String, MemberDTO>> lookups = List.of(Lookup.of("MEM-001", aMember()), Lookup.missing("MEM-999"));
+            when(memberService.findAllByMembershipNumber(List.of("MEM-001", "MEM-999"))).thenReturn(lookups);
+
+            List<Lookup<String, MemberDTO>> result = await(memberResource.findAllByMembershipNumber(
+                    new LookupRequest(List.of("MEM-001", "MEM-999"))));
+
+            assertSame(lookups, result);
+            verify(memberService, never()).findByMembershipNumber(any());
+        }
+    }
+
     @Nested
     @DisplayName("findByEmail")
     class FindByEmailTests {
@@ -136,7 +268,7 @@ class MemberResourceTest {
             MemberDTO member = aMember();
             when(memberService.findByEmail("jane.doe@example.com")).thenReturn(Optional.of(member));
 
-            Response response = memberResource.findByEmail("jane.doe@example.com");
+            Response response = await(memberResource.findByEmail("jane.doe@example.com"));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -149,12 +281,34 @@ class MemberResourceTest {
         void shouldReturn404WhenNotFound() {
             when(memberService.findByEmail("unknown@example.com")).thenReturn(Optional.empty());
 
-            Response response = memberResource.findByEmail("unknown@example.com");
+            Response response = await(memberResource.findByEmail("unknown@example.com"));
 
             assertEquals(404, response.getStatus());
         }
     }
 
+    @Nested
+    @DisplayName("typeahead")
+    class TypeaheadTests {
+
+        @Test
+        @DisplayName("Should return suggestions from the service for a non-blank query")
+        void shouldDelegateToService() {
+            List<MemberSuggestion> suggestions = List.of(
+                    new MemberSuggestion(1L, "Jane Doe", "jane.doe@example.com", "MEM-001", MemberStatus.ACTIVE));
+            when(memberService.suggest("jan", 10, MemberStatus.ACTIVE)).thenReturn(suggestions);
+
+            assertSame(suggestions, await(memberResource.typeahead("jan", 10, MemberStatus.ACTIVE)));
+        }
+
+        @Test
+        @DisplayName("Should return an empty list without calling the service when the query is blank")
+        void shouldReturnEmptyForBlankQuery() {
+            assertTrue(await(memberResource.typeahead("  ", 10, null)).isEmpty());
+            verifyNoInteractions(memberService);
+        }
+    }
+
     @Nested
     @DisplayName("create")
     class CreateTests {
@@ -169,7 +323,7 @@ class MemberResourceTest {
             when(memberMapper.toDto(request)).thenReturn(mappedDto);
             when(memberService.create(mappedDto)).thenReturn(createdDto);
 
-            Response response = memberResource.create(request);
+            Response response = await(memberResource.create(request));
 
             assertAll(
                     () -> assertEquals(201, response.getStatus()),
@@ -193,7 +347,7 @@ class MemberResourceTest {
             when(memberMapper.toDto(1L, request)).thenReturn(mappedDto);
             when(memberService.update(mappedDto)).thenReturn(updatedDto);
 
-            Response response = memberResource.update(1L, request);
+            Response response = await(memberResource.update(1L, request));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -209,7 +363,7 @@ class MemberResourceTest {
         @Test
         @DisplayName("Should return 204 No Content and delegate to service")
         void shouldReturn204() {
-            Response response = memberResource.delete(1L);
+            Response response = await(memberResource.delete(1L));
 
             assertEquals(204, response.getStatus());
             verify(memberService).delete(1L);
@@ -226,7 +380,7 @@ class MemberResourceTest {
             MemberDTO suspended = MemberDTO.builder().id(1L).status(MemberStatus.SUSPENDED).build();
             when(memberService.suspend(1L)).thenReturn(suspended);
 
-            Response response = memberResource.suspend(1L);
+            Response response = await(memberResource.suspend(1L));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -245,7 +399,7 @@ class MemberResourceTest {
             MemberDTO activated = MemberDTO.builder().id(1L).status(MemberStatus.ACTIVE).build();
             when(memberService.activate(1L)).thenReturn(activated);
 
-            Response response = memberResource.activate(1L);
+            Response response = await(memberResource.activate(1L));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -264,7 +418,7 @@ class MemberResourceTest {
             MemberDTO renewed = aMember();
             when(memberService.renewMembership(1L, 1)).thenReturn(renewed);
 
-            Response response = memberResource.renewMembership(1L, 1);
+            Response response = await(memberResource.renewMembership(1L, 1));
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
@@ -282,7 +436,7 @@ class MemberResourceTest {
         void shouldReturn200WithGeneratedNumber() {
             when(memberService.generateMembershipNumber()).thenReturn("MEM-2026-001");
 
-            Response response = memberResource.generateMembershipNumber();
+            Response response = await(memberResource.generateMembershipNumber());
 
             assertAll(
                     () -> assertEquals(200, response.getStatus()),
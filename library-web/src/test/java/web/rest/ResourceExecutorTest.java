@@ -0,0 +1,186 @@
+package web.rest;
+
+import common.exception.EntityNotFoundException;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResourceExecutor.
+ *
+ * The managed executors are replaced by plain executors through the package-private
+ * constructor; the deployment switch is tested on its parser.
+ *
+ * Tested behaviour:
+ *   - work runs on the executor and the stage completes with its value
+ *   - exceptions complete the stage unwrapped, so exception mappers see the original type
+ *   - a rejected task answers 503 Service Unavailable
+ *   - a call beyond the in-flight limit answers 503 without reaching the executor,
+ *     and a finished or rejected call frees its slot
+ *   - the threads switch defaults to virtual threads; the in-flight limit defaults to 1024
+ */
+@DisplayName("ResourceExecutor")
+class ResourceExecutorTest {
+
+    @Nested
+    @DisplayName("supply()")
+    class SupplyTests {
+
+        @Test
+        @DisplayName("Should run the work on a virtual thread and complete with its value")
+        void shouldCompleteOnExecutorThread() throws Exception {
+            try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                ResourceExecutor executor = new ResourceExecutor(virtualThreads);
+
+                CompletionStage<Boolean> stage = executor.supply(() -> Thread.currentThread().isVirtual());
+
+                assertTrue(stage.toCompletableFuture().get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        @DisplayName("Should complete exceptionally with the original exception")
+        void shouldCompleteWithUnwrappedException() {
+            ResourceExecutor executor = new ResourceExecutor(Runnable::run);
+
+            CompletionStage<Object> stage = executor.supply(() -> {
+                throw new EntityNotFoundException("Book", 99L);
+            });
+
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> stage.toCompletableFuture().get());
+            assertInstanceOf(EntityNotFoundException.class, thrown.getCause());
+        }
+
+        @Test
+        @DisplayName("Should answer 503 when the executor rejects the work")
+        void shouldReturn503WhenRejected() {
+            ResourceExecutor executor = new ResourceExecutor(task -> {
+                throw new RejectedExecutionException("saturated");
+            });
+
+            ServiceUnavailableException thrown =
+                    assertThrows(ServiceUnavailableException.class, () -> executor.supply(() -> "never"));
+            assertEquals(503, thrown.getResponse().getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("In-flight limit")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Should answer 503 without submitting once the limit is reached")
+        void shouldReturn503WhenFull() {
+            List<Runnable> queued = new ArrayList<>();
+            ResourceExecutor executor = new ResourceExecutor(queued::add, 2);
+            executor.supply(() -> "first");
+            executor.supply(() -> "second");
+
+            ServiceUnavailableException thrown =
+                    assertThrows(ServiceUnavailableException.class, () -> executor.supply(() -> "third"));
+            assertAll(
+                    () -> assertEquals(503, thrown.getResponse().getStatus()),
+                    () -> assertEquals("1", thrown.getResponse().getHeaderString(HttpHeaders.RETRY_AFTER)),
+                    () -> assertEquals(2, queued.size(), "The refused call must not reach the executor")
+            );
+        }
+
+        @Test
+        @DisplayName("Should admit a new call once a running call finishes")
+        void shouldFreeSlotWhenWorkCompletes() throws Exception {
+            List<Runnable> queued = new ArrayList<>();
+            ResourceExecutor executor = new ResourceExecutor(queued::add, 1);
+            CompletionStage<String> first = executor.supply(() -> "first");
+            assertThrows(ServiceUnavailableException.class, () -> executor.supply(() -> "second"));
+
+            queued.get(0).run();
+
+            assertEquals("first", first.toCompletableFuture().get());
+            assertDoesNotThrow(() -> executor.supply(() -> "third"));
+        }
+
+        @Test
+        @DisplayName("Should free the slot of a call that fails or that the executor rejects")
+        void shouldFreeSlotOnFailure() {
+            ResourceExecutor failing = new ResourceExecutor(Runnable::run, 1);
+            failing.supply(() -> {
+                throw new EntityNotFoundException("Book", 99L);
+            });
+            ResourceExecutor rejecting = new ResourceExecutor(task -> {
+                throw new RejectedExecutionException("saturated");
+            }, 1);
+            assertThrows(ServiceUnavailableException.class, () -> rejecting.supply(() -> "never"));
+
+            // A leaked slot would refuse the next call at the limit, before the executor could reject it
+            ServiceUnavailableException again =
+                    assertThrows(ServiceUnavailableException.class, () -> rejecting.supply(() -> "never"));
+            assertAll(
+                    () -> assertDoesNotThrow(() -> failing.supply(() -> "next")),
+                    () -> assertInstanceOf(RejectedExecutionException.class, again.getCause())
+            );
+        }
+
+        @ParameterizedTest(name = "\"{0}\" -> {1}")
+        @CsvSource(delimiter = '|', value = {
+                "200       | 200",
+                " 16       | 16",
+                "''        | 1024",
+        })
+        @DisplayName("Should read the limit, defaulting when it is blank")
+        void shouldParseLimit(String value, int expected) {
+            assertEquals(expected, ResourceExecutor.parseMaxInFlight(value));
+        }
+
+        @ParameterizedTest(name = "\"{0}\"")
+        @ValueSource(strings = {"0", "-1", "many"})
+        @DisplayName("Should reject a limit that is not a positive number")
+        void shouldRejectInvalidLimit(String value) {
+            assertThrows(IllegalArgumentException.class, () -> ResourceExecutor.parseMaxInFlight(value));
+        }
+    }
+
+    @Nested
+    @DisplayName("Threads.parse()")
+    class ThreadsTests {
+
+        @ParameterizedTest(name = "\"{0}\" -> {1}")
+        @CsvSource(delimiter = '|', value = {
+                "virtual     | VIRTUAL",
+                "PLATFORM    | PLATFORM",
+                " platform   | PLATFORM",
+                "''          | VIRTUAL",
+        })
+        @DisplayName("Should read the switch case-insensitively")
+        void shouldParseSwitch(String value, ResourceExecutor.Threads expected) {
+            assertEquals(expected, ResourceExecutor.Threads.parse(value));
+        }
+
+        @Test
+        @DisplayName("Should default to virtual threads when the property is not set")
+        void shouldDefaultToVirtual() {
+            assertEquals(ResourceExecutor.Threads.VIRTUAL, ResourceExecutor.Threads.parse(null));
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown value")
+        void shouldRejectUnknownValue() {
+            assertThrows(IllegalArgumentException.class, () -> ResourceExecutor.Threads.parse("carrier"));
+        }
+    }
+}
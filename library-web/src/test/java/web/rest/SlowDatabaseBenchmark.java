@@ -0,0 +1,92 @@
+package web.rest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the REST executors under a slow database: a burst of requests each holds a JDBC
+ * connection for a fixed latency, and the benchmark reports how many requests were in flight
+ * at once, the throughput and the latency percentiles for platform and virtual threads.
+ *
+ * Not a JUnit test; run it by hand with the test classpath, for example
+ * {@code java -cp target/test-classes:target/classes web.rest.SlowDatabaseBenchmark 2000 100 32,256}
+ * (requests, database latency in milliseconds, JDBC pool sizes).
+ */
+public final class SlowDatabaseBenchmark {
+
+    private SlowDatabaseBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        int[] poolSizes = args.length > 2
+                ? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[]{32, 256};
+
+        System.out.printf("%d requests, %d ms database latency%n", requests, latencyMillis);
+        System.out.printf("%-9s %9s %12s %10s %9s %9s%n", "threads", "jdbc pool", "max in flight", "req/s", "p50 ms", "p99 ms");
+        for (int poolSize : poolSizes) {
+            for (ResourceExecutor.Threads threads : ResourceExecutor.Threads.values()) {
+                run(threads, requests, latencyMillis, poolSize);
+            }
+        }
+    }
+
+    private static void run(ResourceExecutor.Threads threads, int requests, long latencyMillis, int poolSize)
+            throws Exception {
+        ExecutorService delegate = threads == ResourceExecutor.Threads.VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(ResourceExecutor.PLATFORM_MAX_ASYNC);
+        // Admit the whole burst so the executors themselves are compared
+        ResourceExecutor executor = new ResourceExecutor(delegate, requests);
+        Semaphore connections = new Semaphore(poolSize, true);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        long[] latencies = new long[requests];
+
+        List<CompletableFuture<Long>> responses = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long submitted = System.nanoTime();
+            CompletionStage<Long> response = executor.supply(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    connections.acquire();
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } finally {
+                        connections.release();
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(exception);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return System.nanoTime() - submitted;
+            });
+            responses.add(response.toCompletableFuture());
+        }
+        for (int i = 0; i < requests; i++) {
+            latencies[i] = responses.get(i).get(1, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        delegate.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-9s %9d %12d %10.0f %9d %9d%n",
+                threads.name().toLowerCase(), poolSize, maxInFlight.get(),
+                requests / (elapsed / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(latencies[requests / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[requests * 99 / 100]));
+    }
+}
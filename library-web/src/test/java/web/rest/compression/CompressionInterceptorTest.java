@@ -0,0 +1,291 @@
+package web.rest.compression;
+
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import web.rest.BookResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CompressionInterceptor.
+ *
+ * The interceptor context is a mock whose {@code proceed()} writes a JSON body into whatever
+ * stream is current, the way the JSON-B message body writer would. The threshold is lowered
+ * to 64 bytes so short and long bodies stay readable.
+ *
+ * Tested behaviour:
+ *   - gzip and deflate bodies decode to the original bytes, with Content-Encoding and Vary set
+ *   - short bodies, clients without Accept-Encoding and binary media types are left alone
+ *   - deflaters go back to the pool and are reused
+ *   - a flush pushes everything written so far to the client
+ *   - deflate time on a virtual thread is counted as wall time only
+ *   - the per-endpoint counters record compressed and uncompressed responses
+ *   - Accept-Encoding negotiation honours quality values and wildcards
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CompressionInterceptor")
+class CompressionInterceptorTest {
+
+    private static final int THRESHOLD = 64;
+    private static final String LONG_BODY = "[" + "{\"title\":\"Dune\",\"author\":\"Frank Herbert\"},".repeat(50) + "{}]";
+    private static final String SHORT_BODY = "{\"title\":\"Dune\"}";
+
+    @Mock
+    private WriterInterceptorContext context;
+
+    @Mock
+    private HttpHeaders requestHeaders;
+
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    private final CompressionStatistics statistics = new CompressionStatistics();
+    private final MultivaluedMap<String, Object> responseHeaders = new MultivaluedHashMap<>();
+    private final ByteArrayOutputStream wire = new ByteArrayOutputStream();
+    private CompressionInterceptor interceptor;
+
+    @BeforeEach
+    void createInterceptor() throws NoSuchMethodException {
+        interceptor = new CompressionInterceptor(statistics, THRESHOLD);
+        interceptor.requestHeaders = requestHeaders;
+        interceptor.resourceInfo = resourceInfo;
+        lenient().doReturn(BookResource.class).when(resourceInfo).getResourceClass();
+        lenient().doReturn(BookResource.class.getMethod("findAll", String.class, String.class, int.class, Request.class)).when(resourceInfo).getResourceMethod();
+    }
+
+    @AfterEach
+    void closeInterceptor() {
+        interceptor.close();
+    }
+
+    private void respond(String body, MediaType mediaType, String acceptEncoding) throws IOException {
+        // Each call stands for a new response
+        responseHeaders.clear();
+        AtomicReference<OutputStream> current = new AtomicReference<>(wire);
+        lenient().when(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        lenient().when(context.getHeaders()).thenReturn(responseHeaders);
+        lenient().when(context.getMediaType()).thenReturn(mediaType);
+        lenient().when(context.getOutputStream()).thenAnswer(invocation -> current.get());
+        lenient().doAnswer(invocation -> {
+            current.set(invocation.getArgument(0));
+            return null;
+        }).when(context).setOutputStream(any());
+        doAnswer(invocation -> {
+            current.get().write(body.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(context).proceed();
+
+        interceptor.aroundWriteTo(context);
+    }
+
+    private static String read(InputStream decoder) throws IOException {
+        try (decoder) {
+            return new String(decoder.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Compressed responses")
+    class CompressedTests {
+
+        @Test
+        @DisplayName("Should gzip a long JSON body and set the encoding headers")
+        void shouldGzipLongBody() throws IOException {
+            respond(LONG_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip, deflate, br");
+
+            assertAll(
+                    () -> assertEquals(LONG_BODY, read(new GZIPInputStream(new ByteArrayInputStream(wire.toByteArray())))),
+                    () -> assertEquals("gzip", responseHeaders.getFirst(HttpHeaders.CONTENT_ENCODING)),
+                    () -> assertEquals(HttpHeaders.ACCEPT_ENCODING, responseHeaders.getFirst(HttpHeaders.VARY)),
+                    () -> assertTrue(wire.size() < LONG_BODY.length() / 4)
+            );
+        }
+
+        @Test
+        @DisplayName("Should produce a zlib stream for deflate")
+        void shouldDeflateLongBody() throws IOException {
+            respond(LONG_BODY, MediaType.valueOf("application/x-ndjson"), "deflate");
+
+            assertAll(
+                    () -> assertEquals(LONG_BODY, read(new InflaterInputStream(new ByteArrayInputStream(wire.toByteArray())))),
+                    () -> assertEquals("deflate", responseHeaders.getFirst(HttpHeaders.CONTENT_ENCODING))
+            );
+        }
+
+        @Test
+        @DisplayName("Should return the deflater to the pool and reuse it")
+        void shouldReuseDeflater() throws IOException {
+            respond(LONG_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip");
+            wire.reset();
+            respond(LONG_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip");
+
+            assertAll(
+                    () -> assertEquals(LONG_BODY, read(new GZIPInputStream(new ByteArrayInputStream(wire.toByteArray())))),
+                    () -> assertEquals(1, interceptor.pool(ContentEncoding.GZIP).idleCount())
+            );
+        }
+
+        @Test
+        @DisplayName("Should count the response, its sizes and the ratio under the resource method")
+        void shouldRecordStatistics() throws IOException {
+            respond(LONG_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip");
+            respond(SHORT_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip");
+
+            CompressionCounters counters = statistics.snapshot().get("BookResource.findAll");
+
+            assertAll(
+                    () -> assertEquals(2, counters.responses()),
+                    () -> assertEquals(1, counters.compressed()),
+                    () -> assertEquals(LONG_BODY.length(), counters.bytesIn()),
+                    () -> assertEquals((double) counters.bytesOut() / counters.bytesIn(), counters.ratio()),
+                    () -> assertTrue(counters.ratio() < 0.25)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class StreamingTests {
+
+        private CompressingOutputStream stream() {
+            return new CompressingOutputStream(wire, ContentEncoding.DEFLATE,
+                    interceptor.pool(ContentEncoding.DEFLATE), THRESHOLD, () -> {
+                    });
+        }
+
+        @Test
+        @DisplayName("Should make every byte written so far decodable on flush")
+        void shouldSyncFlush() throws Exception {
+            CompressingOutputStream stream = stream();
+            try {
+                stream.write(LONG_BODY.getBytes(StandardCharsets.UTF_8));
+                stream.flush();
+
+                Inflater inflater = new Inflater();
+                inflater.setInput(wire.toByteArray());
+                byte[] decoded = new byte[LONG_BODY.length() * 2];
+                int length = inflater.inflate(decoded);
+                inflater.end();
+
+                assertEquals(LONG_BODY, new String(decoded, 0, length, StandardCharsets.UTF_8));
+            } finally {
+                stream.release();
+            }
+        }
+
+        @Test
+        @DisplayName("Should record wall time but no CPU time on a virtual thread")
+        void shouldNotSampleCpuOnVirtualThread() throws Exception {
+            CompressingOutputStream stream = stream();
+            AtomicReference<IOException> failure = new AtomicReference<>();
+            Thread.ofVirtual().start(() -> {
+                try {
+                    stream.write(LONG_BODY.repeat(20).getBytes(StandardCharsets.UTF_8));
+                    stream.finish();
+                } catch (IOException exception) {
+                    failure.set(exception);
+                }
+            }).join();
+
+            assertAll(
+                    () -> assertNull(failure.get()),
+                    () -> assertEquals(0, stream.getCpuNanos()),
+                    () -> assertTrue(stream.getWallNanos() > 0)
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Uncompressed responses")
+    class UncompressedTests {
+
+        @Test
+        @DisplayName("Should send a body below the threshold as is")
+        void shouldPassShortBody() throws IOException {
+            respond(SHORT_BODY, MediaType.APPLICATION_JSON_TYPE, "gzip");
+
+            assertAll(
+                    () -> assertEquals(SHORT_BODY, wire.toString(StandardCharsets.UTF_8)),
+                    () -> assertFalse(responseHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)),
+                    () -> assertEquals(HttpHeaders.ACCEPT_ENCODING, responseHeaders.getFirst(HttpHeaders.VARY))
+            );
+        }
+
+        @Test
+        @DisplayName("Should not touch the stream when the client accepts no supported coding")
+        void shouldPassWithoutAcceptEncoding() throws IOException {
+            respond(LONG_BODY, MediaType.APPLICATION_JSON_TYPE, null);
+
+            assertAll(
+                    () -> assertEquals(LONG_BODY, wire.toString(StandardCharsets.UTF_8)),
+                    () -> assertFalse(responseHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)),
+                    () -> verify(context, never()).setOutputStream(any())
+            );
+        }
+
+        @Test
+        @DisplayName("Should leave binary media types alone")
+        void shouldSkipBinaryMediaTypes() throws IOException {
+            respond(LONG_BODY, MediaType.valueOf("image/png"), "gzip");
+
+            assertAll(
+                    () -> assertEquals(LONG_BODY, wire.toString(StandardCharsets.UTF_8)),
+                    () -> assertTrue(responseHeaders.isEmpty())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("ContentEncoding.negotiate()")
+    class NegotiationTests {
+
+        @ParameterizedTest(name = "{0} -> {1}")
+        @CsvSource(delimiter = '|', value = {
+                "gzip, deflate, br              | GZIP",
+                "deflate                        | DEFLATE",
+                "gzip;q=0.5, deflate;q=0.8      | DEFLATE",
+                "gzip;q=0, *                    | DEFLATE",
+                "*                              | GZIP",
+                "x-gzip                         | GZIP",
+        })
+        @DisplayName("Should pick the coding with the highest quality")
+        void shouldPickHighestQuality(String header, ContentEncoding expected) {
+            assertEquals(expected, ContentEncoding.negotiate(header).orElseThrow());
+        }
+
+        @ParameterizedTest(name = "\"{0}\"")
+        @CsvSource(delimiter = '|', value = {"br", "identity", "gzip;q=0, deflate;q=0", "*;q=0"})
+        @DisplayName("Should pick nothing when no supported coding is acceptable")
+        void shouldPickNothing(String header) {
+            assertTrue(ContentEncoding.negotiate(header).isEmpty());
+        }
+    }
+}
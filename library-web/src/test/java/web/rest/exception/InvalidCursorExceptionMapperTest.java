@@ -0,0 +1,35 @@
+package web.rest.exception;
+
+import common.exception.InvalidCursorException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InvalidCursorExceptionMapper.
+ *
+ * A cursor whose key no longer parses is the client's input, so it must answer 400 like
+ * the other malformed-cursor cases rather than fall through to a 500.
+ */
+@DisplayName("InvalidCursorExceptionMapper")
+class InvalidCursorExceptionMapperTest {
+
+    private final InvalidCursorExceptionMapper mapper = new InvalidCursorExceptionMapper();
+
+    @Test
+    @DisplayName("Should produce a 400 Bad Request with an ErrorResponse body")
+    void shouldReturn400() {
+        Response response = mapper.toResponse(new InvalidCursorException("2024-13-45"));
+        ErrorResponse error = (ErrorResponse) response.getEntity();
+
+        assertAll(
+                () -> assertEquals(400, response.getStatus()),
+                () -> assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType()),
+                () -> assertEquals("Bad Request", error.getError()),
+                () -> assertEquals("Invalid page cursor key: 2024-13-45", error.getMessage())
+        );
+    }
+}